@@ -0,0 +1,505 @@
+package com.example.benchmark;
+
+import com.example.Application;
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ApiRecordConfigCache;
+import com.example.cache.DataSourceConfigCache;
+import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
+import com.example.service.ConfigBlobService;
+import com.example.util.GrayGroupUtils;
+import com.example.util.RegionProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 基准测试环境
+ * 在独立的 H2 内存库（MySQL 兼容模式）中建表、写入指定规模的配置目录，再启动完整的应用上下文
+ *
+ * 目录中每个标识有一个已废弃版本和一个已发布版本，每 5 个标识中有 1 个灰度发布到单个地域，
+ * 其余全量发布；前 {@link #DRAFT_LIMIT} 个 API Meta 标识另有一个草稿版本供发布基准使用
+ *
+ * 带副本启动时另建一个 H2 内存库作为只读副本并开启读写分离，副本不会自动复制，
+ * 由 {@link #syncReplica()} 整库复制主库模拟复制追上；{@link #join(BenchmarkEnvironment, Map)} 在同一 JVM 中
+ * 启动共享数据库的其他节点
+ */
+public class BenchmarkEnvironment implements Closeable {
+
+    /**
+     * 预置草稿版本的最大数量
+     */
+    public static final int DRAFT_LIMIT = 1000;
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    /**
+     * H2 中索引名全库唯一，建表时给各表的索引名加上表名前缀
+     */
+    private static final Pattern KEY_NAME = Pattern.compile("\\b(UNIQUE KEY|KEY) (\\w+) \\(");
+    private static final Pattern TABLE_NAME = Pattern.compile("CREATE TABLE IF NOT EXISTS (\\w+)");
+
+    private static final String API_VERSION = "2020-01-01";
+
+    /**
+     * {@link #insertPublished(ConfigType, int)} 每条语句写入的行数
+     */
+    private static final int INSERT_BATCH = 10000;
+
+    private final ConfigurableApplicationContext context;
+    private final DriverManagerDataSource primaryDataSource;
+    private final DriverManagerDataSource replicaDataSource;
+    private final List<String> regions;
+    private final List<String> sources = new ArrayList<>();
+    private final List<String[]> apiRecordKeys = new ArrayList<>();
+    private final List<String[]> apiMetaKeys = new ArrayList<>();
+    private final List<String> publishedDataSourceVersions = new ArrayList<>();
+    private final List<String> deprecatedDataSourceVersions = new ArrayList<>();
+    private final List<String> draftApiMetaVersions = new ArrayList<>();
+    private final List<String> draftApiMetaGrayGroups = new ArrayList<>();
+    private final AtomicInteger insertedPublished = new AtomicInteger();
+
+    private BenchmarkEnvironment(int catalogSize, Map<String, Object> overrides, boolean server, boolean replica) {
+        this(catalogSize, overrides, server, replica, null);
+    }
+
+    private BenchmarkEnvironment(int catalogSize, Map<String, Object> overrides, boolean server, boolean replica,
+                                 Path directory) {
+        this.regions = new RegionProvider().getSupportedRegions();
+        String database = "bench" + DATABASES.incrementAndGet();
+        String url = directory == null ? h2Url(database) : h2FileUrl(directory.resolve(database));
+        primaryDataSource = new DriverManagerDataSource(url, "sa", "");
+        createSchema(primaryDataSource);
+        seedCatalog(new JdbcTemplate(primaryDataSource), catalogSize);
+        replicaDataSource = replica ? new DriverManagerDataSource(h2Url(database + "replica"), "sa", "") : null;
+
+        Map<String, Object> properties = new HashMap<>();
+        if (replica) {
+            syncReplica();
+            properties.put("config.read-replica.enabled", "true");
+            properties.put("config.read-replica.replicas[0].name", "replica");
+            properties.put("config.read-replica.replicas[0].url", replicaDataSource.getUrl());
+            properties.put("config.read-replica.replicas[0].driver-class-name", "org.h2.Driver");
+            properties.put("config.read-replica.replicas[0].username", "sa");
+            properties.put("config.read-replica.replicas[0].password", "");
+        }
+        properties.putAll(overrides);
+        context = startContext(properties, server, true, new Class<?>[0]);
+    }
+
+    /**
+     * 共享 other 的数据库与目录，启动另一个应用节点
+     */
+    private BenchmarkEnvironment(BenchmarkEnvironment other, Map<String, Object> overrides, boolean warmUp,
+                                 Class<?>[] components) {
+        this.regions = other.regions;
+        this.primaryDataSource = other.primaryDataSource;
+        this.replicaDataSource = null;
+        sources.addAll(other.sources);
+        apiRecordKeys.addAll(other.apiRecordKeys);
+        apiMetaKeys.addAll(other.apiMetaKeys);
+        publishedDataSourceVersions.addAll(other.publishedDataSourceVersions);
+        deprecatedDataSourceVersions.addAll(other.deprecatedDataSourceVersions);
+        draftApiMetaVersions.addAll(other.draftApiMetaVersions);
+        draftApiMetaGrayGroups.addAll(other.draftApiMetaGrayGroups);
+        context = startContext(new HashMap<>(overrides), false, warmUp, components);
+    }
+
+    private ConfigurableApplicationContext startContext(Map<String, Object> overrides, boolean server,
+                                                        boolean warmUp, Class<?>[] components) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", primaryDataSource.getUrl());
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("config.version.compaction-enabled", "false");
+        properties.put("config.snapshot.local-file-enabled", "false");
+        properties.putAll(overrides);
+        // 以命令行参数传入，优先级高于应用自带的 application.yml
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        if (server) {
+            args.add("--server.port=0");
+        }
+        ConfigurableApplicationContext started = new SpringApplicationBuilder(Application.class)
+            .sources(components)
+            .web(server ? WebApplicationType.SERVLET : WebApplicationType.NONE)
+            .run(args.toArray(new String[0]));
+
+        if (warmUp) {
+            // 预热快照缓存，基准只测量稳态读路径
+            started.getBean(DataSourceConfigCache.class).reload();
+            started.getBean(ApiRecordConfigCache.class).reload();
+            started.getBean(ApiMetaConfigCache.class).reload();
+        }
+        return started;
+    }
+
+    /**
+     * 按目录规模启动环境
+     */
+    public static BenchmarkEnvironment start(int catalogSize) {
+        return new BenchmarkEnvironment(catalogSize, Collections.emptyMap(), false, false);
+    }
+
+    /**
+     * 按目录规模启动环境，并覆盖应用配置项
+     */
+    public static BenchmarkEnvironment start(int catalogSize, Map<String, Object> overrides) {
+        return new BenchmarkEnvironment(catalogSize, overrides, false, false);
+    }
+
+    /**
+     * 与 {@link #start(int, Map)} 相同，但数据库建在 directory 下的 H2 文件库中，表数据不占用堆内存
+     */
+    public static BenchmarkEnvironment startOnDisk(Path directory, int catalogSize, Map<String, Object> overrides) {
+        return new BenchmarkEnvironment(catalogSize, overrides, false, false, directory);
+    }
+
+    /**
+     * 按目录规模启动带一个只读副本的环境，启动时副本与主库一致
+     */
+    public static BenchmarkEnvironment startWithReplica(int catalogSize, Map<String, Object> overrides) {
+        return new BenchmarkEnvironment(catalogSize, overrides, false, true);
+    }
+
+    /**
+     * 在同一 JVM 中启动共享 other 数据库的另一个应用节点，目录信息与 other 相同；关闭各节点互不影响
+     */
+    public static BenchmarkEnvironment join(BenchmarkEnvironment other, Map<String, Object> overrides) {
+        return new BenchmarkEnvironment(other, overrides, true, new Class<?>[0]);
+    }
+
+    /**
+     * 与 {@link #join(BenchmarkEnvironment, Map)} 相同，但不预热快照缓存，并额外注册 components 中的组件；
+     * 后台对账仍会在启动后立即加载缓存，需要保持未就绪状态时由 components 中的组件拦截加载
+     */
+    public static BenchmarkEnvironment joinCold(BenchmarkEnvironment other, Map<String, Object> overrides,
+                                                Class<?>... components) {
+        return new BenchmarkEnvironment(other, overrides, false, components);
+    }
+
+    /**
+     * 按目录规模启动环境，并在随机端口上启动 HTTP 服务，地址见 {@link #getServerUrl()}
+     */
+    public static BenchmarkEnvironment startServer(int catalogSize) {
+        return new BenchmarkEnvironment(catalogSize, Collections.emptyMap(), true, false);
+    }
+
+    /**
+     * 与 {@link #startServer(int)} 相同，并覆盖应用配置项
+     */
+    public static BenchmarkEnvironment startServer(int catalogSize, Map<String, Object> overrides) {
+        return new BenchmarkEnvironment(catalogSize, overrides, true, false);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * HTTP 服务地址，仅 {@link #startServer(int)} 启动的环境可用
+     */
+    public String getServerUrl() {
+        return "http://127.0.0.1:" + context.getEnvironment().getRequiredProperty("local.server.port");
+    }
+
+    public List<String> getRegions() {
+        return regions;
+    }
+
+    public List<String> getSources() {
+        return sources;
+    }
+
+    /**
+     * API记录标识，依次为 gatewayType、gatewayCode、apiVersion、apiName
+     */
+    public List<String[]> getApiRecordKeys() {
+        return apiRecordKeys;
+    }
+
+    /**
+     * API Meta标识，依次为 gatewayType、gatewayCode、apiVersion、apiName
+     */
+    public List<String[]> getApiMetaKeys() {
+        return apiMetaKeys;
+    }
+
+    public List<String> getPublishedDataSourceVersions() {
+        return publishedDataSourceVersions;
+    }
+
+    public List<String> getDeprecatedDataSourceVersions() {
+        return deprecatedDataSourceVersions;
+    }
+
+    public List<String> getDraftApiMetaVersions() {
+        return draftApiMetaVersions;
+    }
+
+    /**
+     * 与 {@link #getDraftApiMetaVersions()} 一一对应的发布灰度组
+     */
+    public List<String> getDraftApiMetaGrayGroups() {
+        return draftApiMetaGrayGroups;
+    }
+
+    /**
+     * 绕过应用直接以 SQL 写入 rows 个已发布版本，每个版本一个新标识，全量发布且共用同一个大字段内容
+     * 不写灰度地域与变更日志，已加载的缓存不会重建；用于在不占用堆内存的情况下把表扩充到百万行
+     */
+    public void insertPublished(ConfigType configType, int rows) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        String content = resourceSpec("bulk", "DescribeBulkResource");
+        String hash = ConfigBlobService.hash(content);
+        jdbcTemplate.update("MERGE INTO config_blob (hash, content, content_length) KEY (hash) VALUES (?, ?, ?)",
+            hash, content, content.getBytes(StandardCharsets.UTF_8).length);
+        String sql;
+        switch (configType) {
+            case API_RECORD:
+                sql = "INSERT INTO api_record_config (version_id, gateway_type, gateway_code, api_version, " +
+                    "api_name, basic_config_hash, event_config_hash, request_config_hash, response_config_hash, " +
+                    "status, effective_gray_groups) " +
+                    "SELECT CONCAT('AR19700102', LPAD(seq, 7, '0')), 'POP', CONCAT('product', MOD(seq, 100)), '" +
+                    API_VERSION + "', CONCAT('DescribeBulkResource', seq), ?1, ?1, ?1, ?1, 'PUBLISHED', 'all' " +
+                    "FROM (SELECT \"X\" AS seq FROM SYSTEM_RANGE(?2, ?3))";
+                break;
+            case API_META:
+                sql = "INSERT INTO api_meta_config (version_id, api_name, product, gateway_type, dm, gateway_code, " +
+                    "api_version, actiontrail_code, operation_type, description, visibility, response_body_log, " +
+                    "resource_spec_hash, status, effective_gray_groups) " +
+                    "SELECT CONCAT('AM19700102', LPAD(seq, 7, '0')), CONCAT('DescribeBulkResource', seq), " +
+                    "CONCAT('product', MOD(seq, 100)), 'POP', 'control', CONCAT('product', MOD(seq, 100)), '" +
+                    API_VERSION + "', CONCAT('product', MOD(seq, 100), ':DescribeBulkResource', seq), 'Read', " +
+                    "'Describes the resources that belong to the current account in the specified region.', " +
+                    "'Public', FALSE, ?1, 'PUBLISHED', 'all' FROM (SELECT \"X\" AS seq FROM SYSTEM_RANGE(?2, ?3))";
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+        int first = insertedPublished.getAndAdd(rows) + 1;
+        int last = first + rows - 1;
+        for (int from = first; from <= last; from += INSERT_BATCH) {
+            jdbcTemplate.update(sql, hash, from, Math.min(last, from + INSERT_BATCH - 1));
+        }
+    }
+
+    /**
+     * 以主库的当前内容整体替换副本，仅 {@link #startWithReplica(int, Map)} 启动的环境可用
+     */
+    public void syncReplica() {
+        if (replicaDataSource == null) {
+            throw new IllegalStateException("The environment was started without a replica");
+        }
+        Path script;
+        try {
+            script = Files.createTempFile("bench-replica", ".sql");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + script + "'");
+            JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            script.toFile().delete();
+        }
+    }
+
+    /**
+     * 直接访问副本库，用于模拟副本落后、不可达等状态
+     */
+    public JdbcTemplate getReplicaJdbcTemplate() {
+        if (replicaDataSource == null) {
+            throw new IllegalStateException("The environment was started without a replica");
+        }
+        return new JdbcTemplate(replicaDataSource);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static String h2Url(String database) {
+        return "jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * 与 MySQL 连接串的 useCursorFetch=true 对应，查询按需逐行读取，不在内存中物化整个结果集
+     */
+    private static String h2FileUrl(Path file) {
+        return "jdbc:h2:file:" + file.toAbsolutePath()
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;LAZY_QUERY_EXECUTION=TRUE";
+    }
+
+    private void createSchema(DriverManagerDataSource dataSource) {
+        String schema;
+        try {
+            schema = StreamUtils.copyToString(
+                new ClassPathResource("db/schema.sql").getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StringBuilder h2Schema = new StringBuilder();
+        String table = null;
+        for (String line : schema.split("\n")) {
+            Matcher tableMatcher = TABLE_NAME.matcher(line);
+            if (tableMatcher.find()) {
+                table = tableMatcher.group(1);
+            }
+            h2Schema.append(KEY_NAME.matcher(line).replaceAll("$1 " + table + "_$2 (")).append('\n');
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection,
+                new ByteArrayResource(h2Schema.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create benchmark schema", e);
+        }
+    }
+
+    private void seedCatalog(JdbcTemplate jdbcTemplate, int catalogSize) {
+        List<Object[]> dataSources = new ArrayList<>();
+        List<Object[]> apiRecords = new ArrayList<>();
+        List<Object[]> apiMetas = new ArrayList<>();
+        List<Object[]> grayRegions = new ArrayList<>();
+        Map<String, String> blobs = new LinkedHashMap<>();
+
+        for (int i = 0; i < catalogSize; i++) {
+            String grayGroups = i % 5 == 0 ? regions.get(i / 5 % regions.size()) : GrayGroupUtils.ALL;
+            String gatewayCode = "product" + (i % 100);
+            String apiName = "DescribeResource" + i;
+
+            String source = "source" + i;
+            sources.add(source);
+            String deprecatedDs = versionId("DS", 2 * i);
+            String publishedDs = versionId("DS", 2 * i + 1);
+            deprecatedDataSourceVersions.add(deprecatedDs);
+            publishedDataSourceVersions.add(publishedDs);
+            dataSources.add(dataSourceRow(deprecatedDs, source, ConfigStatus.DEPRECATED.name(), grayGroups));
+            dataSources.add(dataSourceRow(publishedDs, source, ConfigStatus.PUBLISHED.name(), grayGroups));
+            grayRegions.add(new Object[]{ConfigType.DATA_SOURCE.name(), publishedDs, grayGroups});
+
+            apiRecordKeys.add(new String[]{"POP", gatewayCode, API_VERSION, apiName});
+            String publishedAr = versionId("AR", 2 * i + 1);
+            apiRecords.add(apiRecordRow(blobs, versionId("AR", 2 * i), gatewayCode, apiName,
+                ConfigStatus.DEPRECATED.name(), grayGroups));
+            apiRecords.add(apiRecordRow(blobs, publishedAr, gatewayCode, apiName,
+                ConfigStatus.PUBLISHED.name(), grayGroups));
+            grayRegions.add(new Object[]{ConfigType.API_RECORD.name(), publishedAr, grayGroups});
+
+            apiMetaKeys.add(new String[]{"POP", gatewayCode, API_VERSION, apiName});
+            String publishedAm = versionId("AM", 2 * i + 1);
+            apiMetas.add(apiMetaRow(blobs, versionId("AM", 2 * i), gatewayCode, apiName,
+                ConfigStatus.DEPRECATED.name(), grayGroups));
+            apiMetas.add(apiMetaRow(blobs, publishedAm, gatewayCode, apiName,
+                ConfigStatus.PUBLISHED.name(), grayGroups));
+            grayRegions.add(new Object[]{ConfigType.API_META.name(), publishedAm, grayGroups});
+
+            if (i < DRAFT_LIMIT) {
+                String draftAm = versionId("AM", 2 * catalogSize + i);
+                draftApiMetaVersions.add(draftAm);
+                draftApiMetaGrayGroups.add(grayGroups);
+                apiMetas.add(apiMetaRow(blobs, draftAm, gatewayCode, apiName, ConfigStatus.DRAFT.name(), null));
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO data_source_config (version_id, source, source_group, " +
+            "gateway_type, dm, loghub_endpoint, loghub_project, loghub_stream, loghub_cursor, consume_region, " +
+            "status, effective_gray_groups) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", dataSources);
+        jdbcTemplate.batchUpdate("INSERT INTO api_record_config (version_id, gateway_type, gateway_code, " +
+            "api_version, api_name, basic_config_hash, event_config_hash, request_config_hash, response_config_hash, " +
+            "status, effective_gray_groups) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", apiRecords);
+        jdbcTemplate.batchUpdate("INSERT INTO api_meta_config (version_id, api_name, product, gateway_type, " +
+            "dm, gateway_code, api_version, actiontrail_code, operation_type, description, visibility, " +
+            "response_body_log, resource_spec_hash, status, effective_gray_groups) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", apiMetas);
+        List<Object[]> blobRows = new ArrayList<>();
+        blobs.forEach((hash, content) -> blobRows.add(new Object[]{hash, content,
+            content.getBytes(StandardCharsets.UTF_8).length}));
+        jdbcTemplate.batchUpdate("INSERT INTO config_blob (hash, content, content_length) VALUES (?, ?, ?)",
+            blobRows);
+        jdbcTemplate.batchUpdate("INSERT INTO config_gray_region (config_type, version_id, region) " +
+            "VALUES (?, ?, ?)", grayRegions);
+    }
+
+    private static String versionId(String prefix, int sequence) {
+        // 固定的历史日期，不与基准运行期间生成的版本号冲突
+        return String.format("%s19700101%06d", prefix, sequence);
+    }
+
+    private static Object[] dataSourceRow(String versionId, String source, String status, String grayGroups) {
+        return new Object[]{versionId, source, "group" + (source.hashCode() & 15), "POP", "data",
+            "https://cn-hangzhou.log.example.com", "audit-project", source + "-stream", "end",
+            "cn-hangzhou,cn-shanghai", status, grayGroups};
+    }
+
+    /**
+     * 大字段按摘要去重收集到 blobs，版本行只写摘要
+     */
+    private static String blob(Map<String, String> blobs, String content) {
+        String hash = ConfigBlobService.hash(content);
+        blobs.putIfAbsent(hash, content);
+        return hash;
+    }
+
+    private static Object[] apiRecordRow(Map<String, String> blobs, String versionId, String gatewayCode,
+                                         String apiName, String status, String grayGroups) {
+        return new Object[]{versionId, "POP", gatewayCode, API_VERSION, apiName,
+            blob(blobs, "{\"recordEnabled\":true,\"sampleRate\":100,\"product\":\"" + gatewayCode + "\"}"),
+            blob(blobs, "{\"eventType\":\"ApiCall\",\"eventRW\":\"Read\"}"),
+            blob(blobs, "{\"fields\":[\"RegionId\",\"InstanceId\",\"PageSize\",\"PageNumber\"]}"),
+            blob(blobs, "{\"fields\":[\"RequestId\",\"TotalCount\"]}"),
+            status, grayGroups};
+    }
+
+    private static Object[] apiMetaRow(Map<String, String> blobs, String versionId, String gatewayCode,
+                                       String apiName, String status, String grayGroups) {
+        return new Object[]{versionId, apiName, gatewayCode, "POP", "control", gatewayCode,
+            API_VERSION, gatewayCode + ":" + apiName, "Read",
+            "Describes the resources that belong to the current account in the specified region.",
+            "Public", Boolean.FALSE, blob(blobs, resourceSpec(gatewayCode, apiName)), status, grayGroups};
+    }
+
+    private static String resourceSpec(String gatewayCode, String apiName) {
+        StringBuilder spec = new StringBuilder("{\"resources\":[");
+        for (int i = 0; i < 8; i++) {
+            if (i > 0) {
+                spec.append(',');
+            }
+            spec.append("{\"type\":\"ACS::").append(gatewayCode).append("::Resource").append(i)
+                .append("\",\"api\":\"").append(apiName)
+                .append("\",\"idPath\":\"$.Resources[*].Id\",\"namePath\":\"$.Resources[*].Name\"}");
+        }
+        return spec.append("]}").toString();
+    }
+}
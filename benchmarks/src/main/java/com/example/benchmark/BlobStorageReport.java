@@ -0,0 +1,97 @@
+package com.example.benchmark;
+
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.ConfigBlobService;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 大字段去重存储报告
+ * 在预置目录上为每个标识继续通过服务层写入若干个新版本，模拟真实的版本历史：
+ * API记录每个版本只改动一个 JSON 字段，API Meta 多数版本只改描述，每 5 个版本改一次 resourceSpec；
+ * 写入后按版本号读回校验与写入内容一致，最后输出内联存储与去重存储的字节数
+ *
+ * 运行：java -cp benchmarks/target/benchmarks.jar com.example.benchmark.BlobStorageReport [catalogSize] [versions]
+ */
+public class BlobStorageReport {
+
+    public static void main(String[] args) {
+        int catalogSize = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int versions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        try (BenchmarkEnvironment environment = BenchmarkEnvironment.start(catalogSize)) {
+            ApiRecordConfigService apiRecordConfigService = environment.getBean(ApiRecordConfigService.class);
+            ApiMetaConfigService apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+            ApiRecordConfigMapper apiRecordConfigMapper = environment.getBean(ApiRecordConfigMapper.class);
+            ApiMetaConfigMapper apiMetaConfigMapper = environment.getBean(ApiMetaConfigMapper.class);
+            int mismatches = 0;
+
+            for (String[] key : environment.getApiRecordKeys()) {
+                ApiRecordConfig current = apiRecordConfigMapper.findAllVersionsByIdentifier(
+                    key[0], key[1], key[2], key[3]).get(0);
+                for (int v = 0; v < versions; v++) {
+                    ApiRecordConfig next = new ApiRecordConfig();
+                    BeanUtils.copyProperties(current, next);
+                    switch (v % 3) {
+                        case 0:
+                            next.setBasicConfig("{\"recordEnabled\":true,\"sampleRate\":" + (100 - v)
+                                + ",\"product\":\"" + key[1] + "\"}");
+                            break;
+                        case 1:
+                            next.setRequestConfig("{\"fields\":[\"RegionId\",\"InstanceId\",\"PageSize\","
+                                + "\"PageNumber\",\"Tag" + v + "\"]}");
+                            break;
+                        default:
+                            next.setResponseConfig("{\"fields\":[\"RequestId\",\"TotalCount\",\"Field" + v + "\"]}");
+                    }
+                    current = apiRecordConfigService.update(current.getVersionId(), next);
+                    if (!sameContent(next, apiRecordConfigService.findByVersionId(current.getVersionId()))) {
+                        mismatches++;
+                    }
+                }
+            }
+
+            for (String[] key : environment.getApiMetaKeys()) {
+                ApiMetaConfig current = apiMetaConfigMapper.findAllVersionsByIdentifier(
+                    key[0], key[1], key[2], key[3]).get(0);
+                for (int v = 0; v < versions; v++) {
+                    ApiMetaConfig next = new ApiMetaConfig();
+                    BeanUtils.copyProperties(current, next);
+                    next.setDescription("Describes the resources, revision " + v + ".");
+                    if (v % 5 == 4) {
+                        next.setResourceSpec(current.getResourceSpec().replace("\"resources\":[",
+                            "\"resources\":[{\"type\":\"ACS::" + key[1] + "::Extra" + v + "\",\"api\":\""
+                                + key[3] + "\"},"));
+                    }
+                    current = apiMetaConfigService.update(current.getVersionId(), next);
+                    ApiMetaConfig stored = apiMetaConfigService.findByVersionId(current.getVersionId());
+                    if (!Objects.equals(next.getResourceSpec(), stored.getResourceSpec())) {
+                        mismatches++;
+                    }
+                }
+            }
+
+            Map<String, Object> stats = environment.getBean(ConfigBlobService.class).getStats();
+            System.out.printf("catalogSize=%d, versions per identifier=%d (+2 seeded)%n", catalogSize, versions);
+            stats.forEach((name, value) -> System.out.printf("%-12s %s%n", name, value));
+            System.out.printf("%-12s %d%n", "mismatches", mismatches);
+        }
+    }
+
+    private static boolean sameContent(ApiRecordConfig written, ApiRecordConfig stored) {
+        return Objects.equals(written.getBasicConfig(), stored.getBasicConfig())
+            && Objects.equals(written.getEventConfig(), stored.getEventConfig())
+            && Objects.equals(written.getUserIdentityConfig(), stored.getUserIdentityConfig())
+            && Objects.equals(written.getRequestConfig(), stored.getRequestConfig())
+            && Objects.equals(written.getResponseConfig(), stored.getResponseConfig())
+            && Objects.equals(written.getFilterConfig(), stored.getFilterConfig())
+            && Objects.equals(written.getReferenceResourceConfig(), stored.getReferenceResourceConfig());
+    }
+}
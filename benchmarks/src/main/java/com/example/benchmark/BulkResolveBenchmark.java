@@ -0,0 +1,117 @@
+package com.example.benchmark;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ConfigSnapshotCache;
+import com.example.model.ApiMetaConfig;
+import com.example.service.ApiMetaConfigService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 批量解析基准：一次批量请求与逐个标识请求获取同一批生效配置，含响应序列化，不含网络往返
+ * source=database 时快照缓存保持未就绪，逐个请求每个标识一次查询，批量请求只有一次地域查询
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkResolveBenchmark {
+
+    private static final String REGION = "cn-hangzhou";
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    @Param({"100", "1000"})
+    private int identifierCount;
+
+    @Param({"cache", "database"})
+    private String source;
+
+    private BenchmarkEnvironment environment;
+    private ApiMetaConfigService apiMetaConfigService;
+    private ObjectMapper objectMapper;
+    private List<String> identifiers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        environment = BenchmarkEnvironment.start(catalogSize);
+        apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+        objectMapper = environment.getBean(ObjectMapper.class);
+        if ("database".equals(source)) {
+            disableCache(environment.getBean(ApiMetaConfigCache.class));
+        }
+
+        List<String[]> keys = new ArrayList<>(environment.getApiMetaKeys());
+        Collections.shuffle(keys, new Random(42));
+        identifiers = new ArrayList<>();
+        for (String[] key : keys.subList(0, Math.min(identifierCount, keys.size()))) {
+            identifiers.add(String.join(":", key));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public byte[] bulkResolve() throws JsonProcessingException {
+        Map<String, ApiMetaConfig> configs =
+            apiMetaConfigService.getActiveByIdentifiersAndRegion(identifiers, REGION);
+        return objectMapper.writeValueAsBytes(configs);
+    }
+
+    @Benchmark
+    public int singleResolves() throws JsonProcessingException {
+        int bytes = 0;
+        for (String identifier : identifiers) {
+            ApiMetaConfig config = apiMetaConfigService.getActiveByIdentifierAndRegion(identifier, REGION);
+            bytes += objectMapper.writeValueAsBytes(config).length;
+        }
+        return bytes;
+    }
+
+    /**
+     * 让快照缓存停留在未就绪状态：换回初始的空快照，并把上次加载时间推到未来使其一直处于重试退避中
+     */
+    @SuppressWarnings("unchecked")
+    private static void disableCache(ConfigSnapshotCache<?> cache) throws ReflectiveOperationException {
+        Field empty = ConfigSnapshotCache.class.getDeclaredField("EMPTY");
+        empty.setAccessible(true);
+        ((AtomicReference<Object>) field(cache, "snapshot")).set(empty.get(null));
+        Field lastLoadAttempt = ConfigSnapshotCache.class.getDeclaredField("lastLoadAttempt");
+        lastLoadAttempt.setAccessible(true);
+        lastLoadAttempt.set(cache, Long.MAX_VALUE / 2);
+    }
+
+    private static Object field(Object target, String name) throws ReflectiveOperationException {
+        Field field = ConfigSnapshotCache.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.benchmark;
+
+import com.example.client.ConfigClient;
+import com.example.client.ConfigClientOptions;
+import com.example.client.model.ApiMetaConfig;
+import com.example.client.model.ApiRecordConfig;
+import com.example.client.model.DataSourceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置客户端查找基准：客户端连接随机端口上的真实服务完成全量加载后，
+ * 从进程内缓存查找生效配置；httpActiveBySource 为同一查找直接请求服务端接口的对照
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigClientBenchmark {
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private BenchmarkEnvironment environment;
+    private ConfigClient client;
+    private RestTemplate restTemplate;
+    private String region;
+    private String[] apiIdentifiers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.startServer(catalogSize);
+        region = environment.getRegions().get(0);
+
+        ConfigClientOptions options = new ConfigClientOptions();
+        options.setServerUrl(environment.getServerUrl());
+        options.setRegion(region);
+        options.setStartupTimeoutMillis(60000);
+        client = new ConfigClient(options);
+        if (!client.start()) {
+            throw new IllegalStateException("Config client did not finish the initial load");
+        }
+
+        List<String[]> keys = environment.getApiRecordKeys();
+        apiIdentifiers = new String[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            String[] key = keys.get(i);
+            apiIdentifiers[i] = ConfigClient.apiIdentifier(key[0], key[1], key[2], key[3]);
+        }
+        restTemplate = new RestTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        environment.close();
+    }
+
+    @Benchmark
+    public DataSourceConfig dataSourceBySource() {
+        return client.getDataSource(environment.getSources().get(ThreadLocalRandom.current().nextInt(catalogSize)));
+    }
+
+    @Benchmark
+    public ApiRecordConfig apiRecordByIdentifier() {
+        return client.getApiRecord(apiIdentifiers[ThreadLocalRandom.current().nextInt(catalogSize)]);
+    }
+
+    /**
+     * 按四段标识查找，包含拼接标识的开销
+     */
+    @Benchmark
+    public ApiMetaConfig apiMetaByParts() {
+        String[] key = environment.getApiMetaKeys().get(ThreadLocalRandom.current().nextInt(catalogSize));
+        return client.getApiMeta(key[0], key[1], key[2], key[3]);
+    }
+
+    @Benchmark
+    public com.example.model.DataSourceConfig httpActiveBySource() {
+        String source = environment.getSources().get(ThreadLocalRandom.current().nextInt(catalogSize));
+        return restTemplate.getForObject(environment.getServerUrl() + "/api/datasource/{source}/region/{region}",
+            com.example.model.DataSourceConfig.class, source, region);
+    }
+}
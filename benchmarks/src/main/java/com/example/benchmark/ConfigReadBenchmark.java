@@ -0,0 +1,126 @@
+package com.example.benchmark;
+
+import com.example.dto.ConfigDiffRequest;
+import com.example.dto.ConfigDiffResponse;
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.model.DataSourceConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.DataSourceConfigService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置读取路径基准：按标识与地域查询生效配置、按地域列出生效配置、配置差异计算
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigReadBenchmark {
+
+    /**
+     * 差异请求中客户端持有的版本数
+     */
+    private static final int DIFF_HELD_VERSIONS = 100;
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private BenchmarkEnvironment environment;
+    private DataSourceConfigService dataSourceConfigService;
+    private ApiRecordConfigService apiRecordConfigService;
+    private ApiMetaConfigService apiMetaConfigService;
+    private List<ConfigDiffRequest> diffRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start(catalogSize);
+        dataSourceConfigService = environment.getBean(DataSourceConfigService.class);
+        apiRecordConfigService = environment.getBean(ApiRecordConfigService.class);
+        apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+
+        // 客户端持有的版本混合了仍生效与已废弃的版本
+        Random random = new Random(42);
+        diffRequests = new ArrayList<>();
+        for (String region : environment.getRegions()) {
+            List<String> versionIds = new ArrayList<>();
+            for (int i = 0; i < DIFF_HELD_VERSIONS; i++) {
+                int index = random.nextInt(catalogSize);
+                versionIds.add(i % 4 == 0
+                    ? environment.getDeprecatedDataSourceVersions().get(index)
+                    : environment.getPublishedDataSourceVersions().get(index));
+            }
+            ConfigDiffRequest request = new ConfigDiffRequest();
+            request.setRegion(region);
+            request.setVersionIds(versionIds);
+            diffRequests.add(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public ApiRecordConfig apiRecordActiveByIdentifierAndRegion() {
+        String[] key = environment.getApiRecordKeys().get(ThreadLocalRandom.current().nextInt(catalogSize));
+        return apiRecordConfigService.getActiveByIdentifierAndRegion(
+            key[0], key[1], key[2], key[3], randomRegion());
+    }
+
+    @Benchmark
+    public ApiMetaConfig apiMetaActiveByIdentifierAndRegion() {
+        String[] key = environment.getApiMetaKeys().get(ThreadLocalRandom.current().nextInt(catalogSize));
+        return apiMetaConfigService.getActiveByIdentifierAndRegion(
+            key[0], key[1], key[2], key[3], randomRegion());
+    }
+
+    @Benchmark
+    public DataSourceConfig dataSourceActiveBySourceAndRegion() {
+        String source = environment.getSources().get(ThreadLocalRandom.current().nextInt(catalogSize));
+        return dataSourceConfigService.getActiveBySourceAndRegion(source, randomRegion());
+    }
+
+    @Benchmark
+    public List<ApiMetaConfig> apiMetaActiveByRegion() {
+        return apiMetaConfigService.getActiveByRegion(randomRegion());
+    }
+
+    @Benchmark
+    public List<DataSourceConfig> dataSourceActiveByRegion() {
+        return dataSourceConfigService.getActiveByRegion(randomRegion());
+    }
+
+    @Benchmark
+    public ConfigDiffResponse dataSourceConfigDiff() {
+        return dataSourceConfigService.getConfigDiff(
+            diffRequests.get(ThreadLocalRandom.current().nextInt(diffRequests.size())));
+    }
+
+    private String randomRegion() {
+        List<String> regions = environment.getRegions();
+        return regions.get(ThreadLocalRandom.current().nextInt(regions.size()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.benchmark;
+
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.util.ConfigIdentifierUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 创建/更新路径基准：在已有不同数量已发布版本的表中创建新标识的 API Meta、API记录版本，以及为已有标识创建新版本；
+ * 每次调用都会提交一个事务并写入一条变更日志
+ * 另单独测量创建前的同标识校验：走 idx_identifier_status 的 EXISTS 查询，与改动前加载全部已发布版本后在内存中比对的基线
+ *
+ * 数据库为 H2 文件库，小规模目录启动后再直接写入 existingVersions 个已发布版本，
+ * 快照缓存只包含小规模目录，百万行的表不占用堆内存
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 4)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = "-Xmx3g")
+public class CreateBenchmark {
+
+    private static final String API_VERSION = "2020-01-01";
+
+    /**
+     * 提供更新用草稿的小规模目录
+     */
+    private static final int CATALOG_SIZE = 100;
+
+    /**
+     * API Meta、API记录表中各自直接写入的已发布版本数
+     */
+    @Param({"1000", "100000", "1000000"})
+    private int existingVersions;
+
+    private Path directory;
+    private BenchmarkEnvironment environment;
+    private ApiMetaConfigService apiMetaConfigService;
+    private ApiRecordConfigService apiRecordConfigService;
+    private ApiMetaConfigMapper apiMetaConfigMapper;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("create-benchmark");
+        // 按状态计数的定时统计会扫描整张表，与被测的创建请求争用 CPU
+        environment = BenchmarkEnvironment.startOnDisk(directory, CATALOG_SIZE,
+            Collections.singletonMap("config.metrics.version-count-interval-millis", Long.MAX_VALUE));
+        environment.insertPublished(ConfigType.API_META, existingVersions);
+        environment.insertPublished(ConfigType.API_RECORD, existingVersions);
+        apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+        apiRecordConfigService = environment.getBean(ApiRecordConfigService.class);
+        apiMetaConfigMapper = environment.getBean(ApiMetaConfigMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Benchmark
+    public ApiMetaConfig apiMetaCreate() {
+        return apiMetaConfigService.create(apiMeta("CreateResource" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public ApiRecordConfig apiRecordCreate() {
+        return apiRecordConfigService.create(apiRecord("CreateResource" + sequence.incrementAndGet()));
+    }
+
+    /**
+     * 以预置草稿为原版本，为已有标识创建新版本
+     */
+    @Benchmark
+    public ApiMetaConfig apiMetaUpdate() {
+        int index = sequence.incrementAndGet() % environment.getDraftApiMetaVersions().size();
+        String[] key = environment.getApiMetaKeys().get(index);
+        ApiMetaConfig config = apiMeta(key[3]);
+        config.setGatewayCode(key[1]);
+        config.setProduct(key[1]);
+        return apiMetaConfigService.update(environment.getDraftApiMetaVersions().get(index), config);
+    }
+
+    /**
+     * 新标识的同标识校验，走 idx_identifier_status 索引
+     */
+    @Benchmark
+    public boolean apiMetaDuplicateCheck() {
+        ApiMetaConfig config = apiMeta("CreateResource" + sequence.incrementAndGet());
+        return apiMetaConfigMapper.existsPublishedByIdentifier(
+            config.getGatewayType(), config.getGatewayCode(), config.getApiVersion(), config.getApiName());
+    }
+
+    /**
+     * 基线：改动前的同标识校验，加载全部已发布版本（含大字段）后在内存中比对
+     */
+    @Benchmark
+    public boolean apiMetaDuplicateCheckFullScan() {
+        ApiMetaConfig config = apiMeta("CreateResource" + sequence.incrementAndGet());
+        return ConfigIdentifierUtils.hasSameIdentifier(apiMetaConfigService.getAllPublished(), config);
+    }
+
+    private static ApiMetaConfig apiMeta(String apiName) {
+        ApiMetaConfig config = new ApiMetaConfig();
+        config.setGatewayType("POP");
+        config.setGatewayCode("benchmark");
+        config.setProduct("benchmark");
+        config.setApiVersion(API_VERSION);
+        config.setApiName(apiName);
+        config.setOperationType("Read");
+        config.setVisibility("Public");
+        config.setResponseBodyLog(Boolean.FALSE);
+        config.setResourceSpec("{\"resources\":[{\"type\":\"ACS::benchmark::Resource\",\"api\":\"" + apiName
+            + "\",\"idPath\":\"$.Resources[*].Id\"}]}");
+        return config;
+    }
+
+    private static ApiRecordConfig apiRecord(String apiName) {
+        ApiRecordConfig config = new ApiRecordConfig();
+        config.setGatewayType("POP");
+        config.setGatewayCode("benchmark");
+        config.setApiVersion(API_VERSION);
+        config.setApiName(apiName);
+        config.setBasicConfig("{\"recordEnabled\":true,\"sampleRate\":100}");
+        config.setEventConfig("{\"eventType\":\"ApiCall\",\"eventRW\":\"Write\"}");
+        config.setRequestConfig("{\"fields\":[\"RegionId\",\"InstanceId\"]}");
+        return config;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.benchmark;
+
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.util.ConfigIdentifierUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 标识构建基准：getIdentifier() 每次调用都通过 String.format 拼接，
+ * 与 String.join / StringBuilder 对照，并测量按标识在配置列表中查找的开销
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierBenchmark {
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private List<ApiMetaConfig> apiMetaConfigs;
+    private List<ApiRecordConfig> apiRecordConfigs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 只借用环境加载真实的已发布配置，基准本身不访问数据库
+        try (BenchmarkEnvironment environment = BenchmarkEnvironment.start(catalogSize)) {
+            apiMetaConfigs = environment.getBean(ApiMetaConfigService.class).getAllPublished();
+            apiRecordConfigs = environment.getBean(ApiRecordConfigService.class).getAllPublished();
+        }
+    }
+
+    @Benchmark
+    public String apiMetaGetIdentifier() {
+        return randomApiMeta().getIdentifier();
+    }
+
+    @Benchmark
+    public String apiRecordGetIdentifier() {
+        return apiRecordConfigs.get(ThreadLocalRandom.current().nextInt(apiRecordConfigs.size())).getIdentifier();
+    }
+
+    /**
+     * 对照：服务层按标识查询缓存时使用的拼接方式
+     */
+    @Benchmark
+    public String stringJoinIdentifier() {
+        ApiMetaConfig config = randomApiMeta();
+        return String.join(":", config.getGatewayType(), config.getGatewayCode(),
+            config.getApiVersion(), config.getApiName());
+    }
+
+    /**
+     * 对照：直接拼接
+     */
+    @Benchmark
+    public String concatIdentifier() {
+        ApiMetaConfig config = randomApiMeta();
+        return config.getGatewayType() + ':' + config.getGatewayCode() + ':'
+            + config.getApiVersion() + ':' + config.getApiName();
+    }
+
+    @Benchmark
+    public List<ApiMetaConfig> findSameIdentifier() {
+        return ConfigIdentifierUtils.findSameIdentifier(apiMetaConfigs, randomApiMeta());
+    }
+
+    @Benchmark
+    public boolean hasSameIdentifier() {
+        return ConfigIdentifierUtils.hasSameIdentifier(apiMetaConfigs, randomApiMeta());
+    }
+
+    private ApiMetaConfig randomApiMeta() {
+        return apiMetaConfigs.get(ThreadLocalRandom.current().nextInt(apiMetaConfigs.size()));
+    }
+}
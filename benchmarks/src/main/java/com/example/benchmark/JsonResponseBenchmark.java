@@ -0,0 +1,130 @@
+package com.example.benchmark;
+
+import com.example.cache.ConfigJsonCache;
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.model.BaseVersionedConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地域列表响应体构建基准
+ * 对比 Jackson 逐个序列化整份列表（MappingJackson2HttpMessageConverter 的做法）与拼接按版本缓存的 JSON 字节，
+ * 输出流丢弃写入的内容，只计入构建响应体的 CPU；配合 -prof gc 查看每次响应的分配量（gc.alloc.rate.norm）
+ *
+ * 按版本缓存的字节在准备阶段已写入，测量的是稳态；两种方式的输出在准备阶段逐字节比对
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonResponseBenchmark {
+
+    private static final String REGION = "cn-hangzhou";
+
+    /**
+     * 地域列表中的配置数
+     */
+    @Param({"1000", "5000", "10000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private ConfigJsonCache configJsonCache;
+    private List<ApiMetaConfig> apiMetaConfigs;
+    private List<ApiRecordConfig> apiRecordConfigs;
+
+    /**
+     * 丢弃写入内容、只统计字节数的输出流，代替响应流
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // 约 84% 的标识在单个地域生效，目录按 1.5 倍取足列表规模
+        try (BenchmarkEnvironment environment = BenchmarkEnvironment.start(listSize * 3 / 2)) {
+            objectMapper = environment.getBean(ObjectMapper.class);
+            configJsonCache = environment.getBean(ConfigJsonCache.class);
+            apiMetaConfigs = new ArrayList<>(environment.getBean(ApiMetaConfigService.class)
+                .getActiveByRegion(REGION).subList(0, listSize));
+            apiRecordConfigs = new ArrayList<>(environment.getBean(ApiRecordConfigService.class)
+                .getActiveByRegion(REGION).subList(0, listSize));
+        }
+        verify(apiMetaConfigs);
+        verify(apiRecordConfigs);
+    }
+
+    @Benchmark
+    public long apiMetaJackson() throws IOException {
+        DiscardingOutputStream outputStream = new DiscardingOutputStream();
+        objectMapper.writeValue(outputStream, apiMetaConfigs);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long apiMetaCachedBytes() throws IOException {
+        DiscardingOutputStream outputStream = new DiscardingOutputStream();
+        configJsonCache.array(apiMetaConfigs).writeTo(outputStream);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long apiRecordJackson() throws IOException {
+        DiscardingOutputStream outputStream = new DiscardingOutputStream();
+        objectMapper.writeValue(outputStream, apiRecordConfigs);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long apiRecordCachedBytes() throws IOException {
+        DiscardingOutputStream outputStream = new DiscardingOutputStream();
+        configJsonCache.array(apiRecordConfigs).writeTo(outputStream);
+        return outputStream.count;
+    }
+
+    /**
+     * 写入缓存并确认拼接结果与 Jackson 直接序列化一致
+     */
+    private void verify(List<? extends BaseVersionedConfig> configs) throws IOException {
+        ByteArrayOutputStream cached = new ByteArrayOutputStream();
+        configJsonCache.writeArray(configs, cached);
+        byte[] expected = objectMapper.writeValueAsBytes(configs);
+        if (!Arrays.equals(expected, cached.toByteArray())) {
+            throw new IllegalStateException("Cached JSON differs from Jackson output");
+        }
+    }
+}
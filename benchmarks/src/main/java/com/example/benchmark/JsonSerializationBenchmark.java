@@ -0,0 +1,92 @@
+package com.example.benchmark;
+
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.model.DataSourceConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.DataSourceConfigService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模型 JSON 序列化基准，使用应用上下文中的 ObjectMapper，与接口响应的序列化配置一致
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final String REGION = "cn-hangzhou";
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private List<ApiMetaConfig> apiMetaConfigs;
+    private List<ApiRecordConfig> apiRecordConfigs;
+    private List<DataSourceConfig> dataSourceConfigs;
+    private byte[] apiMetaJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        try (BenchmarkEnvironment environment = BenchmarkEnvironment.start(catalogSize)) {
+            objectMapper = environment.getBean(ObjectMapper.class);
+            apiMetaConfigs = environment.getBean(ApiMetaConfigService.class).getActiveByRegion(REGION);
+            apiRecordConfigs = environment.getBean(ApiRecordConfigService.class).getActiveByRegion(REGION);
+            dataSourceConfigs = environment.getBean(DataSourceConfigService.class).getActiveByRegion(REGION);
+        }
+        apiMetaJson = objectMapper.writeValueAsBytes(apiMetaConfigs.get(0));
+    }
+
+    @Benchmark
+    public byte[] apiMetaConfig() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+            apiMetaConfigs.get(ThreadLocalRandom.current().nextInt(apiMetaConfigs.size())));
+    }
+
+    @Benchmark
+    public byte[] apiRecordConfig() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+            apiRecordConfigs.get(ThreadLocalRandom.current().nextInt(apiRecordConfigs.size())));
+    }
+
+    @Benchmark
+    public byte[] dataSourceConfig() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+            dataSourceConfigs.get(ThreadLocalRandom.current().nextInt(dataSourceConfigs.size())));
+    }
+
+    @Benchmark
+    public ApiMetaConfig apiMetaConfigRead() throws IOException {
+        return objectMapper.readValue(apiMetaJson, ApiMetaConfig.class);
+    }
+
+    /**
+     * 地域列表接口的整体响应体
+     */
+    @Benchmark
+    public byte[] apiMetaRegionList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(apiMetaConfigs);
+    }
+}
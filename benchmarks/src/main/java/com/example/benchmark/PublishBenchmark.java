@@ -0,0 +1,92 @@
+package com.example.benchmark;
+
+import com.example.dto.BulkPublishItem;
+import com.example.enums.ConfigType;
+import com.example.service.PublishService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 发布路径基准：逐个调用 publish 与一次 bulkPublish 发布同样数量的版本
+ * 发布的是预置的 API Meta 草稿，按其灰度组发布；重复发布同一版本同样走完整的事务与提交后回调
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublishBenchmark {
+
+    private static final String OPERATOR = "benchmark";
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    /**
+     * 每次调用发布的版本数
+     */
+    @Param({"1", "10", "100"})
+    private int batchSize;
+
+    private BenchmarkEnvironment environment;
+    private PublishService publishService;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start(catalogSize);
+        publishService = environment.getBean(PublishService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void singlePublishes() {
+        int start = cursor.getAndAdd(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            int index = draftIndex(start + i);
+            publishService.publish(environment.getDraftApiMetaVersions().get(index), ConfigType.API_META.name(),
+                Collections.singletonList(environment.getDraftApiMetaGrayGroups().get(index)), OPERATOR);
+        }
+    }
+
+    @Benchmark
+    public Object bulkPublish() {
+        int start = cursor.getAndAdd(batchSize);
+        List<BulkPublishItem> items = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            int index = draftIndex(start + i);
+            BulkPublishItem item = new BulkPublishItem();
+            item.setVersionId(environment.getDraftApiMetaVersions().get(index));
+            item.setConfigType(ConfigType.API_META.name());
+            item.setGrayGroups(Collections.singletonList(environment.getDraftApiMetaGrayGroups().get(index)));
+            items.add(item);
+        }
+        return publishService.bulkPublish(items, OPERATOR);
+    }
+
+    private int draftIndex(int sequence) {
+        return Math.floorMod(sequence, environment.getDraftApiMetaVersions().size());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地域查询基准：对比按 effective_gray_groups LIKE 全表扫描（改造前的查询）与按 config_gray_region 索引连接
+ *
+ * 地域列表包含全量发布的版本，结果占已发布版本的大部分；灰度查询只取发布到该地域的版本，结果有选择性。
+ * 两种查询都只取 version_id，只计入定位已发布版本的开销，不含内容表连接与结果映射；
+ * 每个标识种子 2 个版本，catalogSize 为 50000 时每张配置表 10 万个版本；两种查询的结果在准备阶段逐地域比对
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionQueryBenchmark {
+
+    private static final String API_RECORD_LIKE_SCAN = "SELECT version_id FROM api_record_config " +
+        "WHERE status = 'PUBLISHED' " +
+        "AND (effective_gray_groups = 'all' " +
+        "    OR effective_gray_groups LIKE CONCAT('%', ?, '%'))";
+
+    private static final String API_RECORD_INDEXED = "SELECT c.version_id FROM config_gray_region g " +
+        "JOIN api_record_config c ON c.version_id = g.version_id " +
+        "WHERE g.config_type = 'API_RECORD' " +
+        "AND g.region IN ('all', ?) " +
+        "AND c.status = 'PUBLISHED'";
+
+    private static final String API_RECORD_GRAY_LIKE_SCAN = "SELECT version_id FROM api_record_config " +
+        "WHERE status = 'PUBLISHED' " +
+        "AND effective_gray_groups LIKE CONCAT('%', ?, '%')";
+
+    private static final String API_RECORD_GRAY_INDEXED = "SELECT c.version_id FROM config_gray_region g " +
+        "JOIN api_record_config c ON c.version_id = g.version_id " +
+        "WHERE g.config_type = 'API_RECORD' " +
+        "AND g.region = ? " +
+        "AND c.status = 'PUBLISHED'";
+
+    private static final String DATA_SOURCE_LIKE_SCAN = "SELECT version_id FROM data_source_config " +
+        "WHERE status = 'PUBLISHED' " +
+        "AND (effective_gray_groups = 'all' " +
+        "    OR effective_gray_groups LIKE CONCAT('%', ?, '%'))";
+
+    private static final String DATA_SOURCE_INDEXED = "SELECT c.version_id FROM config_gray_region g " +
+        "JOIN data_source_config c ON c.version_id = g.version_id " +
+        "WHERE g.config_type = 'DATA_SOURCE' " +
+        "AND g.region IN ('all', ?) " +
+        "AND c.status = 'PUBLISHED'";
+
+    /**
+     * 每种配置的标识数，版本数为其 2 倍
+     */
+    @Param({"50000", "100000"})
+    private int catalogSize;
+
+    private BenchmarkEnvironment environment;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start(catalogSize);
+        jdbcTemplate = new JdbcTemplate(environment.getBean(DataSource.class));
+        for (String region : environment.getRegions()) {
+            verify(API_RECORD_LIKE_SCAN, API_RECORD_INDEXED, region);
+            verify(API_RECORD_GRAY_LIKE_SCAN, API_RECORD_GRAY_INDEXED, region);
+            verify(DATA_SOURCE_LIKE_SCAN, DATA_SOURCE_INDEXED, region);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<String> apiRecordLikeScan() {
+        return jdbcTemplate.queryForList(API_RECORD_LIKE_SCAN, String.class, randomRegion());
+    }
+
+    @Benchmark
+    public List<String> apiRecordIndexed() {
+        return jdbcTemplate.queryForList(API_RECORD_INDEXED, String.class, randomRegion());
+    }
+
+    /**
+     * 只取灰度发布到该地域的版本，结果约占已发布版本的 4%
+     */
+    @Benchmark
+    public List<String> apiRecordGrayLikeScan() {
+        return jdbcTemplate.queryForList(API_RECORD_GRAY_LIKE_SCAN, String.class, randomRegion());
+    }
+
+    @Benchmark
+    public List<String> apiRecordGrayIndexed() {
+        return jdbcTemplate.queryForList(API_RECORD_GRAY_INDEXED, String.class, randomRegion());
+    }
+
+    @Benchmark
+    public List<String> dataSourceLikeScan() {
+        return jdbcTemplate.queryForList(DATA_SOURCE_LIKE_SCAN, String.class, randomRegion());
+    }
+
+    @Benchmark
+    public List<String> dataSourceIndexed() {
+        return jdbcTemplate.queryForList(DATA_SOURCE_INDEXED, String.class, randomRegion());
+    }
+
+    /**
+     * 种子地域互不为子串，两种查询应返回相同的版本集合
+     */
+    private void verify(String likeScan, String indexed, String region) {
+        List<String> scanned = jdbcTemplate.queryForList(likeScan, String.class, region);
+        List<String> joined = jdbcTemplate.queryForList(indexed, String.class, region);
+        if (scanned.isEmpty() || !new HashSet<>(scanned).equals(new HashSet<>(joined))) {
+            throw new IllegalStateException("Indexed region query differs from LIKE scan in " + region
+                + ": " + scanned.size() + " vs " + joined.size());
+        }
+    }
+
+    private String randomRegion() {
+        List<String> regions = environment.getRegions();
+        return regions.get(ThreadLocalRandom.current().nextInt(regions.size()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.benchmark;
+
+import com.example.dto.RegionSnapshot;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.DataSourceConfigService;
+import com.example.util.SnapshotCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 地域快照编码基准：快照二进制编码（gzip）与应用 ObjectMapper 序列化等价 JSON（不压缩、gzip）的耗时，
+ * 准备阶段输出三者的字节数
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotCodecBenchmark {
+
+    private static final String REGION = "cn-hangzhou";
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private RegionSnapshot snapshot;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (BenchmarkEnvironment environment = BenchmarkEnvironment.start(catalogSize)) {
+            objectMapper = environment.getBean(ObjectMapper.class);
+            snapshot = new RegionSnapshot();
+            snapshot.setRevision(1L);
+            snapshot.setRegion(REGION);
+            snapshot.getDataSourceConfigs().addAll(
+                environment.getBean(DataSourceConfigService.class).getActiveByRegion(REGION));
+            snapshot.getApiRecordConfigs().addAll(
+                environment.getBean(ApiRecordConfigService.class).getActiveByRegion(REGION));
+            snapshot.getApiMetaConfigs().addAll(
+                environment.getBean(ApiMetaConfigService.class).getActiveByRegion(REGION));
+        }
+        binary = SnapshotCodec.encode(snapshot);
+        json = objectMapper.writeValueAsBytes(snapshot);
+        System.out.printf("catalogSize=%d: binary %d bytes, JSON %d bytes, JSON gzip %d bytes%n",
+            catalogSize, binary.length, json.length, gzip(json).length);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return SnapshotCodec.encode(snapshot);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return objectMapper.writeValueAsBytes(snapshot);
+    }
+
+    @Benchmark
+    public byte[] jsonGzipEncode() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(snapshot));
+    }
+
+    @Benchmark
+    public RegionSnapshot binaryDecode() {
+        return SnapshotCodec.decode(binary);
+    }
+
+    @Benchmark
+    public RegionSnapshot jsonDecode() throws IOException {
+        return objectMapper.readValue(json, RegionSnapshot.class);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.benchmark;
+
+import com.example.enums.ConfigType;
+import com.example.model.ApiMetaConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.PublishService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 快照缓存并发基准：多个读线程与持续发布的写线程同时运行
+ *
+ * readOnly 为无发布时的读吞吐基线；readWhilePublishing 在读的同时持续发布、废弃预置的 API Meta 草稿，
+ * 衡量发布对读吞吐的影响；同样发布压力下的半更新读由 benchmarks 模块测试 SnapshotConcurrencyTest 断言
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotConcurrencyBenchmark {
+
+    private static final String OPERATOR = "benchmark";
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private BenchmarkEnvironment environment;
+    private ApiMetaConfigService apiMetaConfigService;
+    private PublishService publishService;
+    private List<String> identifiers;
+    private List<String> regions;
+
+    /**
+     * 写线程状态：轮流发布、废弃各草稿版本，使所属标识的生效版本在草稿与原发布版本之间切换
+     */
+    @State(Scope.Thread)
+    public static class Publisher {
+        private int cursor;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start(catalogSize);
+        apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+        publishService = environment.getBean(PublishService.class);
+        regions = environment.getRegions();
+        identifiers = new ArrayList<>();
+        for (String[] key : environment.getApiMetaKeys()) {
+            identifiers.add(String.join(":", key));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(8)
+    public ApiMetaConfig readOnly() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readWhilePublishing")
+    @GroupThreads(7)
+    public ApiMetaConfig readWhilePublishing() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readWhilePublishing")
+    @GroupThreads(1)
+    public void publishWhileReading(Publisher publisher) {
+        publishNext(publisher);
+    }
+
+    private ApiMetaConfig read() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return apiMetaConfigService.getActiveByIdentifierAndRegion(
+            identifiers.get(random.nextInt(identifiers.size())), regions.get(random.nextInt(regions.size())));
+    }
+
+    private void publishNext(Publisher publisher) {
+        List<String> drafts = environment.getDraftApiMetaVersions();
+        int index = publisher.cursor / 2 % drafts.size();
+        String versionId = drafts.get(index);
+        if (publisher.cursor % 2 == 0) {
+            publishService.publish(versionId, ConfigType.API_META.name(),
+                Collections.singletonList(environment.getDraftApiMetaGrayGroups().get(index)), OPERATOR);
+        } else {
+            publishService.deprecate(versionId, OPERATOR);
+        }
+        publisher.cursor++;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.benchmark;
+
+import com.example.util.VersionGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 版本号生成基准，按号段步长对比数据库往返的摊销效果
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionGeneratorBenchmark {
+
+    /**
+     * 每次向 version_sequence 租用的序号数，1 相当于每个版本号一次数据库往返
+     */
+    @Param({"1", "100", "1000"})
+    private int sequenceStep;
+
+    private BenchmarkEnvironment environment;
+    private VersionGenerator versionGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start(0,
+            Collections.<String, Object>singletonMap("config.version.sequence-step", sequenceStep));
+        versionGenerator = environment.getBean(VersionGenerator.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public String generateApiMetaVersion() {
+        return versionGenerator.generateApiMetaVersion();
+    }
+}
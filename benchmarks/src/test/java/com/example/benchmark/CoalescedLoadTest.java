@@ -0,0 +1,214 @@
+package com.example.benchmark;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.model.ApiMetaConfig;
+import com.example.model.DataSourceConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.DataSourceConfigService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 回源查询合并测试
+ * 在不预热快照缓存的节点上让全量加载持续失败，读请求全部回源数据库（加载失败后的退避期、冷启动即是这种状态），
+ * 并给单标识查询注入固定延迟模拟繁忙的 MySQL；每一轮多个线程同时读取同一个 标识+地域
+ */
+class CoalescedLoadTest {
+
+    private static final int CATALOG_SIZE = 100;
+    private static final int CALLERS = 50;
+    private static final int ROUNDS = 3;
+    private static final long LATENCY_MILLIS = 100;
+    private static final long TIMEOUT_MILLIS = 1000;
+
+    private static final String FULL_LOAD = ".findAllPublished";
+    private static final String API_META_LOAD = "ApiMetaConfigMapper.findEffectiveByIdentifierAndRegion";
+    private static final String DATA_SOURCE_LOAD = "DataSourceConfigMapper.findEffectiveBySourceAndRegion";
+
+    private static BenchmarkEnvironment reference;
+    private static BenchmarkEnvironment uncoalesced;
+    private static BenchmarkEnvironment coalesced;
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void start() {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("config.cache.coalesce-timeout-millis", TIMEOUT_MILLIS);
+        // 全量加载按设计失败，不输出每次重试的堆栈
+        overrides.put("logging.level.com.example.cache", "ERROR");
+        Map<String, Object> uncoalescedOverrides = new HashMap<>(overrides);
+        uncoalescedOverrides.put("config.cache.coalesce-enabled", false);
+
+        reference = BenchmarkEnvironment.start(CATALOG_SIZE);
+        uncoalesced = BenchmarkEnvironment.joinCold(reference, uncoalescedOverrides, FaultInjection.class);
+        coalesced = BenchmarkEnvironment.joinCold(reference, overrides, FaultInjection.class);
+        for (BenchmarkEnvironment node : new BenchmarkEnvironment[]{uncoalesced, coalesced}) {
+            node.getBean(FaultInjector.class).delay(API_META_LOAD, LATENCY_MILLIS);
+            node.getBean(FaultInjector.class).delay(DATA_SOURCE_LOAD, LATENCY_MILLIS);
+        }
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterAll
+    static void stop() {
+        executor.shutdownNow();
+        coalesced.close();
+        uncoalesced.close();
+        reference.close();
+    }
+
+    @Test
+    void uncoalescedNodeRunsOneQueryPerCaller() throws InterruptedException {
+        assertRounds(uncoalesced, CALLERS);
+    }
+
+    @Test
+    void coalescedNodeRunsOneQueryPerRound() throws InterruptedException {
+        assertRounds(coalesced, 1);
+        assertFalse(coalesced.getBean(ApiMetaConfigCache.class).isLoaded(), "snapshot cache stayed unavailable");
+    }
+
+    @Test
+    void loadFailureReachesEveryCallerWithOneQuery() throws InterruptedException {
+        FaultInjector faults = coalesced.getBean(FaultInjector.class);
+        faults.fail(API_META_LOAD);
+        try {
+            Round round = runRound(faults, API_META_LOAD, readApiMeta(coalesced, ROUNDS));
+            assertEquals(1, round.queries, "API_META queries");
+            assertEquals(CALLERS, round.count(FaultInjector.FAILURE),
+                "callers that received the injected failure, outcomes " + round.outcomes);
+        } finally {
+            faults.recover(API_META_LOAD);
+        }
+    }
+
+    @Test
+    void waitersTimeOutInsteadOfQueryingAgain() throws InterruptedException {
+        FaultInjector faults = coalesced.getBean(FaultInjector.class);
+        faults.delay(API_META_LOAD, TIMEOUT_MILLIS * 2);
+        try {
+            Round round = runRound(faults, API_META_LOAD, readApiMeta(coalesced, ROUNDS + 1));
+            assertEquals(1, round.queries, "API_META queries");
+            assertEquals(CALLERS - 1, round.count("Timed out"), "waiters that timed out, outcomes " + round.outcomes);
+        } finally {
+            faults.delay(API_META_LOAD, LATENCY_MILLIS);
+        }
+    }
+
+    /**
+     * 每轮读取一个新的 标识+地域，所有调用方拿到与预热节点相同的生效版本，查询次数为 queriesPerRound
+     */
+    private static void assertRounds(BenchmarkEnvironment node, int queriesPerRound) throws InterruptedException {
+        FaultInjector faults = node.getBean(FaultInjector.class);
+        for (int i = 0; i < ROUNDS; i++) {
+            String source = reference.getSources().get(i);
+            String region = regionOf(i);
+            Round meta = runRound(faults, API_META_LOAD, readApiMeta(node, i));
+            Round dataSource = runRound(faults, DATA_SOURCE_LOAD, () -> versionOf(
+                node.getBean(DataSourceConfigService.class).getActiveBySourceAndRegion(source, region)));
+
+            assertEquals(queriesPerRound, meta.queries, "API_META queries in round " + i);
+            assertEquals(queriesPerRound, dataSource.queries, "DATA_SOURCE queries in round " + i);
+            assertEquals(Collections.nCopies(CALLERS, readApiMeta(reference, i).get()), meta.outcomes,
+                "API_META versions returned in round " + i);
+            assertEquals(Collections.nCopies(CALLERS, versionOf(reference.getBean(DataSourceConfigService.class)
+                .getActiveBySourceAndRegion(source, region))), dataSource.outcomes,
+                "DATA_SOURCE versions returned in round " + i);
+        }
+    }
+
+    private static Supplier<String> readApiMeta(BenchmarkEnvironment node, int index) {
+        String[] key = reference.getApiMetaKeys().get(index);
+        String region = regionOf(index);
+        ApiMetaConfigService service = node.getBean(ApiMetaConfigService.class);
+        return () -> versionOf(service.getActiveByIdentifierAndRegion(key[0], key[1], key[2], key[3], region));
+    }
+
+    private static String regionOf(int index) {
+        return reference.getRegions().get(index % reference.getRegions().size());
+    }
+
+    /**
+     * 一轮中各调用方的结果：返回的版本号或异常信息，及本轮执行的查询次数
+     */
+    private static final class Round {
+        private final List<String> outcomes;
+        private final int queries;
+
+        private Round(List<String> outcomes, int queries) {
+            this.outcomes = outcomes;
+            this.queries = queries;
+        }
+
+        private long count(String fragment) {
+            return outcomes.stream().filter(outcome -> outcome != null && outcome.contains(fragment)).count();
+        }
+    }
+
+    private static Round runRound(FaultInjector faults, String statement, Supplier<String> read)
+        throws InterruptedException {
+        int before = faults.executions(statement);
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                try {
+                    return read.get();
+                } catch (RuntimeException e) {
+                    return "error: " + e.getMessage();
+                }
+            }));
+        }
+        ready.await();
+        start.countDown();
+        List<String> outcomes = new ArrayList<>();
+        for (Future<String> future : futures) {
+            try {
+                outcomes.add(future.get());
+            } catch (ExecutionException e) {
+                outcomes.add("error: " + e.getCause());
+            }
+        }
+        return new Round(outcomes, faults.executions(statement) - before);
+    }
+
+    private static String versionOf(Object config) {
+        if (config instanceof ApiMetaConfig) {
+            return ((ApiMetaConfig) config).getVersionId();
+        }
+        return config == null ? null : ((DataSourceConfig) config).getVersionId();
+    }
+
+    /**
+     * 注册到节点上下文的 MyBatis 插件，启动时即让全量加载失败，后台对账无法预热缓存
+     * 不加 @Configuration，避免被应用的组件扫描带入其他测试的上下文
+     */
+    public static class FaultInjection {
+        @Bean
+        public FaultInjector faultInjector() {
+            FaultInjector injector = new FaultInjector();
+            injector.fail(FULL_LOAD);
+            return injector;
+        }
+    }
+}
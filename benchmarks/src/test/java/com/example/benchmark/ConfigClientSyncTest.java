@@ -0,0 +1,144 @@
+package com.example.benchmark;
+
+import com.example.client.ConfigClient;
+import com.example.client.ConfigClientOptions;
+import com.example.client.model.ApiMetaConfig;
+import com.example.client.model.BaseVersionedConfig;
+import com.example.enums.ConfigType;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.DataSourceConfigService;
+import com.example.service.PublishService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 配置客户端同步测试
+ * 在随机端口上启动真实服务，客户端全量加载后与服务端的生效版本比对，再经长轮询跟随灰度发布、废弃
+ */
+class ConfigClientSyncTest {
+
+    private static final int CATALOG_SIZE = 200;
+    private static final int PUBLISHES = 5;
+    private static final long CHANGE_TIMEOUT_MILLIS = 10000;
+    private static final String OPERATOR = "sync-test";
+
+    private static BenchmarkEnvironment environment;
+    private static ConfigClient client;
+    private static String region;
+    private static Map<String, ApiMetaConfig> notified;
+
+    @BeforeAll
+    static void start() {
+        environment = BenchmarkEnvironment.startServer(CATALOG_SIZE);
+        region = environment.getRegions().get(0);
+        ConfigClientOptions options = new ConfigClientOptions();
+        options.setServerUrl(environment.getServerUrl());
+        options.setRegion(region);
+        options.setStartupTimeoutMillis(60000);
+        client = new ConfigClient(options);
+        notified = new ConcurrentHashMap<>();
+        client.addListener(event -> event.getApiMetaConfigs().forEach((identifier, config) ->
+            notified.put(identifier, config == null ? new ApiMetaConfig() : config)));
+        assertTrue(client.start(), "client finished the initial load");
+    }
+
+    @AfterAll
+    static void stop() {
+        client.close();
+        environment.close();
+    }
+
+    @Test
+    void initialLoadMatchesServer() {
+        DataSourceConfigService dataSourceConfigService = environment.getBean(DataSourceConfigService.class);
+        ApiRecordConfigService apiRecordConfigService = environment.getBean(ApiRecordConfigService.class);
+        ApiMetaConfigService apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+        List<String> mismatches = new ArrayList<>();
+        for (String source : environment.getSources()) {
+            if (!sameVersion(dataSourceConfigService.getActiveBySourceAndRegion(source, region),
+                    client.getDataSource(source))) {
+                mismatches.add("data source " + source);
+            }
+        }
+        for (String[] key : environment.getApiRecordKeys()) {
+            if (!sameVersion(apiRecordConfigService.getActiveByIdentifierAndRegion(key[0], key[1], key[2], key[3],
+                    region), client.getApiRecord(key[0], key[1], key[2], key[3]))) {
+                mismatches.add("api record " + ConfigClient.apiIdentifier(key[0], key[1], key[2], key[3]));
+            }
+        }
+        for (String[] key : environment.getApiMetaKeys()) {
+            if (!sameVersion(apiMetaConfigService.getActiveByIdentifierAndRegion(key[0], key[1], key[2], key[3],
+                    region), client.getApiMeta(key[0], key[1], key[2], key[3]))) {
+                mismatches.add("api meta " + ConfigClient.apiIdentifier(key[0], key[1], key[2], key[3]));
+            }
+        }
+        assertEquals(Collections.emptyList(), mismatches, "client versions differing from the server");
+    }
+
+    @Test
+    void clientFollowsPublishesAndDeprecations() {
+        PublishService publishService = environment.getBean(PublishService.class);
+        ApiMetaConfigService apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+        for (int i = 0; i < PUBLISHES; i++) {
+            String[] key = environment.getApiMetaKeys().get(i);
+            String identifier = ConfigClient.apiIdentifier(key[0], key[1], key[2], key[3]);
+            String draft = environment.getDraftApiMetaVersions().get(i);
+
+            // 地域灰度版本优先于全量版本，发布后客户端的生效版本应切换为草稿
+            notified.remove(identifier);
+            publishService.publish(draft, ConfigType.API_META.name(), Collections.singletonList(region), OPERATOR);
+            assertTrue(await(() -> draft.equals(versionIdOf(client.getApiMeta(identifier)))),
+                "client sees " + draft + " published for " + identifier);
+            assertNotNull(notified.get(identifier), "listener notified of the publish of " + draft);
+            assertEquals(draft, notified.get(identifier).getVersionId(), "version passed to the listener");
+
+            // 废弃后与服务端当前的生效版本一致（被草稿替换的旧版本已废弃时不再有生效版本）
+            notified.remove(identifier);
+            publishService.deprecate(draft, OPERATOR);
+            com.example.model.ApiMetaConfig expected = apiMetaConfigService.getActiveByIdentifierAndRegion(
+                key[0], key[1], key[2], key[3], region);
+            assertTrue(await(() -> !draft.equals(versionIdOf(client.getApiMeta(identifier)))
+                    && sameVersion(expected, client.getApiMeta(identifier))),
+                "client falls back to the server's effective version after deprecating " + draft);
+            assertTrue(notified.containsKey(identifier), "listener notified of the deprecation of " + draft);
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CHANGE_TIMEOUT_MILLIS);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return false;
+    }
+
+    private static boolean sameVersion(com.example.model.BaseVersionedConfig expected, BaseVersionedConfig actual) {
+        if (expected == null || actual == null) {
+            return expected == null && actual == null;
+        }
+        return Objects.equals(expected.getVersionId(), actual.getVersionId());
+    }
+
+    private static String versionIdOf(BaseVersionedConfig config) {
+        return config == null ? null : config.getVersionId();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.benchmark;
+
+import com.example.enums.ConfigType;
+import com.example.service.ConfigExportService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 流式导出内存测试
+ * 在限制了最大堆的子进程中启动应用，数据库为 H2 文件库（表数据不占用堆），直接写入大量已发布的 API Meta 行，
+ * 再通过游标导出全部已发布配置；导出的 JSON 远大于最大堆，一次性加载全部结果的实现会内存不足
+ *
+ * 文件库开启了 LAZY_QUERY_EXECUTION（对应 MySQL 的 useCursorFetch），否则 H2 会先在内存中物化结果集
+ */
+class ConfigExportTest {
+
+    /**
+     * 子进程最后一行输出：导出的元素数、JSON 字节数
+     */
+    private static final Pattern RESULT = Pattern.compile("exported=(\\d+) bytes=(\\d+)");
+
+    /**
+     * 10 万行约 170MB JSON
+     */
+    @Test
+    void exportsWithinSmallHeap() throws IOException, InterruptedException {
+        assertExportsWithinHeap(100000, 64);
+    }
+
+    /**
+     * 100 万行约 1.7GB JSON，耗时约 2 分钟，仅在 -Plarge-tests 时执行
+     */
+    @Test
+    @Tag("large")
+    void exportsMillionRowsWithinSmallHeap() throws IOException, InterruptedException {
+        assertExportsWithinHeap(1000000, 128);
+    }
+
+    private static void assertExportsWithinHeap(int rows, int maxHeapMb) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("config-export-test");
+        try {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process process = new ProcessBuilder(java, "-Xmx" + maxHeapMb + "m", "-XX:+ExitOnOutOfMemoryError",
+                "-cp", System.getProperty("java.class.path"), Export.class.getName(),
+                String.valueOf(rows), directory.toString())
+                .redirectErrorStream(true)
+                .start();
+            String output = StreamUtils.copyToString(process.getInputStream(), StandardCharsets.UTF_8).trim();
+            int exitCode = process.waitFor();
+
+            // 内存不足时子进程以 JVM 的错误退出码结束，输出中带有 OutOfMemoryError
+            assertEquals(0, exitCode, "export within -Xmx" + maxHeapMb + "m exited abnormally:\n" + output);
+            Matcher result = RESULT.matcher(output.substring(output.lastIndexOf('\n') + 1));
+            assertTrue(result.matches(), "unexpected export output:\n" + output);
+            long bytes = Long.parseLong(result.group(2));
+            assertEquals(rows, Long.parseLong(result.group(1)), "exported elements");
+            assertTrue(bytes > (long) maxHeapMb << 20,
+                "export of " + (bytes >> 20) + " MB does not exceed -Xmx" + maxHeapMb + "m");
+        } finally {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * 子进程入口：写入数据并导出，最后一行输出导出结果
+     */
+    public static class Export {
+
+        public static void main(String[] args) throws Exception {
+            int rows = Integer.parseInt(args[0]);
+            Path directory = Paths.get(args[1]);
+            Map<String, Object> overrides = Collections.singletonMap("logging.level.root", "ERROR");
+            try (BenchmarkEnvironment environment = BenchmarkEnvironment.startOnDisk(directory, 0, overrides)) {
+                // 缓存已在空目录上加载完成，直接写入的行不会触发缓存全量重建
+                environment.insertPublished(ConfigType.API_META, rows);
+                long[] exported = export(environment.getBean(ConfigExportService.class));
+                System.out.printf("exported=%d bytes=%d%n", exported[0], exported[1]);
+            }
+        }
+
+        /**
+         * 导出到管道，另一线程以流式解析器读取并统计数组元素，返回 {元素数, 字节数}
+         */
+        private static long[] export(ConfigExportService exportService) throws Exception {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try (PipedInputStream input = new PipedInputStream(1 << 16)) {
+                PipedOutputStream pipe = new PipedOutputStream(input);
+                Future<long[]> parsed = executor.submit(() -> {
+                    long elements = 0;
+                    try (JsonParser parser = new JsonFactory().createParser(input)) {
+                        if (parser.nextToken() != JsonToken.START_ARRAY) {
+                            throw new IllegalStateException("Export is not a JSON array");
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            elements++;
+                        }
+                        return new long[]{elements, parser.getCurrentLocation().getByteOffset()};
+                    }
+                });
+                try (OutputStream output = pipe) {
+                    exportService.streamAllPublishedApiMetas().writeTo(output);
+                }
+                try {
+                    return parsed.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to parse export", e.getCause());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.benchmark;
+
+import com.example.service.ConfigChangeService;
+import com.example.service.ConfigWatchService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 长轮询边界测试
+ * 在随机端口上启动单个节点，单节点最多挂起一个监听
+ */
+class ConfigWatchTest {
+
+    private static final int CATALOG_SIZE = 50;
+    private static final long RETRY_AFTER_SECONDS = 7;
+    private static final long WATCH_TIMEOUT_MILLIS = 3000;
+    private static final int READ_TIMEOUT_MILLIS = 10000;
+
+    private static BenchmarkEnvironment environment;
+    private static String region;
+
+    @BeforeAll
+    static void start() {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("config.watch.max-watchers", 1);
+        overrides.put("config.watch.retry-after-seconds", RETRY_AFTER_SECONDS);
+        environment = BenchmarkEnvironment.startServer(CATALOG_SIZE, overrides);
+        region = environment.getRegions().get(0);
+    }
+
+    @AfterAll
+    static void stop() {
+        environment.close();
+    }
+
+    @Test
+    void zeroTimeoutReturnsWithoutSuspending() throws IOException {
+        long startedAt = System.nanoTime();
+        HttpURLConnection connection = watch(0);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertEquals(HttpURLConnection.HTTP_OK, status(connection), "status for timeoutMillis=0");
+        assertTrue(elapsedMillis < WATCH_TIMEOUT_MILLIS, "timeoutMillis=0 answered in " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void saturatedNodeAnswers503WithRetryAfter() throws Exception {
+        ConfigWatchService watchService = environment.getBean(ConfigWatchService.class);
+        CompletableFuture<Integer> held = CompletableFuture.supplyAsync(() -> {
+            try {
+                return status(watch(WATCH_TIMEOUT_MILLIS));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(await(() -> watchService.getWatcherCount() == 1), "first watcher suspended");
+
+        HttpURLConnection rejected = watch(WATCH_TIMEOUT_MILLIS);
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, status(rejected), "status once max-watchers is reached");
+        assertEquals(String.valueOf(RETRY_AFTER_SECONDS), rejected.getHeaderField("Retry-After"), "Retry-After");
+        assertEquals(1, watchService.getRejectedWatches(), "rejected watches");
+
+        assertEquals(HttpURLConnection.HTTP_OK, (int) held.get(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+            "status of the suspended watcher after its timeout");
+    }
+
+    private static HttpURLConnection watch(long timeoutMillis) throws IOException {
+        long revision = environment.getBean(ConfigChangeService.class).getCurrentRevision();
+        HttpURLConnection connection = (HttpURLConnection) new URL(environment.getServerUrl()
+            + "/api/config/watch?sinceRevision=" + revision + "&region=" + region
+            + "&timeoutMillis=" + timeoutMillis).openConnection();
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        connection.getResponseCode();
+        return connection;
+    }
+
+    private static int status(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (body != null) {
+            body.close();
+        }
+        return status;
+    }
+
+    private static boolean await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WATCH_TIMEOUT_MILLIS);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return false;
+    }
+}
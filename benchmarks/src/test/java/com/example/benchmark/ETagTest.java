@@ -0,0 +1,80 @@
+package com.example.benchmark;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.controller.ApiMetaConfigController;
+import com.example.controller.DataSourceConfigController;
+import com.example.model.ApiMetaConfig;
+import com.example.model.DataSourceConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 生效配置条件请求测试
+ * 直接调用控制器方法，ETag 与响应体取自同一快照，没有生效版本时不返回 ETag 也不返回 304
+ */
+class ETagTest {
+
+    private static final int CATALOG_SIZE = 50;
+
+    private static BenchmarkEnvironment environment;
+    private static ApiMetaConfigController apiMetaConfigController;
+    private static DataSourceConfigController dataSourceConfigController;
+    private static String region;
+
+    @BeforeAll
+    static void start() {
+        environment = BenchmarkEnvironment.start(CATALOG_SIZE);
+        apiMetaConfigController = environment.getBean(ApiMetaConfigController.class);
+        dataSourceConfigController = environment.getBean(DataSourceConfigController.class);
+        region = environment.getRegions().get(0);
+        assertTrue(environment.getBean(ApiMetaConfigCache.class).getRegionView(region) != null,
+            "snapshot cache loaded");
+    }
+
+    @AfterAll
+    static void stop() {
+        environment.close();
+    }
+
+    @Test
+    void activeConfigCarriesETagOfReturnedVersion() {
+        String[] key = environment.getApiMetaKeys().get(0);
+        ResponseEntity<ApiMetaConfig> response = activeApiMeta(key, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "status without If-None-Match");
+        assertNotNull(response.getBody(), "effective version of " + String.join(":", key));
+        String eTag = response.getHeaders().getETag();
+        assertNotNull(eTag, "ETag of the effective version");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, activeApiMeta(key, eTag).getStatusCode(), "status for a matching ETag");
+        assertEquals(HttpStatus.NOT_MODIFIED, activeApiMeta(key, "*").getStatusCode(), "status for *");
+        assertEquals(HttpStatus.OK, activeApiMeta(key, "W/\"0\"").getStatusCode(), "status for a stale ETag");
+    }
+
+    @Test
+    void missingVersionHasNoETagAndIsNeverNotModified() {
+        String[] key = {"missing", "missing", "v0", "missing"};
+        ResponseEntity<ApiMetaConfig> meta = activeApiMeta(key, "*");
+        assertEquals(HttpStatus.OK, meta.getStatusCode(), "API_META status for * without an effective version");
+        assertNull(meta.getBody(), "API_META body without an effective version");
+        assertNull(meta.getHeaders().getETag(), "API_META ETag without an effective version");
+        assertEquals(HttpStatus.OK, activeApiMeta(key, "W/\"0\"").getStatusCode(),
+            "API_META status for the former empty-fingerprint ETag");
+
+        ResponseEntity<DataSourceConfig> dataSource =
+            dataSourceConfigController.getBySourceAndRegion("missing", region, "*");
+        assertEquals(HttpStatus.OK, dataSource.getStatusCode(), "DATA_SOURCE status for * without an effective version");
+        assertNull(dataSource.getHeaders().getETag(), "DATA_SOURCE ETag without an effective version");
+    }
+
+    private static ResponseEntity<ApiMetaConfig> activeApiMeta(String[] key, String ifNoneMatch) {
+        return apiMetaConfigController.getActiveConfig(key[0], key[1], key[2], key[3], region, ifNoneMatch);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.benchmark;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MyBatis 插件，按 Mapper 方法ID 后缀注入延迟或失败，并统计执行次数
+ * 由各测试以 @Bean 注册到节点上下文
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+            BoundSql.class})
+})
+final class FaultInjector implements Interceptor {
+
+    static final String FAILURE = "injected failure";
+
+    private final Map<String, Long> delays = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> failing = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+    void delay(String statement, long millis) {
+        delays.put(statement, millis);
+    }
+
+    void fail(String statement) {
+        failing.put(statement, true);
+    }
+
+    void recover(String statement) {
+        failing.remove(statement);
+    }
+
+    int executions(String statement) {
+        AtomicInteger count = executions.get(statement);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        String id = ((MappedStatement) invocation.getArgs()[0]).getId();
+        String matched = match(id);
+        if (matched != null) {
+            executions.computeIfAbsent(matched, key -> new AtomicInteger()).incrementAndGet();
+            Long delay = delays.get(matched);
+            if (delay != null) {
+                Thread.sleep(delay);
+            }
+            if (failing.containsKey(matched)) {
+                throw new IllegalStateException(FAILURE + " in " + id);
+            }
+        }
+        return invocation.proceed();
+    }
+
+    private String match(String id) {
+        for (String statement : delays.keySet()) {
+            if (id.endsWith(statement)) {
+                return statement;
+            }
+        }
+        for (String statement : failing.keySet()) {
+            if (id.endsWith(statement)) {
+                return statement;
+            }
+        }
+        return null;
+    }
+}
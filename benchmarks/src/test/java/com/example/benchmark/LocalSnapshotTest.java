@@ -0,0 +1,230 @@
+package com.example.benchmark;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ApiRecordConfigCache;
+import com.example.cache.DataSourceConfigCache;
+import com.example.cache.LocalSnapshotStore;
+import com.example.enums.ConfigType;
+import com.example.model.BaseVersionedConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.BaseConfigService;
+import com.example.service.ConfigChangeService;
+import com.example.service.DataSourceConfigService;
+import com.example.service.PublishService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 本地快照文件测试
+ * 写入节点持久化本地快照文件后再发布一个版本，冻结的文件只包含发布前的内容；
+ * 冷启动节点以该文件启动，启动时数据源的每次取连接都失败；恢复后按变更日志从文件修订号增量对账
+ */
+class LocalSnapshotTest {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final String OPERATOR = "local-snapshot-test";
+    private static final long RECONCILE_INTERVAL_MILLIS = 100;
+    private static final long TIMEOUT_MILLIS = 10000;
+    private static final String FULL_LOAD = ".findAllPublished";
+
+    private static Path directory;
+    private static BenchmarkEnvironment writer;
+    private static Map<String, Set<String>> snapshotViews;
+    private static Map<String, Set<String>> latestViews;
+    private static long latestRevision;
+
+    @BeforeAll
+    static void persistSnapshotThenPublish() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("local-snapshot-test");
+        Path writerFile = directory.resolve("writer.bin");
+        writer = BenchmarkEnvironment.start(CATALOG_SIZE, snapshotOverrides(writerFile));
+        LocalSnapshotStore writerStore = writer.getBean(LocalSnapshotStore.class);
+        assertTrue(await(() -> (Long) writerStore.getStats().get("persistedRevision") >= 0),
+            "writer persisted a local snapshot");
+
+        // 冻结此刻的文件与各地域生效版本，随后的发布只在数据库中
+        Files.copy(writerFile, directory.resolve("cold.bin"));
+        snapshotViews = views(writer);
+        writer.getBean(PublishService.class).publish(writer.getDraftApiMetaVersions().get(0),
+            ConfigType.API_META.name(),
+            Collections.singletonList(writer.getDraftApiMetaGrayGroups().get(0)), OPERATOR);
+        latestRevision = writer.getBean(ConfigChangeService.class).getCurrentRevision();
+        latestViews = views(writer);
+        assertNotEquals(snapshotViews, latestViews, "publish after the snapshot changed a region");
+    }
+
+    @AfterAll
+    static void stop() {
+        writer.close();
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Test
+    void coldStartServesLocalSnapshotWhileDatabaseIsDown() throws IOException, InterruptedException {
+        try (BenchmarkEnvironment cold = startCold()) {
+            assertThrows(RuntimeException.class, () -> cold.getBean(ConfigChangeService.class).getCurrentRevision(),
+                "database is unreachable");
+            assertEquals(snapshotViews, views(cold), "cold start serves the snapshot file");
+
+            // 数据库持续不可用期间的后台对账都会失败
+            Thread.sleep(RECONCILE_INTERVAL_MILLIS * 5);
+            assertFalse(loaded(cold), "reconcile cannot load while the database is down");
+            assertEquals(snapshotViews, views(cold), "reads keep serving the snapshot while reconcile fails");
+        }
+    }
+
+    @Test
+    void reconcileCatchesUpAfterDatabaseRecovers() throws IOException, InterruptedException {
+        try (BenchmarkEnvironment cold = startCold()) {
+            cold.getBean(DatabaseOutage.class).recover();
+
+            assertTrue(await(() -> loaded(cold) && views(cold).equals(latestViews)),
+                "views catch up with the latest revision after recovery");
+            LocalSnapshotStore store = cold.getBean(LocalSnapshotStore.class);
+            assertTrue(await(() -> (Long) store.getStats().get("persistedRevision") >= latestRevision),
+                "local file rewritten at the latest revision " + latestRevision + ", stats " + store.getStats());
+
+            // 只重新加载文件修订号之后变更过的标识，没有全量加载
+            assertTrue((Long) store.getStats().get("restoredRevision") < latestRevision,
+                "snapshot file predates the publish, stats " + store.getStats());
+            assertTrue((Long) store.getStats().get("replayedIdentifiers") >= 1,
+                "published identifier replayed from the change log, stats " + store.getStats());
+            assertEquals(0, cold.getBean(FaultInjector.class).executions(FULL_LOAD), "full loads on the cold node");
+        }
+    }
+
+    /**
+     * 以冻结的快照文件的副本启动冷节点，数据源处于不可用状态
+     */
+    private static BenchmarkEnvironment startCold() throws IOException {
+        Path file = Files.createTempFile(directory, "cold", ".bin");
+        Files.copy(directory.resolve("cold.bin"), file, StandardCopyOption.REPLACE_EXISTING);
+        Map<String, Object> overrides = snapshotOverrides(file);
+        // 数据库不可用期间每次对账、轮询都会失败，不输出其日志
+        overrides.put("logging.level.com.example", "OFF");
+        return BenchmarkEnvironment.joinCold(writer, overrides, DatabaseOutage.class, LoadCounter.class);
+    }
+
+    private static Map<String, Object> snapshotOverrides(Path file) {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("config.snapshot.local-file-enabled", "true");
+        overrides.put("config.snapshot.local-file", file.toString());
+        overrides.put("config.snapshot.reconcile-interval-millis", RECONCILE_INTERVAL_MILLIS);
+        return overrides;
+    }
+
+    /**
+     * 各类型、各地域读接口返回的生效版本号
+     */
+    private static Map<String, Set<String>> views(BenchmarkEnvironment environment) {
+        Map<String, Set<String>> views = new TreeMap<>();
+        for (String region : environment.getRegions()) {
+            views.put("DATA_SOURCE@" + region, versions(environment.getBean(DataSourceConfigService.class), region));
+            views.put("API_RECORD@" + region, versions(environment.getBean(ApiRecordConfigService.class), region));
+            views.put("API_META@" + region, versions(environment.getBean(ApiMetaConfigService.class), region));
+        }
+        return views;
+    }
+
+    private static Set<String> versions(BaseConfigService<? extends BaseVersionedConfig> service, String region) {
+        return service.getActiveByRegion(region).stream()
+            .map(BaseVersionedConfig::getVersionId).collect(Collectors.toSet());
+    }
+
+    private static boolean loaded(BenchmarkEnvironment environment) {
+        return environment.getBean(DataSourceConfigCache.class).isLoaded()
+            && environment.getBean(ApiRecordConfigCache.class).isLoaded()
+            && environment.getBean(ApiMetaConfigCache.class).isLoaded();
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(RECONCILE_INTERVAL_MILLIS / 2);
+        }
+        return true;
+    }
+
+    /**
+     * 注册到节点上下文的 MyBatis 插件，统计全量加载次数
+     */
+    public static class LoadCounter {
+        @Bean
+        public FaultInjector faultInjector() {
+            FaultInjector injector = new FaultInjector();
+            injector.delay(FULL_LOAD, 0);
+            return injector;
+        }
+    }
+
+    /**
+     * 注册到节点上下文的数据源包装，启动时即处于不可用状态，{@link #recover()} 后恢复
+     * 不加 @Configuration，避免被应用的组件扫描带入其他测试的上下文
+     */
+    public static class DatabaseOutage implements BeanPostProcessor {
+
+        private volatile boolean down = true;
+
+        void recover() {
+            down = false;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    checkAvailable();
+                    return super.getConnection();
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    checkAvailable();
+                    return super.getConnection(username, password);
+                }
+            };
+        }
+
+        private void checkAvailable() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("injected database outage");
+            }
+        }
+    }
+}
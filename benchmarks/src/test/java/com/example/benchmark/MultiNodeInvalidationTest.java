@@ -0,0 +1,154 @@
+package com.example.benchmark;
+
+import com.example.dto.ConfigChangeResponse;
+import com.example.enums.ConfigType;
+import com.example.model.ApiMetaConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ConfigChangeService;
+import com.example.service.ConfigInvalidationPoller;
+import com.example.service.ConfigWatchService;
+import com.example.service.PublishService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 跨节点缓存失效测试
+ * 在同一 JVM 中启动共享一个 H2 内存库的三个应用节点，在一个节点上发布、废弃 API Meta 草稿，
+ * 其余节点经变更日志追踪切换到新的生效版本，挂起的长轮询被唤醒
+ */
+class MultiNodeInvalidationTest {
+
+    private static final int CATALOG_SIZE = 100;
+    private static final int PUBLISHES = 6;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final long CHANGE_TIMEOUT_MILLIS = 10000;
+    private static final String OPERATOR = "invalidation-test";
+
+    private static List<BenchmarkEnvironment> nodes;
+
+    @BeforeAll
+    static void start() {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("config.invalidation.poll-interval-millis", POLL_INTERVAL_MILLIS);
+        BenchmarkEnvironment nodeA = BenchmarkEnvironment.start(CATALOG_SIZE, overrides);
+        nodes = Arrays.asList(nodeA, BenchmarkEnvironment.join(nodeA, overrides),
+            BenchmarkEnvironment.join(nodeA, overrides));
+    }
+
+    @AfterAll
+    static void stop() {
+        nodes.forEach(BenchmarkEnvironment::close);
+    }
+
+    @Test
+    void watcherOnAnotherNodeIsWokenByPublish() {
+        BenchmarkEnvironment origin = nodes.get(0);
+        BenchmarkEnvironment watcherNode = nodes.get(1);
+        String draft = origin.getDraftApiMetaVersions().get(0);
+        String region = regionOf(0);
+        long revision = watcherNode.getBean(ConfigChangeService.class).getCurrentRevision();
+        DeferredResult<ConfigChangeResponse> result = watcherNode.getBean(ConfigWatchService.class)
+            .watch(revision, region, CHANGE_TIMEOUT_MILLIS);
+
+        origin.getBean(PublishService.class).publish(draft, ConfigType.API_META.name(),
+            Collections.singletonList(region), OPERATOR);
+
+        assertTrue(await(() -> result.getResult() != null), "watcher on node B woken by a publish on node A");
+        assertTrue(((ConfigChangeResponse) result.getResult()).getApiMetaConfigs().stream()
+            .anyMatch(config -> draft.equals(config.getVersionId())), "watch response contains " + draft);
+    }
+
+    /**
+     * 轮流在各节点发布、废弃草稿，所有节点的生效版本都应与发布节点一致
+     */
+    @Test
+    void otherNodesSeePublishesAndDeprecations() {
+        BenchmarkEnvironment first = nodes.get(0);
+        for (int i = 1; i <= PUBLISHES; i++) {
+            BenchmarkEnvironment origin = nodes.get(i % nodes.size());
+            String[] key = first.getApiMetaKeys().get(i);
+            String draft = first.getDraftApiMetaVersions().get(i);
+            String region = regionOf(i);
+
+            origin.getBean(PublishService.class).publish(draft, ConfigType.API_META.name(),
+                Collections.singletonList(region), OPERATOR);
+            for (int n = 0; n < nodes.size(); n++) {
+                BenchmarkEnvironment node = nodes.get(n);
+                assertTrue(await(() -> draft.equals(activeVersion(node, key, region))),
+                    "node " + (char) ('A' + n) + " sees " + draft + " published in " + region);
+            }
+
+            origin.getBean(PublishService.class).deprecate(draft, OPERATOR);
+            String expected = activeVersion(origin, key, region);
+            for (int n = 0; n < nodes.size(); n++) {
+                BenchmarkEnvironment node = nodes.get(n);
+                assertTrue(await(() -> Objects.equals(expected, activeVersion(node, key, region))),
+                    "node " + (char) ('A' + n) + " falls back to " + expected + " after deprecating " + draft);
+            }
+        }
+
+        // 各节点都处理过其他节点的变更，记录了从提交到本节点应用的延迟
+        for (int n = 0; n < nodes.size(); n++) {
+            Timer timer = nodes.get(n).getBean(MeterRegistry.class).find(ConfigInvalidationPoller.DELAY_TIMER)
+                .tag("type", ConfigType.API_META.name()).timer();
+            assertNotNull(timer, "delay timer registered on node " + (char) ('A' + n));
+            assertTrue(timer.count() > 0, "delay recorded on node " + (char) ('A' + n));
+        }
+    }
+
+    /**
+     * 更新草稿同样写入变更日志，其他节点追踪到该变更
+     */
+    @Test
+    void draftChangeIsTailedByAnotherNode() {
+        BenchmarkEnvironment origin = nodes.get(0);
+        ConfigInvalidationPoller poller = nodes.get(1).getBean(ConfigInvalidationPoller.class);
+        ApiMetaConfigService service = origin.getBean(ApiMetaConfigService.class);
+        long applied = poller.getAppliedChanges();
+
+        ApiMetaConfig base = service.findByVersionId(origin.getDraftApiMetaVersions().get(PUBLISHES + 1));
+        base.setDescription("draft change");
+        service.update(base.getVersionId(), base);
+
+        assertTrue(await(() -> poller.getAppliedChanges() > applied), "draft change tailed by node B");
+    }
+
+    private static String activeVersion(BenchmarkEnvironment node, String[] key, String region) {
+        ApiMetaConfig config = node.getBean(ApiMetaConfigService.class)
+            .getActiveByIdentifierAndRegion(key[0], key[1], key[2], key[3], region);
+        return config == null ? null : config.getVersionId();
+    }
+
+    private static String regionOf(int index) {
+        List<String> regions = nodes.get(0).getRegions();
+        return regions.get(index % regions.size());
+    }
+
+    private static boolean await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CHANGE_TIMEOUT_MILLIS);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return false;
+    }
+}
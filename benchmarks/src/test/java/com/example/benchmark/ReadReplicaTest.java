@@ -0,0 +1,127 @@
+package com.example.benchmark;
+
+import com.example.datasource.ReplicaRoutingDataSource;
+import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
+import com.example.model.ApiMetaConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.PublishService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 读写分离测试
+ * 主库与副本为两个独立的 H2 内存库，副本不自动复制，由 {@link BenchmarkEnvironment#syncReplica()} 模拟追上；
+ * 每个用例使用新的环境，启动时副本与主库一致
+ */
+class ReadReplicaTest {
+
+    private static final int CATALOG_SIZE = 200;
+    private static final long FENCE_MILLIS = 300;
+    private static final long LAG_CHECK_MILLIS = 50;
+    private static final long WAIT_TIMEOUT_MILLIS = 5000;
+    private static final String OPERATOR = "replica-test";
+
+    private BenchmarkEnvironment environment;
+    private ReplicaRoutingDataSource routing;
+    private ApiMetaConfigService apiMetaConfigService;
+    private String draft;
+
+    @BeforeEach
+    void start() throws InterruptedException {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("config.read-replica.write-fence-millis", FENCE_MILLIS);
+        overrides.put("config.read-replica.lag-check-interval-millis", LAG_CHECK_MILLIS);
+        environment = BenchmarkEnvironment.startWithReplica(CATALOG_SIZE, overrides);
+        routing = environment.getBean(ReplicaRoutingDataSource.class);
+        apiMetaConfigService = environment.getBean(ApiMetaConfigService.class);
+        draft = environment.getDraftApiMetaVersions().get(0);
+        assertTrue(await(this::replicaServes), "replica becomes readable, stats " + routing.getStats());
+    }
+
+    @AfterEach
+    void stop() {
+        environment.close();
+    }
+
+    @Test
+    void readsAreServedByReplica() {
+        environment.getReplicaJdbcTemplate().update(
+            "UPDATE api_meta_config SET description = 'replica' WHERE version_id = ?", draft);
+
+        assertEquals("replica", apiMetaConfigService.findByVersionId(draft).getDescription(),
+            "description changed only on the replica");
+    }
+
+    @Test
+    void replicaIsNotReadAfterPublishUntilItCatchesUp() throws InterruptedException {
+        environment.getBean(PublishService.class).publish(draft, ConfigType.API_META.name(),
+            Collections.singletonList(environment.getRegions().get(0)), OPERATOR);
+        assertEquals(ConfigStatus.PUBLISHED.name(), status(draft), "status read right after publish");
+
+        // 隔离期过后副本仍落后，读请求继续回到主库
+        Thread.sleep(FENCE_MILLIS + 4 * LAG_CHECK_MILLIS);
+        long replicaReads = routing.getReplicaReads();
+        assertEquals(ConfigStatus.PUBLISHED.name(), status(draft), "status read after the fence expired");
+        assertEquals(replicaReads, routing.getReplicaReads(), "replica reads while the replica lags");
+
+        environment.syncReplica();
+        assertTrue(await(this::replicaServes), "caught-up replica serves reads again, stats " + routing.getStats());
+        assertEquals(ConfigStatus.PUBLISHED.name(), status(draft), "status read from the caught-up replica");
+    }
+
+    /**
+     * 草稿写入后副本尚未同步，由写后隔离期保证新草稿立即可读
+     */
+    @Test
+    void draftIsReadableRightAfterUpdate() {
+        ApiMetaConfig base = apiMetaConfigService.findByVersionId(draft);
+        base.setDescription("updated draft");
+        ApiMetaConfig updated = apiMetaConfigService.update(draft, base);
+
+        assertEquals(ConfigStatus.DRAFT.name(), status(updated.getVersionId()), "status of the new draft");
+    }
+
+    @Test
+    void unreachableReplicaIsSkipped() throws InterruptedException {
+        environment.getReplicaJdbcTemplate().execute("DROP TABLE config_revision");
+        Thread.sleep(4 * LAG_CHECK_MILLIS);
+        long replicaReads = routing.getReplicaReads();
+
+        assertEquals(ConfigStatus.DRAFT.name(), status(draft), "status read while the replica is unreachable");
+        assertEquals(replicaReads, routing.getReplicaReads(), "replica reads while the replica is unreachable");
+    }
+
+    private boolean replicaServes() {
+        long before = routing.getReplicaReads();
+        apiMetaConfigService.findByVersionId(draft);
+        return routing.getReplicaReads() > before;
+    }
+
+    private String status(String versionId) {
+        ApiMetaConfig config = apiMetaConfigService.findByVersionId(versionId);
+        assertNotNull(config, versionId + " exists");
+        return config.getStatus();
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(LAG_CHECK_MILLIS);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.benchmark;
+
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import com.example.model.BaseVersionedConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 按地域查询生效配置测试
+ * 同一版本既全量发布（all）又灰度到某个地域时，按该地域查询只返回一行
+ */
+class RegionQueryTest {
+
+    private static final int CATALOG_SIZE = 50;
+
+    private static BenchmarkEnvironment environment;
+    private static String region;
+    private static String apiMetaVersion;
+    private static String apiRecordVersion;
+    private static String dataSourceVersion;
+
+    @BeforeAll
+    static void start() {
+        environment = BenchmarkEnvironment.start(CATALOG_SIZE);
+        region = environment.getRegions().get(0);
+        apiMetaVersion = addRegionToFullRelease(ConfigType.API_META);
+        apiRecordVersion = addRegionToFullRelease(ConfigType.API_RECORD);
+        dataSourceVersion = addRegionToFullRelease(ConfigType.DATA_SOURCE);
+    }
+
+    @AfterAll
+    static void stop() {
+        environment.close();
+    }
+
+    @Test
+    void mixedGroupVersionIsReturnedOnce() {
+        assertAll(
+            () -> assertReturnedOnce(environment.getBean(ApiMetaConfigMapper.class).findByRegion(region),
+                apiMetaVersion, "API_META findByRegion"),
+            () -> assertReturnedOnce(environment.getBean(ApiRecordConfigMapper.class).findByRegion(region),
+                apiRecordVersion, "API_RECORD findByRegion"),
+            () -> assertReturnedOnce(environment.getBean(DataSourceConfigMapper.class).findByRegion(region),
+                dataSourceVersion, "DATA_SOURCE findByRegion"),
+            () -> assertReturnedOnce(environment.getBean(DataSourceConfigMapper.class)
+                .findActiveConfigsByRegion(region), dataSourceVersion, "DATA_SOURCE findActiveConfigsByRegion"));
+    }
+
+    @Test
+    void activeConfigsKeepModifiedTimeOrder() {
+        List<? extends BaseVersionedConfig> configs = environment.getBean(DataSourceConfigMapper.class)
+            .findActiveConfigsByRegion(region);
+        for (int i = 1; i < configs.size(); i++) {
+            assertTrue(!configs.get(i).getGmtModified().isAfter(configs.get(i - 1).getGmtModified()),
+                "gmt_modified descending at position " + i);
+        }
+    }
+
+    /**
+     * 取一个全量发布的版本，再为它写入指定地域的灰度记录
+     */
+    private static String addRegionToFullRelease(ConfigType configType) {
+        JdbcTemplate jdbcTemplate = environment.getBean(JdbcTemplate.class);
+        String versionId = jdbcTemplate.queryForObject(
+            "SELECT version_id FROM config_gray_region WHERE config_type = ? AND region = 'all' " +
+                "ORDER BY version_id LIMIT 1", String.class, configType.name());
+        jdbcTemplate.update("INSERT INTO config_gray_region (config_type, version_id, region, gmt_create) " +
+            "VALUES (?, ?, ?, NOW())", configType.name(), versionId, region);
+        return versionId;
+    }
+
+    private static void assertReturnedOnce(List<? extends BaseVersionedConfig> configs, String versionId,
+                                           String query) {
+        List<String> versionIds = configs.stream().map(BaseVersionedConfig::getVersionId)
+            .collect(Collectors.toList());
+        Set<String> seen = new HashSet<>();
+        List<String> duplicates = versionIds.stream().filter(id -> !seen.add(id)).collect(Collectors.toList());
+        assertEquals(Collections.emptyList(), duplicates, query + " returned duplicate versions");
+        assertTrue(versionIds.contains(versionId), query + " returns " + versionId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.benchmark;
+
+import com.example.dto.RegionSnapshot;
+import com.example.dto.RegionSnapshotArtifact;
+import com.example.enums.ConfigType;
+import com.example.model.ApiMetaConfig;
+import com.example.service.ConfigChangeService;
+import com.example.service.ConfigInvalidationPoller;
+import com.example.service.PublishService;
+import com.example.service.RegionSnapshotService;
+import com.example.util.SnapshotCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 地域快照修订号测试
+ * 节点 A 不自动追踪变更日志，节点 B 先发布、A 再发布到同一地域：A 提交后异步构建的快照不含 B 的发布，
+ * 修订号须低于 B 的变更；A 追上变更日志后重建的快照同时包含两次发布
+ */
+class RegionSnapshotTest {
+
+    private static final int CATALOG_SIZE = 100;
+    private static final long TIMEOUT_MILLIS = 10000;
+    private static final String OPERATOR = "region-snapshot-test";
+
+    private static BenchmarkEnvironment nodeA;
+    private static BenchmarkEnvironment nodeB;
+
+    @BeforeAll
+    static void start() {
+        Map<String, Object> overrides = new HashMap<>();
+        // 只在启动时轮询一次，之后由用例手动触发
+        overrides.put("config.invalidation.poll-interval-millis", TimeUnit.HOURS.toMillis(1));
+        nodeA = BenchmarkEnvironment.start(CATALOG_SIZE, overrides);
+        nodeB = BenchmarkEnvironment.join(nodeA, Collections.emptyMap());
+    }
+
+    @AfterAll
+    static void stop() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void snapshotIsKeyedByTheRevisionItsCacheReflects() {
+        String region = nodeA.getRegions().get(0);
+        String remoteDraft = nodeA.getDraftApiMetaVersions().get(0);
+        String localDraft = nodeA.getDraftApiMetaVersions().get(1);
+        RegionSnapshotService snapshots = nodeA.getBean(RegionSnapshotService.class);
+        ConfigInvalidationPoller poller = nodeA.getBean(ConfigInvalidationPoller.class);
+        assertTrue(await(() -> poller.getProcessedRevision() >= 0), "node A tailing the change log");
+        snapshots.getLatest(region);
+
+        nodeB.getBean(PublishService.class).publish(remoteDraft, ConfigType.API_META.name(),
+            Collections.singletonList(region), OPERATOR);
+        long remoteRevision = nodeB.getBean(ConfigChangeService.class).getCurrentRevision();
+        nodeA.getBean(PublishService.class).publish(localDraft, ConfigType.API_META.name(),
+            Collections.singletonList(region), OPERATOR);
+        long localRevision = nodeA.getBean(ConfigChangeService.class).getCurrentRevision();
+
+        assertTrue(await(() -> versions(snapshots.getLatest(region)).contains(localDraft)),
+            "node A rebuilt " + region + " after its own publish");
+        RegionSnapshotArtifact beforePoll = snapshots.getLatest(region);
+        assertFalse(versions(beforePoll).contains(remoteDraft), "node B's publish not applied on node A yet");
+        assertTrue(beforePoll.getRevision() < remoteRevision, "snapshot revision " + beforePoll.getRevision()
+            + " below node B's publish at revision " + remoteRevision);
+
+        poller.poll();
+        assertTrue(await(() -> versions(snapshots.getLatest(region)).contains(remoteDraft)),
+            "node A rebuilt " + region + " after tailing node B's publish");
+        RegionSnapshotArtifact afterPoll = snapshots.getLatest(region);
+        assertTrue(versions(afterPoll).contains(localDraft), "rebuilt snapshot keeps node A's publish");
+        assertTrue(afterPoll.getRevision() >= localRevision, "snapshot revision " + afterPoll.getRevision()
+            + " reaches node A's publish at revision " + localRevision);
+    }
+
+    private static Set<String> versions(RegionSnapshotArtifact artifact) {
+        RegionSnapshot snapshot = SnapshotCodec.decode(artifact.getData());
+        return snapshot.getApiMetaConfigs().stream().map(ApiMetaConfig::getVersionId).collect(Collectors.toSet());
+    }
+
+    private static boolean await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return false;
+    }
+}
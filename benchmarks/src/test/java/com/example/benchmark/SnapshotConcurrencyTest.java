@@ -0,0 +1,237 @@
+package com.example.benchmark;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ConfigSnapshotCache;
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.model.ApiMetaConfig;
+import com.example.model.BaseVersionedConfig;
+import com.example.service.PublishService;
+import com.example.util.GrayGroupUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 快照缓存测试
+ * 多个读线程持续读取随机地域的视图，同时写线程轮流发布、废弃预置的 API Meta 草稿，校验不会读到半更新的快照；
+ * 另校验增量刷新后各地域视图与数据库一致、列表顺序，以及只重建受影响的地域
+ */
+class SnapshotConcurrencyTest {
+
+    private static final int CATALOG_SIZE = 200;
+    private static final int READERS = 4;
+    private static final int STATUS_CHANGES = 200;
+    private static final String OPERATOR = "snapshot-test";
+
+    /**
+     * 灰度到单个地域的草稿（下标为 5 的倍数），不与其他用例使用的草稿重叠
+     */
+    private static final int REGIONAL_DRAFT = 150;
+
+    /**
+     * 失败信息中最多列出的不一致条目
+     */
+    private static final int MAX_REPORTED = 10;
+
+    private static BenchmarkEnvironment environment;
+    private static ApiMetaConfigCache cache;
+
+    @BeforeAll
+    static void start() {
+        environment = BenchmarkEnvironment.start(CATALOG_SIZE);
+        cache = environment.getBean(ApiMetaConfigCache.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        environment.close();
+    }
+
+    /**
+     * 读线程逐个校验视图：摘要与配置列表一致，每个标识的生效版本与其列表按灰度规则选出的版本一致，
+     * 同一线程读到的修订号不回退，同一修订号各地域视图中全量发布的版本集合相同（一次发布在所有地域同时可见）
+     */
+    @Test
+    void readersNeverSeePartiallyAppliedPublishes() throws InterruptedException {
+        List<String> regions = environment.getRegions();
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        Map<Long, Long> fullReleaseDigests = new ConcurrentHashMap<>();
+        Set<Long> revisions = ConcurrentHashMap.newKeySet();
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            Thread reader = new Thread(() -> {
+                long lastRevision = 0;
+                while (!stopped.get()) {
+                    String region = regions.get(ThreadLocalRandom.current().nextInt(regions.size()));
+                    ConfigSnapshotCache.RegionView<ApiMetaConfig> view = cache.getRegionView(region);
+                    if (view == null) {
+                        violations.add("snapshot cache not loaded");
+                        continue;
+                    }
+                    if (view.getRevision() < lastRevision) {
+                        violations.add("revision went backwards: " + view.getRevision() + " < " + lastRevision);
+                    }
+                    lastRevision = view.getRevision();
+                    String violation = verify(region, view, fullReleaseDigests);
+                    if (violation != null) {
+                        violations.add(violation);
+                    }
+                    revisions.add(view.getRevision());
+                }
+            }, "snapshot-reader-" + i);
+            threads.add(reader);
+            reader.start();
+        }
+
+        changeStatuses(0, STATUS_CHANGES);
+        stopped.set(true);
+        for (Thread reader : threads) {
+            reader.join();
+        }
+
+        assertEquals(Collections.emptyList(),
+            violations.stream().limit(MAX_REPORTED).collect(Collectors.toList()),
+            "readers saw a partially applied publish");
+        assertTrue(revisions.size() > 1, "readers observed the publishes, revisions seen: " + revisions.size());
+    }
+
+    @Test
+    void snapshotMatchesDatabaseAfterStatusChanges() {
+        // 使用另一批草稿；奇数次，最后一个草稿停留在已发布状态
+        changeStatuses(STATUS_CHANGES / 2, 21);
+
+        ApiMetaConfigMapper mapper = environment.getBean(ApiMetaConfigMapper.class);
+        assertAll(environment.getRegions().stream().map(region -> () -> {
+            Set<String> expected = mapper.findByRegion(region).stream()
+                .map(BaseVersionedConfig::getVersionId).collect(Collectors.toSet());
+            ConfigSnapshotCache.RegionView<ApiMetaConfig> view = cache.getRegionView(region);
+            assertNotNull(view, "snapshot cache loaded");
+            Set<String> actual = view.getConfigs().stream()
+                .map(BaseVersionedConfig::getVersionId).collect(Collectors.toSet());
+            assertEquals(expected, actual, "versions listed for " + region);
+        }));
+    }
+
+    @Test
+    void regionConfigsAreNewestFirst() {
+        assertAll(environment.getRegions().stream().map(region -> () -> {
+            ConfigSnapshotCache.RegionView<ApiMetaConfig> view = cache.getRegionView(region);
+            assertNotNull(view, "snapshot cache loaded");
+            List<ApiMetaConfig> configs = view.getConfigs();
+            for (int i = 1; i < configs.size(); i++) {
+                assertFalse(configs.get(i).getGmtModified().isAfter(configs.get(i - 1).getGmtModified()),
+                    "gmt_modified descending in " + region + " at position " + i);
+            }
+        }));
+    }
+
+    /**
+     * 地域灰度发布只重建该地域的视图，其余地域共享发布前的映射
+     */
+    @Test
+    void regionalPublishRebuildsOnlyItsRegion() {
+        String draft = environment.getDraftApiMetaVersions().get(REGIONAL_DRAFT);
+        String grayRegion = environment.getDraftApiMetaGrayGroups().get(REGIONAL_DRAFT);
+        Map<String, ConfigSnapshotCache.RegionView<ApiMetaConfig>> before = new HashMap<>();
+        environment.getRegions().forEach(region -> before.put(region, cache.getRegionView(region)));
+
+        environment.getBean(PublishService.class).publish(draft, ConfigType.API_META.name(),
+            Collections.singletonList(grayRegion), OPERATOR);
+
+        assertAll(environment.getRegions().stream().map(region -> () -> {
+            ConfigSnapshotCache.RegionView<ApiMetaConfig> view = cache.getRegionView(region);
+            assertTrue(view.getRevision() > before.get(region).getRevision(), "revision advanced in " + region);
+            if (region.equals(grayRegion)) {
+                assertNotSame(before.get(region).getEffectiveByIdentifier(), view.getEffectiveByIdentifier(),
+                    "view of the gray region rebuilt");
+                assertTrue(view.getConfigs().stream().anyMatch(config -> draft.equals(config.getVersionId())),
+                    "published draft listed in " + region);
+            } else {
+                assertSame(before.get(region).getEffectiveByIdentifier(), view.getEffectiveByIdentifier(),
+                    "view of " + region + " shared with the previous snapshot");
+            }
+        }));
+    }
+
+    /**
+     * 从第 first 个预置草稿起依次发布、废弃，共 count 次状态变更
+     */
+    private static void changeStatuses(int first, int count) {
+        PublishService publishService = environment.getBean(PublishService.class);
+        List<String> drafts = environment.getDraftApiMetaVersions();
+        for (int i = 0; i < count; i++) {
+            int index = (first + i / 2) % drafts.size();
+            String versionId = drafts.get(index);
+            if (i % 2 == 0) {
+                publishService.publish(versionId, ConfigType.API_META.name(),
+                    Collections.singletonList(environment.getDraftApiMetaGrayGroups().get(index)), OPERATOR);
+            } else {
+                publishService.deprecate(versionId, OPERATOR);
+            }
+        }
+    }
+
+    /**
+     * 校验单个视图，返回不一致的描述，一致时返回 null
+     */
+    private static String verify(String region, ConfigSnapshotCache.RegionView<ApiMetaConfig> view,
+                                 Map<Long, Long> fullReleaseDigests) {
+        List<ApiMetaConfig> configs = view.getConfigs();
+        long digest = 0L;
+        long fullReleaseDigest = 0L;
+        for (ApiMetaConfig config : configs) {
+            long fingerprint = ConfigSnapshotCache.fingerprint(config);
+            digest ^= fingerprint;
+            if (GrayGroupUtils.parse(config.getEffectiveGrayGroups()).contains(GrayGroupUtils.ALL)) {
+                fullReleaseDigest ^= fingerprint;
+            }
+        }
+        if (digest != view.getDigest()) {
+            return "torn read in " + region + " at revision " + view.getRevision() + ": digest does not match configs";
+        }
+        Map<String, List<ApiMetaConfig>> byIdentifier = configs.stream()
+            .collect(Collectors.groupingBy(BaseVersionedConfig::getIdentifier));
+        if (byIdentifier.size() != view.getEffectiveByIdentifier().size()) {
+            return "torn read in " + region + " at revision " + view.getRevision() + ": " + byIdentifier.size()
+                + " identifiers listed, " + view.getEffectiveByIdentifier().size() + " effective";
+        }
+        for (Map.Entry<String, List<ApiMetaConfig>> entry : byIdentifier.entrySet()) {
+            ApiMetaConfig winner = view.getEffective(entry.getKey());
+            if (winner == null || !Objects.equals(winner.getVersionId(),
+                GrayGroupUtils.selectEffective(entry.getValue()).getVersionId())) {
+                return "torn read in " + region + " at revision " + view.getRevision() + ": effective version of "
+                    + entry.getKey() + " does not match configs";
+            }
+        }
+        Long expected = fullReleaseDigests.putIfAbsent(view.getRevision(), fullReleaseDigest);
+        if (expected != null && expected != fullReleaseDigest) {
+            return "torn read in " + region + " at revision " + view.getRevision()
+                + ": full releases differ from other regions at the same revision";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.benchmark;
+
+import com.example.util.VersionGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 版本号唯一性测试
+ * 在同一 JVM 中启动共享一个 H2 内存库的应用节点，以很小的号段步长让号段频繁用尽、预取与切换，
+ * 多个线程同时在两个节点上生成三种前缀的版本号
+ */
+class VersionGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int VERSIONS_PER_THREAD = 2000;
+    private static final int SEQUENCE_STEP = 10;
+    private static final Map<String, Object> OVERRIDES =
+        Collections.singletonMap("config.version.sequence-step", SEQUENCE_STEP);
+
+    private static BenchmarkEnvironment nodeA;
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void start() {
+        nodeA = BenchmarkEnvironment.start(0, OVERRIDES);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    static void stop() {
+        executor.shutdownNow();
+        nodeA.close();
+    }
+
+    @Test
+    void twoNodesNeverGenerateTheSameVersion() throws InterruptedException {
+        List<String> generated;
+        try (BenchmarkEnvironment nodeB = BenchmarkEnvironment.join(nodeA, OVERRIDES)) {
+            generated = generate(nodeA.getBean(VersionGenerator.class), nodeB.getBean(VersionGenerator.class));
+        }
+
+        assertEquals(Collections.emptyList(), duplicates(generated), "versions generated twice by two nodes");
+        Long leased = new JdbcTemplate(nodeA.getBean(DataSource.class))
+            .queryForObject("SELECT SUM(max_seq) FROM version_sequence", Long.class);
+        // 3 种前缀、2 个节点各自至少切换过一次号段
+        assertTrue(leased != null && leased / SEQUENCE_STEP > 6,
+            "generation crossed segment boundaries, leased " + leased);
+    }
+
+    @Test
+    void restartedNodeNeverRepeatsEarlierVersions() throws InterruptedException {
+        List<String> generated;
+        try (BenchmarkEnvironment nodeB = BenchmarkEnvironment.join(nodeA, OVERRIDES)) {
+            generated = generate(nodeA.getBean(VersionGenerator.class), nodeB.getBean(VersionGenerator.class));
+        }
+        // 节点 B 关闭后在同一数据库上启动新节点，未用完的号段随旧节点丢弃
+        try (BenchmarkEnvironment restarted = BenchmarkEnvironment.join(nodeA, OVERRIDES)) {
+            generated.addAll(generate(nodeA.getBean(VersionGenerator.class),
+                restarted.getBean(VersionGenerator.class)));
+        }
+
+        assertEquals(2 * THREADS * VERSIONS_PER_THREAD, generated.size());
+        assertEquals(Collections.emptyList(), duplicates(generated), "versions generated twice across a restart");
+    }
+
+    /**
+     * 号段在独立事务中租用，调用方事务回滚后已租用的号段仍记录在 version_sequence 中
+     */
+    @Test
+    void leasedSegmentsSurviveCallerRollback() {
+        VersionGenerator generator = nodeA.getBean(VersionGenerator.class);
+        List<String> generated = new ArrayList<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+            nodeA.getBean(PlatformTransactionManager.class));
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i <= 2 * SEQUENCE_STEP; i++) {
+                generated.add(generator.generateApiMetaVersion());
+            }
+            status.setRollbackOnly();
+        });
+
+        String last = generated.get(generated.size() - 1);
+        Long leased = new JdbcTemplate(nodeA.getBean(DataSource.class)).queryForObject(
+            "SELECT max_seq FROM version_sequence WHERE biz_key = ?", Long.class, last.substring(0, 10));
+        assertTrue(leased != null && leased >= Long.parseLong(last.substring(10)),
+            "segment of " + last + " still leased after the caller rolled back, max_seq " + leased);
+    }
+
+    /**
+     * 各线程交替使用两个生成器，同时开始生成三种前缀的版本号，返回生成的全部版本号
+     */
+    private static List<String> generate(VersionGenerator first, VersionGenerator second)
+        throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            VersionGenerator generator = t % 2 == 0 ? first : second;
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                List<String> versions = new ArrayList<>(VERSIONS_PER_THREAD);
+                start.await();
+                for (int i = 0; i < VERSIONS_PER_THREAD; i++) {
+                    switch ((thread + i) % 3) {
+                        case 0:
+                            versions.add(generator.generateDataSourceVersion());
+                            break;
+                        case 1:
+                            versions.add(generator.generateApiRecordVersion());
+                            break;
+                        default:
+                            versions.add(generator.generateApiMetaVersion());
+                    }
+                }
+                return versions;
+            }));
+        }
+        start.countDown();
+        List<String> generated = new ArrayList<>();
+        for (Future<List<String>> future : futures) {
+            try {
+                generated.addAll(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Version generation failed", e.getCause());
+            }
+        }
+        return generated;
+    }
+
+    private static List<String> duplicates(List<String> versions) {
+        Set<String> seen = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        for (String version : versions) {
+            if (!seen.add(version)) {
+                duplicates.add(version);
+            }
+        }
+        return duplicates;
+    }
+}
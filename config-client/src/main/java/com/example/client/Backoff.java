@@ -0,0 +1,34 @@
+package com.example.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 带抖动的指数退避
+ * 第 n 次失败的退避上界为 min(max, initial * 2^n)，实际等待在上界的一半到上界之间随机取值，
+ * 避免服务端重启后大量客户端在同一时刻重连
+ */
+class Backoff {
+
+    private final long initialMillis;
+    private final long maxMillis;
+    private int attempts;
+
+    Backoff(long initialMillis, long maxMillis) {
+        this.initialMillis = Math.max(1, initialMillis);
+        this.maxMillis = Math.max(this.initialMillis, maxMillis);
+    }
+
+    /**
+     * 下一次等待时间(毫秒)
+     */
+    long next() {
+        long ceiling = Math.min(maxMillis, initialMillis << Math.min(attempts, 30));
+        attempts++;
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+
+    void reset() {
+        attempts = 0;
+    }
+}
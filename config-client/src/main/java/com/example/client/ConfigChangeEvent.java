@@ -0,0 +1,30 @@
+package com.example.client;
+
+import com.example.client.model.ApiMetaConfig;
+import com.example.client.model.ApiRecordConfig;
+import com.example.client.model.DataSourceConfig;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 一次同步中生效版本发生变化的配置
+ * 各 Map 为 标识 -> 新的生效版本，值为 null 表示该标识在本地域已无生效版本
+ */
+@Data
+public class ConfigChangeEvent {
+    /**
+     * 同步到的修订号，首次全量加载时为加载前读取的修订号
+     */
+    private final long revision;
+
+    private final Map<String, DataSourceConfig> dataSourceConfigs;
+
+    private final Map<String, ApiRecordConfig> apiRecordConfigs;
+
+    private final Map<String, ApiMetaConfig> apiMetaConfigs;
+
+    public boolean isEmpty() {
+        return dataSourceConfigs.isEmpty() && apiRecordConfigs.isEmpty() && apiMetaConfigs.isEmpty();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.client;
+
+/**
+ * 配置变更监听
+ * 在同步线程上、新快照生效后回调，回调内读取客户端得到的已是变更后的配置；
+ * 回调应尽快返回，耗时处理请转交给自己的线程池
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    void onChange(ConfigChangeEvent event);
+}
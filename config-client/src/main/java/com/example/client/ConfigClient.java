@@ -0,0 +1,305 @@
+package com.example.client;
+
+import com.example.client.model.ApiMetaConfig;
+import com.example.client.model.ApiRecordConfig;
+import com.example.client.model.ConfigChangeResponse;
+import com.example.client.model.DataSourceConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 嵌入式配置客户端
+ * 在进程内缓存本地域生效的数据源、API记录、API Meta配置，后台线程增量同步：
+ * 启动时读取全局修订号并全量加载各类配置，之后以 /api/config/watch 长轮询该修订号之后的变更；
+ * 失败时按带抖动的指数退避重试，期间继续使用已缓存的配置
+ *
+ * 查找只读取一个 volatile 引用和一次 HashMap，不发起 HTTP 请求；
+ * 每次同步构建新的不可变快照后整体替换，读线程不会看到半更新的状态
+ */
+@Slf4j
+public class ConfigClient implements Closeable {
+
+    private final ConfigClientOptions options;
+    private final ConfigServerApi api;
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean running;
+    private Thread syncThread;
+
+    /**
+     * 下次长轮询的起始修订号，仅同步线程访问
+     */
+    private long sinceRevision;
+
+    public ConfigClient(ConfigClientOptions options) {
+        if (options.getServerUrl() == null || options.getServerUrl().isEmpty()) {
+            throw new IllegalArgumentException("serverUrl is required");
+        }
+        if (options.getRegion() == null || options.getRegion().isEmpty()) {
+            throw new IllegalArgumentException("region is required");
+        }
+        this.options = options;
+        this.api = new ConfigServerApi(options);
+    }
+
+    /**
+     * 启动后台同步，等待首次全量加载完成或 startupTimeoutMillis 超时
+     *
+     * @return 首次全量加载是否已完成；未完成时查找返回 null，后台继续重试
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return isReady();
+        }
+        running = true;
+        syncThread = new Thread(this::syncLoop, "config-client-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+        try {
+            return loaded.await(options.getStartupTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return isReady();
+        }
+    }
+
+    /**
+     * 停止后台同步，已缓存的配置仍可读取
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (syncThread != null) {
+            syncThread.interrupt();
+            syncThread = null;
+        }
+    }
+
+    public void addListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 首次全量加载是否已完成
+     */
+    public boolean isReady() {
+        return loaded.getCount() == 0;
+    }
+
+    /**
+     * 本地缓存已同步到的修订号
+     */
+    public long getRevision() {
+        return snapshot.revision;
+    }
+
+    public String getRegion() {
+        return options.getRegion();
+    }
+
+    /**
+     * 成功同步（全量加载与有变更的长轮询）次数
+     */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * 指定 source 在本地域的生效配置，不存在时返回 null
+     */
+    public DataSourceConfig getDataSource(String source) {
+        return snapshot.dataSources.getEffective(source);
+    }
+
+    /**
+     * 指定API在本地域的API记录配置，identifier 为 gatewayType:gatewayCode:apiVersion:apiName
+     */
+    public ApiRecordConfig getApiRecord(String identifier) {
+        return snapshot.apiRecords.getEffective(identifier);
+    }
+
+    public ApiRecordConfig getApiRecord(String gatewayType, String gatewayCode, String apiVersion, String apiName) {
+        return getApiRecord(apiIdentifier(gatewayType, gatewayCode, apiVersion, apiName));
+    }
+
+    /**
+     * 指定API在本地域的API Meta配置，identifier 为 gatewayType:gatewayCode:apiVersion:apiName
+     */
+    public ApiMetaConfig getApiMeta(String identifier) {
+        return snapshot.apiMetas.getEffective(identifier);
+    }
+
+    public ApiMetaConfig getApiMeta(String gatewayType, String gatewayCode, String apiVersion, String apiName) {
+        return getApiMeta(apiIdentifier(gatewayType, gatewayCode, apiVersion, apiName));
+    }
+
+    /**
+     * source -> 本地域生效的数据源配置，不可修改，为调用时刻的快照
+     */
+    public Map<String, DataSourceConfig> getDataSources() {
+        return snapshot.dataSources.getEffectiveByIdentifier();
+    }
+
+    public Map<String, ApiRecordConfig> getApiRecords() {
+        return snapshot.apiRecords.getEffectiveByIdentifier();
+    }
+
+    public Map<String, ApiMetaConfig> getApiMetas() {
+        return snapshot.apiMetas.getEffectiveByIdentifier();
+    }
+
+    /**
+     * API标识，与服务端 ConfigIdentifier#getIdentifier 一致
+     */
+    public static String apiIdentifier(String gatewayType, String gatewayCode, String apiVersion, String apiName) {
+        return gatewayType + ':' + gatewayCode + ':' + apiVersion + ':' + apiName;
+    }
+
+    private void syncLoop() {
+        Backoff backoff = new Backoff(options.getInitialBackoffMillis(), options.getMaxBackoffMillis());
+        while (running) {
+            try {
+                if (!isReady()) {
+                    load(true);
+                    backoff.reset();
+                    continue;
+                }
+                long startedAt = System.currentTimeMillis();
+                ConfigChangeResponse changes = api.watch(sinceRevision, options.getWatchTimeoutMillis());
+                backoff.reset();
+                if (changes.isResync()) {
+                    // 不回放：回放窗口内的变更过多时会再次被要求全量加载
+                    load(false);
+                } else if (!changes.isEmpty()) {
+                    apply(changes);
+                } else if (System.currentTimeMillis() - startedAt < options.getWatchTimeoutMillis() / 2) {
+                    // 服务端未挂起就返回了空变更，等待一段时间再轮询，避免空转
+                    sleep(backoff.next());
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                failureCount.incrementAndGet();
+                long delay = backoff.next();
+                if (e instanceof ServerBusyException) {
+                    // 服务端监听数已满，至少等待其指定的时间
+                    delay = Math.max(delay, ((ServerBusyException) e).getRetryAfterMillis());
+                }
+                log.warn("Config sync with {} failed, retrying in {} ms: {}",
+                    options.getServerUrl(), delay, e.toString());
+                sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * 全量加载：先读修订号再读配置，读配置期间提交的变更由随后的长轮询补上
+     *
+     * @param replay 是否从加载前修订号往回回放 bootstrapReplayRevisions 个修订号
+     */
+    private void load(boolean replay) throws IOException {
+        long revision = api.getRevision();
+        List<DataSourceConfig> dataSources = api.getDataSourceConfigs();
+        List<ApiRecordConfig> apiRecords = api.getApiRecordConfigs();
+        List<ApiMetaConfig> apiMetas = api.getApiMetaConfigs();
+
+        Snapshot current = snapshot;
+        Map<String, DataSourceConfig> dataSourceChanges = new LinkedHashMap<>();
+        Map<String, ApiRecordConfig> apiRecordChanges = new LinkedHashMap<>();
+        Map<String, ApiMetaConfig> apiMetaChanges = new LinkedHashMap<>();
+        publish(new Snapshot(revision,
+                current.dataSources.replaceAll(dataSources, dataSourceChanges),
+                current.apiRecords.replaceAll(apiRecords, apiRecordChanges),
+                current.apiMetas.replaceAll(apiMetas, apiMetaChanges)),
+            new ConfigChangeEvent(revision, dataSourceChanges, apiRecordChanges, apiMetaChanges));
+        sinceRevision = replay ? Math.max(0, revision - options.getBootstrapReplayRevisions()) : revision;
+        loaded.countDown();
+        log.info("Loaded {} data sources, {} api records, {} api metas of region {} at revision {}",
+            dataSources.size(), apiRecords.size(), apiMetas.size(), options.getRegion(), revision);
+    }
+
+    private void apply(ConfigChangeResponse changes) {
+        Snapshot current = snapshot;
+        Map<String, DataSourceConfig> dataSourceChanges = new LinkedHashMap<>();
+        Map<String, ApiRecordConfig> apiRecordChanges = new LinkedHashMap<>();
+        Map<String, ApiMetaConfig> apiMetaChanges = new LinkedHashMap<>();
+        long revision = Math.max(current.revision, changes.getRevision());
+        publish(new Snapshot(revision,
+                current.dataSources.apply(changes.getDataSourceConfigs(), changes.getRemovedVersionIds(),
+                    dataSourceChanges),
+                current.apiRecords.apply(changes.getApiRecordConfigs(), changes.getRemovedVersionIds(),
+                    apiRecordChanges),
+                current.apiMetas.apply(changes.getApiMetaConfigs(), changes.getRemovedVersionIds(),
+                    apiMetaChanges)),
+            new ConfigChangeEvent(revision, dataSourceChanges, apiRecordChanges, apiMetaChanges));
+        sinceRevision = Math.max(sinceRevision, changes.getRevision());
+    }
+
+    private void publish(Snapshot next, ConfigChangeEvent event) {
+        snapshot = next;
+        syncCount.incrementAndGet();
+        if (event.isEmpty()) {
+            return;
+        }
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                log.warn("Config change listener {} failed", listener, e);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * 某一时刻本地域的全部配置，不可变
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY =
+            new Snapshot(0L, ConfigIndex.empty(), ConfigIndex.empty(), ConfigIndex.empty());
+
+        private final long revision;
+        private final ConfigIndex<DataSourceConfig> dataSources;
+        private final ConfigIndex<ApiRecordConfig> apiRecords;
+        private final ConfigIndex<ApiMetaConfig> apiMetas;
+
+        private Snapshot(long revision, ConfigIndex<DataSourceConfig> dataSources,
+                         ConfigIndex<ApiRecordConfig> apiRecords, ConfigIndex<ApiMetaConfig> apiMetas) {
+            this.revision = revision;
+            this.dataSources = dataSources;
+            this.apiRecords = apiRecords;
+            this.apiMetas = apiMetas;
+        }
+    }
+}
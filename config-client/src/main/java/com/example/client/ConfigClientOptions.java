@@ -0,0 +1,55 @@
+package com.example.client;
+
+import lombok.Data;
+
+/**
+ * 配置客户端参数
+ */
+@Data
+public class ConfigClientOptions {
+    /**
+     * 配置服务地址，如 http://config-service:8080
+     */
+    private String serverUrl;
+
+    /**
+     * 客户端所在地域，只缓存该地域生效的配置
+     */
+    private String region;
+
+    /**
+     * 长轮询挂起时间(毫秒)，不超过服务端 config.watch.max-timeout-millis
+     */
+    private long watchTimeoutMillis = 30000;
+
+    /**
+     * 建立连接超时(毫秒)
+     */
+    private int connectTimeoutMillis = 3000;
+
+    /**
+     * 普通请求的读取超时(毫秒)；长轮询在挂起时间之上再加这个值
+     */
+    private int readTimeoutMillis = 10000;
+
+    /**
+     * start() 等待首次全量加载的最长时间(毫秒)，超时后继续在后台重试
+     */
+    private long startupTimeoutMillis = 10000;
+
+    /**
+     * 同步失败后的首次退避时间(毫秒)，之后逐次翻倍
+     */
+    private long initialBackoffMillis = 500;
+
+    /**
+     * 退避时间上限(毫秒)
+     */
+    private long maxBackoffMillis = 30000;
+
+    /**
+     * 全量加载后从加载前修订号往回多回放的修订号数，
+     * 覆盖服务端提交变更与刷新快照缓存之间的窗口，回放的变更按标识整体覆盖，重复应用无副作用
+     */
+    private int bootstrapReplayRevisions = 8;
+}
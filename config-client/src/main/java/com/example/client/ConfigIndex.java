@@ -0,0 +1,156 @@
+package com.example.client;
+
+import com.example.client.model.BaseVersionedConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 单类配置在本地域的不可变索引
+ * 每个标识保存在本地域生效的全部已发布版本，并预先选出生效版本，查找只有一次 HashMap 读取
+ */
+final class ConfigIndex<T extends BaseVersionedConfig> {
+
+    private static final String ALL = "all";
+
+    /**
+     * 与服务端 GrayGroupUtils#selectEffective 一致：优先地域灰度版本，其次全量版本，同类取最近修改
+     */
+    private static final Comparator<BaseVersionedConfig> EFFECTIVE_ORDER =
+        Comparator.comparing((BaseVersionedConfig config) -> ALL.equals(config.getEffectiveGrayGroups()))
+            .thenComparing(BaseVersionedConfig::getGmtModified, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private static final ConfigIndex<?> EMPTY =
+        new ConfigIndex<>(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    /**
+     * 标识 -> 在本地域生效的已发布版本
+     */
+    private final Map<String, List<T>> activeByIdentifier;
+
+    /**
+     * 版本ID -> 标识
+     */
+    private final Map<String, String> identifierByVersionId;
+
+    /**
+     * 标识 -> 生效版本
+     */
+    private final Map<String, T> effectiveByIdentifier;
+
+    private ConfigIndex(Map<String, List<T>> activeByIdentifier, Map<String, String> identifierByVersionId,
+                        Map<String, T> effectiveByIdentifier) {
+        this.activeByIdentifier = activeByIdentifier;
+        this.identifierByVersionId = identifierByVersionId;
+        this.effectiveByIdentifier = effectiveByIdentifier;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends BaseVersionedConfig> ConfigIndex<T> empty() {
+        return (ConfigIndex<T>) EMPTY;
+    }
+
+    T getEffective(String identifier) {
+        return effectiveByIdentifier.get(identifier);
+    }
+
+    /**
+     * 标识 -> 生效版本，不可修改
+     */
+    Map<String, T> getEffectiveByIdentifier() {
+        return effectiveByIdentifier;
+    }
+
+    /**
+     * 以全量加载结果替换当前索引，生效版本有变化的标识写入 changes
+     */
+    ConfigIndex<T> replaceAll(Collection<T> configs, Map<String, T> changes) {
+        Map<String, List<T>> active = new HashMap<>();
+        for (T config : configs) {
+            active.computeIfAbsent(config.getIdentifier(), id -> new ArrayList<>()).add(config);
+        }
+        Set<String> touched = new LinkedHashSet<>(activeByIdentifier.keySet());
+        touched.addAll(active.keySet());
+        Map<String, String> versions = new HashMap<>();
+        active.forEach((identifier, list) -> list.forEach(config -> versions.put(config.getVersionId(), identifier)));
+        return rebuild(active, versions, new HashMap<>(), touched, changes);
+    }
+
+    /**
+     * 应用一次增量变更：updated 为受影响标识在本地域生效的全部版本，按标识整体覆盖；
+     * removedVersionIds 中的版本从所属标识中移除。生效版本有变化的标识写入 changes
+     */
+    ConfigIndex<T> apply(Collection<T> updated, Collection<String> removedVersionIds, Map<String, T> changes) {
+        Map<String, List<T>> updatedByIdentifier = new LinkedHashMap<>();
+        for (T config : updated) {
+            updatedByIdentifier.computeIfAbsent(config.getIdentifier(), id -> new ArrayList<>()).add(config);
+        }
+        Set<String> removed = new HashSet<>(removedVersionIds);
+        Set<String> touched = new LinkedHashSet<>(updatedByIdentifier.keySet());
+        for (String versionId : removed) {
+            String identifier = identifierByVersionId.get(versionId);
+            if (identifier != null) {
+                touched.add(identifier);
+            }
+        }
+        if (touched.isEmpty()) {
+            return this;
+        }
+
+        Map<String, List<T>> active = new HashMap<>(activeByIdentifier);
+        Map<String, String> versions = new HashMap<>(identifierByVersionId);
+        for (String identifier : touched) {
+            List<T> previous = active.remove(identifier);
+            if (previous != null) {
+                previous.forEach(config -> versions.remove(config.getVersionId()));
+            }
+            List<T> current = updatedByIdentifier.get(identifier);
+            if (current == null && previous != null) {
+                current = new ArrayList<>(previous);
+                current.removeIf(config -> removed.contains(config.getVersionId()));
+            }
+            if (current != null && !current.isEmpty()) {
+                active.put(identifier, current);
+                current.forEach(config -> versions.put(config.getVersionId(), identifier));
+            }
+        }
+        return rebuild(active, versions, new HashMap<>(effectiveByIdentifier), touched, changes);
+    }
+
+    private ConfigIndex<T> rebuild(Map<String, List<T>> active, Map<String, String> versions,
+                                   Map<String, T> effective, Set<String> touched, Map<String, T> changes) {
+        for (String identifier : touched) {
+            List<T> candidates = active.get(identifier);
+            T winner = candidates == null ? null : candidates.stream().min(EFFECTIVE_ORDER).orElse(null);
+            T previous = effectiveByIdentifier.get(identifier);
+            if (winner == null) {
+                effective.remove(identifier);
+            } else {
+                effective.put(identifier, winner);
+            }
+            if (!sameVersion(previous, winner)) {
+                changes.put(identifier, winner);
+            }
+        }
+        return new ConfigIndex<>(active, versions, Collections.unmodifiableMap(effective));
+    }
+
+    private static boolean sameVersion(BaseVersionedConfig left, BaseVersionedConfig right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return Objects.equals(left.getVersionId(), right.getVersionId())
+            && Objects.equals(left.getEffectiveGrayGroups(), right.getEffectiveGrayGroups())
+            && Objects.equals(left.getGmtModified(), right.getGmtModified());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.client;
+
+import com.example.client.model.ApiMetaConfig;
+import com.example.client.model.ApiRecordConfig;
+import com.example.client.model.ConfigChangeResponse;
+import com.example.client.model.DataSourceConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.List;
+
+/**
+ * 配置服务 HTTP 接口，基于 JDK HttpURLConnection，不引入额外的 HTTP 客户端依赖
+ */
+class ConfigServerApi {
+
+    private final String serverUrl;
+    private final String region;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    ConfigServerApi(ConfigClientOptions options) {
+        String url = options.getServerUrl();
+        this.serverUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.region = encode(options.getRegion());
+        this.connectTimeoutMillis = options.getConnectTimeoutMillis();
+        this.readTimeoutMillis = options.getReadTimeoutMillis();
+    }
+
+    /**
+     * GET /api/config/revision
+     */
+    long getRevision() throws IOException {
+        return get("/api/config/revision", readTimeoutMillis, objectMapper.constructType(Long.class));
+    }
+
+    /**
+     * GET /api/datasource/region/{region}
+     */
+    List<DataSourceConfig> getDataSourceConfigs() throws IOException {
+        return get("/api/datasource/region/" + region, readTimeoutMillis, listOf(DataSourceConfig.class));
+    }
+
+    /**
+     * GET /api/api-record/region/{region}
+     */
+    List<ApiRecordConfig> getApiRecordConfigs() throws IOException {
+        return get("/api/api-record/region/" + region, readTimeoutMillis, listOf(ApiRecordConfig.class));
+    }
+
+    /**
+     * GET /api/api-meta/region/{region}
+     */
+    List<ApiMetaConfig> getApiMetaConfigs() throws IOException {
+        return get("/api/api-meta/region/" + region, readTimeoutMillis, listOf(ApiMetaConfig.class));
+    }
+
+    /**
+     * GET /api/config/watch，无变更时挂起至超时后返回空变更
+     */
+    ConfigChangeResponse watch(long sinceRevision, long timeoutMillis) throws IOException {
+        String path = "/api/config/watch?sinceRevision=" + sinceRevision + "&region=" + region
+            + "&timeoutMillis=" + timeoutMillis;
+        int readTimeout = (int) Math.min(Integer.MAX_VALUE, timeoutMillis + readTimeoutMillis);
+        return get(path, readTimeout, objectMapper.constructType(ConfigChangeResponse.class));
+    }
+
+    private JavaType listOf(Class<?> type) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, type);
+    }
+
+    private <R> R get(String path, int readTimeout, JavaType type) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(serverUrl + path).openConnection();
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout(readTimeout);
+        connection.setRequestProperty("Accept", "application/json");
+        try {
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_UNAVAILABLE) {
+                throw new ServerBusyException("GET " + path + " returned HTTP " + status,
+                    retryAfterMillis(connection.getHeaderField("Retry-After")));
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("GET " + path + " returned HTTP " + status);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return objectMapper.readValue(in, type);
+            }
+        } finally {
+            // 不调用 disconnect，读完响应体的连接由 JDK 复用
+            InputStream error = connection.getErrorStream();
+            if (error != null) {
+                error.close();
+            }
+        }
+    }
+
+    /**
+     * 只支持秒数形式的 Retry-After，HTTP 日期形式按未指定处理
+     */
+    private static long retryAfterMillis(String retryAfter) {
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.client;
+
+import java.io.IOException;
+
+/**
+ * 服务端返回 503，retryAfterMillis 为 Retry-After 指定的等待时间，未指定时为 0
+ */
+class ServerBusyException extends IOException {
+
+    private final long retryAfterMillis;
+
+    ServerBusyException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.client.model;
+
+import com.example.client.ConfigClient;
+import lombok.Data;
+
+@Data
+public class ApiRecordConfig extends BaseVersionedConfig {
+    private String gatewayType;
+    private String gatewayCode;
+    private String apiVersion;
+    private String apiName;
+    private String basicConfig;
+    private String eventConfig;
+    private String userIdentityConfig;
+    private String requestConfig;
+    private String responseConfig;
+    private String filterConfig;
+    private String referenceResourceConfig;
+
+    @Override
+    public String getIdentifier() {
+        return ConfigClient.apiIdentifier(gatewayType, gatewayCode, apiVersion, apiName);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.client.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 版本化配置基类，字段与服务端一致；服务端新增的字段忽略
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public abstract class BaseVersionedConfig {
+    private Long id;
+    private String versionId;
+    private String status;
+    private String effectiveGrayGroups;
+    private LocalDateTime gmtCreate;
+    private LocalDateTime gmtModified;
+
+    /**
+     * 配置标识，同一标识在同一地域只有一个生效版本
+     */
+    public abstract String getIdentifier();
+}
@@ -0,0 +1,45 @@
+package com.example.client.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /api/config/diff 与 /api/config/watch 的响应
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConfigChangeResponse {
+    /**
+     * 本次返回对应的修订号，下次以此作为 sinceRevision
+     */
+    private long revision;
+
+    /**
+     * 受影响标识在该地域生效的全部数据源配置
+     */
+    private List<DataSourceConfig> dataSourceConfigs = new ArrayList<>();
+
+    private List<ApiRecordConfig> apiRecordConfigs = new ArrayList<>();
+
+    private List<ApiMetaConfig> apiMetaConfigs = new ArrayList<>();
+
+    /**
+     * 在该地域已失效的配置版本ID列表
+     */
+    private List<String> removedVersionIds = new ArrayList<>();
+
+    /**
+     * 落后过多或所需变更日志已被清理，须全量重新加载
+     */
+    private boolean resync;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return !resync && dataSourceConfigs.isEmpty() && apiRecordConfigs.isEmpty()
+            && apiMetaConfigs.isEmpty() && removedVersionIds.isEmpty();
+    }
+}
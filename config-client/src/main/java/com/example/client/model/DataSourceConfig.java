@@ -0,0 +1,24 @@
+package com.example.client.model;
+
+import lombok.Data;
+
+@Data
+public class DataSourceConfig extends BaseVersionedConfig {
+    private String source;
+    private String sourceGroup;
+    private String gatewayType;
+    private String dm;
+    private String slsEndpoint;
+    private String slsProject;
+    private String slsLogstore;
+    private String slsAccountId;
+    private String slsAssumeRoleArn;
+    private String slsCursor;
+    private String consumeRegion;
+    private String workerConfig;
+
+    @Override
+    public String getIdentifier() {
+        return source;
+    }
+}
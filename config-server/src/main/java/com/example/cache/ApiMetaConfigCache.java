@@ -0,0 +1,36 @@
+package com.example.cache;
+
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.model.ApiMetaConfig;
+import com.example.util.ConfigIdentifierUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * API Meta配置快照缓存，标识为 gatewayType:gatewayCode:apiVersion:apiName
+ */
+@Component
+public class ApiMetaConfigCache extends ConfigSnapshotCache<ApiMetaConfig> {
+
+    @Autowired
+    private ApiMetaConfigMapper apiMetaConfigMapper;
+
+    @Override
+    public ConfigType getConfigType() {
+        return ConfigType.API_META;
+    }
+
+    @Override
+    protected List<ApiMetaConfig> loadAllPublished() {
+        return apiMetaConfigMapper.findAllPublished();
+    }
+
+    @Override
+    protected List<ApiMetaConfig> loadPublishedByIdentifiers(Collection<String> identifiers) {
+        return apiMetaConfigMapper.findPublishedByIdentifiers(ConfigIdentifierUtils.toApiKeys(identifiers));
+    }
+}
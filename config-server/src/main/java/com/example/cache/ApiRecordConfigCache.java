@@ -0,0 +1,36 @@
+package com.example.cache;
+
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.model.ApiRecordConfig;
+import com.example.util.ConfigIdentifierUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * API记录配置快照缓存，标识为 gatewayType:gatewayCode:apiVersion:apiName
+ */
+@Component
+public class ApiRecordConfigCache extends ConfigSnapshotCache<ApiRecordConfig> {
+
+    @Autowired
+    private ApiRecordConfigMapper apiRecordConfigMapper;
+
+    @Override
+    public ConfigType getConfigType() {
+        return ConfigType.API_RECORD;
+    }
+
+    @Override
+    protected List<ApiRecordConfig> loadAllPublished() {
+        return apiRecordConfigMapper.findAllPublished();
+    }
+
+    @Override
+    protected List<ApiRecordConfig> loadPublishedByIdentifiers(Collection<String> identifiers) {
+        return apiRecordConfigMapper.findPublishedByIdentifiers(ConfigIdentifierUtils.toApiKeys(identifiers));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.cache;
+
+import com.example.model.BaseVersionedConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 以缓存的 JSON 字节写出的配置列表
+ * 作为普通只读列表使用时与被包装的列表一致，接口签名与文档不变；
+ * 写响应时由 {@link ConfigJsonArrayHttpMessageConverter} 拼接各配置的缓存字节，不经过 Jackson 逐个序列化
+ *
+ * @param <T> 配置类型
+ */
+public class ConfigJsonArray<T extends BaseVersionedConfig> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> configs;
+    private final ConfigJsonCache jsonCache;
+
+    ConfigJsonArray(List<T> configs, ConfigJsonCache jsonCache) {
+        this.configs = configs;
+        this.jsonCache = jsonCache;
+    }
+
+    @Override
+    public T get(int index) {
+        return configs.get(index);
+    }
+
+    @Override
+    public int size() {
+        return configs.size();
+    }
+
+    /**
+     * 以 JSON 数组写出，不关闭输出流
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        jsonCache.writeArray(configs, outputStream);
+    }
+}
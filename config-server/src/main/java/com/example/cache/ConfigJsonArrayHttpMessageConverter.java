@@ -0,0 +1,43 @@
+package com.example.cache;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 写出 {@link ConfigJsonArray} 响应体，直接把缓存的字节写到响应流
+ * 注册为 Bean 后由 Spring Boot 排在默认的 Jackson 转换器之前，其他类型仍由 Jackson 处理
+ */
+@Component
+public class ConfigJsonArrayHttpMessageConverter extends AbstractHttpMessageConverter<ConfigJsonArray<?>> {
+
+    public ConfigJsonArrayHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConfigJsonArray.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ConfigJsonArray<?> readInternal(Class<? extends ConfigJsonArray<?>> clazz,
+                                              HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading " + clazz.getName() + " is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ConfigJsonArray<?> configs, HttpOutputMessage outputMessage) throws IOException {
+        configs.writeTo(outputMessage.getBody());
+    }
+}
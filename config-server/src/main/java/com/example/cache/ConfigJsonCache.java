@@ -0,0 +1,170 @@
+package com.example.cache;
+
+import com.example.config.CacheProperties;
+import com.example.model.BaseVersionedConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 配置 JSON 序列化结果缓存
+ * 版本内容创建后不再变化，按 versionId 缓存单个配置序列化后的字节，列表响应直接拼接各配置的字节写出
+ *
+ * 状态、灰度组与修改时间随发布、废弃变化，读取时与缓存条目比对，不一致时只重新序列化该版本，
+ * 发布不需要清空或通知缓存；按字节总量限制大小，超出时按写入顺序淘汰
+ */
+@Component
+public class ConfigJsonCache {
+
+    private static final byte[] START_ARRAY = {'['};
+    private static final byte[] SEPARATOR = {','};
+    private static final byte[] END_ARRAY = {']'};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 写入顺序，同一 versionId 被淘汰后重新写入时会再次入队
+     */
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 序列化结果及其对应的可变字段
+     */
+    private static final class Entry {
+        private final String status;
+        private final String effectiveGrayGroups;
+        private final LocalDateTime gmtModified;
+        private final byte[] json;
+
+        private Entry(BaseVersionedConfig config, byte[] json) {
+            this.status = config.getStatus();
+            this.effectiveGrayGroups = config.getEffectiveGrayGroups();
+            this.gmtModified = config.getGmtModified();
+            this.json = json;
+        }
+
+        private boolean matches(BaseVersionedConfig config) {
+            return Objects.equals(status, config.getStatus())
+                && Objects.equals(effectiveGrayGroups, config.getEffectiveGrayGroups())
+                && Objects.equals(gmtModified, config.getGmtModified());
+        }
+    }
+
+    /**
+     * 包装配置列表，由 {@link ConfigJsonArrayHttpMessageConverter} 以缓存的字节写出
+     */
+    public <T extends BaseVersionedConfig> ConfigJsonArray<T> array(List<T> configs) {
+        return new ConfigJsonArray<>(configs, this);
+    }
+
+    /**
+     * 单个配置的 JSON 字节，与 ObjectMapper 直接序列化的结果相同；返回的数组不可修改
+     */
+    public byte[] toJson(BaseVersionedConfig config) {
+        long maxBytes = cacheProperties.getJsonMaxBytes();
+        String versionId = config.getVersionId();
+        if (maxBytes <= 0 || versionId == null) {
+            return serialize(config);
+        }
+        Entry entry = entries.get(versionId);
+        if (entry != null && entry.matches(config)) {
+            hits.incrementAndGet();
+            return entry.json;
+        }
+        misses.incrementAndGet();
+        byte[] json = serialize(config);
+        Entry previous = entries.put(versionId, new Entry(config, json));
+        if (previous == null) {
+            insertionOrder.add(versionId);
+            bytes.addAndGet(json.length);
+        } else {
+            bytes.addAndGet(json.length - previous.json.length);
+        }
+        evict(maxBytes);
+        return json;
+    }
+
+    /**
+     * 以 JSON 数组写出配置列表，不关闭输出流
+     */
+    public void writeArray(List<? extends BaseVersionedConfig> configs, OutputStream outputStream)
+            throws IOException {
+        outputStream.write(START_ARRAY);
+        for (int i = 0; i < configs.size(); i++) {
+            if (i > 0) {
+                outputStream.write(SEPARATOR);
+            }
+            outputStream.write(toJson(configs.get(i)));
+        }
+        outputStream.write(END_ARRAY);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxBytes", cacheProperties.getJsonMaxBytes());
+        stats.put("bytes", bytes.get());
+        stats.put("entries", entries.size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private byte[] serialize(BaseVersionedConfig config) {
+        try {
+            return objectMapper.writeValueAsBytes(config);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void evict(long maxBytes) {
+        while (bytes.get() > maxBytes) {
+            String versionId = insertionOrder.poll();
+            if (versionId == null) {
+                return;
+            }
+            Entry removed = entries.remove(versionId);
+            if (removed != null) {
+                bytes.addAndGet(-removed.json.length);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+}
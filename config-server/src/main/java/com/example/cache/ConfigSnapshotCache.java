@@ -0,0 +1,633 @@
+package com.example.cache;
+
+import com.example.datasource.ReadRoutingContext;
+import com.example.enums.ConfigType;
+import com.example.model.BaseVersionedConfig;
+import com.example.util.ETagUtils;
+import com.example.util.GrayGroupUtils;
+import com.example.util.RegionProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 已发布配置的内存快照缓存
+ * 按地域维护生效配置，按 标识+地域 维护生效版本，读请求不再访问数据库
+ *
+ * 快照不可变，刷新时在旁路基于当前快照构建新快照后原子替换：
+ * 读请求只读取一次引用、不加锁，同一次读取内看到的地域列表、生效版本与 ETag 来自同一快照；
+ * 写入方之间串行
+ *
+ * @param <T> 配置类型
+ */
+@Slf4j
+public abstract class ConfigSnapshotCache<T extends BaseVersionedConfig> {
+
+    /**
+     * 全量加载失败后的重试间隔
+     */
+    private static final long RELOAD_BACKOFF_MILLIS = 5000;
+
+    private static final Snapshot<?> EMPTY = new Snapshot<>(false, false, 0,
+        Collections.emptyMap(), Collections.emptyMap());
+
+    /**
+     * 按修改时间倒序，与数据库查询的 ORDER BY gmt_modified DESC 一致
+     */
+    private static final Comparator<BaseVersionedConfig> NEWEST_FIRST = Comparator.comparing(
+        BaseVersionedConfig::getGmtModified, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    @Autowired
+    private RegionProvider regionProvider;
+
+    @SuppressWarnings("unchecked")
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>((Snapshot<T>) EMPTY);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong conditionalRequests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    private volatile long lastLoadAttempt;
+
+    /**
+     * 某一时刻的全部缓存内容，构建后不再修改
+     */
+    private static final class Snapshot<T extends BaseVersionedConfig> {
+        /**
+         * 已从数据库全量加载
+         */
+        private final boolean loaded;
+
+        /**
+         * 由本地快照文件预填充，尚未与数据库对账
+         */
+        private final boolean seeded;
+
+        private final long revision;
+
+        /**
+         * 标识 -> 该标识下所有已发布版本，按修改时间倒序
+         */
+        private final Map<String, List<T>> publishedByIdentifier;
+
+        /**
+         * 地域 -> 地域视图
+         */
+        private final Map<String, RegionView<T>> regions;
+
+        private Snapshot(boolean loaded, boolean seeded, long revision,
+                         Map<String, List<T>> publishedByIdentifier, Map<String, RegionView<T>> regions) {
+            this.loaded = loaded;
+            this.seeded = seeded;
+            this.revision = revision;
+            this.publishedByIdentifier = publishedByIdentifier;
+            this.regions = regions;
+        }
+    }
+
+    /**
+     * 单个地域的不可变视图
+     */
+    public static final class RegionView<T extends BaseVersionedConfig> {
+        private final long revision;
+
+        /**
+         * 标识 -> 在该地域生效的已发布版本
+         */
+        private final Map<String, List<T>> activeByIdentifier;
+
+        /**
+         * 标识 -> 生效版本
+         */
+        private final Map<String, T> effectiveByIdentifier;
+
+        /**
+         * 生效配置集合的摘要，各配置指纹异或而成，与顺序无关
+         */
+        private final long digest;
+
+        /**
+         * 地域生效配置列表，首次读取时展开；并发读取可能重复构建，结果相同
+         */
+        private volatile List<T> configs;
+
+        private RegionView(long revision, Map<String, List<T>> activeByIdentifier,
+                           Map<String, T> effectiveByIdentifier, long digest, List<T> configs) {
+            this.revision = revision;
+            this.activeByIdentifier = activeByIdentifier;
+            this.effectiveByIdentifier = effectiveByIdentifier;
+            this.digest = digest;
+            this.configs = configs;
+        }
+
+        /**
+         * 内容未变的地域在新快照中的视图，共享映射与已展开的列表，只更新修订号
+         */
+        private RegionView<T> withRevision(long newRevision) {
+            return new RegionView<>(newRevision, activeByIdentifier, effectiveByIdentifier, digest, configs);
+        }
+
+        public long getRevision() {
+            return revision;
+        }
+
+        public long getDigest() {
+            return digest;
+        }
+
+        public String getETag() {
+            return ETagUtils.format(digest);
+        }
+
+        /**
+         * 地域生效配置列表，按修改时间倒序，不可修改
+         */
+        public List<T> getConfigs() {
+            List<T> result = configs;
+            if (result == null) {
+                List<T> flattened = new ArrayList<>();
+                activeByIdentifier.values().forEach(flattened::addAll);
+                flattened.sort(NEWEST_FIRST);
+                result = Collections.unmodifiableList(flattened);
+                configs = result;
+            }
+            return result;
+        }
+
+        public T getEffective(String identifier) {
+            return effectiveByIdentifier.get(identifier);
+        }
+
+        /**
+         * 指定标识生效版本的 ETag，无生效版本时返回 null，不产生可被 If-None-Match 命中的空 ETag
+         */
+        public String getEffectiveETag(String identifier) {
+            T winner = effectiveByIdentifier.get(identifier);
+            return winner == null ? null : ETagUtils.format(fingerprint(winner));
+        }
+
+        /**
+         * 标识 -> 生效版本，不可修改
+         */
+        public Map<String, T> getEffectiveByIdentifier() {
+            return effectiveByIdentifier;
+        }
+    }
+
+    /**
+     * 缓存对应的配置类型
+     */
+    public abstract ConfigType getConfigType();
+
+    /**
+     * 从数据库加载所有已发布的配置
+     */
+    protected abstract List<T> loadAllPublished();
+
+    /**
+     * 从数据库加载指定标识的所有已发布配置
+     */
+    protected abstract List<T> loadPublishedByIdentifiers(Collection<String> identifiers);
+
+    /**
+     * 获取指定地域生效的配置，缓存未就绪时回源数据库
+     * 返回的列表属于快照，不可修改
+     */
+    public List<T> getActiveByRegion(String region, Supplier<List<T>> loader) {
+        Snapshot<T> current = ensureLoaded();
+        if (current == null) {
+            misses.incrementAndGet();
+            return loader.get();
+        }
+        hits.incrementAndGet();
+        RegionView<T> view = current.regions.get(region);
+        return view == null ? Collections.emptyList() : view.getConfigs();
+    }
+
+    /**
+     * 获取指定标识在指定地域的生效版本，缓存未就绪时回源数据库
+     */
+    public T getEffective(String identifier, String region, Supplier<T> loader) {
+        Snapshot<T> current = ensureLoaded();
+        if (current == null) {
+            misses.incrementAndGet();
+            return loader.get();
+        }
+        hits.incrementAndGet();
+        RegionView<T> view = current.regions.get(region);
+        return view == null ? null : view.getEffective(identifier);
+    }
+
+    /**
+     * 批量获取多个标识在指定地域的生效版本，按请求顺序返回，无生效版本的标识不出现在结果中
+     * 缓存未就绪时只执行一次地域查询，在内存中按标识挑选生效版本
+     */
+    public Map<String, T> getEffectiveAll(Collection<String> identifiers, String region,
+                                          Supplier<List<T>> regionLoader) {
+        Map<String, T> result = new LinkedHashMap<>();
+        Snapshot<T> current = ensureLoaded();
+        if (current == null) {
+            misses.incrementAndGet();
+            Map<String, List<T>> candidates = regionLoader.get().stream()
+                .collect(Collectors.groupingBy(BaseVersionedConfig::getIdentifier));
+            for (String identifier : identifiers) {
+                T winner = GrayGroupUtils.selectEffective(
+                    candidates.getOrDefault(identifier, new ArrayList<>()));
+                if (winner != null) {
+                    result.put(identifier, winner);
+                }
+            }
+            return result;
+        }
+        hits.incrementAndGet();
+        RegionView<T> view = current.regions.get(region);
+        if (view == null) {
+            return result;
+        }
+        for (String identifier : identifiers) {
+            T winner = view.getEffective(identifier);
+            if (winner != null) {
+                result.put(identifier, winner);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取指定地域的不可变视图，缓存未就绪或地域未知时返回 null
+     * 需要同时读取列表与 ETag 等多项内容时使用，保证各项来自同一快照
+     */
+    public RegionView<T> getRegionView(String region) {
+        Snapshot<T> current = ensureLoaded();
+        if (current == null) {
+            return null;
+        }
+        hits.incrementAndGet();
+        return current.regions.get(region);
+    }
+
+    /**
+     * 指定地域生效配置列表的 ETag，缓存未就绪或地域未知时返回 null
+     */
+    public String getRegionETag(String region) {
+        Snapshot<T> current = ensureLoaded();
+        RegionView<T> view = current == null ? null : current.regions.get(region);
+        return view == null ? null : view.getETag();
+    }
+
+    /**
+     * 判断条件请求是否可以返回 304，并记录命中率
+     */
+    public boolean isNotModified(String eTag, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        conditionalRequests.incrementAndGet();
+        if (!ETagUtils.matches(ifNoneMatch, eTag)) {
+            return false;
+        }
+        notModified.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 重建指定标识的缓存
+     */
+    public void refresh(String identifier) {
+        refresh(Collections.singleton(identifier));
+    }
+
+    /**
+     * 重建多个标识的缓存：一次查询加载这些标识的已发布版本，构建新快照后整体替换
+     */
+    public synchronized void refresh(Collection<String> identifiers) {
+        Snapshot<T> current = snapshot.get();
+        if (!current.loaded || identifiers.isEmpty()) {
+            // 尚未全量加载，下次读请求时会整体加载
+            return;
+        }
+        snapshot.set(apply(current, loadChanges(identifiers), true, false));
+    }
+
+    /**
+     * 以本地快照文件预填充的缓存与数据库对账：只重新加载快照修订号之后变更过的标识，其余沿用文件内容，
+     * 完成后视为已从数据库加载；缓存未预填充或已加载时返回 false
+     */
+    public synchronized boolean reconcile(Collection<String> identifiers) {
+        Snapshot<T> current = snapshot.get();
+        if (current.loaded || !current.seeded) {
+            return false;
+        }
+        snapshot.set(apply(current, loadChanges(identifiers), true, false));
+        return true;
+    }
+
+    /**
+     * 在当前事务提交后重建指定标识的缓存，无事务时立即重建
+     * 同一事务内多次调用合并为提交后的一次批量重建
+     */
+    public void refreshAfterCommit(String identifier) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(identifier);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            pending.add(identifier);
+            return;
+        }
+        Set<String> identifiers = new LinkedHashSet<>();
+        identifiers.add(identifier);
+        TransactionSynchronizationManager.bindResource(this, identifiers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // 先于依赖缓存内容的提交回调（如地域快照构建）执行
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ConfigSnapshotCache.this);
+                refresh(identifiers);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ConfigSnapshotCache.this);
+            }
+        });
+    }
+
+    /**
+     * 用本地快照文件中的配置预填充缓存，数据库可用前直接提供读服务
+     * 已从数据库加载时忽略
+     */
+    public synchronized void seed(List<T> configs) {
+        if (snapshot.get().loaded) {
+            return;
+        }
+        snapshot.set(build(configs, false, true));
+    }
+
+    /**
+     * 全量重建缓存，构建完成前读请求继续使用旧快照
+     */
+    public synchronized void reload() {
+        snapshot.set(build(ReadRoutingContext.onPrimary(this::loadAllPublished), true, false));
+    }
+
+    /**
+     * 缓存统计信息
+     */
+    public Map<String, Object> getStats() {
+        Snapshot<T> current = snapshot.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("configType", getConfigType().name());
+        stats.put("loaded", current.loaded);
+        stats.put("seeded", current.seeded);
+        stats.put("revision", current.revision);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("identifiers", current.publishedByIdentifier.size());
+        long conditional = conditionalRequests.get();
+        long unchanged = notModified.get();
+        stats.put("conditionalRequests", conditional);
+        stats.put("notModified", unchanged);
+        stats.put("notModifiedRate", conditional == 0 ? 0.0 : (double) unchanged / conditional);
+        return stats;
+    }
+
+    public long getRevision() {
+        return snapshot.get().revision;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getConditionalRequests() {
+        return conditionalRequests.get();
+    }
+
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    public int getIdentifierCount() {
+        return snapshot.get().publishedByIdentifier.size();
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get().loaded;
+    }
+
+    /**
+     * 指定标识各已发布版本的灰度组，尚未从数据库加载时返回 "all"
+     * 刷新前后各取一次即为变更影响的地域
+     */
+    public Set<String> getGrayGroups(Collection<String> identifiers) {
+        Snapshot<T> current = snapshot.get();
+        if (!current.loaded) {
+            return Collections.singleton(GrayGroupUtils.ALL);
+        }
+        Set<String> grayGroups = new LinkedHashSet<>();
+        for (String identifier : identifiers) {
+            for (T config : current.publishedByIdentifier.getOrDefault(identifier, Collections.emptyList())) {
+                grayGroups.addAll(GrayGroupUtils.parse(config.getEffectiveGrayGroups()));
+            }
+        }
+        return grayGroups;
+    }
+
+    /**
+     * 所有已发布配置的副本，尚未从数据库加载时返回 null
+     */
+    public List<T> getAllPublished() {
+        Snapshot<T> current = snapshot.get();
+        if (!current.loaded) {
+            return null;
+        }
+        List<T> configs = new ArrayList<>();
+        current.publishedByIdentifier.values().forEach(configs::addAll);
+        return configs;
+    }
+
+    /**
+     * 配置指纹（FNV-1a 64），版本内容不可变，状态与灰度变更会刷新修改时间
+     * 地域摘要为该地域生效配置指纹的异或
+     */
+    public static long fingerprint(BaseVersionedConfig config) {
+        String source = config.getVersionId() + '|' + config.getStatus() + '|'
+            + config.getEffectiveGrayGroups() + '|' + config.getGmtModified();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < source.length(); i++) {
+            hash ^= source.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 返回可读的快照，缓存未就绪且本次加载失败时返回 null
+     */
+    private Snapshot<T> ensureLoaded() {
+        Snapshot<T> current = snapshot.get();
+        if (current.loaded || current.seeded) {
+            // 预填充的缓存由后台对账加载，读请求不在数据库不可用时阻塞
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            if (current.loaded || current.seeded) {
+                return current;
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastLoadAttempt < RELOAD_BACKOFF_MILLIS) {
+                return null;
+            }
+            lastLoadAttempt = now;
+            try {
+                reload();
+                log.info("Loaded {} snapshot cache, identifiers: {}", getConfigType(), getIdentifierCount());
+            } catch (RuntimeException e) {
+                log.warn("Failed to load {} snapshot cache, falling back to database", getConfigType(), e);
+            }
+            current = snapshot.get();
+            return current.loaded ? current : null;
+        }
+    }
+
+    /**
+     * 从主库加载指定标识的已发布版本，按标识分组；已没有发布版本的标识对应空列表
+     */
+    private Map<String, List<T>> loadChanges(Collection<String> identifiers) {
+        Map<String, List<T>> changes = new HashMap<>();
+        identifiers.forEach(identifier -> changes.put(identifier, new ArrayList<>()));
+        if (changes.isEmpty()) {
+            return changes;
+        }
+        // 缓存内容会一直使用到下次变更，不从可能落后的副本加载
+        for (T config : ReadRoutingContext.onPrimary(() -> loadPublishedByIdentifiers(changes.keySet()))) {
+            List<T> versions = changes.get(config.getIdentifier());
+            if (versions != null) {
+                versions.add(config);
+            }
+        }
+        return changes;
+    }
+
+    private Snapshot<T> build(List<T> configs, boolean loaded, boolean seeded) {
+        Map<String, List<T>> grouped = configs.stream()
+            .collect(Collectors.groupingBy(T::getIdentifier));
+        @SuppressWarnings("unchecked")
+        Snapshot<T> empty = (Snapshot<T>) EMPTY;
+        return apply(empty, grouped, loaded, seeded);
+    }
+
+    /**
+     * 以 base 为基础替换 changes 中各标识的已发布版本，构建新快照；base 本身不被修改
+     * 只重建变化的版本所在地域的视图，其余地域共享原有的映射，未涉及的标识条目直接复用
+     */
+    private Snapshot<T> apply(Snapshot<T> base, Map<String, List<T>> changes, boolean loaded, boolean seeded) {
+        long revision = base.revision + 1;
+        Map<String, List<T>> published = new HashMap<>(base.publishedByIdentifier);
+        Set<String> touched = new HashSet<>();
+        changes.forEach((identifier, versions) -> {
+            List<T> sorted = new ArrayList<>(versions);
+            sorted.sort(NEWEST_FIRST);
+            collectChangedGrayGroups(base.publishedByIdentifier.getOrDefault(identifier, Collections.emptyList()),
+                sorted, touched);
+            if (sorted.isEmpty()) {
+                published.remove(identifier);
+            } else {
+                published.put(identifier, Collections.unmodifiableList(sorted));
+            }
+        });
+
+        Map<String, RegionView<T>> regions = new HashMap<>();
+        for (String region : regionProvider.getSupportedRegions()) {
+            RegionView<T> baseView = base.regions.get(region);
+            if (baseView != null && !touched.contains(GrayGroupUtils.ALL) && !touched.contains(region)) {
+                regions.put(region, baseView.withRevision(revision));
+                continue;
+            }
+            Map<String, List<T>> active = baseView == null
+                ? new HashMap<>() : new HashMap<>(baseView.activeByIdentifier);
+            Map<String, T> effective = baseView == null
+                ? new HashMap<>() : new HashMap<>(baseView.effectiveByIdentifier);
+            long digest = baseView == null ? 0L : baseView.digest;
+
+            for (String identifier : changes.keySet()) {
+                List<T> removed = active.remove(identifier);
+                if (removed != null) {
+                    for (T config : removed) {
+                        digest ^= fingerprint(config);
+                    }
+                }
+                List<T> matched = published.getOrDefault(identifier, Collections.emptyList()).stream()
+                    .filter(config -> GrayGroupUtils.isEffectiveIn(config.getEffectiveGrayGroups(), region))
+                    .collect(Collectors.toList());
+                T winner = GrayGroupUtils.selectEffective(matched);
+                if (winner == null) {
+                    effective.remove(identifier);
+                    continue;
+                }
+                active.put(identifier, Collections.unmodifiableList(matched));
+                effective.put(identifier, winner);
+                for (T config : matched) {
+                    digest ^= fingerprint(config);
+                }
+            }
+            regions.put(region, new RegionView<>(revision, Collections.unmodifiableMap(active),
+                Collections.unmodifiableMap(effective), digest, null));
+        }
+        return new Snapshot<>(loaded, seeded, revision,
+            Collections.unmodifiableMap(published), Collections.unmodifiableMap(regions));
+    }
+
+    /**
+     * 收集新旧版本列表中有差异（新增、移除或状态、灰度组、修改时间变化）的版本的灰度组，即需要重建的地域
+     */
+    private static <T extends BaseVersionedConfig> void collectChangedGrayGroups(List<T> before, List<T> after,
+                                                                                 Set<String> grayGroups) {
+        Set<Long> beforeFingerprints = before.stream().map(ConfigSnapshotCache::fingerprint)
+            .collect(Collectors.toSet());
+        Set<Long> afterFingerprints = after.stream().map(ConfigSnapshotCache::fingerprint)
+            .collect(Collectors.toSet());
+        for (T config : before) {
+            if (!afterFingerprints.contains(fingerprint(config))) {
+                grayGroups.addAll(GrayGroupUtils.parse(config.getEffectiveGrayGroups()));
+            }
+        }
+        for (T config : after) {
+            if (!beforeFingerprints.contains(fingerprint(config))) {
+                grayGroups.addAll(GrayGroupUtils.parse(config.getEffectiveGrayGroups()));
+            }
+        }
+    }
+}
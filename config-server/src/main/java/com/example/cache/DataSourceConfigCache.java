@@ -0,0 +1,35 @@
+package com.example.cache;
+
+import com.example.enums.ConfigType;
+import com.example.mapper.DataSourceConfigMapper;
+import com.example.model.DataSourceConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 数据源配置快照缓存，标识为 source
+ */
+@Component
+public class DataSourceConfigCache extends ConfigSnapshotCache<DataSourceConfig> {
+
+    @Autowired
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Override
+    public ConfigType getConfigType() {
+        return ConfigType.DATA_SOURCE;
+    }
+
+    @Override
+    protected List<DataSourceConfig> loadAllPublished() {
+        return dataSourceConfigMapper.findAllPublished();
+    }
+
+    @Override
+    protected List<DataSourceConfig> loadPublishedByIdentifiers(Collection<String> identifiers) {
+        return dataSourceConfigMapper.findPublishedBySources(identifiers);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.cache;
+
+import com.example.config.InvalidationProperties;
+import com.example.config.SnapshotProperties;
+import com.example.dto.RegionSnapshot;
+import com.example.enums.ConfigType;
+import com.example.service.ConfigChangeService;
+import com.example.service.ConfigInvalidationPoller;
+import com.example.util.GrayGroupUtils;
+import com.example.util.SnapshotCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 本地快照文件
+ * 定期把已发布配置连同其覆盖到的修订号持久化到本地，启动时通过内存映射读取并预填充快照缓存，
+ * 数据库不可用时仍可提供读服务；数据库恢复后由后台对账按变更日志只重新加载该修订号之后变更过的标识，
+ * 日志不足以增量对账时全量加载
+ */
+@Slf4j
+@Component
+public class LocalSnapshotStore {
+
+    @Autowired
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private ApiRecordConfigCache apiRecordConfigCache;
+
+    @Autowired
+    private ApiMetaConfigCache apiMetaConfigCache;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
+
+    @Autowired
+    private ConfigInvalidationPoller configInvalidationPoller;
+
+    @Autowired
+    private InvalidationProperties invalidationProperties;
+
+    @Autowired
+    private SnapshotProperties snapshotProperties;
+
+    private volatile long restoredRevision = -1;
+    private volatile long restoreMillis = -1;
+    private volatile long replayedIdentifiers = -1;
+    private volatile boolean replayed;
+    private volatile long persistedRevision = -1;
+    private volatile long persistedBytes = -1;
+    private volatile long persistedAt = -1;
+
+    /**
+     * 最近一次持久化时各缓存的版本之和，缓存有变化时才重写文件
+     */
+    private long persistedCacheRevision = -1;
+
+    /**
+     * 启动时映射本地快照文件并预填充缓存
+     */
+    @PostConstruct
+    public void restore() {
+        if (!snapshotProperties.isLocalFileEnabled()) {
+            return;
+        }
+        Path file = Paths.get(snapshotProperties.getLocalFile());
+        if (!Files.isRegularFile(file)) {
+            log.info("No local config snapshot at {}, caches will load from database", file);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            RegionSnapshot snapshot = SnapshotCodec.decode(buffer);
+            dataSourceConfigCache.seed(snapshot.getDataSourceConfigs());
+            apiRecordConfigCache.seed(snapshot.getApiRecordConfigs());
+            apiMetaConfigCache.seed(snapshot.getApiMetaConfigs());
+            restoredRevision = snapshot.getRevision();
+            restoreMillis = System.currentTimeMillis() - start;
+            log.info("Restored local config snapshot {} at revision {} in {} ms", file, restoredRevision, restoreMillis);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable local config snapshot {}", file, e);
+        }
+    }
+
+    /**
+     * 加载尚未从数据库加载的缓存（冷启动预热、预填充缓存对账），并在缓存变化后持久化
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${config.snapshot.reconcile-interval-millis:5000}")
+    public void reconcile() {
+        if (restoredRevision >= 0 && !replayed && !replay()) {
+            // 预填充的缓存等待增量对账，不在此期间全量加载
+            return;
+        }
+        for (ConfigSnapshotCache<?> cache : caches()) {
+            if (cache.isLoaded()) {
+                continue;
+            }
+            try {
+                cache.reload();
+                log.info("Reconciled {} snapshot cache with database", cache.getConfigType());
+            } catch (RuntimeException e) {
+                log.warn("Database unavailable, {} snapshot cache still serving local snapshot: {}",
+                    cache.getConfigType(), e.getMessage());
+            }
+        }
+        if (snapshotProperties.isLocalFileEnabled()) {
+            persistIfChanged();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotProperties.isLocalFileEnabled()) {
+            persistIfChanged();
+        }
+    }
+
+    /**
+     * 本地快照状态
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", snapshotProperties.isLocalFileEnabled());
+        stats.put("file", snapshotProperties.getLocalFile());
+        stats.put("restoredRevision", restoredRevision);
+        stats.put("restoreMillis", restoreMillis);
+        stats.put("replayedIdentifiers", replayedIdentifiers);
+        stats.put("persistedRevision", persistedRevision);
+        stats.put("persistedBytes", persistedBytes);
+        stats.put("persistedAt", persistedAt);
+        return stats;
+    }
+
+    /**
+     * 重放快照修订号之后的变更日志：预填充的缓存只重新加载变更过的标识，再补上对账期间其他节点的变更
+     * （缓存尚未加载时跨节点失效不会刷新）；日志不足以增量对账时留给全量加载
+     * 跨节点失效确定起点时会全量重建已加载的缓存，在此之前不重放；暂时无法对账时返回 false
+     */
+    private boolean replay() {
+        if (invalidationProperties.isEnabled() && configInvalidationPoller.getProcessedRevision() < 0) {
+            return false;
+        }
+        try {
+            long revision = configChangeService.getCurrentRevision();
+            Map<ConfigType, Set<String>> changed = configChangeService.findChangedIdentifiers(restoredRevision);
+            if (changed == null) {
+                replayed = true;
+                log.info("Change log does not cover local snapshot revision {}, reloading caches", restoredRevision);
+                return true;
+            }
+            long identifiers = 0;
+            for (ConfigSnapshotCache<?> cache : caches()) {
+                Set<String> typeIdentifiers = changed.getOrDefault(cache.getConfigType(), Collections.emptySet());
+                if (!cache.reconcile(typeIdentifiers)) {
+                    // 上一轮重放中途失败时已对账的缓存
+                    cache.refresh(typeIdentifiers);
+                }
+                identifiers += typeIdentifiers.size();
+            }
+            Map<ConfigType, Set<String>> concurrent = configChangeService.findChangedIdentifiers(revision);
+            for (ConfigSnapshotCache<?> cache : caches()) {
+                if (concurrent == null) {
+                    cache.reload();
+                } else {
+                    cache.refresh(concurrent.getOrDefault(cache.getConfigType(), Collections.emptySet()));
+                }
+            }
+            replayed = true;
+            replayedIdentifiers = identifiers;
+            log.info("Reconciled local snapshot revision {} with database by replaying {} changed identifiers",
+                restoredRevision, identifiers);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Database unavailable, local snapshot revision {} not reconciled yet: {}",
+                restoredRevision, e.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized void persistIfChanged() {
+        long cacheRevision = 0;
+        for (ConfigSnapshotCache<?> cache : caches()) {
+            if (!cache.isLoaded()) {
+                // 只持久化与数据库对账过的内容
+                return;
+            }
+            cacheRevision += cache.getRevision();
+        }
+        if (cacheRevision == persistedCacheRevision) {
+            return;
+        }
+        try {
+            // 取缓存内容已覆盖的修订号后再读缓存，恢复时从该修订号重放变更日志
+            long revision = configInvalidationPoller.getCachedRevision();
+            if (revision < 0) {
+                return;
+            }
+            RegionSnapshot snapshot = new RegionSnapshot();
+            snapshot.setRevision(revision);
+            snapshot.setRegion(GrayGroupUtils.ALL);
+            snapshot.getDataSourceConfigs().addAll(dataSourceConfigCache.getAllPublished());
+            snapshot.getApiRecordConfigs().addAll(apiRecordConfigCache.getAllPublished());
+            snapshot.getApiMetaConfigs().addAll(apiMetaConfigCache.getAllPublished());
+            byte[] data = SnapshotCodec.encode(snapshot);
+
+            Path file = Paths.get(snapshotProperties.getLocalFile()).toAbsolutePath();
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, data);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            persistedCacheRevision = cacheRevision;
+            persistedRevision = revision;
+            persistedBytes = data.length;
+            persistedAt = System.currentTimeMillis();
+            log.debug("Persisted local config snapshot {} at revision {}, {} bytes", file, revision, data.length);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to persist local config snapshot: {}", e.getMessage());
+        }
+    }
+
+    private List<ConfigSnapshotCache<?>> caches() {
+        return Arrays.asList(dataSourceConfigCache, apiRecordConfigCache, apiMetaConfigCache);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.config;
+
+import org.mybatis.spring.boot.autoconfigure.ConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 大字段查询列的 MyBatis 变量
+ * Mapper 中的 ${inline.列名} 在解析语句时替换为内联列 c.列名，或在内联列已删除时替换为 NULL，
+ * 见 {@link BlobProperties#isInlineColumnsEnabled()}
+ */
+@Configuration
+public class BlobColumnConfiguration {
+
+    /**
+     * V10 删除的内联大字段列
+     */
+    static final List<String> INLINE_COLUMNS = Arrays.asList("basic_config", "event_config",
+        "user_identity_config", "request_config", "response_config", "filter_config",
+        "reference_resource_config", "resource_spec");
+
+    @Bean
+    public ConfigurationCustomizer inlineBlobColumns(BlobProperties blobProperties) {
+        return configuration -> {
+            for (String column : INLINE_COLUMNS) {
+                configuration.getVariables().setProperty("inline." + column,
+                    blobProperties.isInlineColumnsEnabled() ? "c." + column : "NULL");
+            }
+        };
+    }
+}
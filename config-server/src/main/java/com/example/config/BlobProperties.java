@@ -0,0 +1,16 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.blob")
+public class BlobProperties {
+    /**
+     * 是否仍读写内联的大字段列：执行 V8 之后、V10 删除内联列之前设为 true，
+     * 新写入的版本同时写入内联列供旧版本应用读取，读取时摘要为空的行回退到内联列；执行 V10 之前关闭
+     */
+    private boolean inlineColumnsEnabled = false;
+}
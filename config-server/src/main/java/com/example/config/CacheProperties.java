@@ -0,0 +1,25 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.cache")
+public class CacheProperties {
+    /**
+     * 快照缓存未就绪时，是否合并同一 类型+标识+地域 的并发回源查询
+     */
+    private boolean coalesceEnabled = true;
+
+    /**
+     * 等待同一 key 上正在执行的回源查询的最长时间(毫秒)，超时后抛出异常而不是各自回源
+     */
+    private long coalesceTimeoutMillis = 3000;
+
+    /**
+     * 按版本缓存的配置 JSON 字节总量上限，超出时按写入顺序淘汰，0 表示不缓存
+     */
+    private long jsonMaxBytes = 64L * 1024 * 1024;
+}
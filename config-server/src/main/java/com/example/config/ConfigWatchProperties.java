@@ -0,0 +1,40 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.watch")
+public class ConfigWatchProperties {
+    /**
+     * 长轮询默认挂起时间(毫秒)
+     */
+    private long defaultTimeoutMillis = 30000;
+
+    /**
+     * 长轮询最大挂起时间(毫秒)
+     */
+    private long maxTimeoutMillis = 60000;
+
+    /**
+     * 单节点最多挂起的监听数，超出时返回 503
+     */
+    private int maxWatchers = 20000;
+
+    /**
+     * 监听数已满时 Retry-After 响应头的秒数
+     */
+    private long retryAfterSeconds = 5;
+
+    /**
+     * 唤醒监听时计算变更的线程数
+     */
+    private int notifyThreads = 4;
+
+    /**
+     * 增量查询最多读取的变更日志行数，客户端落后更多时返回 resync，要求其全量重新加载
+     */
+    private int maxChangeRows = 10000;
+}
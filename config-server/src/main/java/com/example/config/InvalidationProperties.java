@@ -0,0 +1,44 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.invalidation")
+public class InvalidationProperties {
+    /**
+     * 是否追踪变更日志，按其他节点的变更刷新本节点的快照缓存、地域快照并唤醒长轮询监听
+     */
+    private boolean enabled = true;
+
+    /**
+     * 轮询变更日志的间隔(毫秒)，无变更时每次轮询只有一次主键范围查询
+     */
+    private long pollIntervalMillis = 500;
+
+    /**
+     * 每次读取的变更日志行数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 本节点标识，写入变更日志的 node_id，默认为 主机名-随机后缀，每次启动不同
+     */
+    private String nodeId = defaultNodeId();
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
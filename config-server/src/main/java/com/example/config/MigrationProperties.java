@@ -0,0 +1,25 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.migration")
+public class MigrationProperties {
+    /**
+     * 每个分块迁移的行数，每个分块一个事务
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 并行迁移的线程数，每个线程负责一段主键区间
+     */
+    private int workers = 1;
+
+    /**
+     * 迁移速率上限(行/秒)，所有线程共享，0 表示不限速
+     */
+    private int rowsPerSecond = 0;
+}
@@ -0,0 +1,49 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.read-replica")
+public class ReadReplicaProperties {
+    /**
+     * 是否启用读写分离，关闭时所有读写都使用 spring.datasource
+     */
+    private boolean enabled = false;
+
+    /**
+     * 只读副本，读请求在可用且已追上的副本间轮询
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 读取主库与各副本修订号的间隔(毫秒)
+     */
+    private long lagCheckIntervalMillis = 200;
+
+    /**
+     * 写事务提交后所有读请求回到主库的时长(毫秒)，覆盖不递增修订号的写入（如创建草稿），应大于副本的复制延迟
+     */
+    private long writeFenceMillis = 1000;
+
+    @Data
+    public static class Replica {
+        /**
+         * 副本名称，用于统计与日志，未配置时为 replica-序号
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.snapshot")
+public class SnapshotProperties {
+    /**
+     * 每个地域保留的历史快照数
+     */
+    private int retainedRevisions = 3;
+
+    /**
+     * 是否将最新的已发布配置持久化到本地文件，用于冷启动和数据库不可用时兜底，默认关闭
+     * 开启后数据库不可用期间会读到文件中可能已过期的配置
+     */
+    private boolean localFileEnabled = false;
+
+    /**
+     * 本地快照文件路径
+     */
+    private String localFile = "data/config-snapshot.bin";
+
+    /**
+     * 与数据库对账、持久化本地快照的间隔(毫秒)
+     */
+    private long reconcileIntervalMillis = 5000;
+}
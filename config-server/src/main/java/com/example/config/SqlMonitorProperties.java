@@ -0,0 +1,40 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.sql")
+public class SqlMonitorProperties {
+    /**
+     * 慢 SQL 阈值(毫秒)，超过时记录语句与绑定参数
+     */
+    private long slowThresholdMillis = 200;
+
+    /**
+     * 慢 SQL 环形缓冲区容量
+     */
+    private int slowCapacity = 200;
+
+    /**
+     * 同一请求内同一语句执行达到该次数时视为重复执行
+     */
+    private int repeatThreshold = 10;
+
+    /**
+     * 重复执行记录的环形缓冲区容量
+     */
+    private int repeatCapacity = 100;
+
+    /**
+     * 记录绑定参数时单个参数值的最大长度
+     */
+    private int maxParameterLength = 256;
+
+    /**
+     * 记录绑定参数的最大个数，多行写入等参数很多的语句只保留前面的部分
+     */
+    private int maxParameters = 50;
+}
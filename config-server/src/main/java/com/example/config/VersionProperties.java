@@ -0,0 +1,60 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "config.version")
+public class VersionProperties {
+    /**
+     * 每个数据源配置保留的最大版本数
+     */
+    private int maxDatasourceVersions = 5;
+    
+    /**
+     * 每个API配置保留的最大版本数
+     */
+    private int maxApirecordVersions = 5;
+    
+    /**
+     * API Meta配置保留的最大版本数
+     */
+    private int maxApiMetaVersions = 5;
+
+    /**
+     * 版本序号每次从数据库租用的号段大小
+     */
+    private int sequenceStep = 100;
+
+    /**
+     * 是否启用后台版本保留清理
+     */
+    private boolean compactionEnabled = true;
+
+    /**
+     * 后台版本保留清理的执行间隔(毫秒)
+     */
+    private long compactionIntervalMillis = 300000;
+
+    /**
+     * 每批删除的最大行数
+     */
+    private int compactionBatchSize = 500;
+
+    /**
+     * 两批删除之间的停顿(毫秒)，用于限制清理速率
+     */
+    private long compactionPauseMillis = 100;
+
+    /**
+     * 变更日志保留时长(毫秒)，早于此的变更日志由后台清理删除，0 表示不清理
+     */
+    private long changeLogRetentionMillis = 7 * 24 * 3600 * 1000L;
+
+    /**
+     * 无论创建时间，始终保留的最近修订号数，须大于客户端全量加载后的回放窗口
+     */
+    private int changeLogRetainedRevisions = 1000;
+} 
\ No newline at end of file
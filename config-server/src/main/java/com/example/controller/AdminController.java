@@ -0,0 +1,202 @@
+package com.example.controller;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ApiRecordConfigCache;
+import com.example.cache.ConfigJsonCache;
+import com.example.cache.DataSourceConfigCache;
+import com.example.cache.LocalSnapshotStore;
+import com.example.config.SqlMonitorProperties;
+import com.example.datasource.ReplicaRoutingDataSource;
+import com.example.dto.RepeatedSqlEntry;
+import com.example.metrics.SqlMonitor;
+import com.example.service.ConfigBlobService;
+import com.example.service.ConfigInvalidationPoller;
+import com.example.service.ConfigLoadCoalescer;
+import com.example.service.DataMigrationService;
+import com.example.service.EffectiveVersionService;
+import com.example.service.VersionRetentionCompactor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "运维管理", description = "缓存等运维相关接口")
+public class AdminController {
+
+    @Autowired
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private ApiRecordConfigCache apiRecordConfigCache;
+
+    @Autowired
+    private ApiMetaConfigCache apiMetaConfigCache;
+
+    @Autowired
+    private VersionRetentionCompactor versionRetentionCompactor;
+
+    @Autowired
+    private LocalSnapshotStore localSnapshotStore;
+
+    @Autowired
+    private EffectiveVersionService effectiveVersionService;
+
+    @Autowired
+    private DataMigrationService dataMigrationService;
+
+    @Autowired
+    private ConfigBlobService configBlobService;
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Autowired
+    private SqlMonitorProperties sqlMonitorProperties;
+
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private ConfigInvalidationPoller configInvalidationPoller;
+
+    @Autowired
+    private ConfigLoadCoalescer configLoadCoalescer;
+
+    @Autowired
+    private ConfigJsonCache configJsonCache;
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "获取配置快照缓存统计")
+    public ResponseEntity<List<Map<String, Object>>> getCacheStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        stats.add(dataSourceConfigCache.getStats());
+        stats.add(apiRecordConfigCache.getStats());
+        stats.add(apiMetaConfigCache.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/cache/reload")
+    @Operation(summary = "全量重建配置快照缓存")
+    public ResponseEntity<Void> reloadCache() {
+        dataSourceConfigCache.reload();
+        apiRecordConfigCache.reload();
+        apiMetaConfigCache.reload();
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/cache/coalesce")
+    @Operation(summary = "获取缓存未就绪时回源查询的合并统计")
+    public ResponseEntity<Map<String, Object>> getCoalesceStats() {
+        return ResponseEntity.ok(configLoadCoalescer.getStats());
+    }
+
+    @GetMapping("/cache/json")
+    @Operation(summary = "获取按版本缓存的配置 JSON 统计")
+    public ResponseEntity<Map<String, Object>> getJsonCacheStats() {
+        return ResponseEntity.ok(configJsonCache.getStats());
+    }
+
+    @GetMapping("/local-snapshot")
+    @Operation(summary = "获取本地快照文件状态")
+    public ResponseEntity<Map<String, Object>> getLocalSnapshotStats() {
+        return ResponseEntity.ok(localSnapshotStore.getStats());
+    }
+
+    @GetMapping("/compaction")
+    @Operation(summary = "获取最近一次版本保留清理结果")
+    public ResponseEntity<Map<String, Object>> getLastCompaction() {
+        return ResponseEntity.ok(versionRetentionCompactor.getLastReport());
+    }
+
+    @PostMapping("/compaction")
+    @Operation(summary = "立即执行一次版本保留清理")
+    public ResponseEntity<Map<String, Object>> compact() {
+        return ResponseEntity.ok(versionRetentionCompactor.compact());
+    }
+
+    @PostMapping("/effective-versions/rebuild")
+    @Operation(summary = "按已发布版本全量重建生效版本表")
+    public ResponseEntity<Map<String, Object>> rebuildEffectiveVersions() {
+        return ResponseEntity.ok(effectiveVersionService.rebuild());
+    }
+
+    @GetMapping("/effective-versions/check")
+    @Operation(summary = "检查生效版本表与原查询语义是否一致")
+    public ResponseEntity<Map<String, Object>> checkEffectiveVersions() {
+        return ResponseEntity.ok(effectiveVersionService.check());
+    }
+
+    @PostMapping("/migration/data-source")
+    @Operation(summary = "在后台启动存量数据源配置迁移，存在未完成的分区时从检查点继续；上一次迁移已完成时须 reset=true 才重新切分")
+    public ResponseEntity<Map<String, Object>> startDataSourceMigration(
+            @RequestParam(required = false) Integer workers,
+            @RequestParam(required = false) Integer chunkSize,
+            @RequestParam(required = false) Integer rowsPerSecond,
+            @RequestParam(defaultValue = "false") boolean reset) {
+        return ResponseEntity.ok(dataMigrationService.start(workers, chunkSize, rowsPerSecond, reset));
+    }
+
+    @GetMapping("/migration/data-source")
+    @Operation(summary = "获取存量数据源配置迁移进度")
+    public ResponseEntity<Map<String, Object>> getDataSourceMigrationProgress() {
+        return ResponseEntity.ok(dataMigrationService.getProgress());
+    }
+
+    @PostMapping("/migration/data-source/stop")
+    @Operation(summary = "停止存量数据源配置迁移，当前分块完成后退出")
+    public ResponseEntity<Map<String, Object>> stopDataSourceMigration() {
+        return ResponseEntity.ok(dataMigrationService.stop());
+    }
+
+    @GetMapping("/blob-stats")
+    @Operation(summary = "获取大字段去重存储统计")
+    public ResponseEntity<Map<String, Object>> getBlobStats() {
+        return ResponseEntity.ok(configBlobService.getStats());
+    }
+
+    @GetMapping("/read-replica")
+    @Operation(summary = "获取读写分离路由统计与副本状态")
+    public ResponseEntity<Map<String, Object>> getReadReplicaStats() {
+        if (replicaRoutingDataSource == null) {
+            return ResponseEntity.ok(Collections.singletonMap("enabled", false));
+        }
+        return ResponseEntity.ok(replicaRoutingDataSource.getStats());
+    }
+
+    @GetMapping("/invalidation")
+    @Operation(summary = "获取跨节点缓存失效的追踪进度与传播延迟")
+    public ResponseEntity<Map<String, Object>> getInvalidationStats() {
+        return ResponseEntity.ok(configInvalidationPoller.getStats());
+    }
+
+    @GetMapping("/slow-sql")
+    @Operation(summary = "获取最近的慢 SQL 及其绑定参数")
+    public ResponseEntity<Map<String, Object>> getSlowSql() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("thresholdMillis", sqlMonitorProperties.getSlowThresholdMillis());
+        result.put("statements", sqlMonitor.getSlowStatements());
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/repeated-sql")
+    @Operation(summary = "获取同一请求内重复执行的语句")
+    public ResponseEntity<List<RepeatedSqlEntry>> getRepeatedSql() {
+        return ResponseEntity.ok(sqlMonitor.getRepeatedStatements());
+    }
+
+    @DeleteMapping("/slow-sql")
+    @Operation(summary = "清空慢 SQL 与重复执行记录")
+    public ResponseEntity<Void> clearSlowSql() {
+        sqlMonitor.clear();
+        return ResponseEntity.ok().build();
+    }
+}
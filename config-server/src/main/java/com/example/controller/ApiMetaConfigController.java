@@ -0,0 +1,129 @@
+package com.example.controller;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ConfigJsonCache;
+import com.example.cache.ConfigSnapshotCache;
+import com.example.dto.BulkResolveRequest;
+import com.example.model.ApiMetaConfig;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ConfigExportService;
+import com.example.util.ETagUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/api-meta")
+@Tag(name = "API Meta配置", description = "API Meta配置相关接口")
+public class ApiMetaConfigController {
+    
+    @Autowired
+    private ApiMetaConfigService apiMetaConfigService;
+
+    @Autowired
+    private ConfigExportService configExportService;
+
+    @Autowired
+    private ApiMetaConfigCache apiMetaConfigCache;
+
+    @Autowired
+    private ConfigJsonCache configJsonCache;
+
+    @PostMapping
+    @Operation(summary = "创建API Meta配置")
+    public ResponseEntity<ApiMetaConfig> create(@RequestBody ApiMetaConfig config) {
+        return ResponseEntity.ok(apiMetaConfigService.create(config));
+    }
+
+    @PutMapping("/{versionId}")
+    @Operation(summary = "更新API Meta配置")
+    public ResponseEntity<ApiMetaConfig> update(
+            @PathVariable String versionId,
+            @RequestBody ApiMetaConfig config) {
+        return ResponseEntity.ok(apiMetaConfigService.update(versionId, config));
+    }
+
+    @GetMapping("/published/all")
+    @Operation(summary = "获取所有已发布的API Meta配置")
+    public ResponseEntity<List<ApiMetaConfig>> getAllPublished() {
+        return ResponseEntity.ok(apiMetaConfigService.getAllPublished());
+    }
+
+    @GetMapping("/published/all/stream")
+    @Operation(summary = "流式导出所有已发布的API Meta配置")
+    public ResponseEntity<StreamingResponseBody> streamAllPublished() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(configExportService.streamAllPublishedApiMetas());
+    }
+
+    @GetMapping("/region/{region}")
+    @Operation(summary = "获取指定地域的API Meta配置")
+    public ResponseEntity<List<ApiMetaConfig>> getByRegion(
+            @PathVariable String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ETag 与响应体取自同一快照
+        ConfigSnapshotCache.RegionView<ApiMetaConfig> view = apiMetaConfigCache.getRegionView(region);
+        String eTag = view == null ? null : view.getETag();
+        if (apiMetaConfigCache.isNotModified(eTag, ifNoneMatch)) {
+            return ETagUtils.notModified(eTag);
+        }
+        // 各配置的 JSON 按版本缓存，响应体直接拼接缓存的字节
+        return ETagUtils.ok(eTag, configJsonCache.array(view == null
+            ? apiMetaConfigService.getActiveByRegion(region) : view.getConfigs()));
+    }
+
+    @GetMapping("/active")
+    @Operation(summary = "获取指定API在指定地域生效的配置")
+    public ResponseEntity<ApiMetaConfig> getActiveConfig(
+            @RequestParam String gatewayType,
+            @RequestParam String gatewayCode,
+            @RequestParam String apiVersion,
+            @RequestParam String apiName,
+            @RequestParam String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ETag 与响应体取自同一快照，无生效版本时不返回 ETag
+        ConfigSnapshotCache.RegionView<ApiMetaConfig> view = apiMetaConfigCache.getRegionView(region);
+        String identifier = String.join(":", gatewayType, gatewayCode, apiVersion, apiName);
+        String eTag = view == null ? null : view.getEffectiveETag(identifier);
+        if (apiMetaConfigCache.isNotModified(eTag, ifNoneMatch)) {
+            return ETagUtils.notModified(eTag);
+        }
+        return ETagUtils.ok(eTag, view == null
+            ? apiMetaConfigService.getActiveByIdentifierAndRegion(gatewayType, gatewayCode, apiVersion, apiName, region)
+            : view.getEffective(identifier));
+    }
+
+    @PostMapping("/active/bulk")
+    @Operation(summary = "批量获取多个API在指定地域生效的配置")
+    public ResponseEntity<Map<String, ApiMetaConfig>> getActiveConfigs(@RequestBody BulkResolveRequest request) {
+        return ResponseEntity.ok(
+            apiMetaConfigService.getActiveByIdentifiersAndRegion(request.getIdentifiers(), request.getRegion()));
+    }
+
+    @GetMapping("/published")
+    @Operation(summary = "获取指定API的所有已发布配置")
+    public ResponseEntity<List<ApiMetaConfig>> getPublishedConfigs(
+            @RequestParam String gatewayType,
+            @RequestParam String gatewayCode,
+            @RequestParam String apiVersion,
+            @RequestParam String apiName) {
+        return ResponseEntity.ok(
+            apiMetaConfigService.getPublishedByIdentifier(
+                gatewayType, gatewayCode, apiVersion, apiName));
+    }
+
+    @GetMapping("/version/{versionId}")
+    @Operation(summary = "根据版本ID查询配置")
+    public ResponseEntity<ApiMetaConfig> getByVersionId(@PathVariable String versionId) {
+        return ResponseEntity.ok(apiMetaConfigService.findByVersionId(versionId));
+    }
+} 
\ No newline at end of file
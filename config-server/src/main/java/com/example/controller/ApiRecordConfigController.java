@@ -0,0 +1,123 @@
+package com.example.controller;
+
+import com.example.cache.ApiRecordConfigCache;
+import com.example.cache.ConfigJsonCache;
+import com.example.cache.ConfigSnapshotCache;
+import com.example.dto.BulkResolveRequest;
+import com.example.model.ApiRecordConfig;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.ConfigExportService;
+import com.example.util.ETagUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/api-record")
+@Tag(name = "API记录配置", description = "API记录配置相关接口")
+public class ApiRecordConfigController {
+    
+    @Autowired
+    private ApiRecordConfigService apiRecordConfigService;
+
+    @Autowired
+    private ConfigExportService configExportService;
+
+    @Autowired
+    private ApiRecordConfigCache apiRecordConfigCache;
+
+    @Autowired
+    private ConfigJsonCache configJsonCache;
+
+    @PostMapping
+    @Operation(summary = "创建API记录配置")
+    public ResponseEntity<ApiRecordConfig> create(@RequestBody ApiRecordConfig config) {
+        return ResponseEntity.ok(apiRecordConfigService.create(config));
+    }
+
+    @PutMapping("/{versionId}")
+    @Operation(summary = "更新API记录配置")
+    public ResponseEntity<ApiRecordConfig> update(
+            @PathVariable String versionId,
+            @RequestBody ApiRecordConfig config) {
+        return ResponseEntity.ok(apiRecordConfigService.update(versionId, config));
+    }
+
+    @GetMapping("/published/all")
+    @Operation(summary = "获取所有已发布的API记录配置")
+    public ResponseEntity<List<ApiRecordConfig>> getAllPublished() {
+        return ResponseEntity.ok(apiRecordConfigService.getAllPublished());
+    }
+
+    @GetMapping("/published/all/stream")
+    @Operation(summary = "流式导出所有已发布的API记录配置")
+    public ResponseEntity<StreamingResponseBody> streamAllPublished() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(configExportService.streamAllPublishedApiRecords());
+    }
+
+    @GetMapping("/region/{region}")
+    @Operation(summary = "获取指定地域的API记录配置")
+    public ResponseEntity<List<ApiRecordConfig>> getByRegion(
+            @PathVariable String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ETag 与响应体取自同一快照
+        ConfigSnapshotCache.RegionView<ApiRecordConfig> view = apiRecordConfigCache.getRegionView(region);
+        String eTag = view == null ? null : view.getETag();
+        if (apiRecordConfigCache.isNotModified(eTag, ifNoneMatch)) {
+            return ETagUtils.notModified(eTag);
+        }
+        // 各配置的 JSON 按版本缓存，响应体直接拼接缓存的字节
+        return ETagUtils.ok(eTag, configJsonCache.array(view == null
+            ? apiRecordConfigService.getActiveByRegion(region) : view.getConfigs()));
+    }
+
+    @GetMapping("/active")
+    @Operation(summary = "获取指定API在指定地域生效的配置")
+    public ResponseEntity<ApiRecordConfig> getActiveConfig(
+            @RequestParam String gatewayType,
+            @RequestParam String gatewayCode,
+            @RequestParam String apiVersion,
+            @RequestParam String apiName,
+            @RequestParam String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ETag 与响应体取自同一快照，无生效版本时不返回 ETag
+        ConfigSnapshotCache.RegionView<ApiRecordConfig> view = apiRecordConfigCache.getRegionView(region);
+        String identifier = String.join(":", gatewayType, gatewayCode, apiVersion, apiName);
+        String eTag = view == null ? null : view.getEffectiveETag(identifier);
+        if (apiRecordConfigCache.isNotModified(eTag, ifNoneMatch)) {
+            return ETagUtils.notModified(eTag);
+        }
+        return ETagUtils.ok(eTag, view == null
+            ? apiRecordConfigService.getActiveByIdentifierAndRegion(gatewayType, gatewayCode, apiVersion, apiName, region)
+            : view.getEffective(identifier));
+    }
+
+    @PostMapping("/active/bulk")
+    @Operation(summary = "批量获取多个API在指定地域生效的配置")
+    public ResponseEntity<Map<String, ApiRecordConfig>> getActiveConfigs(@RequestBody BulkResolveRequest request) {
+        return ResponseEntity.ok(
+            apiRecordConfigService.getActiveByIdentifiersAndRegion(request.getIdentifiers(), request.getRegion()));
+    }
+
+    @GetMapping("/published")
+    @Operation(summary = "获取指定API的所有已发布配置")
+    public ResponseEntity<List<ApiRecordConfig>> getPublishedConfigs(
+            @RequestParam String gatewayType,
+            @RequestParam String gatewayCode,
+            @RequestParam String apiVersion,
+            @RequestParam String apiName) {
+        return ResponseEntity.ok(
+            apiRecordConfigService.getPublishedByIdentifier(
+                gatewayType, gatewayCode, apiVersion, apiName));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.controller;
+
+import com.example.dto.ConfigChangeResponse;
+import com.example.service.ConfigChangeService;
+import com.example.service.ConfigWatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping("/api/config")
+@Tag(name = "配置变更", description = "按修订号增量获取配置变更")
+public class ConfigChangeController {
+
+    @Autowired
+    private ConfigChangeService configChangeService;
+
+    @Autowired
+    private ConfigWatchService configWatchService;
+
+    @GetMapping("/diff")
+    @Operation(summary = "获取指定修订号之后的配置变更")
+    public ResponseEntity<ConfigChangeResponse> getChanges(
+            @RequestParam(defaultValue = "0") long sinceRevision,
+            @RequestParam String region) {
+        return ResponseEntity.ok(configChangeService.getChanges(sinceRevision, region));
+    }
+
+    @GetMapping("/watch")
+    @Operation(summary = "长轮询监听指定修订号之后的配置变更")
+    public DeferredResult<ConfigChangeResponse> watch(
+            @RequestParam(defaultValue = "0") long sinceRevision,
+            @RequestParam String region,
+            @RequestParam(required = false) Long timeoutMillis) {
+        return configWatchService.watch(sinceRevision, region, timeoutMillis);
+    }
+
+    @GetMapping("/revision")
+    @Operation(summary = "获取当前全局修订号")
+    public ResponseEntity<Long> getCurrentRevision() {
+        return ResponseEntity.ok(configChangeService.getCurrentRevision());
+    }
+}
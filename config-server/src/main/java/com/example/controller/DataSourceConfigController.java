@@ -0,0 +1,142 @@
+package com.example.controller;
+
+import com.example.cache.ConfigSnapshotCache;
+import com.example.cache.DataSourceConfigCache;
+import com.example.cache.ConfigJsonCache;
+import com.example.model.DataSourceConfig;
+import com.example.service.DataSourceConfigService;
+import com.example.util.RegionProvider;
+import com.example.dto.ConfigDiffRequest;
+import com.example.dto.ConfigDiffResponse;
+import com.example.service.ConfigExportService;
+import com.example.util.ETagUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+import java.util.HashMap;
+
+@RestController
+@RequestMapping("/api/datasource")
+@Tag(name = "数据源配置", description = "数据源配置相关接口")
+public class DataSourceConfigController {
+    
+    @Autowired
+    private DataSourceConfigService dataSourceConfigService;
+    
+    @Autowired
+    private RegionProvider regionProvider;
+
+    @Autowired
+    private ConfigExportService configExportService;
+
+    @Autowired
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private ConfigJsonCache configJsonCache;
+
+    @PostMapping
+    @Operation(summary = "创建数据源配置")
+    public ResponseEntity<DataSourceConfig> create(@RequestBody DataSourceConfig config) {
+        return ResponseEntity.ok(dataSourceConfigService.create(config));
+    }
+
+    @PutMapping("/{versionId}")
+    @Operation(summary = "更新数据源配置")
+    public ResponseEntity<DataSourceConfig> update(
+            @PathVariable String versionId,
+            @RequestBody DataSourceConfig config) {
+        return ResponseEntity.ok(dataSourceConfigService.update(versionId, config));
+    }
+
+    @GetMapping("/current-region")
+    @Operation(summary = "获取当前地域的数据源配置")
+    public ResponseEntity<Map<String, Object>> getCurrentRegionConfigs(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String currentRegion = regionProvider.getCurrentRegion();
+        // ETag 与响应体取自同一快照
+        ConfigSnapshotCache.RegionView<DataSourceConfig> view = dataSourceConfigCache.getRegionView(currentRegion);
+        String eTag = view == null ? null : view.getETag();
+        if (dataSourceConfigCache.isNotModified(eTag, ifNoneMatch)) {
+            return ETagUtils.notModified(eTag);
+        }
+        List<DataSourceConfig> configs = view == null
+            ? dataSourceConfigService.getActiveByRegion(currentRegion) : view.getConfigs();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("region", currentRegion);
+        response.put("configs", configs);
+        
+        return ETagUtils.ok(eTag, response);
+    }
+
+    @GetMapping("/published/all/stream")
+    @Operation(summary = "流式导出所有已发布的数据源配置")
+    public ResponseEntity<StreamingResponseBody> streamAllPublished() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(configExportService.streamAllPublishedDataSources());
+    }
+
+    @GetMapping("/region/{region}")
+    @Operation(summary = "获取指定地域的数据源配置")
+    public ResponseEntity<List<DataSourceConfig>> getByRegion(
+            @PathVariable String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ETag 与响应体取自同一快照
+        ConfigSnapshotCache.RegionView<DataSourceConfig> view = dataSourceConfigCache.getRegionView(region);
+        String eTag = view == null ? null : view.getETag();
+        if (dataSourceConfigCache.isNotModified(eTag, ifNoneMatch)) {
+            return ETagUtils.notModified(eTag);
+        }
+        // 各配置的 JSON 按版本缓存，响应体直接拼接缓存的字节
+        return ETagUtils.ok(eTag, configJsonCache.array(view == null
+            ? dataSourceConfigService.getActiveByRegion(region) : view.getConfigs()));
+    }
+
+    @GetMapping("/{source}/active")
+    @Operation(summary = "获取指定source在当前地域生效的配置")
+    public ResponseEntity<DataSourceConfig> getActiveConfig(
+            @PathVariable String source,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String currentRegion = regionProvider.getCurrentRegion();
+        return getBySourceAndRegion(source, currentRegion, ifNoneMatch);
+    }
+
+    @GetMapping("/{source}/published")
+    @Operation(summary = "获取指定source的所有已发布配置")
+    public ResponseEntity<List<DataSourceConfig>> getPublishedConfigs(
+            @PathVariable String source) {
+        return ResponseEntity.ok(dataSourceConfigService.getPublishedBySource(source));
+    }
+
+    @GetMapping("/{source}/region/{region}")
+    @Operation(summary = "获取指定source在指定地域的生效配置")
+    public ResponseEntity<DataSourceConfig> getBySourceAndRegion(
+            @PathVariable String source,
+            @PathVariable String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // ETag 与响应体取自同一快照，无生效版本时不返回 ETag
+        ConfigSnapshotCache.RegionView<DataSourceConfig> view = dataSourceConfigCache.getRegionView(region);
+        String eTag = view == null ? null : view.getEffectiveETag(source);
+        if (dataSourceConfigCache.isNotModified(eTag, ifNoneMatch)) {
+            return ETagUtils.notModified(eTag);
+        }
+        return ETagUtils.ok(eTag, view == null
+            ? dataSourceConfigService.getActiveBySourceAndRegion(source, region) : view.getEffective(source));
+    }
+
+    @PostMapping("/diff")
+    @Operation(summary = "获取配置变更信息")
+    public ResponseEntity<ConfigDiffResponse> getConfigDiff(@RequestBody ConfigDiffRequest request) {
+        return ResponseEntity.ok(dataSourceConfigService.getConfigDiff(request));
+    }
+} 
\ No newline at end of file
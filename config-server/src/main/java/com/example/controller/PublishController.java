@@ -1,5 +1,6 @@
 package com.example.controller;
 
+import com.example.dto.BulkPublishRequest;
 import com.example.dto.PublishStageRequest;
 import com.example.enums.GrayStage;
 import com.example.model.PublishHistory;
@@ -45,6 +46,12 @@ public class PublishController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "批量发布/废弃配置")
+    public ResponseEntity<Map<String, Integer>> bulkPublish(@RequestBody BulkPublishRequest request) {
+        return ResponseEntity.ok(publishService.bulkPublish(request.getItems(), request.getOperator()));
+    }
+
     @PostMapping("/rollback")
     @Operation(summary = "回滚配置")
     public ResponseEntity<Void> rollback(
@@ -0,0 +1,68 @@
+package com.example.controller;
+
+import com.example.dto.RegionSnapshotArtifact;
+import com.example.service.RegionSnapshotService;
+import com.example.util.ETagUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/snapshot")
+@Tag(name = "地域快照", description = "预构建的地域配置快照接口")
+public class RegionSnapshotController {
+
+    /**
+     * 快照对应的全局修订号
+     */
+    private static final String REVISION_HEADER = "X-Config-Revision";
+
+    @Autowired
+    private RegionSnapshotService regionSnapshotService;
+
+    @GetMapping("/{region}")
+    @Operation(summary = "获取指定地域的最新快照(gzip 压缩的二进制)")
+    public ResponseEntity<byte[]> getLatest(
+            @PathVariable String region,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        RegionSnapshotArtifact artifact = regionSnapshotService.getLatest(region);
+        if (ETagUtils.matches(ifNoneMatch, artifact.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(artifact.getETag())
+                .header(REVISION_HEADER, String.valueOf(artifact.getRevision()))
+                .build();
+        }
+        return toResponse(artifact);
+    }
+
+    @GetMapping("/{region}/{revision}")
+    @Operation(summary = "获取指定地域指定修订号的快照")
+    public ResponseEntity<byte[]> getByRevision(@PathVariable String region, @PathVariable long revision) {
+        RegionSnapshotArtifact artifact = regionSnapshotService.get(region, revision);
+        if (artifact == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return toResponse(artifact);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "获取各地域快照大小与构建耗时")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(regionSnapshotService.getStats());
+    }
+
+    private ResponseEntity<byte[]> toResponse(RegionSnapshotArtifact artifact) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .eTag(artifact.getETag())
+            .header(REVISION_HEADER, String.valueOf(artifact.getRevision()))
+            .body(artifact.getData());
+    }
+}
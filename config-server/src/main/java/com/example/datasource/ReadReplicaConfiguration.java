@@ -0,0 +1,64 @@
+package com.example.datasource;
+
+import com.example.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 读写分离配置，config.read-replica.enabled=true 时生效
+ * 主库沿用 spring.datasource，副本来自 config.read-replica.replicas；
+ * 以路由数据源替换默认数据源，MyBatis、JDBC 初始化脚本与事务管理器都经由它获取连接
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "config.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                               ReadReplicaProperties readReplicaProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+
+        List<ReadReplicaProperties.Replica> replicaProperties = readReplicaProperties.getReplicas();
+        if (replicaProperties.isEmpty()) {
+            throw new IllegalStateException("config.read-replica.replicas is empty");
+        }
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            ReadReplicaProperties.Replica replica = replicaProperties.get(i);
+            if (replica.getUrl() == null) {
+                throw new IllegalStateException("config.read-replica.replicas[" + i + "].url is required");
+            }
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .driverClassName(replica.getDriverClassName())
+                .build();
+            dataSource.setPoolName(name);
+            dataSource.setReadOnly(true);
+            replicas.put(name, dataSource);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readReplicaProperties.getWriteFenceMillis());
+    }
+
+    @Bean
+    public ReadYourWritesTransactionManager transactionManager(ReplicaRoutingDataSource dataSource) {
+        return new ReadYourWritesTransactionManager(dataSource);
+    }
+}
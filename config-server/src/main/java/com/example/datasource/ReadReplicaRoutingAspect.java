@@ -0,0 +1,44 @@
+package com.example.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 标记读路由意图
+ * 配置服务的 get*、find* 方法可读副本；发布流程与增量变更查询固定读主库：
+ * 发布前的校验要看到最新状态，变更查询按修订号读取配置，副本落后时会漏掉变更
+ *
+ * 排在指标切面之内、事务切面之外，事务内的语句由路由数据源统一走主库
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "config.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaRoutingAspect {
+
+    @Around("execution(public * com.example.service.BaseConfigService+.get*(..)) || " +
+            "execution(public * com.example.service.BaseConfigService+.find*(..))")
+    public Object routeReads(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, ReadRoutingContext.Route.REPLICA);
+    }
+
+    @Around("execution(public * com.example.service.PublishService.*(..)) || " +
+            "execution(public * com.example.service.ConfigChangeService.*(..))")
+    public Object routeToPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(joinPoint, ReadRoutingContext.Route.PRIMARY);
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, ReadRoutingContext.Route route) throws Throwable {
+        ReadRoutingContext.Route previous = ReadRoutingContext.enter(route);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadRoutingContext.restore(previous);
+        }
+    }
+}
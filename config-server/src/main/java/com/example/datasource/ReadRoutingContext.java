@@ -0,0 +1,59 @@
+package com.example.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的读路由意图
+ * 进入只读服务方法时标记为 REPLICA，发布流程、变更查询、快照缓存加载等要求读到最新数据的范围标记为 PRIMARY；
+ * 嵌套时外层的 PRIMARY 优先，未标记的语句一律走主库
+ */
+public final class ReadRoutingContext {
+
+    public enum Route {
+        REPLICA,
+        PRIMARY
+    }
+
+    private static final ThreadLocal<Route> ROUTE = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    /**
+     * 进入指定路由范围，返回进入前的路由，须在 finally 中传给 {@link #restore(Route)}
+     */
+    public static Route enter(Route route) {
+        Route previous = ROUTE.get();
+        if (previous != Route.PRIMARY) {
+            ROUTE.set(route);
+        }
+        return previous;
+    }
+
+    public static void restore(Route previous) {
+        if (previous == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(previous);
+        }
+    }
+
+    /**
+     * 在主库范围内执行，未启用读写分离时没有额外效果
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Route previous = enter(Route.PRIMARY);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * 当前线程是否可以读副本
+     */
+    public static boolean isReplicaPreferred() {
+        return ROUTE.get() == Route.REPLICA;
+    }
+}
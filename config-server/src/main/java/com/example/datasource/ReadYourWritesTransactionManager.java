@@ -0,0 +1,59 @@
+package com.example.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.JdbcTransactionObjectSupport;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 读写分离下的事务管理器
+ * 事务始终在主库开启；读写事务提交前在同一连接上读取修订号（含本事务的递增）并设置写入隔离，
+ * 提交可见之前其他线程的只读请求就已回到主库，提交后的缓存刷新与监听唤醒不会从落后的副本读到旧数据
+ */
+@Slf4j
+public class ReadYourWritesTransactionManager extends JdbcTransactionManager {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReadYourWritesTransactionManager(ReplicaRoutingDataSource routingDataSource) {
+        super(routingDataSource);
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReadRoutingContext.Route previous = ReadRoutingContext.enter(ReadRoutingContext.Route.PRIMARY);
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            ReadRoutingContext.restore(previous);
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        if (!status.isReadOnly()) {
+            Connection connection = ((JdbcTransactionObjectSupport) status.getTransaction())
+                .getConnectionHolder().getConnection();
+            routingDataSource.fence(readRevision(connection));
+        }
+        super.doCommit(status);
+    }
+
+    private long readRevision(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(ReplicaRoutingDataSource.REVISION_SQL);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : 0L;
+        } catch (SQLException e) {
+            // 读不到修订号时仅依赖写入隔离期
+            log.warn("Failed to read the revision before commit: {}", e.toString());
+            return 0L;
+        }
+    }
+}
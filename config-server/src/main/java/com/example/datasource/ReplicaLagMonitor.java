@@ -0,0 +1,48 @@
+package com.example.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 副本延迟检查与读写分离指标
+ * 定时读取主库与各副本的修订号，决定副本是否可读
+ */
+@Component
+@ConditionalOnProperty(prefix = "config.read-replica", name = "enabled", havingValue = "true")
+public class ReplicaLagMonitor implements MeterBinder {
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${config.read-replica.lag-check-interval-millis:200}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("config.datasource.reads", routingDataSource,
+                ReplicaRoutingDataSource::getReplicaReads)
+            .description("只读服务方法的语句数")
+            .tag("target", "replica")
+            .register(registry);
+        FunctionCounter.builder("config.datasource.reads", routingDataSource,
+                ReplicaRoutingDataSource::getPrimaryReads)
+            .description("只读服务方法的语句数")
+            .tag("target", "primary")
+            .register(registry);
+        for (String replica : routingDataSource.getReplicaLag().keySet()) {
+            Gauge.builder("config.datasource.replica.lag", routingDataSource,
+                    dataSource -> dataSource.getReplicaLag().getOrDefault(replica, -1L))
+                .description("副本落后要求修订号的数量，不可达时为 -1")
+                .tag("replica", replica)
+                .register(registry);
+        }
+    }
+}
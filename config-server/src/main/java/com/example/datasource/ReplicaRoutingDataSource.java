@@ -0,0 +1,192 @@
+package com.example.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 读写分离数据源
+ * 写语句、事务内的语句以及未标记为只读的语句走主库；只读服务方法在事务外的语句轮询可读的副本
+ *
+ * 副本可读的条件：最近一次检查成功、已应用的修订号不低于要求的修订号、不在写入隔离期内。
+ * 要求的修订号取定期读到的主库修订号与本节点写事务提交前读到的修订号中的较大者，
+ * 发布提交后副本追上之前的读请求都回到主库，读不到比发布更旧的数据
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    static final String REVISION_SQL = "SELECT revision FROM config_revision WHERE id = 1";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long writeFenceMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final AtomicLong requiredRevision = new AtomicLong();
+    private volatile long primaryRevision = -1;
+    private volatile long fenceUntilMillis;
+
+    private final AtomicLong primaryReads = new AtomicLong();
+    private final AtomicLong fences = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long writeFenceMillis) {
+        this.primary = primary;
+        this.writeFenceMillis = writeFenceMillis;
+        this.replicas = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            if (PRIMARY.equals(name) || targets.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate data source name: " + name);
+            }
+            targets.put(name, dataSource);
+            this.replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!ReadRoutingContext.isReplicaPreferred() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        Replica replica = selectReplica();
+        if (replica == null) {
+            primaryReads.incrementAndGet();
+            return PRIMARY;
+        }
+        replica.reads.incrementAndGet();
+        return replica.name;
+    }
+
+    /**
+     * 写事务提交前调用：此后的读请求在隔离期内回到主库，之后只读已应用 revision 的副本
+     */
+    public void fence(long revision) {
+        fenceUntilMillis = System.currentTimeMillis() + writeFenceMillis;
+        requiredRevision.accumulateAndGet(revision, Math::max);
+        fences.incrementAndGet();
+    }
+
+    /**
+     * 读取主库与各副本的修订号；副本不可达或尚无修订号表时暂停向其路由
+     */
+    public void checkReplicas() {
+        try {
+            long revision = readRevision(primary);
+            primaryRevision = revision;
+            requiredRevision.accumulateAndGet(revision, Math::max);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the revision of the primary database: {}", e.toString());
+        }
+        for (Replica replica : replicas) {
+            try {
+                replica.revision = readRevision(replica.dataSource);
+                if (!replica.available) {
+                    log.info("Read replica {} is available at revision {}", replica.name, replica.revision);
+                }
+                replica.available = true;
+            } catch (RuntimeException e) {
+                if (replica.available) {
+                    log.warn("Read replica {} is unavailable, routing its reads to the primary: {}",
+                        replica.name, e.toString());
+                }
+                replica.available = false;
+            }
+        }
+    }
+
+    /**
+     * 各副本落后要求修订号的数量，不可达的副本为 -1
+     */
+    public Map<String, Long> getReplicaLag() {
+        Map<String, Long> lag = new LinkedHashMap<>();
+        long required = requiredRevision.get();
+        for (Replica replica : replicas) {
+            lag.put(replica.name, replica.available ? Math.max(0, required - replica.revision) : -1L);
+        }
+        return lag;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", true);
+        stats.put("primaryRevision", primaryRevision);
+        stats.put("requiredRevision", requiredRevision.get());
+        stats.put("fenceRemainingMillis", Math.max(0, fenceUntilMillis - System.currentTimeMillis()));
+        stats.put("fences", fences.get());
+        stats.put("primaryReads", primaryReads.get());
+        long replicaReads = 0;
+        List<Map<String, Object>> replicaStats = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", replica.name);
+            item.put("available", replica.available);
+            item.put("revision", replica.revision);
+            item.put("reads", replica.reads.get());
+            replicaStats.add(item);
+            replicaReads += replica.reads.get();
+        }
+        stats.put("replicaReads", replicaReads);
+        stats.put("replicas", replicaStats);
+        return stats;
+    }
+
+    /**
+     * 只读语句因处于写入隔离期、副本落后或不可达而回到主库的次数
+     */
+    public long getPrimaryReads() {
+        return primaryReads.get();
+    }
+
+    public long getReplicaReads() {
+        return replicas.stream().mapToLong(replica -> replica.reads.get()).sum();
+    }
+
+    private Replica selectReplica() {
+        if (replicas.isEmpty() || System.currentTimeMillis() < fenceUntilMillis) {
+            return null;
+        }
+        long required = requiredRevision.get();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available && replica.revision >= required) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static long readRevision(DataSource dataSource) {
+        List<Long> revisions = new JdbcTemplate(dataSource).queryForList(REVISION_SQL, Long.class);
+        return revisions.isEmpty() ? 0L : revisions.get(0);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicLong reads = new AtomicLong();
+        private volatile long revision = -1;
+        private volatile boolean available;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkPublishItem {
+    /**
+     * 配置版本号
+     */
+    private String versionId;
+
+    /**
+     * 配置类型，为空时根据版本号前缀推断
+     */
+    private String configType;
+
+    /**
+     * 目标状态，PUBLISHED 或 DEPRECATED，默认 PUBLISHED
+     */
+    private String status;
+
+    /**
+     * 灰度地域，发布时为空表示全量发布
+     */
+    private List<String> grayGroups;
+}
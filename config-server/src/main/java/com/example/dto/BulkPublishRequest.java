@@ -0,0 +1,18 @@
+package com.example.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkPublishRequest {
+    /**
+     * 待发布或废弃的版本
+     */
+    private List<BulkPublishItem> items;
+
+    /**
+     * 操作人
+     */
+    private String operator;
+}
@@ -0,0 +1,18 @@
+package com.example.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkResolveRequest {
+    /**
+     * 查询的地域
+     */
+    private String region;
+
+    /**
+     * API标识列表，格式为 gatewayType:gatewayCode:apiVersion:apiName
+     */
+    private List<String> identifiers;
+}
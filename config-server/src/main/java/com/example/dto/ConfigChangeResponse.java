@@ -0,0 +1,52 @@
+package com.example.dto;
+
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.model.DataSourceConfig;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ConfigChangeResponse {
+    /**
+     * 本次返回对应的修订号，客户端下次以此作为 sinceRevision
+     */
+    private long revision;
+
+    /**
+     * 新增或更新的数据源配置
+     */
+    private List<DataSourceConfig> dataSourceConfigs = new ArrayList<>();
+
+    /**
+     * 新增或更新的API记录配置
+     */
+    private List<ApiRecordConfig> apiRecordConfigs = new ArrayList<>();
+
+    /**
+     * 新增或更新的API Meta配置
+     */
+    private List<ApiMetaConfig> apiMetaConfigs = new ArrayList<>();
+
+    /**
+     * 在该地域已失效的配置版本ID列表
+     */
+    private List<String> removedVersionIds = new ArrayList<>();
+
+    /**
+     * 客户端落后过多或所需的变更日志已被清理，无法增量同步，须全量重新加载；此时不返回任何变更
+     */
+    private boolean resync;
+
+    /**
+     * 是否没有任何变更
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return !resync && dataSourceConfigs.isEmpty() && apiRecordConfigs.isEmpty()
+            && apiMetaConfigs.isEmpty() && removedVersionIds.isEmpty();
+    }
+}
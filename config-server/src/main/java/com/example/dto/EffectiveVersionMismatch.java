@@ -0,0 +1,22 @@
+package com.example.dto;
+
+import lombok.Data;
+
+@Data
+public class EffectiveVersionMismatch {
+    private String configType;
+
+    private String identifier;
+
+    private String region;
+
+    /**
+     * 按原查询语义应生效的版本ID，无生效版本时为 null
+     */
+    private String expectedVersionId;
+
+    /**
+     * 生效版本表中记录的版本ID，无记录时为 null
+     */
+    private String actualVersionId;
+}
@@ -0,0 +1,31 @@
+package com.example.dto;
+
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.model.DataSourceConfig;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 地域快照内容，快照制品解码后的结果
+ */
+@Data
+public class RegionSnapshot {
+    /**
+     * 快照对应的全局修订号
+     */
+    private long revision;
+
+    /**
+     * 地域
+     */
+    private String region;
+
+    private List<DataSourceConfig> dataSourceConfigs = new ArrayList<>();
+
+    private List<ApiRecordConfig> apiRecordConfigs = new ArrayList<>();
+
+    private List<ApiMetaConfig> apiMetaConfigs = new ArrayList<>();
+}
@@ -0,0 +1,44 @@
+package com.example.dto;
+
+import lombok.Data;
+
+/**
+ * 地域快照制品，构建后不再修改
+ */
+@Data
+public class RegionSnapshotArtifact {
+    /**
+     * 快照对应的全局修订号
+     */
+    private final long revision;
+
+    /**
+     * 地域
+     */
+    private final String region;
+
+    /**
+     * gzip 压缩后的二进制快照
+     */
+    private final byte[] data;
+
+    /**
+     * 快照字节的 ETag，同一修订号重建时内容可能变化，以字节校验和为准
+     */
+    private final String eTag;
+
+    /**
+     * 快照包含的配置数
+     */
+    private final int configCount;
+
+    /**
+     * 构建耗时(微秒)
+     */
+    private final long buildMicros;
+
+    /**
+     * 构建完成时间
+     */
+    private final long builtAt;
+}
@@ -0,0 +1,28 @@
+package com.example.dto;
+
+import lombok.Data;
+
+@Data
+public class RepeatedSqlEntry {
+    /**
+     * 所在请求
+     */
+    private String request;
+
+    /**
+     * Mapper 方法ID
+     */
+    private String statementId;
+
+    /**
+     * 请求内执行次数
+     */
+    private int executions;
+
+    /**
+     * 请求内该语句的累计耗时(毫秒)
+     */
+    private long totalMillis;
+
+    private long timestamp;
+}
@@ -0,0 +1,42 @@
+package com.example.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SlowSqlEntry {
+    /**
+     * Mapper 方法ID，如 com.example.mapper.ApiMetaConfigMapper.findActiveConfigsByRegion
+     */
+    private String statementId;
+
+    /**
+     * 执行的 SQL，空白已折叠
+     */
+    private String sql;
+
+    /**
+     * 按占位符顺序的绑定参数
+     */
+    private List<String> parameters;
+
+    /**
+     * 耗时(毫秒)
+     */
+    private long elapsedMillis;
+
+    /**
+     * 返回或影响的行数，未知时为 -1
+     */
+    private long rows;
+
+    /**
+     * 所在请求，非请求线程为空
+     */
+    private String request;
+
+    private String thread;
+
+    private long timestamp;
+}
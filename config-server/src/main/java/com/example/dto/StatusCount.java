@@ -0,0 +1,16 @@
+package com.example.dto;
+
+import lombok.Data;
+
+@Data
+public class StatusCount {
+    /**
+     * 配置状态
+     */
+    private String status;
+
+    /**
+     * 该状态的版本数
+     */
+    private long count;
+}
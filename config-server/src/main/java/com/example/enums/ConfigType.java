@@ -0,0 +1,41 @@
+package com.example.enums;
+
+/**
+ * 配置类型枚举
+ */
+public enum ConfigType {
+    /**
+     * 数据源配置：包含数据源连接信息和相关配置
+     */
+    DATA_SOURCE,
+    
+    /**
+     * API记录配置：包含API处理和记录相关的配置
+     */
+    API_RECORD,
+
+    /**
+     * API元数据配置：包含API元数据相关的配置
+     */
+    API_META;
+
+    /**
+     * 根据版本号前缀确定配置类型
+     */
+    public static ConfigType fromVersionId(String versionId) {
+        if (versionId == null || versionId.length() < 2) {
+            throw new IllegalArgumentException("Invalid version ID: " + versionId);
+        }
+        String prefix = versionId.substring(0, 2);
+        switch (prefix) {
+            case "DS":
+                return DATA_SOURCE;
+            case "AR":
+                return API_RECORD;
+            case "AM":
+                return API_META;
+            default:
+                throw new IllegalArgumentException("Unknown version ID prefix: " + prefix);
+        }
+    }
+} 
\ No newline at end of file
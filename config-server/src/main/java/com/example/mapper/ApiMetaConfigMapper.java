@@ -0,0 +1,213 @@
+package com.example.mapper;
+
+import com.example.dto.StatusCount;
+import com.example.model.ApiMetaConfig;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface ApiMetaConfigMapper {
+    /**
+     * 查询列：逐列列出，resource_spec 按摘要从 config_blob 还原；
+     * ${inline.resource_spec} 在 V8 到 V10 之间为内联列，读取旧版本应用写入、尚无摘要的行，之后为 NULL，见 BlobColumnConfiguration
+     */
+    String COLUMNS = "c.id, c.version_id, c.api_name, c.product, c.gateway_type, c.dm, c.gateway_code, " +
+            "c.api_version, c.actiontrail_code, c.operation_type, c.description, c.visibility, c.isolation_type, " +
+            "c.service_type, c.response_body_log, c.invoke_type, c.status, c.effective_gray_groups, " +
+            "c.effective_flag, c.audit_status, c.gmt_create, c.gmt_modified, " +
+            "COALESCE(spec_blob.content, ${inline.resource_spec}) AS resource_spec";
+
+    /**
+     * 关联大字段表，配置表别名须为 c
+     */
+    String BLOB_JOINS = " LEFT JOIN config_blob spec_blob ON spec_blob.hash = c.resource_spec_hash";
+
+    /**
+     * 写入新版本，hashes 为 字段名 -> 大字段摘要，见 ConfigBlobService#store
+     */
+    @Insert("INSERT INTO api_meta_config (version_id, api_name, product, gateway_type, dm, " +
+            "gateway_code, api_version, actiontrail_code, operation_type, description, " +
+            "visibility, isolation_type, service_type, response_body_log, invoke_type, " +
+            "resource_spec_hash, status, effective_gray_groups, effective_flag, audit_status, " +
+            "gmt_create, gmt_modified) " +
+            "VALUES (#{config.versionId}, #{config.apiName}, #{config.product}, #{config.gatewayType}, " +
+            "#{config.dm}, #{config.gatewayCode}, #{config.apiVersion}, #{config.actiontrailCode}, " +
+            "#{config.operationType}, #{config.description}, #{config.visibility}, #{config.isolationType}, " +
+            "#{config.serviceType}, #{config.responseBodyLog}, #{config.invokeType}, " +
+            "#{hashes.resourceSpec}, #{config.status}, #{config.effectiveGrayGroups}, " +
+            "#{config.effectiveFlag}, #{config.auditStatus}, NOW(), NOW())")
+    void insert(@Param("config") ApiMetaConfig config, @Param("hashes") Map<String, String> hashes);
+
+    /**
+     * 同时写入内联的大字段列，供 V10 删除内联列之前仍在运行的旧版本应用读取
+     */
+    @Update("UPDATE api_meta_config SET resource_spec = #{resourceSpec} WHERE version_id = #{versionId}")
+    void updateInlineColumns(ApiMetaConfig config);
+
+    @Select("SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS + " WHERE c.version_id = #{versionId}")
+    ApiMetaConfig findByVersionId(String versionId);
+
+    @Select("<script>" +
+            "SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS +
+            " WHERE c.version_id IN " +
+            "<foreach item='versionId' collection='versionIds' open='(' separator=',' close=')'>#{versionId}</foreach>" +
+            "</script>")
+    List<ApiMetaConfig> findByVersionIds(@Param("versionIds") Collection<String> versionIds);
+
+    @Select("SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS + " WHERE c.status = 'PUBLISHED'")
+    List<ApiMetaConfig> findAllPublished();
+
+    /**
+     * 以游标逐行读取所有已发布配置，需在事务内遍历
+     */
+    @Select("SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS +
+            " WHERE c.status = 'PUBLISHED' ORDER BY c.id")
+    @Options(fetchSize = 1000)
+    Cursor<ApiMetaConfig> streamAllPublished();
+
+    @Update("UPDATE api_meta_config SET status = #{status}, " +
+            "effective_gray_groups = #{effectiveGrayGroups}, gmt_modified = NOW() " +
+            "WHERE version_id = #{versionId}")
+    void updateStatus(@Param("versionId") String versionId,
+                     @Param("status") String status,
+                     @Param("effectiveGrayGroups") String effectiveGrayGroups);
+
+    @Select("SELECT " + COLUMNS + " FROM api_meta_config c " +
+            "JOIN config_gray_region g ON g.config_type = 'API_META' " +
+            "    AND g.version_id = c.version_id " +
+            "    AND g.region IN ('all', #{region})" + BLOB_JOINS + " " +
+            "WHERE c.gateway_type = #{gatewayType} " +
+            "AND c.gateway_code = #{gatewayCode} " +
+            "AND c.api_version = #{apiVersion} " +
+            "AND c.api_name = #{apiName} " +
+            "AND c.status = 'PUBLISHED' " +
+            "ORDER BY g.region != 'all' DESC, " +
+            "c.gmt_modified DESC LIMIT 1")
+    ApiMetaConfig findActiveConfigByIdentifierAndRegion(
+        @Param("gatewayType") String gatewayType,
+        @Param("gatewayCode") String gatewayCode,
+        @Param("apiVersion") String apiVersion,
+        @Param("apiName") String apiName,
+        @Param("region") String region);
+
+    /**
+     * 根据API标识和地域查询生效的配置，按生效版本表主键定位
+     */
+    @Select("SELECT " + COLUMNS + " FROM config_effective_version e " +
+            "JOIN api_meta_config c ON c.version_id = e.version_id" + BLOB_JOINS + " " +
+            "WHERE e.config_type = 'API_META' " +
+            "AND e.identifier = #{identifier} " +
+            "AND e.region = #{region}")
+    ApiMetaConfig findEffectiveByIdentifierAndRegion(@Param("identifier") String identifier,
+                                                 @Param("region") String region);
+
+    /**
+     * 批量查询多个API的所有已发布配置，keys 的每项包含 gatewayType、gatewayCode、apiVersion、apiName
+     */
+    @Select("<script>" +
+            "SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS +
+            " WHERE c.status = 'PUBLISHED' AND " +
+            "<foreach item='key' collection='keys' open='(' separator=' OR ' close=')'>" +
+            "(c.gateway_type = #{key.gatewayType} AND c.gateway_code = #{key.gatewayCode} " +
+            "AND c.api_version = #{key.apiVersion} AND c.api_name = #{key.apiName})" +
+            "</foreach>" +
+            "</script>")
+    List<ApiMetaConfig> findPublishedByIdentifiers(@Param("keys") Collection<Map<String, String>> keys);
+
+    /**
+     * 判断指定API是否已存在已发布配置，走 idx_identifier_status 索引
+     */
+    @Select("SELECT EXISTS(SELECT 1 FROM api_meta_config " +
+            "WHERE gateway_type = #{gatewayType} " +
+            "AND gateway_code = #{gatewayCode} " +
+            "AND api_version = #{apiVersion} " +
+            "AND api_name = #{apiName} " +
+            "AND status = 'PUBLISHED')")
+    boolean existsPublishedByIdentifier(@Param("gatewayType") String gatewayType,
+                                        @Param("gatewayCode") String gatewayCode,
+                                        @Param("apiVersion") String apiVersion,
+                                        @Param("apiName") String apiName);
+
+    @Select("SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS + " " +
+            "WHERE c.gateway_type = #{gatewayType} " +
+            "AND c.gateway_code = #{gatewayCode} " +
+            "AND c.api_version = #{apiVersion} " +
+            "AND c.api_name = #{apiName} " +
+            "AND c.status = 'PUBLISHED' " +
+            "ORDER BY c.gmt_modified DESC")
+    List<ApiMetaConfig> findPublishedConfigsByIdentifier(@Param("gatewayType") String gatewayType,
+                                                       @Param("gatewayCode") String gatewayCode,
+                                                       @Param("apiVersion") String apiVersion,
+                                                       @Param("apiName") String apiName);
+
+    @Select("SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS + " " +
+            "WHERE c.status = 'PUBLISHED' " +
+            "AND EXISTS (SELECT 1 FROM config_gray_region g " +
+            "    WHERE g.config_type = 'API_META' " +
+            "    AND g.region IN ('all', #{region}) " +
+            "    AND g.version_id = c.version_id)")
+    List<ApiMetaConfig> findByRegion(@Param("region") String region);
+
+    @Select("SELECT " + COLUMNS + " FROM api_meta_config c" + BLOB_JOINS + " " +
+            "WHERE c.gateway_type = #{gatewayType} " +
+            "AND c.gateway_code = #{gatewayCode} " +
+            "AND c.api_version = #{apiVersion} " +
+            "AND c.api_name = #{apiName} " +
+            "ORDER BY c.gmt_modified DESC")
+    List<ApiMetaConfig> findAllVersionsByIdentifier(@Param("gatewayType") String gatewayType,
+                                                  @Param("gatewayCode") String gatewayCode,
+                                                  @Param("apiVersion") String apiVersion,
+                                                  @Param("apiName") String apiName);
+
+    /**
+     * 按API标识分页查询版本数超过上限的API，仅返回标识字段
+     */
+    @Select("<script>" +
+            "SELECT gateway_type, gateway_code, api_version, api_name FROM api_meta_config " +
+            "<if test='after != null'>" +
+            "WHERE (gateway_type, gateway_code, api_version, api_name) &gt; " +
+            "(#{after.gatewayType}, #{after.gatewayCode}, #{after.apiVersion}, #{after.apiName}) " +
+            "</if>" +
+            "GROUP BY gateway_type, gateway_code, api_version, api_name " +
+            "HAVING COUNT(*) &gt; #{maxVersions} " +
+            "ORDER BY gateway_type, gateway_code, api_version, api_name LIMIT #{limit}" +
+            "</script>")
+    List<ApiMetaConfig> findIdentifiersExceedingVersions(@Param("after") ApiMetaConfig after,
+                                                  @Param("maxVersions") int maxVersions,
+                                                  @Param("limit") int limit);
+
+    /**
+     * 查询指定API保留范围之外的版本，仅返回 id 和状态
+     */
+    @Select("SELECT id, status FROM api_meta_config " +
+            "WHERE gateway_type = #{config.gatewayType} " +
+            "AND gateway_code = #{config.gatewayCode} " +
+            "AND api_version = #{config.apiVersion} " +
+            "AND api_name = #{config.apiName} " +
+            "ORDER BY gmt_modified DESC, id DESC " +
+            "LIMIT #{limit} OFFSET #{keep}")
+    List<ApiMetaConfig> findSurplusVersionsByIdentifier(@Param("config") ApiMetaConfig config,
+                                                 @Param("keep") int keep,
+                                                 @Param("limit") int limit);
+
+    /**
+     * 按主键批量删除未发布的版本
+     */
+    @Delete("<script>" +
+            "DELETE FROM api_meta_config WHERE status != 'PUBLISHED' AND id IN " +
+            "<foreach item='id' collection='ids' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteUnpublishedByIds(@Param("ids") List<Long> ids);
+
+    @Delete("DELETE FROM api_meta_config WHERE version_id = #{versionId}")
+    void deleteByVersionId(String versionId);
+
+    /**
+     * 按状态统计版本数
+     */
+    @Select("SELECT status, COUNT(*) AS count FROM api_meta_config GROUP BY status")
+    List<StatusCount> countByStatus();
+}
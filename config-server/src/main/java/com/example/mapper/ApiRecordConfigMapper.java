@@ -0,0 +1,237 @@
+package com.example.mapper;
+
+import com.example.dto.StatusCount;
+import com.example.model.ApiRecordConfig;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface ApiRecordConfigMapper {
+    /**
+     * 查询列：逐列列出，JSON 大字段按摘要从 config_blob 还原；
+     * ${inline.*} 在 V8 到 V10 之间为内联列，读取旧版本应用写入、尚无摘要的行，之后为 NULL，见 BlobColumnConfiguration
+     */
+    String COLUMNS = "c.id, c.version_id, c.gateway_type, c.gateway_code, c.api_version, c.api_name, " +
+            "c.status, c.effective_gray_groups, c.gmt_create, c.gmt_modified, " +
+            "COALESCE(basic_blob.content, ${inline.basic_config}) AS basic_config, " +
+            "COALESCE(event_blob.content, ${inline.event_config}) AS event_config, " +
+            "COALESCE(identity_blob.content, ${inline.user_identity_config}) AS user_identity_config, " +
+            "COALESCE(request_blob.content, ${inline.request_config}) AS request_config, " +
+            "COALESCE(response_blob.content, ${inline.response_config}) AS response_config, " +
+            "COALESCE(filter_blob.content, ${inline.filter_config}) AS filter_config, " +
+            "COALESCE(reference_blob.content, ${inline.reference_resource_config}) AS reference_resource_config";
+
+    /**
+     * 关联大字段表，配置表别名须为 c
+     */
+    String BLOB_JOINS = " LEFT JOIN config_blob basic_blob ON basic_blob.hash = c.basic_config_hash" +
+            " LEFT JOIN config_blob event_blob ON event_blob.hash = c.event_config_hash" +
+            " LEFT JOIN config_blob identity_blob ON identity_blob.hash = c.user_identity_config_hash" +
+            " LEFT JOIN config_blob request_blob ON request_blob.hash = c.request_config_hash" +
+            " LEFT JOIN config_blob response_blob ON response_blob.hash = c.response_config_hash" +
+            " LEFT JOIN config_blob filter_blob ON filter_blob.hash = c.filter_config_hash" +
+            " LEFT JOIN config_blob reference_blob ON reference_blob.hash = c.reference_resource_config_hash";
+
+    /**
+     * 写入新版本，hashes 为 字段名 -> 大字段摘要，见 ConfigBlobService#store
+     */
+    @Insert("INSERT INTO api_record_config (version_id, gateway_type, gateway_code, api_version, " +
+            "api_name, basic_config_hash, event_config_hash, user_identity_config_hash, " +
+            "request_config_hash, response_config_hash, filter_config_hash, reference_resource_config_hash, " +
+            "status, effective_gray_groups, gmt_create, gmt_modified) " +
+            "VALUES (#{config.versionId}, #{config.gatewayType}, #{config.gatewayCode}, #{config.apiVersion}, " +
+            "#{config.apiName}, #{hashes.basicConfig}, #{hashes.eventConfig}, #{hashes.userIdentityConfig}, " +
+            "#{hashes.requestConfig}, #{hashes.responseConfig}, #{hashes.filterConfig}, " +
+            "#{hashes.referenceResourceConfig}, #{config.status}, #{config.effectiveGrayGroups}, NOW(), NOW())")
+    void insert(@Param("config") ApiRecordConfig config, @Param("hashes") Map<String, String> hashes);
+
+    /**
+     * 同时写入内联的大字段列，供 V10 删除内联列之前仍在运行的旧版本应用读取
+     */
+    @Update("UPDATE api_record_config SET basic_config = #{basicConfig}, event_config = #{eventConfig}, " +
+            "user_identity_config = #{userIdentityConfig}, request_config = #{requestConfig}, " +
+            "response_config = #{responseConfig}, filter_config = #{filterConfig}, " +
+            "reference_resource_config = #{referenceResourceConfig} WHERE version_id = #{versionId}")
+    void updateInlineColumns(ApiRecordConfig config);
+
+    @Select("SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS + " WHERE c.version_id = #{versionId}")
+    ApiRecordConfig findByVersionId(String versionId);
+
+    @Select("<script>" +
+            "SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS +
+            " WHERE c.version_id IN " +
+            "<foreach item='versionId' collection='versionIds' open='(' separator=',' close=')'>#{versionId}</foreach>" +
+            "</script>")
+    List<ApiRecordConfig> findByVersionIds(@Param("versionIds") Collection<String> versionIds);
+
+    @Select("SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS + " WHERE c.status = 'PUBLISHED'")
+    List<ApiRecordConfig> findAllPublished();
+
+    /**
+     * 以游标逐行读取所有已发布配置，需在事务内遍历
+     */
+    @Select("SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS +
+            " WHERE c.status = 'PUBLISHED' ORDER BY c.id")
+    @Options(fetchSize = 1000)
+    Cursor<ApiRecordConfig> streamAllPublished();
+
+    @Update("UPDATE api_record_config SET status = #{status}, " +
+            "effective_gray_groups = #{effectiveGrayGroups}, gmt_modified = NOW() " +
+            "WHERE version_id = #{versionId}")
+    void updateStatus(@Param("versionId") String versionId,
+                     @Param("status") String status,
+                     @Param("effectiveGrayGroups") String effectiveGrayGroups);
+
+    /**
+     * 根据API标识和地域查询生效的配置
+     */
+    @Select("SELECT " + COLUMNS + " FROM api_record_config c " +
+            "JOIN config_gray_region g ON g.config_type = 'API_RECORD' " +
+            "    AND g.version_id = c.version_id " +
+            "    AND g.region IN ('all', #{region})" + BLOB_JOINS + " " +
+            "WHERE c.gateway_type = #{gatewayType} " +
+            "AND c.gateway_code = #{gatewayCode} " +
+            "AND c.api_version = #{apiVersion} " +
+            "AND c.api_name = #{apiName} " +
+            "AND c.status = 'PUBLISHED' " +
+            "ORDER BY g.region != 'all' DESC, " +
+            "c.gmt_modified DESC LIMIT 1")
+    ApiRecordConfig findActiveConfigByIdentifierAndRegion(@Param("gatewayType") String gatewayType,
+                                                        @Param("gatewayCode") String gatewayCode,
+                                                        @Param("apiVersion") String apiVersion,
+                                                        @Param("apiName") String apiName,
+                                                        @Param("region") String region);
+
+    /**
+     * 根据API标识和地域查询生效的配置，按生效版本表主键定位
+     */
+    @Select("SELECT " + COLUMNS + " FROM config_effective_version e " +
+            "JOIN api_record_config c ON c.version_id = e.version_id" + BLOB_JOINS + " " +
+            "WHERE e.config_type = 'API_RECORD' " +
+            "AND e.identifier = #{identifier} " +
+            "AND e.region = #{region}")
+    ApiRecordConfig findEffectiveByIdentifierAndRegion(@Param("identifier") String identifier,
+                                                 @Param("region") String region);
+
+    /**
+     * 批量查询多个API的所有已发布配置，keys 的每项包含 gatewayType、gatewayCode、apiVersion、apiName
+     */
+    @Select("<script>" +
+            "SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS +
+            " WHERE c.status = 'PUBLISHED' AND " +
+            "<foreach item='key' collection='keys' open='(' separator=' OR ' close=')'>" +
+            "(c.gateway_type = #{key.gatewayType} AND c.gateway_code = #{key.gatewayCode} " +
+            "AND c.api_version = #{key.apiVersion} AND c.api_name = #{key.apiName})" +
+            "</foreach>" +
+            "</script>")
+    List<ApiRecordConfig> findPublishedByIdentifiers(@Param("keys") Collection<Map<String, String>> keys);
+
+    /**
+     * 判断指定API是否已存在已发布配置，走 idx_identifier_status 索引
+     */
+    @Select("SELECT EXISTS(SELECT 1 FROM api_record_config " +
+            "WHERE gateway_type = #{gatewayType} " +
+            "AND gateway_code = #{gatewayCode} " +
+            "AND api_version = #{apiVersion} " +
+            "AND api_name = #{apiName} " +
+            "AND status = 'PUBLISHED')")
+    boolean existsPublishedByIdentifier(@Param("gatewayType") String gatewayType,
+                                        @Param("gatewayCode") String gatewayCode,
+                                        @Param("apiVersion") String apiVersion,
+                                        @Param("apiName") String apiName);
+
+    /**
+     * 查询某个API的所有已发布配置
+     */
+    @Select("SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS + " " +
+            "WHERE c.gateway_type = #{gatewayType} " +
+            "AND c.gateway_code = #{gatewayCode} " +
+            "AND c.api_version = #{apiVersion} " +
+            "AND c.api_name = #{apiName} " +
+            "AND c.status = 'PUBLISHED' " +
+            "ORDER BY c.gmt_modified DESC")
+    List<ApiRecordConfig> findPublishedConfigsByIdentifier(@Param("gatewayType") String gatewayType,
+                                                         @Param("gatewayCode") String gatewayCode,
+                                                         @Param("apiVersion") String apiVersion,
+                                                         @Param("apiName") String apiName);
+
+    /**
+     * 查询指定地域生效的所有配置
+     */
+    @Select("SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS + " " +
+            "WHERE c.status = 'PUBLISHED' " +
+            "AND EXISTS (SELECT 1 FROM config_gray_region g " +
+            "    WHERE g.config_type = 'API_RECORD' " +
+            "    AND g.region IN ('all', #{region}) " +
+            "    AND g.version_id = c.version_id)")
+    List<ApiRecordConfig> findByRegion(@Param("region") String region);
+
+    /**
+     * 获取指定API的所有配置版本（包括所有状态）
+     */
+    @Select("SELECT " + COLUMNS + " FROM api_record_config c" + BLOB_JOINS + " " +
+            "WHERE c.gateway_type = #{gatewayType} " +
+            "AND c.gateway_code = #{gatewayCode} " +
+            "AND c.api_version = #{apiVersion} " +
+            "AND c.api_name = #{apiName} " +
+            "ORDER BY c.gmt_modified DESC")
+    List<ApiRecordConfig> findAllVersionsByIdentifier(@Param("gatewayType") String gatewayType,
+                                                    @Param("gatewayCode") String gatewayCode,
+                                                    @Param("apiVersion") String apiVersion,
+                                                    @Param("apiName") String apiName);
+
+    /**
+     * 删除指定的配置版本
+     */
+    /**
+     * 按API标识分页查询版本数超过上限的API，仅返回标识字段
+     */
+    @Select("<script>" +
+            "SELECT gateway_type, gateway_code, api_version, api_name FROM api_record_config " +
+            "<if test='after != null'>" +
+            "WHERE (gateway_type, gateway_code, api_version, api_name) &gt; " +
+            "(#{after.gatewayType}, #{after.gatewayCode}, #{after.apiVersion}, #{after.apiName}) " +
+            "</if>" +
+            "GROUP BY gateway_type, gateway_code, api_version, api_name " +
+            "HAVING COUNT(*) &gt; #{maxVersions} " +
+            "ORDER BY gateway_type, gateway_code, api_version, api_name LIMIT #{limit}" +
+            "</script>")
+    List<ApiRecordConfig> findIdentifiersExceedingVersions(@Param("after") ApiRecordConfig after,
+                                                  @Param("maxVersions") int maxVersions,
+                                                  @Param("limit") int limit);
+
+    /**
+     * 查询指定API保留范围之外的版本，仅返回 id 和状态
+     */
+    @Select("SELECT id, status FROM api_record_config " +
+            "WHERE gateway_type = #{config.gatewayType} " +
+            "AND gateway_code = #{config.gatewayCode} " +
+            "AND api_version = #{config.apiVersion} " +
+            "AND api_name = #{config.apiName} " +
+            "ORDER BY gmt_modified DESC, id DESC " +
+            "LIMIT #{limit} OFFSET #{keep}")
+    List<ApiRecordConfig> findSurplusVersionsByIdentifier(@Param("config") ApiRecordConfig config,
+                                                 @Param("keep") int keep,
+                                                 @Param("limit") int limit);
+
+    /**
+     * 按主键批量删除未发布的版本
+     */
+    @Delete("<script>" +
+            "DELETE FROM api_record_config WHERE status != 'PUBLISHED' AND id IN " +
+            "<foreach item='id' collection='ids' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteUnpublishedByIds(@Param("ids") List<Long> ids);
+
+    @Delete("DELETE FROM api_record_config WHERE version_id = #{versionId}")
+    void deleteByVersionId(String versionId);
+
+    /**
+     * 按状态统计版本数
+     */
+    @Select("SELECT status, COUNT(*) AS count FROM api_record_config GROUP BY status")
+    List<StatusCount> countByStatus();
+}
@@ -0,0 +1,111 @@
+package com.example.mapper;
+
+import com.example.model.ConfigBlob;
+import org.apache.ibatis.annotations.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface ConfigBlobMapper {
+    /**
+     * 所有版本行的大字段摘要列
+     */
+    String REFERENCES =
+            "SELECT basic_config_hash AS hash FROM api_record_config WHERE basic_config_hash IS NOT NULL " +
+            "UNION ALL SELECT event_config_hash FROM api_record_config WHERE event_config_hash IS NOT NULL " +
+            "UNION ALL SELECT user_identity_config_hash FROM api_record_config " +
+            "WHERE user_identity_config_hash IS NOT NULL " +
+            "UNION ALL SELECT request_config_hash FROM api_record_config WHERE request_config_hash IS NOT NULL " +
+            "UNION ALL SELECT response_config_hash FROM api_record_config WHERE response_config_hash IS NOT NULL " +
+            "UNION ALL SELECT filter_config_hash FROM api_record_config WHERE filter_config_hash IS NOT NULL " +
+            "UNION ALL SELECT reference_resource_config_hash FROM api_record_config " +
+            "WHERE reference_resource_config_hash IS NOT NULL " +
+            "UNION ALL SELECT resource_spec_hash FROM api_meta_config WHERE resource_spec_hash IS NOT NULL";
+
+    /**
+     * 指定主键范围内版本行的大字段摘要，API记录与API Meta按同一主键范围分页
+     */
+    String REFERENCES_IN_RANGE =
+            "SELECT basic_config_hash AS hash FROM api_record_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND basic_config_hash IS NOT NULL " +
+            "UNION ALL SELECT event_config_hash FROM api_record_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND event_config_hash IS NOT NULL " +
+            "UNION ALL SELECT user_identity_config_hash FROM api_record_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND user_identity_config_hash IS NOT NULL " +
+            "UNION ALL SELECT request_config_hash FROM api_record_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND request_config_hash IS NOT NULL " +
+            "UNION ALL SELECT response_config_hash FROM api_record_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND response_config_hash IS NOT NULL " +
+            "UNION ALL SELECT filter_config_hash FROM api_record_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND filter_config_hash IS NOT NULL " +
+            "UNION ALL SELECT reference_resource_config_hash FROM api_record_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND reference_resource_config_hash IS NOT NULL " +
+            "UNION ALL SELECT resource_spec_hash FROM api_meta_config " +
+            "WHERE id > #{fromId} AND id <= #{toId} AND resource_spec_hash IS NOT NULL";
+
+    /**
+     * 多行写入大字段，摘要已存在时只刷新 gmt_modified
+     * 刷新会锁住已有的内容行，并发的回收在写入事务提交前不会删除它
+     */
+    @Insert("<script>" +
+            "INSERT INTO config_blob (hash, content, content_length, gmt_create, gmt_modified) VALUES " +
+            "<foreach item='blob' collection='blobs' separator=','>" +
+            "(#{blob.hash}, #{blob.content}, #{blob.contentLength}, NOW(), NOW())" +
+            "</foreach>" +
+            " ON DUPLICATE KEY UPDATE gmt_modified = NOW()" +
+            "</script>")
+    void insertOrTouchBatch(@Param("blobs") List<ConfigBlob> blobs);
+
+    @Select("SELECT COUNT(*) FROM config_blob")
+    long countAll();
+
+    @Select("SELECT COALESCE(SUM(content_length), 0) FROM config_blob")
+    long sumContentLength();
+
+    /**
+     * 版本行对大字段的引用数
+     */
+    @Select("SELECT COUNT(*) FROM (" + REFERENCES + ") r")
+    long countReferences();
+
+    /**
+     * 被引用内容的总字节数，即内联存储时各版本行大字段的总字节数
+     */
+    @Select("SELECT COALESCE(SUM(b.content_length), 0) FROM (" + REFERENCES + ") r " +
+            "JOIN config_blob b ON b.hash = r.hash")
+    long sumReferencedLength();
+
+    /**
+     * API记录与API Meta版本行的最大主键
+     */
+    @Select("SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM api_record_config), " +
+            "(SELECT COALESCE(MAX(id), 0) FROM api_meta_config))")
+    long findMaxReferenceId();
+
+    /**
+     * 数据库当前时间，回收的时间界限与 gmt_modified 同一时钟
+     */
+    @Select("SELECT NOW()")
+    LocalDateTime findDatabaseTime();
+
+    @Select(REFERENCES_IN_RANGE)
+    List<String> findReferencedHashes(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * 按摘要顺序分页查询指定时间之前写入的内容摘要
+     */
+    @Select("SELECT hash FROM config_blob WHERE hash > #{afterHash} AND gmt_modified < #{before} " +
+            "ORDER BY hash LIMIT #{limit}")
+    List<String> findHashesModifiedBefore(@Param("afterHash") String afterHash,
+                                          @Param("before") LocalDateTime before,
+                                          @Param("limit") int limit);
+
+    /**
+     * 删除未被引用的内容，再次校验写入时间：标记之后被新版本复用的内容已刷新 gmt_modified，不会被删除
+     */
+    @Delete("<script>" +
+            "DELETE FROM config_blob WHERE gmt_modified &lt; #{before} AND hash IN " +
+            "<foreach item='hash' collection='hashes' open='(' separator=',' close=')'>#{hash}</foreach>" +
+            "</script>")
+    int deleteByHashesModifiedBefore(@Param("hashes") List<String> hashes, @Param("before") LocalDateTime before);
+}
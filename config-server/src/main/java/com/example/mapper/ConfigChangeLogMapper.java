@@ -0,0 +1,86 @@
+package com.example.mapper;
+
+import com.example.model.ConfigChangeLog;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface ConfigChangeLogMapper {
+    /**
+     * 递增全局修订号，行锁持有至事务提交，保证修订号按提交顺序可见
+     */
+    @Update("UPDATE config_revision SET revision = revision + 1, gmt_modified = NOW() WHERE id = 1")
+    int incrementRevision();
+
+    @Select("SELECT revision FROM config_revision WHERE id = 1")
+    Long findCurrentRevision();
+
+    /**
+     * 锁定全局修订号行至事务提交，与记录变更的事务互斥
+     */
+    @Select("SELECT revision FROM config_revision WHERE id = 1 FOR UPDATE")
+    Long lockRevision();
+
+    @Insert("INSERT INTO config_change_log (revision, config_type, identifier, version_id, action, node_id, " +
+            "gmt_create) VALUES (#{revision}, #{configType}, #{identifier}, #{versionId}, #{action}, #{nodeId}, NOW(3))")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    void insert(ConfigChangeLog changeLog);
+
+    /**
+     * 多行写入变更日志
+     */
+    @Insert("<script>" +
+            "INSERT INTO config_change_log (revision, config_type, identifier, version_id, action, node_id, gmt_create) " +
+            "VALUES <foreach item='log' collection='changeLogs' separator=','>" +
+            "(#{log.revision}, #{log.configType}, #{log.identifier}, #{log.versionId}, #{log.action}, #{log.nodeId}, " +
+            "NOW(3))" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("changeLogs") List<ConfigChangeLog> changeLogs);
+
+    /**
+     * 按修订号顺序查询指定修订号之后的变更，最多 limit 行
+     */
+    @Select("SELECT * FROM config_change_log " +
+            "WHERE revision > #{sinceRevision} " +
+            "ORDER BY revision, id LIMIT #{limit}")
+    List<ConfigChangeLog> findSinceRevision(@Param("sinceRevision") long sinceRevision, @Param("limit") int limit);
+
+    /**
+     * 变更日志中保留的最小修订号，日志为空时返回 null
+     */
+    @Select("SELECT MIN(revision) FROM config_change_log")
+    Long findMinRevision();
+
+    /**
+     * 按主键顺序查询创建早于指定时间、修订号不超过指定值的变更主键，用于分批清理
+     */
+    @Select("SELECT id FROM config_change_log WHERE gmt_create < #{before} AND revision <= #{maxRevision} " +
+            "ORDER BY id LIMIT #{limit}")
+    List<Long> findIdsCreatedBefore(@Param("before") LocalDateTime before, @Param("maxRevision") long maxRevision,
+                                    @Param("limit") int limit);
+
+    @Delete("<script>" +
+            "DELETE FROM config_change_log WHERE id IN " +
+            "<foreach item='id' collection='ids' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 按主键顺序读取指定ID之后的变更
+     * 写入变更日志前都已持有修订号行锁，主键顺序与提交顺序一致，按主键追踪不会跳过稍后提交的行
+     */
+    @Select("SELECT * FROM config_change_log WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<ConfigChangeLog> findAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Select("SELECT COALESCE(MAX(id), 0) FROM config_change_log")
+    long findMaxId();
+
+    /**
+     * 数据库当前时间，与 gmt_create 同一时钟，计算传播延迟不受节点时钟偏差影响
+     */
+    @Select("SELECT NOW(3)")
+    LocalDateTime findDatabaseTime();
+}
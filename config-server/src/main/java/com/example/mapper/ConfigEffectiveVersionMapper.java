@@ -0,0 +1,39 @@
+package com.example.mapper;
+
+import com.example.model.ConfigEffectiveVersion;
+import org.apache.ibatis.annotations.*;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface ConfigEffectiveVersionMapper {
+    /**
+     * 多行写入生效版本
+     */
+    @Insert("<script>" +
+            "INSERT INTO config_effective_version (config_type, identifier, region, version_id, gmt_modified) VALUES " +
+            "<foreach item='version' collection='versions' separator=','>" +
+            "(#{version.configType}, #{version.identifier}, #{version.region}, #{version.versionId}, NOW())" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("versions") List<ConfigEffectiveVersion> versions);
+
+    @Delete("<script>" +
+            "DELETE FROM config_effective_version " +
+            "WHERE config_type = #{configType} AND identifier IN " +
+            "<foreach item='identifier' collection='identifiers' open='(' separator=',' close=')'>#{identifier}</foreach>" +
+            "</script>")
+    void deleteByIdentifiers(@Param("configType") String configType,
+                             @Param("identifiers") Collection<String> identifiers);
+
+    @Delete("DELETE FROM config_effective_version WHERE config_type = #{configType}")
+    void deleteByConfigType(@Param("configType") String configType);
+
+    @Select("SELECT * FROM config_effective_version " +
+            "WHERE config_type = #{configType} AND region = #{region}")
+    List<ConfigEffectiveVersion> findByRegion(@Param("configType") String configType,
+                                              @Param("region") String region);
+
+    @Select("SELECT COUNT(*) FROM config_effective_version")
+    long countAll();
+}
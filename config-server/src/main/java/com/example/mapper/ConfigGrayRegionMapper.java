@@ -0,0 +1,45 @@
+package com.example.mapper;
+
+import org.apache.ibatis.annotations.*;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface ConfigGrayRegionMapper {
+    /**
+     * 写入版本生效的地域，全量发布写入 "all"
+     */
+    @Insert("<script>" +
+            "INSERT INTO config_gray_region (config_type, version_id, region, gmt_create) VALUES " +
+            "<foreach item='region' collection='regions' separator=','>" +
+            "(#{configType}, #{versionId}, #{region}, NOW())" +
+            "</foreach>" +
+            "</script>")
+    void insertRegions(@Param("configType") String configType,
+                       @Param("versionId") String versionId,
+                       @Param("regions") Collection<String> regions);
+
+    @Insert("INSERT INTO config_gray_region (config_type, version_id, region, gmt_create) " +
+            "VALUES (#{configType}, #{versionId}, #{region}, NOW())")
+    void insertRegion(@Param("configType") String configType,
+                      @Param("versionId") String versionId,
+                      @Param("region") String region);
+
+    @Select("SELECT region FROM config_gray_region " +
+            "WHERE config_type = #{configType} AND version_id = #{versionId}")
+    List<String> findRegionsByVersionId(@Param("configType") String configType,
+                                        @Param("versionId") String versionId);
+
+    @Select("<script>" +
+            "SELECT DISTINCT region FROM config_gray_region " +
+            "WHERE config_type = #{configType} AND version_id IN " +
+            "<foreach item='versionId' collection='versionIds' open='(' separator=',' close=')'>#{versionId}</foreach>" +
+            "</script>")
+    List<String> findRegionsByVersionIds(@Param("configType") String configType,
+                                         @Param("versionIds") Collection<String> versionIds);
+
+    @Delete("DELETE FROM config_gray_region " +
+            "WHERE config_type = #{configType} AND version_id = #{versionId}")
+    void deleteByVersionId(@Param("configType") String configType,
+                           @Param("versionId") String versionId);
+}
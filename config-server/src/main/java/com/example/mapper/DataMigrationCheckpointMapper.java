@@ -0,0 +1,50 @@
+package com.example.mapper;
+
+import com.example.model.DataMigrationCheckpoint;
+import org.apache.ibatis.annotations.*;
+import java.util.List;
+
+@Mapper
+public interface DataMigrationCheckpointMapper {
+    /**
+     * 多行写入分区检查点
+     */
+    @Insert("<script>" +
+            "INSERT INTO data_migration_checkpoint (migration, partition_no, start_id, end_id, last_id, " +
+            "migrated_count, status, gmt_create, gmt_modified) VALUES " +
+            "<foreach item='checkpoint' collection='checkpoints' separator=','>" +
+            "(#{checkpoint.migration}, #{checkpoint.partitionNo}, #{checkpoint.startId}, #{checkpoint.endId}, " +
+            "#{checkpoint.lastId}, 0, #{checkpoint.status}, NOW(), NOW())" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("checkpoints") List<DataMigrationCheckpoint> checkpoints);
+
+    @Select("SELECT * FROM data_migration_checkpoint WHERE migration = #{migration} ORDER BY partition_no")
+    List<DataMigrationCheckpoint> findByMigration(@Param("migration") String migration);
+
+    /**
+     * 锁定分区检查点，同一分区的分块在多个节点间串行执行
+     */
+    @Select("SELECT * FROM data_migration_checkpoint " +
+            "WHERE migration = #{migration} AND partition_no = #{partitionNo} FOR UPDATE")
+    DataMigrationCheckpoint lockPartition(@Param("migration") String migration,
+                                          @Param("partitionNo") int partitionNo);
+
+    /**
+     * 推进分区检查点并累加已迁移行数
+     */
+    @Update("UPDATE data_migration_checkpoint SET " +
+            "last_id = #{lastId}, " +
+            "migrated_count = migrated_count + #{migrated}, " +
+            "status = #{status}, " +
+            "gmt_modified = NOW() " +
+            "WHERE migration = #{migration} AND partition_no = #{partitionNo}")
+    void updateProgress(@Param("migration") String migration,
+                        @Param("partitionNo") int partitionNo,
+                        @Param("lastId") long lastId,
+                        @Param("migrated") int migrated,
+                        @Param("status") String status);
+
+    @Delete("DELETE FROM data_migration_checkpoint WHERE migration = #{migration}")
+    void deleteByMigration(@Param("migration") String migration);
+}
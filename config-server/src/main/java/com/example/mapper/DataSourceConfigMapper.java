@@ -0,0 +1,220 @@
+package com.example.mapper;
+
+import com.example.dto.StatusCount;
+import com.example.model.DataSourceConfig;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface DataSourceConfigMapper {
+    @Insert("INSERT INTO data_source_config (version_id, source, source_group, gateway_type, " +
+            "dm, loghub_endpoint, loghub_project, loghub_stream, loghub_accesskey_id, " +
+            "loghub_accesskey_secret, loghub_assume_role_arn, loghub_cursor, consume_region, " +
+            "data_fetch_interval_millis, status, effective_gray_groups, gmt_create, gmt_modified) " +
+            "VALUES (#{versionId}, #{source}, #{sourceGroup}, #{gatewayType}, #{dm}, " +
+            "#{loghubEndpoint}, #{loghubProject}, #{loghubStream}, #{loghubAccesskeyId}, " +
+            "#{loghubAccesskeySecret}, #{loghubAssumeRoleArn}, #{loghubCursor}, #{consumeRegion}, " +
+            "#{dataFetchIntervalMillis}, #{status}, #{effectiveGrayGroups}, NOW(), NOW())")
+    void insert(DataSourceConfig config);
+
+    @Select("SELECT * FROM data_source_config WHERE version_id = #{versionId}")
+    DataSourceConfig findByVersionId(String versionId);
+
+    @Select("<script>" +
+            "SELECT * FROM data_source_config WHERE version_id IN " +
+            "<foreach item='versionId' collection='versionIds' open='(' separator=',' close=')'>#{versionId}</foreach>" +
+            "</script>")
+    List<DataSourceConfig> findByVersionIds(@Param("versionIds") Collection<String> versionIds);
+
+    @Select("SELECT * FROM data_source_config WHERE status = 'PUBLISHED'")
+    List<DataSourceConfig> findAllPublished();
+
+    /**
+     * 以游标逐行读取所有已发布配置，需在事务内遍历
+     */
+    @Select("SELECT * FROM data_source_config WHERE status = 'PUBLISHED' ORDER BY id")
+    @Options(fetchSize = 1000)
+    Cursor<DataSourceConfig> streamAllPublished();
+
+    @Update("UPDATE data_source_config SET status = #{status}, " +
+            "effective_gray_groups = #{effectiveGrayGroups}, gmt_modified = NOW() " +
+            "WHERE version_id = #{versionId}")
+    void updateStatus(@Param("versionId") String versionId, 
+                     @Param("status") String status,
+                     @Param("effectiveGrayGroups") String effectiveGrayGroups);
+
+    @Select("SELECT c.* FROM data_source_config c " +
+            "WHERE c.status = 'PUBLISHED' " +
+            "AND EXISTS (SELECT 1 FROM config_gray_region g " +
+            "    WHERE g.config_type = 'DATA_SOURCE' " +
+            "    AND g.region IN ('all', #{region}) " +
+            "    AND g.version_id = c.version_id)")
+    List<DataSourceConfig> findByRegion(@Param("region") String region);
+
+    /**
+     * 根据source和地域查询生效的配置
+     * 优先返回在指定地域灰度生效的配置，如果没有则返回全量发布的配置
+     */
+    @Select("SELECT c.* FROM data_source_config c " +
+            "JOIN config_gray_region g ON g.config_type = 'DATA_SOURCE' " +
+            "    AND g.version_id = c.version_id " +
+            "    AND g.region IN ('all', #{region}) " +
+            "WHERE c.source = #{source} " +
+            "AND c.status = 'PUBLISHED' " +
+            "ORDER BY g.region != 'all' DESC, " +
+            "c.gmt_modified DESC LIMIT 1")
+    DataSourceConfig findActiveConfigBySourceAndRegion(@Param("source") String source, 
+                                                     @Param("region") String region);
+
+    /**
+     * 根据source和地域查询生效的配置，按生效版本表主键定位
+     */
+    @Select("SELECT c.* FROM config_effective_version e " +
+            "JOIN data_source_config c ON c.version_id = e.version_id " +
+            "WHERE e.config_type = 'DATA_SOURCE' " +
+            "AND e.identifier = #{source} " +
+            "AND e.region = #{region}")
+    DataSourceConfig findEffectiveBySourceAndRegion(@Param("source") String source,
+                                                    @Param("region") String region);
+
+    /**
+     * 批量查询多个source的所有已发布配置
+     */
+    @Select("<script>" +
+            "SELECT * FROM data_source_config WHERE status = 'PUBLISHED' AND source IN " +
+            "<foreach item='source' collection='sources' open='(' separator=',' close=')'>#{source}</foreach>" +
+            "</script>")
+    List<DataSourceConfig> findPublishedBySources(@Param("sources") Collection<String> sources);
+
+    /**
+     * 判断指定source是否已存在已发布配置，走 idx_source_status 索引
+     */
+    @Select("SELECT EXISTS(SELECT 1 FROM data_source_config " +
+            "WHERE source = #{source} AND status = 'PUBLISHED')")
+    boolean existsPublishedBySource(@Param("source") String source);
+
+    /**
+     * 查询某个source的所有已发布配置
+     */
+    @Select("SELECT * FROM data_source_config " +
+            "WHERE source = #{source} " +
+            "AND status = 'PUBLISHED' " +
+            "ORDER BY gmt_modified DESC")
+    List<DataSourceConfig> findPublishedConfigsBySource(String source);
+
+    /**
+     * 获取指定source的所有配置版本（包括所有状态）
+     */
+    @Select("SELECT * FROM data_source_config " +
+            "WHERE source = #{source} " +
+            "ORDER BY gmt_modified DESC")
+    List<DataSourceConfig> findAllVersionsBySource(String source);
+
+    /**
+     * 删除指定的配置版本
+     */
+    @Delete("DELETE FROM data_source_config WHERE version_id = #{versionId}")
+    void deleteByVersionId(String versionId);
+
+    /**
+     * 按 source 分页查询版本数超过上限的标识
+     */
+    @Select("<script>" +
+            "SELECT source FROM data_source_config " +
+            "<if test='afterSource != null'>WHERE source &gt; #{afterSource} </if>" +
+            "GROUP BY source HAVING COUNT(*) &gt; #{maxVersions} " +
+            "ORDER BY source LIMIT #{limit}" +
+            "</script>")
+    List<String> findSourcesExceedingVersions(@Param("afterSource") String afterSource,
+                                              @Param("maxVersions") int maxVersions,
+                                              @Param("limit") int limit);
+
+    /**
+     * 查询指定source保留范围之外的版本，仅返回 id 和状态
+     */
+    @Select("SELECT id, status FROM data_source_config " +
+            "WHERE source = #{source} " +
+            "ORDER BY gmt_modified DESC, id DESC " +
+            "LIMIT #{limit} OFFSET #{keep}")
+    List<DataSourceConfig> findSurplusVersionsBySource(@Param("source") String source,
+                                                       @Param("keep") int keep,
+                                                       @Param("limit") int limit);
+
+    /**
+     * 按主键批量删除未发布的版本
+     */
+    @Delete("<script>" +
+            "DELETE FROM data_source_config WHERE status != 'PUBLISHED' AND id IN " +
+            "<foreach item='id' collection='ids' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int deleteUnpublishedByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 按主键游标分页查询待迁移（尚无版本号）的配置，只取迁移需要的列
+     * 范围为 (afterId, endId]，按主键顺序返回
+     */
+    @Select("SELECT id, source FROM data_source_config " +
+            "WHERE id > #{afterId} AND id <= #{endId} AND version_id IS NULL " +
+            "ORDER BY id LIMIT #{limit}")
+    List<DataSourceConfig> findWithoutVersionAfterId(@Param("afterId") long afterId,
+                                                     @Param("endId") long endId,
+                                                     @Param("limit") int limit);
+
+    @Select("SELECT MIN(id) FROM data_source_config WHERE version_id IS NULL")
+    Long findMinIdWithoutVersion();
+
+    @Select("SELECT MAX(id) FROM data_source_config WHERE version_id IS NULL")
+    Long findMaxIdWithoutVersion();
+
+    @Select("SELECT COUNT(*) FROM data_source_config WHERE version_id IS NULL")
+    long countWithoutVersion();
+
+    @Update("UPDATE data_source_config SET " +
+            "version_id = #{versionId}, " +
+            "status = #{status}, " +
+            "effective_gray_groups = #{grayGroups} " +
+            "WHERE id = #{id}")
+    void updateVersionInfo(@Param("id") Long id,
+                         @Param("versionId") String versionId,
+                         @Param("status") String status,
+                         @Param("grayGroups") String grayGroups);
+
+    /**
+     * 查询指定地域下所有生效的配置
+     */
+    @Select("SELECT c.* FROM data_source_config c " +
+            "WHERE c.status = 'PUBLISHED' " +
+            "AND EXISTS (SELECT 1 FROM config_gray_region g " +
+            "    WHERE g.config_type = 'DATA_SOURCE' " +
+            "    AND g.region IN ('all', #{region}) " +
+            "    AND g.version_id = c.version_id) " +
+            "ORDER BY c.gmt_modified DESC")
+    List<DataSourceConfig> findActiveConfigsByRegion(@Param("region") String region);
+    
+    /**
+     * 查询指定版本列表中已失效的配置
+     */
+    @Select("<script>" +
+            "SELECT c.version_id FROM data_source_config c " +
+            "WHERE c.version_id IN " +
+            "<foreach item='item' collection='versionIds' open='(' separator=',' close=')'>" +
+            "#{item}" +
+            "</foreach>" +
+            "AND (c.status = 'DEPRECATED' " +
+            "    OR (c.status = 'PUBLISHED' " +
+            "        AND NOT EXISTS (SELECT 1 FROM config_gray_region g " +
+            "            WHERE g.config_type = 'DATA_SOURCE' " +
+            "            AND g.region IN ('all', #{region}) " +
+            "            AND g.version_id = c.version_id)))" +
+            "</script>")
+    List<String> findDeprecatedVersions(@Param("versionIds") List<String> versionIds,
+                                      @Param("region") String region);
+
+    /**
+     * 按状态统计版本数
+     */
+    @Select("SELECT status, COUNT(*) AS count FROM data_source_config GROUP BY status")
+    List<StatusCount> countByStatus();
+}
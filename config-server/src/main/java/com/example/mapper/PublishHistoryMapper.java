@@ -2,6 +2,7 @@ package com.example.mapper;
 
 import com.example.model.PublishHistory;
 import org.apache.ibatis.annotations.*;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -12,10 +13,32 @@ public interface PublishHistoryMapper {
             "#{operator}, NOW(), NOW())")
     void insert(PublishHistory history);
 
+    /**
+     * 多行写入发布历史
+     */
+    @Insert("<script>" +
+            "INSERT INTO publish_history (version_id, config_type, status, gray_groups, " +
+            "operator, gmt_create, gmt_modified) VALUES " +
+            "<foreach item='history' collection='histories' separator=','>" +
+            "(#{history.versionId}, #{history.configType}, #{history.status}, #{history.grayGroups}, " +
+            "#{history.operator}, NOW(), NOW())" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("histories") List<PublishHistory> histories);
+
     @Select("SELECT * FROM publish_history WHERE version_id = #{versionId} " +
             "ORDER BY gmt_create DESC")
     List<PublishHistory> findByVersionId(String versionId);
 
+    /**
+     * 批量查询多个版本的发布记录，用于判断版本曾在哪些地域生效
+     */
+    @Select("<script>" +
+            "SELECT version_id, gray_groups FROM publish_history WHERE status = 'PUBLISHED' AND version_id IN " +
+            "<foreach item='versionId' collection='versionIds' open='(' separator=',' close=')'>#{versionId}</foreach>" +
+            "</script>")
+    List<PublishHistory> findPublishedByVersionIds(@Param("versionIds") Collection<String> versionIds);
+
     @Insert("INSERT INTO publish_history (version_id, config_type, status, gray_groups, " +
             "operator, gmt_create, gmt_modified) " +
             "VALUES (#{versionId}, #{configType}, #{status}, #{grayGroups}, " +
@@ -0,0 +1,182 @@
+package com.example.metrics;
+
+import com.example.dto.ConfigDiffRequest;
+import com.example.dto.ConfigDiffResponse;
+import com.example.enums.ConfigType;
+import com.example.service.ApiMetaConfigService;
+import com.example.service.ApiRecordConfigService;
+import com.example.service.DataSourceConfigService;
+import com.example.util.RegionProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 配置服务指标
+ * 记录各配置服务方法与发布操作的耗时直方图，以及配置差异的返回规模
+ *
+ * 排在事务切面之外，发布耗时包含提交及提交后的缓存刷新、快照重建
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConfigMetricsAspect {
+
+    public static final String SERVICE_TIMER = "config.service.requests";
+    public static final String PUBLISH_TIMER = "config.publish.requests";
+    public static final String DIFF_UPDATED_SUMMARY = "config.diff.updated.configs";
+    public static final String DIFF_DEPRECATED_SUMMARY = "config.diff.deprecated.versions";
+
+    private static final String NONE = "none";
+    private static final String MIXED = "MIXED";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RegionProvider regionProvider;
+
+    @Around("execution(public * com.example.service.BaseConfigService+.*(..))")
+    public Object timeConfigService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        String type = configTypeOf(joinPoint.getTarget());
+        String region = regionOf(joinPoint.getArgs());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof ConfigDiffResponse) {
+                recordDiff(type, region, (ConfigDiffResponse) result);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                .description("配置服务方法耗时")
+                .tag("type", type)
+                .tag("method", method)
+                .tag("region", region)
+                .tag("exception", exception)
+                .register(meterRegistry));
+        }
+    }
+
+    @Around("execution(public * com.example.service.PublishService.publish*(..)) || " +
+            "execution(public * com.example.service.PublishService.rollback*(..)) || " +
+            "execution(public * com.example.service.PublishService.deprecate(..)) || " +
+            "execution(public * com.example.service.PublishService.bulkPublish(..))")
+    public Object timePublish(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        String type = publishTypeOf((MethodSignature) joinPoint.getSignature(), joinPoint.getArgs());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(PUBLISH_TIMER)
+                .description("发布、废弃、回滚操作耗时")
+                .tag("type", type)
+                .tag("operation", operation)
+                .tag("exception", exception)
+                .register(meterRegistry));
+        }
+    }
+
+    private void recordDiff(String type, String region, ConfigDiffResponse response) {
+        int updated = response.getUpdatedConfigs() == null ? 0 : response.getUpdatedConfigs().size();
+        int deprecated = response.getDeprecatedVersionIds() == null ? 0 : response.getDeprecatedVersionIds().size();
+        DistributionSummary.builder(DIFF_UPDATED_SUMMARY)
+            .description("配置差异返回的新增或更新配置数")
+            .tag("type", type)
+            .tag("region", region)
+            .register(meterRegistry)
+            .record(updated);
+        DistributionSummary.builder(DIFF_DEPRECATED_SUMMARY)
+            .description("配置差异返回的失效版本数")
+            .tag("type", type)
+            .tag("region", region)
+            .register(meterRegistry)
+            .record(deprecated);
+    }
+
+    private String configTypeOf(Object target) {
+        if (target instanceof DataSourceConfigService) {
+            return ConfigType.DATA_SOURCE.name();
+        }
+        if (target instanceof ApiRecordConfigService) {
+            return ConfigType.API_RECORD.name();
+        }
+        if (target instanceof ApiMetaConfigService) {
+            return ConfigType.API_META.name();
+        }
+        return target.getClass().getSimpleName();
+    }
+
+    /**
+     * 取参数中的地域，只接受受支持的地域以限制标签基数
+     */
+    private String regionOf(Object[] args) {
+        for (Object arg : args) {
+            String candidate = arg instanceof ConfigDiffRequest ? ((ConfigDiffRequest) arg).getRegion() : null;
+            if (arg instanceof String) {
+                candidate = (String) arg;
+            }
+            if (candidate != null && regionProvider.isRegionSupported(candidate)) {
+                return candidate;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean isConfigType(String value) {
+        for (ConfigType configType : ConfigType.values()) {
+            if (configType.name().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 优先取 configType 参数，否则按版本号前缀推断；批量操作可能涉及多种类型
+     */
+    private String publishTypeOf(MethodSignature signature, Object[] args) {
+        String[] names = signature.getParameterNames();
+        if (names == null) {
+            return NONE;
+        }
+        String versionId = null;
+        for (int i = 0; i < names.length; i++) {
+            if (!(args[i] instanceof String)) {
+                continue;
+            }
+            if ("configType".equals(names[i])) {
+                return isConfigType((String) args[i]) ? (String) args[i] : NONE;
+            }
+            if (versionId == null && ("versionId".equals(names[i]) || "currentVersionId".equals(names[i]))) {
+                versionId = (String) args[i];
+            }
+        }
+        if (versionId == null) {
+            return "bulkPublish".equals(signature.getName()) ? MIXED : NONE;
+        }
+        try {
+            return ConfigType.fromVersionId(versionId).name();
+        } catch (IllegalArgumentException e) {
+            return NONE;
+        }
+    }
+}
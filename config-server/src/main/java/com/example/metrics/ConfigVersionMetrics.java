@@ -0,0 +1,148 @@
+package com.example.metrics;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ApiRecordConfigCache;
+import com.example.cache.ConfigJsonCache;
+import com.example.cache.ConfigSnapshotCache;
+import com.example.cache.DataSourceConfigCache;
+import com.example.dto.StatusCount;
+import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 配置版本与快照缓存指标
+ * 各类型各状态的版本数由后台定时统计，抓取指标时不访问数据库
+ */
+@Slf4j
+@Component
+public class ConfigVersionMetrics implements MeterBinder {
+
+    @Autowired
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Autowired
+    private ApiRecordConfigMapper apiRecordConfigMapper;
+
+    @Autowired
+    private ApiMetaConfigMapper apiMetaConfigMapper;
+
+    @Autowired
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private ApiRecordConfigCache apiRecordConfigCache;
+
+    @Autowired
+    private ApiMetaConfigCache apiMetaConfigCache;
+
+    @Autowired
+    private ConfigJsonCache configJsonCache;
+
+    /**
+     * 类型 -> (状态 -> 版本数)
+     */
+    private final Map<ConfigType, Map<ConfigStatus, AtomicLong>> versionCounts = new EnumMap<>(ConfigType.class);
+
+    public ConfigVersionMetrics() {
+        for (ConfigType type : ConfigType.values()) {
+            Map<ConfigStatus, AtomicLong> counts = new EnumMap<>(ConfigStatus.class);
+            for (ConfigStatus status : ConfigStatus.values()) {
+                counts.put(status, new AtomicLong());
+            }
+            versionCounts.put(type, counts);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        versionCounts.forEach((type, counts) -> counts.forEach((status, count) ->
+            Gauge.builder("config.versions", count, AtomicLong::get)
+                .description("各类型各状态的配置版本数")
+                .tag("type", type.name())
+                .tag("status", status.name())
+                .register(registry)));
+
+        for (ConfigSnapshotCache<?> cache : caches()) {
+            String type = cache.getConfigType().name();
+            FunctionCounter.builder("config.cache.hits", cache, ConfigSnapshotCache::getHits)
+                .description("快照缓存命中次数")
+                .tag("type", type)
+                .register(registry);
+            FunctionCounter.builder("config.cache.misses", cache, ConfigSnapshotCache::getMisses)
+                .description("快照缓存未就绪回源数据库次数")
+                .tag("type", type)
+                .register(registry);
+            FunctionCounter.builder("config.cache.conditional.requests", cache,
+                    ConfigSnapshotCache::getConditionalRequests)
+                .description("携带 If-None-Match 的请求数")
+                .tag("type", type)
+                .register(registry);
+            FunctionCounter.builder("config.cache.not.modified", cache, ConfigSnapshotCache::getNotModified)
+                .description("返回 304 的请求数")
+                .tag("type", type)
+                .register(registry);
+            Gauge.builder("config.cache.identifiers", cache, ConfigSnapshotCache::getIdentifierCount)
+                .description("快照缓存中的已发布标识数")
+                .tag("type", type)
+                .register(registry);
+        }
+
+        FunctionCounter.builder("config.cache.json.hits", configJsonCache, ConfigJsonCache::getHits)
+            .description("列表响应复用已缓存 JSON 字节的配置数")
+            .register(registry);
+        FunctionCounter.builder("config.cache.json.misses", configJsonCache, ConfigJsonCache::getMisses)
+            .description("列表响应中重新序列化的配置数")
+            .register(registry);
+        Gauge.builder("config.cache.json.bytes", configJsonCache, ConfigJsonCache::getBytes)
+            .description("按版本缓存的配置 JSON 字节总量")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    /**
+     * 定时统计各类型各状态的版本数
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${config.metrics.version-count-interval-millis:60000}")
+    public void refreshVersionCounts() {
+        refresh(ConfigType.DATA_SOURCE, dataSourceConfigMapper::countByStatus);
+        refresh(ConfigType.API_RECORD, apiRecordConfigMapper::countByStatus);
+        refresh(ConfigType.API_META, apiMetaConfigMapper::countByStatus);
+    }
+
+    private void refresh(ConfigType type, Supplier<List<StatusCount>> counter) {
+        List<StatusCount> statusCounts;
+        try {
+            statusCounts = counter.get();
+        } catch (RuntimeException e) {
+            // 数据库不可用时保留上次的统计值
+            log.warn("Failed to count {} versions: {}", type, e.getMessage());
+            return;
+        }
+        versionCounts.get(type).forEach((status, count) -> count.set(statusCounts.stream()
+            .filter(statusCount -> status.name().equals(statusCount.getStatus()))
+            .mapToLong(StatusCount::getCount)
+            .sum()));
+    }
+
+    private List<ConfigSnapshotCache<?>> caches() {
+        return Arrays.asList(dataSourceConfigCache, apiRecordConfigCache, apiMetaConfigCache);
+    }
+}
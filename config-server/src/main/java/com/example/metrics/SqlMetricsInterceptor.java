@@ -0,0 +1,162 @@
+package com.example.metrics;
+
+import com.example.config.SqlMonitorProperties;
+import com.example.dto.SlowSqlEntry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis SQL 执行指标
+ * 按 Mapper 方法记录耗时直方图与返回行数，超过阈值的语句连同绑定参数记入慢 SQL，
+ * 并累计请求内的执行次数用于发现逐行执行的循环
+ *
+ * BATCH 执行器下 update 只统计加入批次的耗时，不含最终的批量提交
+ */
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    public static final String STATEMENT_TIMER = "mybatis.statement";
+    public static final String STATEMENT_ROWS = "mybatis.statement.rows";
+
+    private static final String NONE = "none";
+
+    /**
+     * 延迟注入：注册表绑定指标时会创建 Mapper，Mapper 又依赖本拦截器所在的 SqlSessionFactory
+     */
+    @Lazy
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Autowired
+    private SqlMonitorProperties sqlMonitorProperties;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        Object result = null;
+        String exception = NONE;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            exception = ExceptionUtil.unwrapThrowable(e).getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long rows = rowsOf(result);
+            Timer.builder(STATEMENT_TIMER)
+                .description("Mapper 语句耗时")
+                .tag("statement", statement.getId())
+                .tag("command", statement.getSqlCommandType().name())
+                .tag("exception", exception)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+            if (rows >= 0) {
+                DistributionSummary.builder(STATEMENT_ROWS)
+                    .description("Mapper 语句返回或影响的行数")
+                    .tag("statement", statement.getId())
+                    .register(meterRegistry)
+                    .record(rows);
+            }
+            sqlMonitor.onStatement(statement.getId(), elapsed);
+            if (sqlMonitor.isSlow(elapsed)) {
+                sqlMonitor.recordSlow(slowEntry(invocation, statement, elapsed, rows));
+            }
+        }
+    }
+
+    /**
+     * 查询返回列表的大小、更新返回影响行数；游标和批量更新的行数未知
+     */
+    private long rowsOf(Object result) {
+        if (result instanceof List) {
+            return ((List<?>) result).size();
+        }
+        if (result instanceof Integer && (Integer) result >= 0) {
+            return (Integer) result;
+        }
+        return -1;
+    }
+
+    private SlowSqlEntry slowEntry(Invocation invocation, MappedStatement statement, long elapsed, long rows) {
+        Object[] args = invocation.getArgs();
+        Object parameter = args[1];
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(parameter);
+
+        SlowSqlEntry entry = new SlowSqlEntry();
+        entry.setStatementId(statement.getId());
+        entry.setSql(boundSql.getSql().replaceAll("\\s+", " ").trim());
+        entry.setParameters(parametersOf(statement.getConfiguration(), boundSql, parameter));
+        entry.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        entry.setRows(rows);
+        return entry;
+    }
+
+    /**
+     * 按 DefaultParameterHandler 的取值规则解析占位符对应的参数
+     */
+    private List<String> parametersOf(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<String> values = new ArrayList<>();
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        int maxParameters = sqlMonitorProperties.getMaxParameters();
+        for (ParameterMapping mapping : mappings) {
+            if (maxParameters > 0 && values.size() >= maxParameters) {
+                values.add("... " + (mappings.size() - maxParameters) + " more");
+                break;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                value = configuration.newMetaObject(parameter).getValue(property);
+            }
+            values.add(truncate(String.valueOf(value)));
+        }
+        return values;
+    }
+
+    private String truncate(String value) {
+        int maxLength = sqlMonitorProperties.getMaxParameterLength();
+        return maxLength > 0 && value.length() > maxLength ? value.substring(0, maxLength) + "..." : value;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.metrics;
+
+import com.example.config.SqlMonitorProperties;
+import com.example.dto.RepeatedSqlEntry;
+import com.example.dto.SlowSqlEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL 执行监控
+ * 慢 SQL 与请求内重复执行的语句分别保存在有界环形缓冲区中，写满后淘汰最旧的记录
+ */
+@Slf4j
+@Component
+public class SqlMonitor {
+
+    @Autowired
+    private SqlMonitorProperties sqlMonitorProperties;
+
+    @Lazy
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Deque<SlowSqlEntry> slowStatements = new ArrayDeque<>();
+
+    private final Deque<RepeatedSqlEntry> repeatedStatements = new ArrayDeque<>();
+
+    /**
+     * 当前线程所处请求内各语句的执行次数与累计耗时
+     */
+    private final ThreadLocal<RequestScope> currentRequest = new ThreadLocal<>();
+
+    private static class RequestScope {
+        private final String request;
+        private final Map<String, long[]> statements = new LinkedHashMap<>();
+
+        private RequestScope(String request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * 开始跟踪当前线程的请求
+     */
+    public void beginRequest(String request) {
+        currentRequest.set(new RequestScope(request));
+    }
+
+    /**
+     * 结束跟踪当前线程的请求，执行次数达到阈值的语句记为重复执行
+     */
+    public void endRequest() {
+        RequestScope scope = currentRequest.get();
+        currentRequest.remove();
+        if (scope == null) {
+            return;
+        }
+        int threshold = sqlMonitorProperties.getRepeatThreshold();
+        scope.statements.forEach((statementId, stats) -> {
+            if (threshold <= 0 || stats[0] < threshold) {
+                return;
+            }
+            RepeatedSqlEntry entry = new RepeatedSqlEntry();
+            entry.setRequest(scope.request);
+            entry.setStatementId(statementId);
+            entry.setExecutions((int) stats[0]);
+            entry.setTotalMillis(stats[1] / 1_000_000);
+            entry.setTimestamp(System.currentTimeMillis());
+            append(repeatedStatements, entry, sqlMonitorProperties.getRepeatCapacity());
+            Counter.builder("mybatis.statement.repeated")
+                .description("同一请求内重复执行语句的请求数")
+                .tag("statement", statementId)
+                .register(meterRegistry)
+                .increment();
+            log.warn("Statement {} executed {} times in request {}, {} ms in total",
+                statementId, stats[0], scope.request, entry.getTotalMillis());
+        });
+    }
+
+    /**
+     * 累计当前请求内的语句执行
+     */
+    public void onStatement(String statementId, long elapsedNanos) {
+        RequestScope scope = currentRequest.get();
+        if (scope == null) {
+            return;
+        }
+        long[] stats = scope.statements.computeIfAbsent(statementId, id -> new long[2]);
+        stats[0]++;
+        stats[1] += elapsedNanos;
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= sqlMonitorProperties.getSlowThresholdMillis() * 1_000_000;
+    }
+
+    /**
+     * 记录慢 SQL
+     */
+    public void recordSlow(SlowSqlEntry entry) {
+        RequestScope scope = currentRequest.get();
+        entry.setRequest(scope == null ? null : scope.request);
+        entry.setThread(Thread.currentThread().getName());
+        entry.setTimestamp(System.currentTimeMillis());
+        append(slowStatements, entry, sqlMonitorProperties.getSlowCapacity());
+        log.warn("Slow statement {} took {} ms, rows: {}, parameters: {}",
+            entry.getStatementId(), entry.getElapsedMillis(), entry.getRows(), entry.getParameters());
+    }
+
+    /**
+     * 最近的慢 SQL，最新的在前
+     */
+    public List<SlowSqlEntry> getSlowStatements() {
+        return snapshot(slowStatements);
+    }
+
+    /**
+     * 最近的重复执行记录，最新的在前
+     */
+    public List<RepeatedSqlEntry> getRepeatedStatements() {
+        return snapshot(repeatedStatements);
+    }
+
+    public void clear() {
+        synchronized (slowStatements) {
+            slowStatements.clear();
+        }
+        synchronized (repeatedStatements) {
+            repeatedStatements.clear();
+        }
+    }
+
+    private static <E> void append(Deque<E> buffer, E entry, int capacity) {
+        synchronized (buffer) {
+            buffer.addFirst(entry);
+            while (buffer.size() > Math.max(1, capacity)) {
+                buffer.removeLast();
+            }
+        }
+    }
+
+    private static <E> List<E> snapshot(Deque<E> buffer) {
+        synchronized (buffer) {
+            return new ArrayList<>(buffer);
+        }
+    }
+}
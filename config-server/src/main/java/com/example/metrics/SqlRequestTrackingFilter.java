@@ -0,0 +1,32 @@
+package com.example.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 按请求划定 SQL 执行统计的范围，请求结束时检查重复执行的语句
+ */
+@Component
+public class SqlRequestTrackingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SqlMonitor sqlMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        sqlMonitor.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlMonitor.endRequest();
+        }
+    }
+}
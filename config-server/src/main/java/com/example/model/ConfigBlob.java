@@ -0,0 +1,17 @@
+package com.example.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 配置大字段
+ * 以内容的 SHA-256 摘要为主键，相同内容只存一份，写入后不再修改
+ */
+@Data
+public class ConfigBlob {
+    private String hash;
+    private String content;
+    private Integer contentLength;
+    private LocalDateTime gmtCreate;
+    private LocalDateTime gmtModified;
+}
@@ -0,0 +1,20 @@
+package com.example.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 配置变更日志
+ * 每次发布、废弃、回滚以及创建、更新草稿写入一条，revision 为全局单调递增的修订号
+ */
+@Data
+public class ConfigChangeLog {
+    private Long id;
+    private Long revision;
+    private String configType;
+    private String identifier;
+    private String versionId;
+    private String action;  // PUBLISHED|DEPRECATED|CREATED|UPDATED
+    private String nodeId;
+    private LocalDateTime gmtCreate;
+}
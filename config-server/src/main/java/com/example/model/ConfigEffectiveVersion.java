@@ -0,0 +1,17 @@
+package com.example.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 生效版本
+ * 物化 标识+地域 下胜出的版本：优先地域灰度版本，其次全量版本，同类取最近修改
+ */
+@Data
+public class ConfigEffectiveVersion {
+    private String configType;
+    private String identifier;
+    private String region;
+    private String versionId;
+    private LocalDateTime gmtModified;
+}
@@ -0,0 +1,21 @@
+package com.example.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 数据迁移检查点
+ * 迁移按主键区间 (startId, endId] 分区，每个分区记录已迁移到的主键
+ */
+@Data
+public class DataMigrationCheckpoint {
+    private String migration;
+    private Integer partitionNo;
+    private Long startId;
+    private Long endId;
+    private Long lastId;
+    private Long migratedCount;
+    private String status;
+    private LocalDateTime gmtCreate;
+    private LocalDateTime gmtModified;
+}
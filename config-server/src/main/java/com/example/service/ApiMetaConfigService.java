@@ -1,16 +1,20 @@
 package com.example.service;
 
+import com.example.cache.ApiMetaConfigCache;
+import com.example.config.BlobProperties;
 import com.example.model.ApiMetaConfig;
 import com.example.mapper.ApiMetaConfigMapper;
 import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
 import com.example.util.RegionProvider;
 import com.example.util.VersionGenerator;
-import com.example.util.ConfigIdentifierUtils;
-import com.example.config.VersionProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * API Meta配置服务
@@ -21,6 +25,12 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
     @Autowired
     private ApiMetaConfigMapper apiMetaConfigMapper;
     
+    @Autowired
+    private ConfigBlobService configBlobService;
+
+    @Autowired
+    private BlobProperties blobProperties;
+    
     @Autowired
     private VersionGenerator versionGenerator;
     
@@ -28,7 +38,13 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
     private RegionProvider regionProvider;
     
     @Autowired
-    private VersionProperties versionProperties;
+    private ApiMetaConfigCache apiMetaConfigCache;
+
+    @Autowired
+    private ConfigLoadCoalescer configLoadCoalescer;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
 
     @Override
     @Transactional
@@ -39,9 +55,9 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
         
         config.setVersionId(versionGenerator.generateApiMetaVersion());
         config.setStatus(ConfigStatus.DRAFT.name());
-        apiMetaConfigMapper.insert(config);
-        
-        cleanupOldVersions(config);
+        insert(config);
+        configChangeService.record(ConfigType.API_META.name(), config.getIdentifier(), config.getVersionId(),
+            ConfigChangeService.ACTION_CREATED);
         
         return config;
     }
@@ -56,9 +72,9 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
         
         newConfig.setVersionId(versionGenerator.generateApiMetaVersion());
         newConfig.setStatus(ConfigStatus.DRAFT.name());
-        apiMetaConfigMapper.insert(newConfig);
-        
-        cleanupOldVersions(newConfig);
+        insert(newConfig);
+        configChangeService.record(ConfigType.API_META.name(), newConfig.getIdentifier(), newConfig.getVersionId(),
+            ConfigChangeService.ACTION_UPDATED);
         
         return newConfig;
     }
@@ -73,6 +89,11 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
         return apiMetaConfigMapper.findByVersionId(versionId);
     }
 
+    @Override
+    public List<ApiMetaConfig> findByVersionIds(Collection<String> versionIds) {
+        return apiMetaConfigMapper.findByVersionIds(versionIds);
+    }
+
     @Override
     @Transactional
     public void updateStatus(String versionId, String status, String grayGroups) {
@@ -84,7 +105,8 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
         if (!regionProvider.isRegionSupported(region)) {
             throw new IllegalArgumentException("Unsupported region: " + region);
         }
-        return apiMetaConfigMapper.findByRegion(region);
+        return apiMetaConfigCache.getActiveByRegion(region,
+            () -> apiMetaConfigMapper.findByRegion(region));
     }
 
     @Override
@@ -105,6 +127,26 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
         return getActiveByIdentifierAndRegion(parts[0], parts[1], parts[2], parts[3], region);
     }
 
+    /**
+     * 批量获取多个API在指定地域生效的配置，标识 -> 生效配置
+     * 缓存未就绪时以一次地域查询代替逐个查询
+     */
+    public Map<String, ApiMetaConfig> getActiveByIdentifiersAndRegion(Collection<String> identifiers, String region) {
+        if (!regionProvider.isRegionSupported(region)) {
+            throw new IllegalArgumentException("Unsupported region: " + region);
+        }
+        if (identifiers == null || identifiers.isEmpty()) {
+            throw new IllegalArgumentException("Identifiers must not be empty");
+        }
+        for (String identifier : identifiers) {
+            if (identifier == null || identifier.split(":").length != 4) {
+                throw new IllegalArgumentException("Invalid API identifier format: " + identifier);
+            }
+        }
+        return apiMetaConfigCache.getEffectiveAll(identifiers, region,
+            () -> apiMetaConfigMapper.findByRegion(region));
+    }
+
     /**
      * 获取指定API的所有已发布配置
      */
@@ -116,33 +158,33 @@ public class ApiMetaConfigService implements BaseConfigService<ApiMetaConfig> {
 
     /**
      * 获取指定API在指定地域生效的配置
+     * 缓存未就绪时，同一标识与地域的并发回源合并为一次查询
      */
     public ApiMetaConfig getActiveByIdentifierAndRegion(String gatewayType, String gatewayCode, 
                                                       String apiVersion, String apiName, String region) {
         if (!regionProvider.isRegionSupported(region)) {
             throw new IllegalArgumentException("Unsupported region: " + region);
         }
-        return apiMetaConfigMapper.findActiveConfigByIdentifierAndRegion(
-            gatewayType, gatewayCode, apiVersion, apiName, region);
+        String identifier = String.join(":", gatewayType, gatewayCode, apiVersion, apiName);
+        return apiMetaConfigCache.getEffective(identifier, region,
+            () -> configLoadCoalescer.load(ConfigType.API_META, identifier, region,
+                () -> apiMetaConfigMapper.findEffectiveByIdentifierAndRegion(identifier, region)));
     }
 
     private boolean hasSameApiMetaConfig(ApiMetaConfig config) {
-        List<ApiMetaConfig> existingConfigs = getAllPublished();
-        return ConfigIdentifierUtils.hasSameIdentifier(existingConfigs, config);
+        return apiMetaConfigMapper.existsPublishedByIdentifier(
+            config.getGatewayType(), config.getGatewayCode(), config.getApiVersion(), config.getApiName());
     }
 
-    private void cleanupOldVersions(ApiMetaConfig config) {
-        List<ApiMetaConfig> allVersions = apiMetaConfigMapper.findAllVersionsByIdentifier(
-            config.getGatewayType(),
-            config.getGatewayCode(),
-            config.getApiVersion(),
-            config.getApiName()
-        );
-        
-        if (allVersions.size() > versionProperties.getMaxApiMetaVersions()) {
-            allVersions.stream()
-                .skip(versionProperties.getMaxApiMetaVersions())
-                .forEach(c -> apiMetaConfigMapper.deleteByVersionId(c.getVersionId()));
+    /**
+     * 大字段先按内容去重写入 config_blob，版本行只保存摘要；V10 之前同时写入内联列
+     */
+    private void insert(ApiMetaConfig config) {
+        Map<String, String> contents = new LinkedHashMap<>();
+        contents.put("resourceSpec", config.getResourceSpec());
+        apiMetaConfigMapper.insert(config, configBlobService.store(contents));
+        if (blobProperties.isInlineColumnsEnabled()) {
+            apiMetaConfigMapper.updateInlineColumns(config);
         }
     }
-} 
\ No newline at end of file
+}
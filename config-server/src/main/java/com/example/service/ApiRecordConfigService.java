@@ -1,16 +1,20 @@
 package com.example.service;
 
+import com.example.cache.ApiRecordConfigCache;
+import com.example.config.BlobProperties;
 import com.example.model.ApiRecordConfig;
 import com.example.mapper.ApiRecordConfigMapper;
 import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
 import com.example.util.RegionProvider;
 import com.example.util.VersionGenerator;
-import com.example.util.ConfigIdentifierUtils;
-import com.example.config.VersionProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * API记录配置服务
@@ -21,6 +25,12 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
     @Autowired
     private ApiRecordConfigMapper apiRecordConfigMapper;
     
+    @Autowired
+    private ConfigBlobService configBlobService;
+
+    @Autowired
+    private BlobProperties blobProperties;
+    
     @Autowired
     private VersionGenerator versionGenerator;
     
@@ -28,7 +38,13 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
     private RegionProvider regionProvider;
     
     @Autowired
-    private VersionProperties versionProperties;
+    private ApiRecordConfigCache apiRecordConfigCache;
+
+    @Autowired
+    private ConfigLoadCoalescer configLoadCoalescer;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
 
     @Override
     @Transactional
@@ -39,9 +55,9 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
         
         config.setVersionId(versionGenerator.generateApiRecordVersion());
         config.setStatus(ConfigStatus.DRAFT.name());
-        apiRecordConfigMapper.insert(config);
-        
-        cleanupOldVersions(config);
+        insert(config);
+        configChangeService.record(ConfigType.API_RECORD.name(), config.getIdentifier(), config.getVersionId(),
+            ConfigChangeService.ACTION_CREATED);
         
         return config;
     }
@@ -56,9 +72,9 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
         
         newConfig.setVersionId(versionGenerator.generateApiRecordVersion());
         newConfig.setStatus(ConfigStatus.DRAFT.name());
-        apiRecordConfigMapper.insert(newConfig);
-        
-        cleanupOldVersions(newConfig);
+        insert(newConfig);
+        configChangeService.record(ConfigType.API_RECORD.name(), newConfig.getIdentifier(), newConfig.getVersionId(),
+            ConfigChangeService.ACTION_UPDATED);
         
         return newConfig;
     }
@@ -73,6 +89,11 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
         return apiRecordConfigMapper.findByVersionId(versionId);
     }
 
+    @Override
+    public List<ApiRecordConfig> findByVersionIds(Collection<String> versionIds) {
+        return apiRecordConfigMapper.findByVersionIds(versionIds);
+    }
+
     @Override
     @Transactional
     public void updateStatus(String versionId, String status, String grayGroups) {
@@ -84,7 +105,8 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
         if (!regionProvider.isRegionSupported(region)) {
             throw new IllegalArgumentException("Unsupported region: " + region);
         }
-        return apiRecordConfigMapper.findByRegion(region);
+        return apiRecordConfigCache.getActiveByRegion(region,
+            () -> apiRecordConfigMapper.findByRegion(region));
     }
 
     @Override
@@ -105,6 +127,26 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
         return getActiveByIdentifierAndRegion(parts[0], parts[1], parts[2], parts[3], region);
     }
 
+    /**
+     * 批量获取多个API在指定地域生效的配置，标识 -> 生效配置
+     * 缓存未就绪时以一次地域查询代替逐个查询
+     */
+    public Map<String, ApiRecordConfig> getActiveByIdentifiersAndRegion(Collection<String> identifiers, String region) {
+        if (!regionProvider.isRegionSupported(region)) {
+            throw new IllegalArgumentException("Unsupported region: " + region);
+        }
+        if (identifiers == null || identifiers.isEmpty()) {
+            throw new IllegalArgumentException("Identifiers must not be empty");
+        }
+        for (String identifier : identifiers) {
+            if (identifier == null || identifier.split(":").length != 4) {
+                throw new IllegalArgumentException("Invalid API identifier format: " + identifier);
+            }
+        }
+        return apiRecordConfigCache.getEffectiveAll(identifiers, region,
+            () -> apiRecordConfigMapper.findByRegion(region));
+    }
+
     /**
      * 获取指定API的所有已发布配置
      */
@@ -116,33 +158,39 @@ public class ApiRecordConfigService implements BaseConfigService<ApiRecordConfig
 
     /**
      * 获取指定API在指定地域生效的配置
+     * 缓存未就绪时，同一标识与地域的并发回源合并为一次查询
      */
     public ApiRecordConfig getActiveByIdentifierAndRegion(String gatewayType, String gatewayCode, 
                                                         String apiVersion, String apiName, String region) {
         if (!regionProvider.isRegionSupported(region)) {
             throw new IllegalArgumentException("Unsupported region: " + region);
         }
-        return apiRecordConfigMapper.findActiveConfigByIdentifierAndRegion(
-            gatewayType, gatewayCode, apiVersion, apiName, region);
+        String identifier = String.join(":", gatewayType, gatewayCode, apiVersion, apiName);
+        return apiRecordConfigCache.getEffective(identifier, region,
+            () -> configLoadCoalescer.load(ConfigType.API_RECORD, identifier, region,
+                () -> apiRecordConfigMapper.findEffectiveByIdentifierAndRegion(identifier, region)));
     }
 
     private boolean hasSameApiConfig(ApiRecordConfig config) {
-        List<ApiRecordConfig> existingConfigs = getAllPublished();
-        return ConfigIdentifierUtils.hasSameIdentifier(existingConfigs, config);
+        return apiRecordConfigMapper.existsPublishedByIdentifier(
+            config.getGatewayType(), config.getGatewayCode(), config.getApiVersion(), config.getApiName());
     }
 
-    private void cleanupOldVersions(ApiRecordConfig config) {
-        List<ApiRecordConfig> allVersions = apiRecordConfigMapper.findAllVersionsByIdentifier(
-            config.getGatewayType(),
-            config.getGatewayCode(),
-            config.getApiVersion(),
-            config.getApiName()
-        );
-        
-        if (allVersions.size() > versionProperties.getMaxApirecordVersions()) {
-            allVersions.stream()
-                .skip(versionProperties.getMaxApirecordVersions())
-                .forEach(c -> apiRecordConfigMapper.deleteByVersionId(c.getVersionId()));
+    /**
+     * 大字段先按内容去重写入 config_blob，版本行只保存摘要；V10 之前同时写入内联列
+     */
+    private void insert(ApiRecordConfig config) {
+        Map<String, String> contents = new LinkedHashMap<>();
+        contents.put("basicConfig", config.getBasicConfig());
+        contents.put("eventConfig", config.getEventConfig());
+        contents.put("userIdentityConfig", config.getUserIdentityConfig());
+        contents.put("requestConfig", config.getRequestConfig());
+        contents.put("responseConfig", config.getResponseConfig());
+        contents.put("filterConfig", config.getFilterConfig());
+        contents.put("referenceResourceConfig", config.getReferenceResourceConfig());
+        apiRecordConfigMapper.insert(config, configBlobService.store(contents));
+        if (blobProperties.isInlineColumnsEnabled()) {
+            apiRecordConfigMapper.updateInlineColumns(config);
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.example.service;
 
 import com.example.model.ConfigIdentifier;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -51,4 +52,9 @@ public interface BaseConfigService<T extends ConfigIdentifier> {
      * 根据版本ID查找配置
      */
     T findByVersionId(String versionId);
+
+    /**
+     * 根据版本ID批量查找配置
+     */
+    List<T> findByVersionIds(Collection<String> versionIds);
 } 
\ No newline at end of file
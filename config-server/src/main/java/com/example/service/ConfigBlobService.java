@@ -0,0 +1,92 @@
+package com.example.service;
+
+import com.example.mapper.ConfigBlobMapper;
+import com.example.model.ConfigBlob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置大字段存储
+ * JSON 大字段按内容的 SHA-256 摘要去重存入 config_blob，版本行只保存摘要；
+ * 新版本未改动的字段与旧版本共享同一份内容，读取时由查询按摘要关联还原
+ */
+@Service
+public class ConfigBlobService {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Autowired
+    private ConfigBlobMapper configBlobMapper;
+
+    /**
+     * 写入各字段内容，返回 字段名 -> 摘要；内容为 null 的字段不写入，也不出现在结果中
+     * 须在写入版本行的同一事务内调用
+     */
+    public Map<String, String> store(Map<String, String> contents) {
+        Map<String, String> hashes = new LinkedHashMap<>();
+        Map<String, ConfigBlob> blobs = new LinkedHashMap<>();
+        contents.forEach((field, content) -> {
+            if (content == null) {
+                return;
+            }
+            String hash = hash(content);
+            hashes.put(field, hash);
+            blobs.computeIfAbsent(hash, h -> {
+                ConfigBlob blob = new ConfigBlob();
+                blob.setHash(h);
+                blob.setContent(content);
+                blob.setContentLength(content.getBytes(StandardCharsets.UTF_8).length);
+                return blob;
+            });
+        });
+        if (!blobs.isEmpty()) {
+            configBlobMapper.insertOrTouchBatch(new ArrayList<>(blobs.values()));
+        }
+        return hashes;
+    }
+
+    /**
+     * 存储统计：内联存储时大字段的总字节数与去重后实际存储的字节数（内容加版本行中的摘要）
+     */
+    public Map<String, Object> getStats() {
+        long references = configBlobMapper.countReferences();
+        long inlineBytes = configBlobMapper.sumReferencedLength();
+        long blobs = configBlobMapper.countAll();
+        long blobBytes = configBlobMapper.sumContentLength();
+        long storedBytes = blobBytes + (blobs + references) * 64L;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("references", references);
+        stats.put("blobs", blobs);
+        stats.put("inlineBytes", inlineBytes);
+        stats.put("blobBytes", blobBytes);
+        stats.put("storedBytes", storedBytes);
+        stats.put("savedRatio", inlineBytes == 0 ? 0.0 : 1.0 - (double) storedBytes / inlineBytes);
+        return stats;
+    }
+
+    /**
+     * 内容的 SHA-256 摘要，按 UTF-8 编码计算，小写十六进制，与 MySQL SHA2(content, 256) 一致
+     */
+    public static String hash(String content) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[2 * i] = HEX[(digest[i] >> 4) & 0xf];
+            hex[2 * i + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.service;
+
+import com.example.config.ConfigWatchProperties;
+import com.example.config.InvalidationProperties;
+import com.example.dto.ConfigChangeResponse;
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.mapper.ConfigChangeLogMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import com.example.mapper.PublishHistoryMapper;
+import com.example.model.BaseVersionedConfig;
+import com.example.model.ConfigChangeLog;
+import com.example.model.PublishHistory;
+import com.example.util.ConfigIdentifierUtils;
+import com.example.util.GrayGroupUtils;
+import com.example.util.RegionProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 配置变更服务
+ * 维护全局修订号与变更日志，按修订号增量返回指定地域的变更
+ */
+@Service
+public class ConfigChangeService {
+
+    /**
+     * 创建、更新草稿的变更动作，只推进修订号，不影响已发布配置
+     */
+    public static final String ACTION_CREATED = "CREATED";
+    public static final String ACTION_UPDATED = "UPDATED";
+
+    /**
+     * 当前事务已分配的修订号
+     */
+    private static final String REVISION_RESOURCE_KEY = ConfigChangeService.class.getName() + ".revision";
+
+    /**
+     * 本节点已分配修订号、尚未结束的事务的修订号，事务结束（提交后回调执行完）时移除
+     */
+    private final Set<Long> inFlightRevisions = new ConcurrentSkipListSet<>();
+
+    @Autowired
+    private ConfigChangeLogMapper configChangeLogMapper;
+
+    @Autowired
+    private RegionProvider regionProvider;
+
+    @Autowired
+    private InvalidationProperties invalidationProperties;
+
+    @Autowired
+    private ConfigWatchProperties watchProperties;
+
+    @Autowired
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Autowired
+    private ApiRecordConfigMapper apiRecordConfigMapper;
+
+    @Autowired
+    private ApiMetaConfigMapper apiMetaConfigMapper;
+
+    @Autowired
+    private PublishHistoryMapper publishHistoryMapper;
+
+    /**
+     * 记录一条变更，同一事务内的变更共享同一个修订号，须在事务内调用
+     */
+    public long record(String configType, String identifier, String versionId, String action) {
+        ConfigChangeLog changeLog = new ConfigChangeLog();
+        changeLog.setRevision(currentTransactionRevision());
+        changeLog.setConfigType(configType);
+        changeLog.setIdentifier(identifier);
+        changeLog.setVersionId(versionId);
+        changeLog.setAction(action);
+        changeLog.setNodeId(invalidationProperties.getNodeId());
+        configChangeLogMapper.insert(changeLog);
+        return changeLog.getRevision();
+    }
+
+    /**
+     * 批量记录变更，与同一事务内的其他变更共享修订号，须在事务内调用
+     */
+    public long recordAll(List<ConfigChangeLog> changeLogs) {
+        long revision = currentTransactionRevision();
+        if (changeLogs.isEmpty()) {
+            return revision;
+        }
+        changeLogs.forEach(changeLog -> {
+            changeLog.setRevision(revision);
+            changeLog.setNodeId(invalidationProperties.getNodeId());
+        });
+        configChangeLogMapper.insertBatch(changeLogs);
+        return revision;
+    }
+
+    /**
+     * 当前事务已分配的修订号，尚未记录变更时返回 null
+     */
+    public Long getTransactionRevision() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return (Long) TransactionSynchronizationManager.getResource(REVISION_RESOURCE_KEY);
+    }
+
+    /**
+     * 在当前事务内锁定全局修订号，直到提交前其他节点无法记录变更，须在事务内调用
+     */
+    public void lockRevision() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Locking the config revision requires an active transaction");
+        }
+        if (configChangeLogMapper.lockRevision() == null) {
+            throw new IllegalStateException("config_revision is not initialized");
+        }
+    }
+
+    /**
+     * 获取当前全局修订号
+     */
+    public long getCurrentRevision() {
+        Long revision = configChangeLogMapper.findCurrentRevision();
+        return revision == null ? 0L : revision;
+    }
+
+    /**
+     * 本节点已处理完的修订号：当前修订号，且本节点修订号不超过它的事务都已执行完提交后回调（快照缓存刷新在其中）
+     * 修订号行锁持有至提交，读到的修订号及之前的事务都已提交，修订号在提交前登记，不会漏掉已提交未结束的事务
+     */
+    public long getSettledRevision() {
+        long revision = getCurrentRevision();
+        Iterator<Long> inFlight = inFlightRevisions.iterator();
+        if (inFlight.hasNext()) {
+            revision = Math.min(revision, inFlight.next() - 1);
+        }
+        return revision;
+    }
+
+    /**
+     * 获取指定修订号之后，在指定地域发生的变更
+     * 客户端已是最新时只需一次修订号范围查询；有变更时按类型批量直接读库，
+     * 避免在快照缓存提交后刷新完成前返回旧内容
+     * 客户端落后超过 config.watch.max-change-rows 行或所需日志已被清理时返回 resync
+     */
+    public ConfigChangeResponse getChanges(long sinceRevision, String region) {
+        if (!regionProvider.isRegionSupported(region)) {
+            throw new IllegalArgumentException("Unsupported region: " + region);
+        }
+
+        ConfigChangeResponse response = new ConfigChangeResponse();
+        response.setRevision(sinceRevision);
+
+        int maxRows = Math.max(1, watchProperties.getMaxChangeRows());
+        List<ConfigChangeLog> changeLogs = configChangeLogMapper.findSinceRevision(sinceRevision, maxRows + 1);
+        if (changeLogs.size() > maxRows || isPruned(sinceRevision, changeLogs)) {
+            response.setResync(true);
+            return response;
+        }
+        if (changeLogs.isEmpty()) {
+            return response;
+        }
+
+        // 按配置类型归并受影响的标识和版本
+        Map<ConfigType, Set<String>> identifiers = new LinkedHashMap<>();
+        Set<String> touchedVersionIds = new LinkedHashSet<>();
+        for (ConfigChangeLog changeLog : changeLogs) {
+            response.setRevision(Math.max(response.getRevision(), changeLog.getRevision()));
+            if (isDraftChange(changeLog.getAction())) {
+                continue;
+            }
+            identifiers.computeIfAbsent(ConfigType.valueOf(changeLog.getConfigType()), t -> new LinkedHashSet<>())
+                .add(changeLog.getIdentifier());
+            touchedVersionIds.add(changeLog.getVersionId());
+        }
+
+        Set<String> activeVersionIds = new HashSet<>();
+        identifiers.forEach((type, ids) -> {
+            switch (type) {
+                case DATA_SOURCE:
+                    response.getDataSourceConfigs().addAll(activeIn(
+                        dataSourceConfigMapper.findPublishedBySources(ids), region, activeVersionIds));
+                    break;
+                case API_RECORD:
+                    response.getApiRecordConfigs().addAll(activeIn(
+                        apiRecordConfigMapper.findPublishedByIdentifiers(ConfigIdentifierUtils.toApiKeys(ids)),
+                        region, activeVersionIds));
+                    break;
+                case API_META:
+                    response.getApiMetaConfigs().addAll(activeIn(
+                        apiMetaConfigMapper.findPublishedByIdentifiers(ConfigIdentifierUtils.toApiKeys(ids)),
+                        region, activeVersionIds));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported config type: " + type);
+            }
+        });
+
+        touchedVersionIds.removeAll(activeVersionIds);
+        response.getRemovedVersionIds().addAll(publishedIn(touchedVersionIds, region));
+        return response;
+    }
+
+    /**
+     * 指定修订号之后变更过已发布配置的标识，按类型归并，草稿变更不计入
+     * 变更超过 config.watch.max-change-rows 行或所需日志已被清理时返回 null，调用方须全量加载
+     */
+    public Map<ConfigType, Set<String>> findChangedIdentifiers(long sinceRevision) {
+        int maxRows = Math.max(1, watchProperties.getMaxChangeRows());
+        List<ConfigChangeLog> changeLogs = configChangeLogMapper.findSinceRevision(sinceRevision, maxRows + 1);
+        if (changeLogs.size() > maxRows || isPruned(sinceRevision, changeLogs)) {
+            return null;
+        }
+        Map<ConfigType, Set<String>> identifiers = new EnumMap<>(ConfigType.class);
+        for (ConfigChangeLog changeLog : changeLogs) {
+            if (!isDraftChange(changeLog.getAction())) {
+                identifiers.computeIfAbsent(ConfigType.valueOf(changeLog.getConfigType()), t -> new LinkedHashSet<>())
+                    .add(changeLog.getIdentifier());
+            }
+        }
+        return identifiers;
+    }
+
+    /**
+     * 创建、更新草稿的变更不影响已发布配置
+     */
+    public static boolean isDraftChange(String action) {
+        return ACTION_CREATED.equals(action) || ACTION_UPDATED.equals(action);
+    }
+
+    /**
+     * sinceRevision 之后最早的变更日志已被清理，剩余日志不足以增量同步
+     * 清理始终保留最近的修订号，日志为空时说明其后没有变更
+     */
+    private boolean isPruned(long sinceRevision, List<ConfigChangeLog> changeLogs) {
+        if (changeLogs.isEmpty() || changeLogs.get(0).getRevision() == sinceRevision + 1) {
+            return false;
+        }
+        Long minRevision = configChangeLogMapper.findMinRevision();
+        return minRevision != null && minRevision > sinceRevision + 1;
+    }
+
+    /**
+     * 从已不在该地域生效的版本中选出曾在该地域发布过的，未在该地域生效过的版本客户端本就没有
+     */
+    private List<String> publishedIn(Collection<String> versionIds, String region) {
+        if (versionIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<String> published = new LinkedHashSet<>();
+        for (PublishHistory history : publishHistoryMapper.findPublishedByVersionIds(versionIds)) {
+            if (GrayGroupUtils.isEffectiveIn(history.getGrayGroups(), region)) {
+                published.add(history.getVersionId());
+            }
+        }
+        List<String> removed = new ArrayList<>(versionIds);
+        removed.retainAll(published);
+        return removed;
+    }
+
+    private <T extends BaseVersionedConfig> List<T> activeIn(List<T> active, String region,
+                                                             Set<String> activeVersionIds) {
+        active.removeIf(config -> !GrayGroupUtils.isEffectiveIn(config.getEffectiveGrayGroups(), region));
+        active.forEach(config -> activeVersionIds.add(config.getVersionId()));
+        return active;
+    }
+
+    /**
+     * 修订号在写入变更日志的事务内递增，行锁持有至提交，变更日志主键顺序与修订号、提交顺序一致；
+     * 无事务时递增与读取分属两次自动提交，并发调用可能拿到同一修订号，因此必须在事务内调用
+     */
+    private long currentTransactionRevision() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Recording config changes requires an active transaction");
+        }
+        Long revision = (Long) TransactionSynchronizationManager.getResource(REVISION_RESOURCE_KEY);
+        if (revision == null) {
+            revision = nextRevision();
+            long allocated = revision;
+            inFlightRevisions.add(allocated);
+            TransactionSynchronizationManager.bindResource(REVISION_RESOURCE_KEY, revision);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // 所有同步的 afterCommit 都先于 afterCompletion 执行
+                    TransactionSynchronizationManager.unbindResourceIfPossible(REVISION_RESOURCE_KEY);
+                    inFlightRevisions.remove(allocated);
+                }
+            });
+        }
+        return revision;
+    }
+
+    private long nextRevision() {
+        if (configChangeLogMapper.incrementRevision() == 0) {
+            throw new IllegalStateException("config_revision is not initialized");
+        }
+        return getCurrentRevision();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.service;
+
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * 已发布配置流式导出
+ * 通过数据库游标逐行读取并增量写出 JSON 数组，内存占用与结果集大小无关
+ */
+@Service
+public class ConfigExportService {
+
+    @Autowired
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Autowired
+    private ApiRecordConfigMapper apiRecordConfigMapper;
+
+    @Autowired
+    private ApiMetaConfigMapper apiMetaConfigMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public StreamingResponseBody streamAllPublishedDataSources() {
+        return stream(dataSourceConfigMapper::streamAllPublished);
+    }
+
+    public StreamingResponseBody streamAllPublishedApiRecords() {
+        return stream(apiRecordConfigMapper::streamAllPublished);
+    }
+
+    public StreamingResponseBody streamAllPublishedApiMetas() {
+        return stream(apiMetaConfigMapper::streamAllPublished);
+    }
+
+    /**
+     * 游标需要在只读事务内保持打开，直到最后一行写出
+     */
+    private <T> StreamingResponseBody stream(Supplier<Cursor<T>> cursorSupplier) {
+        // 逐行写出时不强制 flush，由生成器缓冲区满时写到响应流
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            try (Cursor<T> cursor = cursorSupplier.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (T config : cursor) {
+                    writer.writeValue(generator, config);
+                }
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
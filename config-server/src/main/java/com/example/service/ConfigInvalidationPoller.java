@@ -0,0 +1,267 @@
+package com.example.service;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ApiRecordConfigCache;
+import com.example.cache.ConfigSnapshotCache;
+import com.example.cache.DataSourceConfigCache;
+import com.example.config.InvalidationProperties;
+import com.example.enums.ConfigType;
+import com.example.mapper.ConfigChangeLogMapper;
+import com.example.model.ConfigChangeLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 跨节点缓存失效
+ * 各节点按主键顺序追踪 config_change_log，对其他节点写入的变更只重建受影响标识的快照缓存，
+ * 再重建变更前后涉及地域的地域快照并唤醒这些地域的长轮询监听；本节点的变更已在提交后处理，直接跳过
+ *
+ * 无变更时每次轮询只有一次主键范围查询；传播延迟为变更日志写入到本节点处理完成的时间，
+ * 两端都取数据库时钟，不受节点间时钟偏差影响
+ */
+@Slf4j
+@Service
+public class ConfigInvalidationPoller {
+
+    public static final String DELAY_TIMER = "config.invalidation.delay";
+
+    @Autowired
+    private ConfigChangeLogMapper configChangeLogMapper;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
+
+    @Autowired
+    private InvalidationProperties invalidationProperties;
+
+    @Autowired
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private ApiRecordConfigCache apiRecordConfigCache;
+
+    @Autowired
+    private ApiMetaConfigCache apiMetaConfigCache;
+
+    @Autowired
+    private ConfigWatchService configWatchService;
+
+    @Autowired
+    private RegionSnapshotService regionSnapshotService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 已处理到的变更日志主键，-1 表示尚未确定起点
+     */
+    private volatile long lastId = -1;
+
+    /**
+     * 其他节点的变更已全部应用到快照缓存的修订号，-1 表示尚未确定起点
+     */
+    private volatile long processedRevision = -1;
+
+    private final AtomicLong appliedChanges = new AtomicLong();
+    private final AtomicLong skippedChanges = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastDelayMillis = -1;
+    private volatile long lastPolledAt;
+
+    /**
+     * 启动时从当前最大主键开始追踪，此前的变更由快照缓存的全量加载覆盖
+     */
+    @PostConstruct
+    public void init() {
+        if (!invalidationProperties.isEnabled()) {
+            return;
+        }
+        try {
+            long revision = currentRevision();
+            lastId = configChangeLogMapper.findMaxId();
+            processedRevision = revision;
+            log.info("Tailing config change log after id {} as node {}", lastId, invalidationProperties.getNodeId());
+        } catch (RuntimeException e) {
+            log.warn("Database unavailable, config change log tailing starts on the first successful poll: {}",
+                e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${config.invalidation.poll-interval-millis:500}")
+    public synchronized void poll() {
+        if (!invalidationProperties.isEnabled()) {
+            return;
+        }
+        try {
+            if (lastId < 0) {
+                start();
+                return;
+            }
+            int batchSize = Math.max(1, invalidationProperties.getBatchSize());
+            // 修订号行锁持有至提交，读到的修订号及之前的变更都已提交，追到末尾后即全部处理过
+            long revision = currentRevision();
+            Set<String> grayGroups = new LinkedHashSet<>();
+            List<ConfigChangeLog> changeLogs;
+            do {
+                changeLogs = configChangeLogMapper.findAfterId(lastId, batchSize);
+                if (!changeLogs.isEmpty()) {
+                    apply(changeLogs, grayGroups);
+                    lastId = changeLogs.get(changeLogs.size() - 1).getId();
+                }
+            } while (changeLogs.size() == batchSize);
+            processedRevision = revision;
+            // 推进已处理的修订号后再重建地域快照，快照以该修订号为键
+            if (!grayGroups.isEmpty()) {
+                configWatchService.notifyAfterCommit(grayGroups);
+                regionSnapshotService.rebuildAfterCommit(grayGroups);
+            }
+            lastPolledAt = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("Failed to poll config change log after id {}: {}", lastId, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", invalidationProperties.isEnabled());
+        stats.put("nodeId", invalidationProperties.getNodeId());
+        stats.put("lastId", lastId);
+        stats.put("processedRevision", processedRevision);
+        stats.put("appliedChanges", appliedChanges.get());
+        stats.put("skippedChanges", skippedChanges.get());
+        stats.put("failures", failures.get());
+        stats.put("lastDelayMillis", lastDelayMillis);
+        stats.put("lastPolledAt", lastPolledAt);
+        return stats;
+    }
+
+    /**
+     * 已处理的其他节点的变更数
+     */
+    public long getAppliedChanges() {
+        return appliedChanges.get();
+    }
+
+    /**
+     * 其他节点的变更已全部应用到快照缓存的修订号，尚未开始追踪时返回 -1
+     */
+    public long getProcessedRevision() {
+        return processedRevision;
+    }
+
+    /**
+     * 快照缓存内容已覆盖的修订号：此后读到的缓存包含该修订号及之前的全部变更，无法确定时返回 -1
+     * 本节点的变更以提交后回调执行完的修订号为准，其他节点的变更以已处理到的修订号为准；
+     * 缓存尚未从数据库加载（包括以本地快照文件预填充）时无法确定
+     */
+    public long getCachedRevision() {
+        for (ConfigSnapshotCache<?> cache : caches()) {
+            if (!cache.isLoaded()) {
+                return -1;
+            }
+        }
+        long revision = configChangeService.getSettledRevision();
+        return invalidationProperties.isEnabled() ? Math.min(revision, processedRevision) : revision;
+    }
+
+    /**
+     * 启动时数据库不可用，恢复后才确定起点：期间可能已有缓存从数据库加载，整体重建一次
+     */
+    private void start() {
+        long revision = currentRevision();
+        lastId = configChangeLogMapper.findMaxId();
+        for (ConfigSnapshotCache<?> cache : caches()) {
+            if (cache.isLoaded()) {
+                cache.reload();
+            }
+        }
+        processedRevision = revision;
+        log.info("Tailing config change log after id {} as node {}", lastId, invalidationProperties.getNodeId());
+    }
+
+    /**
+     * 刷新其他节点变更的标识，变更前后涉及的灰度组加入 grayGroups
+     */
+    private void apply(List<ConfigChangeLog> changeLogs, Set<String> grayGroups) {
+        long startNanos = System.nanoTime();
+        Map<ConfigType, Set<String>> identifiers = new EnumMap<>(ConfigType.class);
+        List<ConfigChangeLog> remote = new ArrayList<>();
+        for (ConfigChangeLog changeLog : changeLogs) {
+            if (invalidationProperties.getNodeId().equals(changeLog.getNodeId())) {
+                skippedChanges.incrementAndGet();
+                continue;
+            }
+            remote.add(changeLog);
+            if (!ConfigChangeService.isDraftChange(changeLog.getAction())) {
+                identifiers.computeIfAbsent(ConfigType.valueOf(changeLog.getConfigType()),
+                    type -> new LinkedHashSet<>()).add(changeLog.getIdentifier());
+            }
+        }
+        if (remote.isEmpty()) {
+            return;
+        }
+        LocalDateTime databaseTime = configChangeLogMapper.findDatabaseTime();
+
+        identifiers.forEach((type, typeIdentifiers) -> {
+            ConfigSnapshotCache<?> cache = cacheOf(type);
+            grayGroups.addAll(cache.getGrayGroups(typeIdentifiers));
+            cache.refresh(typeIdentifiers);
+            grayGroups.addAll(cache.getGrayGroups(typeIdentifiers));
+        });
+
+        long applyNanos = System.nanoTime() - startNanos;
+        for (ConfigChangeLog changeLog : remote) {
+            long delayNanos = Duration.between(changeLog.getGmtCreate(), databaseTime).toNanos() + applyNanos;
+            Timer.builder(DELAY_TIMER)
+                .description("变更日志写入到其他节点处理完成的延迟")
+                .tag("type", changeLog.getConfigType())
+                .register(meterRegistry)
+                .record(Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
+            lastDelayMillis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, delayNanos));
+        }
+        appliedChanges.addAndGet(remote.size());
+        log.debug("Applied {} config changes from other nodes, {} identifiers refreshed",
+            remote.size(), identifiers.values().stream().mapToInt(Set::size).sum());
+    }
+
+    private long currentRevision() {
+        Long revision = configChangeLogMapper.findCurrentRevision();
+        return revision == null ? 0L : revision;
+    }
+
+    private ConfigSnapshotCache<?> cacheOf(ConfigType type) {
+        switch (type) {
+            case DATA_SOURCE:
+                return dataSourceConfigCache;
+            case API_RECORD:
+                return apiRecordConfigCache;
+            case API_META:
+                return apiMetaConfigCache;
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + type);
+        }
+    }
+
+    private List<ConfigSnapshotCache<?>> caches() {
+        return Arrays.asList(dataSourceConfigCache, apiRecordConfigCache, apiMetaConfigCache);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.service;
+
+import com.example.config.CacheProperties;
+import com.example.enums.ConfigType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 快照缓存未就绪时的回源查询合并
+ * 同一 类型+标识+地域 同时只有一个调用方（leader）执行查询，其余调用方等待它的结果：
+ * 查询失败时等待方抛出同一异常，超过 config.cache.coalesce-timeout-millis 抛出 IllegalStateException，
+ * 都不再各自回源；查询结束后立即移除，下一次未命中重新查询，不缓存结果
+ *
+ * 事务内的调用需要读到本事务尚未提交的写入，不参与合并
+ */
+@Component
+public class ConfigLoadCoalescer {
+
+    public static final String LOADS_COUNTER = "config.cache.loads";
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<LoadKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    private static final class LoadKey {
+        private final ConfigType type;
+        private final String identifier;
+        private final String region;
+
+        private LoadKey(ConfigType type, String identifier, String region) {
+            this.type = type;
+            this.identifier = identifier;
+            this.region = region;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LoadKey)) {
+                return false;
+            }
+            LoadKey other = (LoadKey) o;
+            return type == other.type && identifier.equals(other.identifier) && region.equals(other.region);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, identifier, region);
+        }
+
+        @Override
+        public String toString() {
+            return type + ":" + identifier + "@" + region;
+        }
+    }
+
+    /**
+     * 执行或等待指定 类型+标识+地域 的回源查询
+     */
+    public <T> T load(ConfigType type, String identifier, String region, Supplier<T> loader) {
+        if (!cacheProperties.isCoalesceEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        LoadKey key = new LoadKey(type, identifier, region);
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, created);
+        if (running == null) {
+            return lead(key, created, loader);
+        }
+        coalesced.incrementAndGet();
+        count(type, "coalesced");
+        return await(key, running);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cacheProperties.isCoalesceEnabled());
+        stats.put("timeoutMillis", cacheProperties.getCoalesceTimeoutMillis());
+        stats.put("loads", loads.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("failures", failures.get());
+        stats.put("timeouts", timeouts.get());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    private <T> T lead(LoadKey key, CompletableFuture<Object> future, Supplier<T> loader) {
+        loads.incrementAndGet();
+        count(key.type, "loaded");
+        try {
+            T value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            failures.incrementAndGet();
+            count(key.type, "failed");
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(LoadKey key, CompletableFuture<Object> future) {
+        long timeoutMillis = cacheProperties.getCoalesceTimeoutMillis();
+        try {
+            return (T) future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            count(key.type, "timeout");
+            throw new IllegalStateException("Timed out after " + timeoutMillis
+                + " ms waiting for the in-flight load of " + key);
+        } catch (ExecutionException e) {
+            // 与 leader 抛出同一异常，调用方按原类型处理
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to load " + key, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the in-flight load of " + key, e);
+        }
+    }
+
+    private void count(ConfigType type, String result) {
+        Counter.builder(LOADS_COUNTER)
+            .description("快照缓存未就绪时的回源查询，loaded 为实际查询，coalesced 为等待同一查询的调用")
+            .tag("type", type.name())
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.service;
+
+import com.example.config.ConfigWatchProperties;
+import com.example.dto.ConfigChangeResponse;
+import com.example.util.GrayGroupUtils;
+import com.example.util.RegionProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 配置变更长轮询服务
+ * 监听按地域挂起，发布提交后只唤醒受影响地域的监听，挂起期间不占用 Servlet 线程
+ */
+@Slf4j
+@Service
+public class ConfigWatchService {
+
+    @Autowired
+    private ConfigChangeService configChangeService;
+
+    @Autowired
+    private RegionProvider regionProvider;
+
+    @Autowired
+    private ConfigWatchProperties watchProperties;
+
+    /**
+     * 地域 -> 挂起的监听
+     */
+    private final ConcurrentMap<String, Set<Watcher>> watchers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger watcherCount = new AtomicInteger();
+
+    private final AtomicLong rejectedWatches = new AtomicLong();
+
+    private ExecutorService notifyExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        notifyExecutor = Executors.newFixedThreadPool(watchProperties.getNotifyThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "config-watch-notify-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        notifyExecutor.shutdownNow();
+    }
+
+    /**
+     * 监听指定地域在 sinceRevision 之后的变更
+     * 已有变更时立即返回，否则挂起直到有相关变更或超时，超时返回空变更；超时不大于 0 时不挂起，等同于一次增量查询
+     * 监听数已满时返回 503 并带 Retry-After，由客户端退避后重试
+     */
+    public DeferredResult<ConfigChangeResponse> watch(long sinceRevision, String region, Long timeoutMillis) {
+        if (!regionProvider.isRegionSupported(region)) {
+            throw new IllegalArgumentException("Unsupported region: " + region);
+        }
+        long timeout = timeoutMillis == null
+            ? watchProperties.getDefaultTimeoutMillis()
+            : Math.min(timeoutMillis, watchProperties.getMaxTimeoutMillis());
+        if (timeout <= 0) {
+            // DeferredResult 的超时为 0 时永不超时，不能用来表示不挂起
+            DeferredResult<ConfigChangeResponse> result = new DeferredResult<>();
+            result.setResult(configChangeService.getChanges(sinceRevision, region));
+            return result;
+        }
+
+        ConfigChangeResponse empty = new ConfigChangeResponse();
+        empty.setRevision(sinceRevision);
+        DeferredResult<ConfigChangeResponse> result = new DeferredResult<>(timeout, () -> empty);
+
+        if (watcherCount.get() >= watchProperties.getMaxWatchers()) {
+            // 不返回空变更：客户端收到后会立即再次监听，监听数已满时反而放大请求量
+            rejectedWatches.incrementAndGet();
+            result.setErrorResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(watchProperties.getRetryAfterSeconds()))
+                .build());
+            return result;
+        }
+
+        // 先注册再检查，避免检查与注册之间提交的变更被遗漏
+        Watcher watcher = new Watcher(sinceRevision, region, result);
+        watchers.computeIfAbsent(region, r -> ConcurrentHashMap.newKeySet()).add(watcher);
+        watcherCount.incrementAndGet();
+        result.onCompletion(() -> unregister(watcher));
+
+        try {
+            ConfigChangeResponse changes = configChangeService.getChanges(sinceRevision, region);
+            if (!changes.isEmpty()) {
+                result.setResult(changes);
+            }
+        } catch (RuntimeException e) {
+            unregister(watcher);
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 在当前事务提交后唤醒受影响地域的监听，无事务时立即唤醒
+     *
+     * @param grayGroups 受影响的灰度组，包含 "all" 时唤醒所有地域
+     */
+    public void notifyAfterCommit(Collection<String> grayGroups) {
+        if (grayGroups.isEmpty()) {
+            return;
+        }
+        Set<String> regions = grayGroups.contains(GrayGroupUtils.ALL)
+            ? new LinkedHashSet<>(regionProvider.getSupportedRegions())
+            : new LinkedHashSet<>(grayGroups);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyRegions(regions);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notifyRegions(regions);
+            }
+        });
+    }
+
+    /**
+     * 当前挂起的监听数
+     */
+    public int getWatcherCount() {
+        return watcherCount.get();
+    }
+
+    /**
+     * 因监听数已满被拒绝的监听请求数
+     */
+    public long getRejectedWatches() {
+        return rejectedWatches.get();
+    }
+
+    private void notifyRegions(Set<String> regions) {
+        for (String region : regions) {
+            Set<Watcher> regionWatchers = watchers.get(region);
+            if (regionWatchers == null || regionWatchers.isEmpty()) {
+                continue;
+            }
+            notifyExecutor.execute(() -> wake(region, regionWatchers));
+        }
+    }
+
+    private void wake(String region, Set<Watcher> regionWatchers) {
+        // 同一地域、同一修订号的监听只计算一次变更
+        Map<Long, List<Watcher>> bySinceRevision = regionWatchers.stream()
+            .collect(Collectors.groupingBy(watcher -> watcher.sinceRevision));
+        bySinceRevision.forEach((sinceRevision, group) -> {
+            try {
+                ConfigChangeResponse changes = configChangeService.getChanges(sinceRevision, region);
+                if (!changes.isEmpty()) {
+                    group.forEach(watcher -> watcher.result.setResult(changes));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to compute changes for watchers of region {} since revision {}",
+                    region, sinceRevision, e);
+                group.forEach(watcher -> watcher.result.setErrorResult(e));
+            }
+        });
+    }
+
+    private void unregister(Watcher watcher) {
+        Set<Watcher> regionWatchers = watchers.get(watcher.region);
+        if (regionWatchers != null && regionWatchers.remove(watcher)) {
+            watcherCount.decrementAndGet();
+        }
+    }
+
+    private static final class Watcher {
+        private final long sinceRevision;
+        private final String region;
+        private final DeferredResult<ConfigChangeResponse> result;
+
+        private Watcher(long sinceRevision, String region, DeferredResult<ConfigChangeResponse> result) {
+            this.sinceRevision = sinceRevision;
+            this.region = region;
+            this.result = result;
+        }
+    }
+}
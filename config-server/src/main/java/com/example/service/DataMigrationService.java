@@ -0,0 +1,443 @@
+package com.example.service;
+
+import com.example.cache.DataSourceConfigCache;
+import com.example.config.MigrationProperties;
+import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
+import com.example.mapper.ConfigGrayRegionMapper;
+import com.example.mapper.DataMigrationCheckpointMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import com.example.mapper.PublishHistoryMapper;
+import com.example.model.ConfigChangeLog;
+import com.example.model.DataMigrationCheckpoint;
+import com.example.model.DataSourceConfig;
+import com.example.model.PublishHistory;
+import com.example.util.GrayGroupUtils;
+import com.example.util.VersionGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 存量数据迁移
+ * 为尚无版本号的数据源配置生成版本并全量发布
+ *
+ * 待迁移的主键范围按线程数切分为若干分区，各分区按主键游标分块迁移，每个分块一个短事务：
+ * 批量写入版本信息、灰度地域、发布历史与变更日志，并推进分区检查点。
+ * 中断、失败或重启后再次启动时从检查点继续，已迁移的行不会重复处理；
+ * 上一次迁移已全部完成时，须显式要求重置才会丢弃其检查点并重新切分
+ */
+@Slf4j
+@Service
+public class DataMigrationService {
+
+    /**
+     * 数据源配置版本化迁移的检查点名
+     */
+    public static final String DATA_SOURCE_MIGRATION = "data_source_version";
+
+    private static final String OPERATOR = "system_migration";
+
+    private static final String IDLE = "IDLE";
+    private static final String RUNNING = "RUNNING";
+    private static final String STOPPING = "STOPPING";
+    private static final String STOPPED = "STOPPED";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    /**
+     * 并行线程数上限，每个线程迁移时占用一个主连接池连接
+     */
+    private static final int MAX_WORKERS = 8;
+
+    @Autowired
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Autowired
+    private PublishHistoryMapper publishHistoryMapper;
+
+    @Autowired
+    private DataMigrationCheckpointMapper dataMigrationCheckpointMapper;
+
+    @Autowired
+    private VersionGenerator versionGenerator;
+
+    @Autowired
+    private EffectiveVersionService effectiveVersionService;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
+
+    @Autowired
+    private ConfigWatchService configWatchService;
+
+    @Autowired
+    private RegionSnapshotService regionSnapshotService;
+
+    @Autowired
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private MigrationProperties migrationProperties;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile MigrationRun currentRun;
+
+    /**
+     * 一次迁移执行的参数与进度
+     */
+    private static final class MigrationRun {
+        private final int workers;
+        private final int chunkSize;
+        private final int rowsPerSecond;
+        private final List<DataMigrationCheckpoint> partitions;
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicLong migrated = new AtomicLong();
+        private volatile String status = RUNNING;
+        private volatile boolean stopRequested;
+        private volatile String error;
+        private volatile long finishedAt;
+
+        /**
+         * 下一次允许开始分块的时间，用于全局限速
+         */
+        private long nextPermitNanos = System.nanoTime();
+
+        private MigrationRun(int workers, int chunkSize, int rowsPerSecond,
+                             List<DataMigrationCheckpoint> partitions) {
+            this.workers = workers;
+            this.chunkSize = chunkSize;
+            this.rowsPerSecond = rowsPerSecond;
+            this.partitions = partitions;
+        }
+
+        /**
+         * 为即将迁移的行预留速率配额，返回需要等待的纳秒数
+         */
+        private synchronized long reserve(int rows) {
+            if (rowsPerSecond <= 0) {
+                return 0L;
+            }
+            long now = System.nanoTime();
+            long start = Math.max(now, nextPermitNanos);
+            nextPermitNanos = start + rows * TimeUnit.SECONDS.toNanos(1) / rowsPerSecond;
+            return start - now;
+        }
+
+        private void fail(Throwable e) {
+            if (error == null) {
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            }
+            stopRequested = true;
+        }
+
+        private boolean isFinished() {
+            return finishedAt > 0;
+        }
+    }
+
+    /**
+     * 迁移存量数据源配置，按配置的分块大小、线程数与速率同步执行至完成
+     */
+    public void migrateDataSourceConfigs() {
+        MigrationRun run = newRun(null, null, null, false);
+        execute(run);
+        if (run.error != null) {
+            throw new RuntimeException("Data source migration failed: " + run.error);
+        }
+    }
+
+    /**
+     * 在后台启动迁移，参数为空时使用配置值；存在未完成的分区时从检查点继续
+     *
+     * @param reset 上一次迁移已全部完成时，丢弃其检查点并按当前待迁移的行重新切分；存在未完成的分区时不允许重置
+     */
+    public Map<String, Object> start(Integer workers, Integer chunkSize, Integer rowsPerSecond, boolean reset) {
+        MigrationRun run = newRun(workers, chunkSize, rowsPerSecond, reset);
+        Thread coordinator = new Thread(() -> execute(run), "data-migration");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return getProgress();
+    }
+
+    /**
+     * 请求停止迁移，各线程完成当前分块后退出，之后可从检查点继续
+     */
+    public Map<String, Object> stop() {
+        MigrationRun run = currentRun;
+        if (run != null && !run.isFinished()) {
+            run.stopRequested = true;
+            run.status = STOPPING;
+        }
+        return getProgress();
+    }
+
+    /**
+     * 迁移进度：剩余行数、累计迁移行数、各分区检查点，以及当前（或最近一次）执行的速率
+     */
+    public Map<String, Object> getProgress() {
+        List<DataMigrationCheckpoint> partitions = dataMigrationCheckpointMapper.findByMigration(DATA_SOURCE_MIGRATION);
+        MigrationRun run = currentRun;
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("migration", DATA_SOURCE_MIGRATION);
+        progress.put("status", run == null ? IDLE : run.status);
+        progress.put("remaining", dataSourceConfigMapper.countWithoutVersion());
+        progress.put("migrated", partitions.stream().mapToLong(DataMigrationCheckpoint::getMigratedCount).sum());
+        if (run != null) {
+            long elapsed = (run.isFinished() ? run.finishedAt : System.currentTimeMillis()) - run.startedAt;
+            progress.put("workers", run.workers);
+            progress.put("chunkSize", run.chunkSize);
+            progress.put("rowsPerSecondLimit", run.rowsPerSecond);
+            progress.put("runMigrated", run.migrated.get());
+            progress.put("elapsedMillis", elapsed);
+            progress.put("rowsPerSecond", elapsed == 0 ? 0.0 : run.migrated.get() * 1000.0 / elapsed);
+            progress.put("error", run.error);
+        }
+        progress.put("partitions", partitions);
+        return progress;
+    }
+
+    private synchronized MigrationRun newRun(Integer workers, Integer chunkSize, Integer rowsPerSecond,
+                                             boolean reset) {
+        if (currentRun != null && !currentRun.isFinished()) {
+            throw new IllegalStateException("Data source migration is already running");
+        }
+        int runWorkers = Math.min(MAX_WORKERS,
+            Math.max(1, workers == null ? migrationProperties.getWorkers() : workers));
+        MigrationRun run = new MigrationRun(runWorkers,
+            Math.max(1, chunkSize == null ? migrationProperties.getChunkSize() : chunkSize),
+            Math.max(0, rowsPerSecond == null ? migrationProperties.getRowsPerSecond() : rowsPerSecond),
+            plan(runWorkers, reset));
+        currentRun = run;
+        return run;
+    }
+
+    private void execute(MigrationRun run) {
+        log.info("Starting data source migration, workers: {}, chunk size: {}, rows per second: {}",
+            run.workers, run.chunkSize, run.rowsPerSecond);
+        try {
+            Queue<Integer> pending = run.partitions.stream()
+                .filter(partition -> !COMPLETED.equals(partition.getStatus()))
+                .map(DataMigrationCheckpoint::getPartitionNo)
+                .collect(Collectors.toCollection(ConcurrentLinkedQueue::new));
+            int threads = Math.min(run.workers, pending.size());
+            if (threads > 0) {
+                AtomicInteger threadIndex = new AtomicInteger();
+                ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                    Thread thread = new Thread(runnable, "data-migration-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> work(run, pending)));
+                }
+                executor.shutdown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } catch (ExecutionException e) {
+            run.fail(e.getCause());
+        } catch (RuntimeException e) {
+            run.fail(e);
+        } finally {
+            run.status = run.error != null ? FAILED : run.stopRequested ? STOPPED : COMPLETED;
+            run.finishedAt = System.currentTimeMillis();
+        }
+        if (run.migrated.get() > 0) {
+            // 地域快照只在迁移结束时重建一次，迁移期间客户端经变更日志增量获取
+            regionSnapshotService.rebuildAfterCommit(Collections.singletonList(GrayGroupUtils.ALL));
+        }
+        if (run.error != null) {
+            log.warn("Data source migration failed after {} rows: {}", run.migrated.get(), run.error);
+        } else {
+            log.info("Data source migration {}, migrated {} rows in {} ms",
+                run.status, run.migrated.get(), run.finishedAt - run.startedAt);
+        }
+    }
+
+    /**
+     * 返回迁移分区：存在未完成的分区时沿用；没有检查点，或上一次迁移已完成且要求重置时，
+     * 按当前待迁移的主键范围重新切分
+     */
+    private List<DataMigrationCheckpoint> plan(int workers, boolean reset) {
+        List<DataMigrationCheckpoint> partitions = dataMigrationCheckpointMapper.findByMigration(DATA_SOURCE_MIGRATION);
+        if (partitions.stream().anyMatch(partition -> !COMPLETED.equals(partition.getStatus()))) {
+            if (reset) {
+                throw new IllegalStateException(
+                    "Data source migration has unfinished partitions, resume it instead of resetting");
+            }
+            log.info("Resuming data source migration from {} checkpoints", partitions.size());
+            return partitions;
+        }
+        Long minId = dataSourceConfigMapper.findMinIdWithoutVersion();
+        Long maxId = dataSourceConfigMapper.findMaxIdWithoutVersion();
+        if (minId == null || maxId == null) {
+            return Collections.emptyList();
+        }
+        if (!partitions.isEmpty() && !reset) {
+            throw new IllegalStateException("Data source migration already completed with " + partitions.size()
+                + " checkpoints, start with reset=true to discard them and migrate the remaining rows");
+        }
+        long span = maxId - minId + 1;
+        long size = (span + workers - 1) / workers;
+        List<DataMigrationCheckpoint> planned = new ArrayList<>();
+        for (long startId = minId - 1; startId < maxId; startId += size) {
+            DataMigrationCheckpoint partition = new DataMigrationCheckpoint();
+            partition.setMigration(DATA_SOURCE_MIGRATION);
+            partition.setPartitionNo(planned.size());
+            partition.setStartId(startId);
+            partition.setEndId(Math.min(startId + size, maxId));
+            partition.setLastId(startId);
+            partition.setStatus(RUNNING);
+            planned.add(partition);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            dataMigrationCheckpointMapper.deleteByMigration(DATA_SOURCE_MIGRATION);
+            dataMigrationCheckpointMapper.insertBatch(planned);
+        });
+        return planned;
+    }
+
+    /**
+     * 依次领取分区并逐块迁移，直到分区全部完成或收到停止请求
+     */
+    private void work(MigrationRun run, Queue<Integer> pending) {
+        try {
+            Integer partitionNo;
+            while (!run.stopRequested && (partitionNo = pending.poll()) != null) {
+                while (!run.stopRequested) {
+                    long delay = run.reserve(run.chunkSize);
+                    if (delay > 0) {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                    }
+                    int migrated = migrateChunk(partitionNo, run.chunkSize);
+                    run.migrated.addAndGet(migrated);
+                    if (migrated < run.chunkSize) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } catch (RuntimeException e) {
+            // 其他线程完成当前分块后停止，已提交的分块由检查点保留
+            run.fail(e);
+        }
+    }
+
+    /**
+     * 在一个事务内迁移分区检查点之后的一块数据，返回迁移的行数；少于分块大小表示分区已完成
+     * 使用读已提交：等到修订号行锁后重算生效版本时，能读到其他线程刚提交的同一 source 的版本
+     */
+    private int migrateChunk(int partitionNo, int chunkSize) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        Integer migrated = transactionTemplate.execute(status -> {
+            DataMigrationCheckpoint checkpoint =
+                dataMigrationCheckpointMapper.lockPartition(DATA_SOURCE_MIGRATION, partitionNo);
+            if (checkpoint == null || COMPLETED.equals(checkpoint.getStatus())) {
+                return 0;
+            }
+            List<DataSourceConfig> configs = dataSourceConfigMapper.findWithoutVersionAfterId(
+                checkpoint.getLastId(), checkpoint.getEndId(), chunkSize);
+            if (!configs.isEmpty()) {
+                migrateRows(configs);
+            }
+            boolean completed = configs.size() < chunkSize;
+            long lastId = completed ? checkpoint.getEndId() : configs.get(configs.size() - 1).getId();
+            dataMigrationCheckpointMapper.updateProgress(DATA_SOURCE_MIGRATION, partitionNo, lastId,
+                configs.size(), completed ? COMPLETED : RUNNING);
+            return configs.size();
+        });
+        return migrated == null ? 0 : migrated;
+    }
+
+    /**
+     * 为一块配置生成版本并全量发布，须在分块事务内调用
+     */
+    private void migrateRows(List<DataSourceConfig> configs) {
+        String configType = ConfigType.DATA_SOURCE.name();
+        String published = ConfigStatus.PUBLISHED.name();
+        List<String> versionIds = new ArrayList<>(configs.size());
+        List<PublishHistory> histories = new ArrayList<>(configs.size());
+        List<ConfigChangeLog> changeLogs = new ArrayList<>(configs.size());
+        Set<String> sources = new LinkedHashSet<>();
+        for (DataSourceConfig config : configs) {
+            String versionId = versionGenerator.generateDataSourceVersion();
+            versionIds.add(versionId);
+            sources.add(config.getSource());
+
+            PublishHistory history = new PublishHistory();
+            history.setVersionId(versionId);
+            history.setConfigType(configType);
+            history.setStatus(published);
+            history.setGrayGroups(GrayGroupUtils.ALL);
+            history.setOperator(OPERATOR);
+            histories.add(history);
+
+            ConfigChangeLog changeLog = new ConfigChangeLog();
+            changeLog.setConfigType(configType);
+            changeLog.setIdentifier(config.getSource());
+            changeLog.setVersionId(versionId);
+            changeLog.setAction(published);
+            changeLogs.add(changeLog);
+        }
+
+        // 加入当前事务连接的批量会话，同一语句连续执行时合并为一个 JDBC batch
+        try (SqlSession batchSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            DataSourceConfigMapper batchConfigMapper = batchSession.getMapper(DataSourceConfigMapper.class);
+            ConfigGrayRegionMapper batchRegionMapper = batchSession.getMapper(ConfigGrayRegionMapper.class);
+            for (int i = 0; i < configs.size(); i++) {
+                batchConfigMapper.updateVersionInfo(configs.get(i).getId(), versionIds.get(i),
+                    published, GrayGroupUtils.ALL);
+            }
+            for (String versionId : versionIds) {
+                batchRegionMapper.insertRegion(configType, versionId, GrayGroupUtils.ALL);
+            }
+            batchSession.flushStatements();
+        }
+        publishHistoryMapper.insertBatch(histories);
+        // 先写变更日志：分配修订号会锁住全局修订号行直到提交，并行线程在此串行，
+        // 不同分区中同一 source 的行不会并发重算该 source 的生效版本
+        configChangeService.recordAll(changeLogs);
+        effectiveVersionService.refresh(ConfigType.DATA_SOURCE, sources);
+
+        sources.forEach(dataSourceConfigCache::refreshAfterCommit);
+        configWatchService.notifyAfterCommit(Collections.singletonList(GrayGroupUtils.ALL));
+    }
+}
@@ -1,16 +1,18 @@
 package com.example.service;
 
+import com.example.cache.DataSourceConfigCache;
 import com.example.model.DataSourceConfig;
 import com.example.mapper.DataSourceConfigMapper;
 import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
 import com.example.util.RegionProvider;
 import com.example.util.VersionGenerator;
-import com.example.config.VersionProperties;
 import com.example.dto.ConfigDiffRequest;
 import com.example.dto.ConfigDiffResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
@@ -32,22 +34,27 @@ public class DataSourceConfigService implements BaseConfigService<DataSourceConf
     private RegionProvider regionProvider;
     
     @Autowired
-    private VersionProperties versionProperties;
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private ConfigLoadCoalescer configLoadCoalescer;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
 
     @Override
     @Transactional
     public DataSourceConfig create(DataSourceConfig config) {
         // 检查是否已存在相同标识的配置
-        List<DataSourceConfig> existingConfigs = getPublishedBySource(config.getSource());
-        if (!existingConfigs.isEmpty()) {
+        if (dataSourceConfigMapper.existsPublishedBySource(config.getSource())) {
             throw new RuntimeException("Already exists config with source: " + config.getSource());
         }
         
         config.setVersionId(versionGenerator.generateDataSourceVersion());
         config.setStatus(ConfigStatus.DRAFT.name());
         dataSourceConfigMapper.insert(config);
-        
-        cleanupOldVersions(config.getSource());
+        configChangeService.record(ConfigType.DATA_SOURCE.name(), config.getIdentifier(), config.getVersionId(),
+            ConfigChangeService.ACTION_CREATED);
         
         return config;
     }
@@ -63,8 +70,8 @@ public class DataSourceConfigService implements BaseConfigService<DataSourceConf
         newConfig.setVersionId(versionGenerator.generateDataSourceVersion());
         newConfig.setStatus(ConfigStatus.DRAFT.name());
         dataSourceConfigMapper.insert(newConfig);
-        
-        cleanupOldVersions(newConfig.getSource());
+        configChangeService.record(ConfigType.DATA_SOURCE.name(), newConfig.getIdentifier(), newConfig.getVersionId(),
+            ConfigChangeService.ACTION_UPDATED);
         
         return newConfig;
     }
@@ -79,6 +86,11 @@ public class DataSourceConfigService implements BaseConfigService<DataSourceConf
         return dataSourceConfigMapper.findByVersionId(versionId);
     }
 
+    @Override
+    public List<DataSourceConfig> findByVersionIds(Collection<String> versionIds) {
+        return dataSourceConfigMapper.findByVersionIds(versionIds);
+    }
+
     @Override
     @Transactional
     public void updateStatus(String versionId, String status, String grayGroups) {
@@ -90,7 +102,8 @@ public class DataSourceConfigService implements BaseConfigService<DataSourceConf
         if (!regionProvider.isRegionSupported(region)) {
             throw new IllegalArgumentException("Unsupported region: " + region);
         }
-        return dataSourceConfigMapper.findByRegion(region);
+        return dataSourceConfigCache.getActiveByRegion(region,
+            () -> dataSourceConfigMapper.findByRegion(region));
     }
 
     @Override
@@ -103,7 +116,7 @@ public class DataSourceConfigService implements BaseConfigService<DataSourceConf
         if (!regionProvider.isRegionSupported(region)) {
             throw new IllegalArgumentException("Unsupported region: " + region);
         }
-        return dataSourceConfigMapper.findActiveConfigBySourceAndRegion(identifier, region);
+        return getActiveBySourceAndRegion(identifier, region);
     }
 
     /**
@@ -115,26 +128,15 @@ public class DataSourceConfigService implements BaseConfigService<DataSourceConf
 
     /**
      * 获取指定source在指定地域生效的配置
+     * 缓存未就绪时，同一标识与地域的并发回源合并为一次查询
      */
     public DataSourceConfig getActiveBySourceAndRegion(String source, String region) {
         if (!regionProvider.isRegionSupported(region)) {
             throw new IllegalArgumentException("Unsupported region: " + region);
         }
-        return dataSourceConfigMapper.findActiveConfigBySourceAndRegion(source, region);
-    }
-
-    /**
-     * 清理过期版本
-     * 保留最新的N个版本，其他的删除
-     */
-    private void cleanupOldVersions(String source) {
-        List<DataSourceConfig> allVersions = dataSourceConfigMapper.findAllVersionsBySource(source);
-        if (allVersions.size() > versionProperties.getMaxDatasourceVersions()) {
-            // 跳过最新的N个版本，删除剩余的版本
-            allVersions.stream()
-                .skip(versionProperties.getMaxDatasourceVersions())
-                .forEach(config -> dataSourceConfigMapper.deleteByVersionId(config.getVersionId()));
-        }
+        return dataSourceConfigCache.getEffective(source, region,
+            () -> configLoadCoalescer.load(ConfigType.DATA_SOURCE, source, region,
+                () -> dataSourceConfigMapper.findEffectiveBySourceAndRegion(source, region)));
     }
 
     /**
@@ -146,7 +148,8 @@ public class DataSourceConfigService implements BaseConfigService<DataSourceConf
         }
         
         // 获取当前所有生效的配置
-        List<DataSourceConfig> currentConfigs = dataSourceConfigMapper.findActiveConfigsByRegion(request.getRegion());
+        List<DataSourceConfig> currentConfigs = dataSourceConfigCache.getActiveByRegion(request.getRegion(),
+            () -> dataSourceConfigMapper.findActiveConfigsByRegion(request.getRegion()));
         
         // 获取已失效的版本
         List<String> deprecatedVersionIds = dataSourceConfigMapper.findDeprecatedVersions(
@@ -0,0 +1,271 @@
+package com.example.service;
+
+import com.example.dto.EffectiveVersionMismatch;
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.mapper.ConfigEffectiveVersionMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import com.example.model.BaseVersionedConfig;
+import com.example.model.ConfigEffectiveVersion;
+import com.example.util.ConfigIdentifierUtils;
+import com.example.util.GrayGroupUtils;
+import com.example.util.RegionProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 生效版本表维护
+ * 发布、废弃、回滚在同一事务内重算受影响标识在各地域的生效版本，读请求按主键查询
+ */
+@Slf4j
+@Service
+public class EffectiveVersionService {
+
+    /**
+     * 重建时每条多行插入语句的行数
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    /**
+     * 一致性检查报告中最多列出的不一致条目
+     */
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    @Autowired
+    private ConfigEffectiveVersionMapper configEffectiveVersionMapper;
+
+    @Autowired
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Autowired
+    private ApiRecordConfigMapper apiRecordConfigMapper;
+
+    @Autowired
+    private ApiMetaConfigMapper apiMetaConfigMapper;
+
+    @Autowired
+    private RegionProvider regionProvider;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 重算指定标识在各地域的生效版本，须在变更状态的事务内、状态更新之后调用
+     */
+    @Transactional
+    public void refresh(ConfigType configType, Collection<String> identifiers) {
+        if (identifiers.isEmpty()) {
+            return;
+        }
+        Set<String> distinct = new LinkedHashSet<>(identifiers);
+        List<? extends BaseVersionedConfig> published = findPublishedByIdentifiers(configType, distinct);
+        configEffectiveVersionMapper.deleteByIdentifiers(configType.name(), distinct);
+        insertAll(resolve(configType, published));
+    }
+
+    /**
+     * 按已发布版本全量重建生效版本表，返回各类型写入的行数
+     * 重建期间锁定全局修订号，与其他节点的重建及发布、废弃串行
+     */
+    @Transactional
+    public synchronized Map<String, Object> rebuild() {
+        configChangeService.lockRevision();
+        return rebuildAll();
+    }
+
+    /**
+     * 启动时生效版本表为空（首次部署或迁移后）则全量重建
+     * 多个节点同时启动时，取得修订号行锁后再次确认表为空，只有第一个节点重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (configEffectiveVersionMapper.countAll() > 0) {
+                return;
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                configChangeService.lockRevision();
+                if (configEffectiveVersionMapper.countAll() == 0) {
+                    rebuildAll();
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to initialize effective versions", e);
+        }
+    }
+
+    private Map<String, Object> rebuildAll() {
+        long start = System.currentTimeMillis();
+        Map<String, Object> report = new LinkedHashMap<>();
+        rebuildType(ConfigType.DATA_SOURCE, dataSourceConfigMapper.findAllPublished(), report);
+        rebuildType(ConfigType.API_RECORD, apiRecordConfigMapper.findAllPublished(), report);
+        rebuildType(ConfigType.API_META, apiMetaConfigMapper.findAllPublished(), report);
+        report.put("elapsedMillis", System.currentTimeMillis() - start);
+        log.info("Rebuilt effective versions: {}", report);
+        return report;
+    }
+
+    /**
+     * 一致性检查：逐地域以灰度地域索引按原查询语义选出生效版本，与生效版本表逐条比对，
+     * 不一致的条目再以原单条查询复核
+     */
+    public Map<String, Object> check() {
+        long start = System.currentTimeMillis();
+        int checked = 0;
+        int mismatched = 0;
+        List<EffectiveVersionMismatch> mismatches = new ArrayList<>();
+        for (ConfigType configType : ConfigType.values()) {
+            for (String region : regionProvider.getSupportedRegions()) {
+                Map<String, String> expected = findByRegion(configType, region).stream()
+                    .collect(Collectors.groupingBy(BaseVersionedConfig::getIdentifier)).entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> GrayGroupUtils.selectEffective(entry.getValue()).getVersionId()));
+                Map<String, String> actual = configEffectiveVersionMapper.findByRegion(configType.name(), region)
+                    .stream()
+                    .collect(Collectors.toMap(ConfigEffectiveVersion::getIdentifier,
+                        ConfigEffectiveVersion::getVersionId));
+
+                Set<String> identifiers = new LinkedHashSet<>(expected.keySet());
+                identifiers.addAll(actual.keySet());
+                for (String identifier : identifiers) {
+                    checked++;
+                    String expectedVersionId = expected.get(identifier);
+                    String actualVersionId = actual.get(identifier);
+                    if (Objects.equals(expectedVersionId, actualVersionId)) {
+                        continue;
+                    }
+                    // 疑似不一致时以原单条查询复核
+                    BaseVersionedConfig active = findActive(configType, identifier, region);
+                    expectedVersionId = active == null ? null : active.getVersionId();
+                    if (Objects.equals(expectedVersionId, actualVersionId)) {
+                        continue;
+                    }
+                    mismatched++;
+                    if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                        EffectiveVersionMismatch mismatch = new EffectiveVersionMismatch();
+                        mismatch.setConfigType(configType.name());
+                        mismatch.setIdentifier(identifier);
+                        mismatch.setRegion(region);
+                        mismatch.setExpectedVersionId(expectedVersionId);
+                        mismatch.setActualVersionId(actualVersionId);
+                        mismatches.add(mismatch);
+                    }
+                }
+            }
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("checked", checked);
+        report.put("mismatched", mismatched);
+        report.put("mismatches", mismatches);
+        report.put("elapsedMillis", System.currentTimeMillis() - start);
+        if (mismatched > 0) {
+            log.warn("Effective version check found {} mismatches out of {}", mismatched, checked);
+        }
+        return report;
+    }
+
+    private void rebuildType(ConfigType configType, List<? extends BaseVersionedConfig> published,
+                             Map<String, Object> report) {
+        configEffectiveVersionMapper.deleteByConfigType(configType.name());
+        List<ConfigEffectiveVersion> versions = resolve(configType, published);
+        insertAll(versions);
+        report.put(configType.name(), versions.size());
+    }
+
+    /**
+     * 按标识归组已发布版本，为每个受支持地域选出生效版本
+     */
+    private List<ConfigEffectiveVersion> resolve(ConfigType configType,
+                                                 List<? extends BaseVersionedConfig> published) {
+        Map<String, List<BaseVersionedConfig>> byIdentifier = published.stream()
+            .collect(Collectors.groupingBy(BaseVersionedConfig::getIdentifier, LinkedHashMap::new,
+                Collectors.toList()));
+        List<ConfigEffectiveVersion> versions = new ArrayList<>();
+        byIdentifier.forEach((identifier, candidates) -> {
+            for (String region : regionProvider.getSupportedRegions()) {
+                BaseVersionedConfig winner = GrayGroupUtils.selectEffective(candidates.stream()
+                    .filter(config -> GrayGroupUtils.isEffectiveIn(config.getEffectiveGrayGroups(), region))
+                    .collect(Collectors.toList()));
+                if (winner == null) {
+                    continue;
+                }
+                ConfigEffectiveVersion version = new ConfigEffectiveVersion();
+                version.setConfigType(configType.name());
+                version.setIdentifier(identifier);
+                version.setRegion(region);
+                version.setVersionId(winner.getVersionId());
+                versions.add(version);
+            }
+        });
+        return versions;
+    }
+
+    private void insertAll(List<ConfigEffectiveVersion> versions) {
+        for (int from = 0; from < versions.size(); from += INSERT_BATCH_SIZE) {
+            configEffectiveVersionMapper.insertBatch(
+                versions.subList(from, Math.min(from + INSERT_BATCH_SIZE, versions.size())));
+        }
+    }
+
+    private List<? extends BaseVersionedConfig> findPublishedByIdentifiers(ConfigType configType,
+                                                                           Collection<String> identifiers) {
+        switch (configType) {
+            case DATA_SOURCE:
+                return dataSourceConfigMapper.findPublishedBySources(identifiers);
+            case API_RECORD:
+                return apiRecordConfigMapper.findPublishedByIdentifiers(ConfigIdentifierUtils.toApiKeys(identifiers));
+            case API_META:
+                return apiMetaConfigMapper.findPublishedByIdentifiers(ConfigIdentifierUtils.toApiKeys(identifiers));
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+    }
+
+    /**
+     * 原查询语义：经灰度地域索引取在该地域生效的已发布版本
+     */
+    private List<? extends BaseVersionedConfig> findByRegion(ConfigType configType, String region) {
+        switch (configType) {
+            case DATA_SOURCE:
+                return dataSourceConfigMapper.findByRegion(region);
+            case API_RECORD:
+                return apiRecordConfigMapper.findByRegion(region);
+            case API_META:
+                return apiMetaConfigMapper.findByRegion(region);
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+    }
+
+    private BaseVersionedConfig findActive(ConfigType configType, String identifier, String region) {
+        if (configType == ConfigType.DATA_SOURCE) {
+            return dataSourceConfigMapper.findActiveConfigBySourceAndRegion(identifier, region);
+        }
+        String[] parts = ConfigIdentifierUtils.splitApiIdentifier(identifier);
+        return configType == ConfigType.API_RECORD
+            ? apiRecordConfigMapper.findActiveConfigByIdentifierAndRegion(
+                parts[0], parts[1], parts[2], parts[3], region)
+            : apiMetaConfigMapper.findActiveConfigByIdentifierAndRegion(
+                parts[0], parts[1], parts[2], parts[3], region);
+    }
+}
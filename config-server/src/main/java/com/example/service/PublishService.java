@@ -0,0 +1,443 @@
+package com.example.service;
+
+import com.example.cache.ApiMetaConfigCache;
+import com.example.cache.ApiRecordConfigCache;
+import com.example.cache.ConfigSnapshotCache;
+import com.example.cache.DataSourceConfigCache;
+import com.example.dto.BulkPublishItem;
+import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
+import com.example.enums.GrayStage;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.mapper.ConfigGrayRegionMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import com.example.mapper.PublishHistoryMapper;
+import com.example.model.ConfigChangeLog;
+import com.example.model.ConfigIdentifier;
+import com.example.model.PublishHistory;
+import com.example.util.GrayGroupUtils;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 配置发布服务
+ */
+@Service
+public class PublishService {
+    
+    @Autowired
+    private DataSourceConfigService dataSourceConfigService;
+    
+    @Autowired
+    private ApiRecordConfigService apiRecordConfigService;
+
+    @Autowired
+    private ApiMetaConfigService apiMetaConfigService;
+    @Autowired
+    private PublishHistoryMapper publishHistoryMapper;
+
+    @Autowired
+    private ConfigGrayRegionMapper configGrayRegionMapper;
+
+    @Autowired
+    private ConfigChangeService configChangeService;
+
+    @Autowired
+    private ConfigWatchService configWatchService;
+
+    @Autowired
+    private DataSourceConfigCache dataSourceConfigCache;
+
+    @Autowired
+    private ApiRecordConfigCache apiRecordConfigCache;
+
+    @Autowired
+    private ApiMetaConfigCache apiMetaConfigCache;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private RegionSnapshotService regionSnapshotService;
+
+    @Autowired
+    private EffectiveVersionService effectiveVersionService;
+
+    /**
+     * 发布配置
+     */
+    @Transactional
+    public void publish(String versionId, String configType, List<String> grayGroups, String operator) {
+        // 如果是全量发布，使用 "all"
+        String grayGroupsJson = GrayGroupUtils.format(grayGroups);
+        
+        updateConfigStatus(versionId, ConfigStatus.PUBLISHED.name(), grayGroupsJson, configType);
+        
+        recordHistory(versionId, configType, ConfigStatus.PUBLISHED.name(), grayGroupsJson, operator);
+    }
+
+    /**
+     * 按阶段发布配置
+     */
+    @Transactional
+    public void publishByStage(String versionId, String configType, GrayStage stage, String operator) {
+        publish(versionId, configType, stage.getRegions(), operator);
+    }
+
+    /**
+     * 废弃配置
+     */
+    @Transactional
+    public void deprecate(String versionId, String operator) {
+        // 根据版本号前缀确定配置类型
+        String configType = getConfigTypeFromVersionId(versionId);
+        
+        // 废弃配置
+        updateConfigStatus(versionId, ConfigStatus.DEPRECATED.name(), "", configType);
+        
+        // 记录发布历史
+        recordHistory(versionId, configType, ConfigStatus.DEPRECATED.name(), "", operator);
+    }
+
+    /**
+     * 批量发布/废弃配置
+     * 所有版本在同一事务内生效：状态与地域变更走 JDBC 批量执行，发布历史和变更日志多行写入
+     *
+     * @return 各目标状态处理的版本数
+     */
+    @Transactional
+    public Map<String, Integer> bulkPublish(List<BulkPublishItem> items, String operator) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Bulk publish items must not be empty");
+        }
+
+        // 校验并按配置类型归组
+        Map<ConfigType, Map<String, BulkPublishItem>> itemsByType = new EnumMap<>(ConfigType.class);
+        for (BulkPublishItem item : items) {
+            if (item.getConfigType() == null) {
+                item.setConfigType(getConfigTypeFromVersionId(item.getVersionId()));
+            }
+            if (item.getStatus() == null) {
+                item.setStatus(ConfigStatus.PUBLISHED.name());
+            }
+            if (!ConfigStatus.PUBLISHED.name().equals(item.getStatus())
+                && !ConfigStatus.DEPRECATED.name().equals(item.getStatus())) {
+                throw new IllegalArgumentException("Unsupported bulk publish status: " + item.getStatus());
+            }
+            Map<String, BulkPublishItem> typeItems = itemsByType.computeIfAbsent(
+                ConfigType.valueOf(item.getConfigType()), t -> new LinkedHashMap<>());
+            if (typeItems.put(item.getVersionId(), item) != null) {
+                throw new IllegalArgumentException("Duplicate version ID: " + item.getVersionId());
+            }
+        }
+
+        // 每种类型一次查询取得版本所属标识和变更前的生效地域
+        Map<ConfigType, Map<String, String>> identifiers = new EnumMap<>(ConfigType.class);
+        Set<String> affectedRegions = new LinkedHashSet<>();
+        itemsByType.forEach((type, typeItems) -> {
+            Map<String, String> typeIdentifiers = findByVersionIds(type, typeItems.keySet()).stream()
+                .collect(Collectors.toMap(ConfigIdentifier::getVersionId, ConfigIdentifier::getIdentifier));
+            if (typeIdentifiers.size() != typeItems.size()) {
+                List<String> missing = typeItems.keySet().stream()
+                    .filter(versionId -> !typeIdentifiers.containsKey(versionId))
+                    .collect(Collectors.toList());
+                throw new IllegalArgumentException("Config versions not found: " + missing);
+            }
+            identifiers.put(type, typeIdentifiers);
+            affectedRegions.addAll(configGrayRegionMapper.findRegionsByVersionIds(type.name(), typeItems.keySet()));
+        });
+
+        List<PublishHistory> histories = new ArrayList<>(items.size());
+        List<ConfigChangeLog> changeLogs = new ArrayList<>(items.size());
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put(ConfigStatus.PUBLISHED.name(), 0);
+        summary.put(ConfigStatus.DEPRECATED.name(), 0);
+
+        // 加入当前事务连接的批量会话，同一语句连续执行时合并为一个 JDBC batch
+        try (SqlSession batchSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            ConfigGrayRegionMapper batchRegionMapper = batchSession.getMapper(ConfigGrayRegionMapper.class);
+            itemsByType.forEach((type, typeItems) -> {
+                for (BulkPublishItem item : typeItems.values()) {
+                    String grayGroups = grayGroupsOf(item);
+                    updateStatusInBatch(batchSession, type, item.getVersionId(), item.getStatus(), grayGroups);
+                    histories.add(newHistory(item.getVersionId(), type.name(), item.getStatus(), grayGroups, operator));
+                    changeLogs.add(newChangeLog(type.name(), identifiers.get(type).get(item.getVersionId()),
+                        item.getVersionId(), item.getStatus()));
+                    summary.merge(item.getStatus(), 1, Integer::sum);
+                }
+                typeItems.keySet().forEach(versionId -> batchRegionMapper.deleteByVersionId(type.name(), versionId));
+                for (BulkPublishItem item : typeItems.values()) {
+                    if (!ConfigStatus.PUBLISHED.name().equals(item.getStatus())) {
+                        continue;
+                    }
+                    for (String region : GrayGroupUtils.parse(grayGroupsOf(item))) {
+                        batchRegionMapper.insertRegion(type.name(), item.getVersionId(), region);
+                        affectedRegions.add(region);
+                    }
+                }
+            });
+            batchSession.flushStatements();
+        }
+        identifiers.forEach((type, typeIdentifiers) ->
+            effectiveVersionService.refresh(type, typeIdentifiers.values()));
+
+        publishHistoryMapper.insertBatch(histories);
+        configChangeService.recordAll(changeLogs);
+
+        identifiers.forEach((type, typeIdentifiers) -> {
+            ConfigSnapshotCache<?> cache = cacheOf(type);
+            new LinkedHashSet<>(typeIdentifiers.values()).forEach(cache::refreshAfterCommit);
+        });
+        configWatchService.notifyAfterCommit(affectedRegions);
+        regionSnapshotService.rebuildAfterCommit(affectedRegions);
+        return summary;
+    }
+
+    /**
+     * 回滚配置
+     */
+    @Transactional
+    public void rollback(String currentVersionId, String targetVersionId, String operator) {
+        // 根据版本号前缀确定配置类型
+        String configType = getConfigTypeFromVersionId(currentVersionId);
+        
+        // 废弃当前版本
+        updateConfigStatus(currentVersionId, ConfigStatus.DEPRECATED.name(), "", configType);
+        // 启用目标版本（全量发布）
+        updateConfigStatus(targetVersionId, ConfigStatus.PUBLISHED.name(), "all", configType);
+        
+        // 记录发布历史
+        recordHistory(targetVersionId, configType, ConfigStatus.PUBLISHED.name(), "all", operator);
+    }
+
+    /**
+     * 回滚到上一个版本
+     */
+    @Transactional
+    public void rollbackToPrevious(String identifier, String configType, String operator) {
+        List<? extends ConfigIdentifier> publishedConfigs = getPublishedConfigs(identifier, configType);
+        
+        if (publishedConfigs.size() < 2) {
+            throw new RuntimeException("No previous version to rollback for: " + identifier);
+        }
+        
+        ConfigIdentifier currentConfig = publishedConfigs.get(0);
+        ConfigIdentifier previousConfig = publishedConfigs.get(1);
+        
+        rollback(currentConfig.getVersionId(), previousConfig.getVersionId(), operator);
+    }
+
+    /**
+     * 回滚到指定版本
+     */
+    @Transactional
+    public void rollbackToVersion(String identifier, String targetVersionId, String configType, String operator) {
+        List<? extends ConfigIdentifier> publishedConfigs = getPublishedConfigs(identifier, configType);
+        
+        if (publishedConfigs.isEmpty()) {
+            throw new RuntimeException("No active version for: " + identifier);
+        }
+        
+        rollback(publishedConfigs.get(0).getVersionId(), targetVersionId, operator);
+    }
+
+    private String getConfigTypeFromVersionId(String versionId) {
+        return ConfigType.fromVersionId(versionId).name();
+    }
+
+    /**
+     * 更新版本状态并同步生效地域，版本不存在时抛出异常，不写入地域记录
+     */
+    private void updateConfigStatus(String versionId, String status, String grayGroups, String configType) {
+        ConfigIdentifier config = findConfig(versionId, configType);
+        switch (ConfigType.valueOf(configType)) {
+            case DATA_SOURCE:
+                dataSourceConfigService.updateStatus(versionId, status, grayGroups);
+                break;
+            case API_RECORD:
+                apiRecordConfigService.updateStatus(versionId, status, grayGroups);
+                break;
+            case API_META:
+                apiMetaConfigService.updateStatus(versionId, status, grayGroups);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+        syncGrayRegions(versionId, configType, status, grayGroups);
+        onStatusChanged(config, configType, status);
+    }
+
+    /**
+     * 同步版本的生效地域，仅已发布版本保留地域记录
+     * 变更前后涉及的地域在事务提交后唤醒长轮询监听并重建地域快照
+     */
+    private void syncGrayRegions(String versionId, String configType, String status, String grayGroups) {
+        Set<String> affectedRegions = new LinkedHashSet<>(
+            configGrayRegionMapper.findRegionsByVersionId(configType, versionId));
+        configGrayRegionMapper.deleteByVersionId(configType, versionId);
+        Set<String> regions = GrayGroupUtils.parse(grayGroups);
+        if (ConfigStatus.PUBLISHED.name().equals(status) && !regions.isEmpty()) {
+            configGrayRegionMapper.insertRegions(configType, versionId, regions);
+            affectedRegions.addAll(regions);
+        }
+        configWatchService.notifyAfterCommit(affectedRegions);
+        regionSnapshotService.rebuildAfterCommit(affectedRegions);
+    }
+
+    /**
+     * 查询版本所属标识，版本不存在时抛出 IllegalArgumentException
+     */
+    private ConfigIdentifier findConfig(String versionId, String configType) {
+        ConfigIdentifier config;
+        switch (ConfigType.valueOf(configType)) {
+            case DATA_SOURCE:
+                config = dataSourceConfigService.findByVersionId(versionId);
+                break;
+            case API_RECORD:
+                config = apiRecordConfigService.findByVersionId(versionId);
+                break;
+            case API_META:
+                config = apiMetaConfigService.findByVersionId(versionId);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("Config version not found: " + versionId);
+        }
+        return config;
+    }
+
+    /**
+     * 记录变更日志并重算版本所属标识的生效版本，事务提交后重建该标识的快照缓存
+     */
+    private void onStatusChanged(ConfigIdentifier config, String configType, String status) {
+        configChangeService.record(configType, config.getIdentifier(), config.getVersionId(), status);
+        effectiveVersionService.refresh(ConfigType.valueOf(configType),
+            Collections.singletonList(config.getIdentifier()));
+        cacheOf(ConfigType.valueOf(configType)).refreshAfterCommit(config.getIdentifier());
+    }
+
+    private String grayGroupsOf(BulkPublishItem item) {
+        if (!ConfigStatus.PUBLISHED.name().equals(item.getStatus())) {
+            return "";
+        }
+        List<String> grayGroups = item.getGrayGroups();
+        return GrayGroupUtils.format(grayGroups == null || grayGroups.isEmpty()
+            ? Collections.singletonList(GrayGroupUtils.ALL)
+            : grayGroups);
+    }
+
+    private void updateStatusInBatch(SqlSession batchSession, ConfigType configType,
+                                     String versionId, String status, String grayGroups) {
+        switch (configType) {
+            case DATA_SOURCE:
+                batchSession.getMapper(DataSourceConfigMapper.class).updateStatus(versionId, status, grayGroups);
+                break;
+            case API_RECORD:
+                batchSession.getMapper(ApiRecordConfigMapper.class).updateStatus(versionId, status, grayGroups);
+                break;
+            case API_META:
+                batchSession.getMapper(ApiMetaConfigMapper.class).updateStatus(versionId, status, grayGroups);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+    }
+
+    private List<? extends ConfigIdentifier> findByVersionIds(ConfigType configType, Set<String> versionIds) {
+        switch (configType) {
+            case DATA_SOURCE:
+                return dataSourceConfigService.findByVersionIds(versionIds);
+            case API_RECORD:
+                return apiRecordConfigService.findByVersionIds(versionIds);
+            case API_META:
+                return apiMetaConfigService.findByVersionIds(versionIds);
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+    }
+
+    private ConfigSnapshotCache<?> cacheOf(ConfigType configType) {
+        switch (configType) {
+            case DATA_SOURCE:
+                return dataSourceConfigCache;
+            case API_RECORD:
+                return apiRecordConfigCache;
+            case API_META:
+                return apiMetaConfigCache;
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+    }
+
+    private List<? extends ConfigIdentifier> getPublishedConfigs(String identifier, String configType) {
+        String[] parts;
+        switch (ConfigType.valueOf(configType)) {
+            case DATA_SOURCE:
+                return dataSourceConfigService.getPublishedByIdentifier(identifier);
+            case API_RECORD:
+                parts = identifier.split(":");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Invalid API identifier format");
+                }
+                return apiRecordConfigService.getPublishedByIdentifier(
+                    parts[0], parts[1], parts[2], parts[3]);
+            case API_META:
+                parts = identifier.split(":");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Invalid API identifier format");
+                }
+                return apiMetaConfigService.getPublishedByIdentifier(
+                    parts[0], parts[1], parts[2], parts[3]);
+            default:
+                throw new IllegalArgumentException("Unsupported config type: " + configType);
+        }
+    }
+
+    /**
+     * 获取发布历史
+     */
+    public List<PublishHistory> getHistory(String versionId) {
+        return publishHistoryMapper.findByVersionId(versionId);
+    }
+
+    private void recordHistory(String versionId, String configType, String status, String grayGroups, String operator) {
+        publishHistoryMapper.insert(newHistory(versionId, configType, status, grayGroups, operator));
+    }
+
+    private PublishHistory newHistory(String versionId, String configType, String status,
+                                      String grayGroups, String operator) {
+        PublishHistory history = new PublishHistory();
+        history.setVersionId(versionId);
+        history.setConfigType(configType);
+        history.setStatus(status);
+        history.setGrayGroups(grayGroups);
+        history.setOperator(operator);
+        return history;
+    }
+
+    private ConfigChangeLog newChangeLog(String configType, String identifier, String versionId, String action) {
+        ConfigChangeLog changeLog = new ConfigChangeLog();
+        changeLog.setConfigType(configType);
+        changeLog.setIdentifier(identifier);
+        changeLog.setVersionId(versionId);
+        changeLog.setAction(action);
+        return changeLog;
+    }
+} 
\ No newline at end of file
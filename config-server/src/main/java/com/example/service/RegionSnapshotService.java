@@ -0,0 +1,289 @@
+package com.example.service;
+
+import com.example.config.SnapshotProperties;
+import com.example.dto.RegionSnapshot;
+import com.example.dto.RegionSnapshotArtifact;
+import com.example.model.BaseVersionedConfig;
+import com.example.util.ETagUtils;
+import com.example.util.GrayGroupUtils;
+import com.example.util.RegionProvider;
+import com.example.util.SnapshotCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+
+/**
+ * 地域快照制品服务
+ * 配置变更提交后按地域从快照缓存构建一次压缩二进制快照，轮询请求直接返回字节
+ * 构建在单个后台线程上执行，不占用提交事务的线程；同一地域排队期间的多次变更合并为一次构建
+ * 快照以构建时快照缓存已覆盖的修订号为键，客户端从该修订号增量同步不会漏掉变更
+ */
+@Slf4j
+@Service
+public class RegionSnapshotService {
+
+    /**
+     * 当前事务待重建快照的地域
+     */
+    private static final String DIRTY_REGIONS_RESOURCE_KEY = RegionSnapshotService.class.getName() + ".dirtyRegions";
+
+    private static final Comparator<BaseVersionedConfig> BY_ID =
+        Comparator.comparing(BaseVersionedConfig::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private DataSourceConfigService dataSourceConfigService;
+
+    @Autowired
+    private ApiRecordConfigService apiRecordConfigService;
+
+    @Autowired
+    private ApiMetaConfigService apiMetaConfigService;
+
+    /**
+     * 跨节点失效依赖本服务重建地域快照，延迟注入
+     */
+    @Lazy
+    @Autowired
+    private ConfigInvalidationPoller configInvalidationPoller;
+
+    @Autowired
+    private RegionProvider regionProvider;
+
+    @Autowired
+    private SnapshotProperties snapshotProperties;
+
+    /**
+     * 地域 -> (修订号 -> 快照制品)
+     */
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Long, RegionSnapshotArtifact>> artifacts =
+        new ConcurrentHashMap<>();
+
+    /**
+     * 已有排队中的构建任务的地域
+     */
+    private final Set<String> pendingRegions = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService rebuildExecutor;
+
+    @PostConstruct
+    public void init() {
+        rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "region-snapshot-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 在当前事务提交后异步重建指定地域的快照，同一事务内多次调用合并为一次
+     * 快照缓存的刷新回调优先执行，重建时读到的已是提交后的内容
+     */
+    public void rebuildAfterCommit(Collection<String> regions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(expand(regions));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> dirtyRegions = (Set<String>) TransactionSynchronizationManager.getResource(DIRTY_REGIONS_RESOURCE_KEY);
+        if (dirtyRegions == null) {
+            Set<String> pending = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(DIRTY_REGIONS_RESOURCE_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(expand(pending));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DIRTY_REGIONS_RESOURCE_KEY);
+                }
+            });
+            dirtyRegions = pending;
+        }
+        dirtyRegions.addAll(regions);
+    }
+
+    /**
+     * 获取指定地域的最新快照，尚未构建时立即构建
+     */
+    public RegionSnapshotArtifact getLatest(String region) {
+        checkRegion(region);
+        ConcurrentNavigableMap<Long, RegionSnapshotArtifact> regionArtifacts = artifacts.get(region);
+        if (regionArtifacts != null && !regionArtifacts.isEmpty()) {
+            return regionArtifacts.lastEntry().getValue();
+        }
+        return buildIfAbsent(region);
+    }
+
+    /**
+     * 获取指定地域指定修订号的快照，未保留时返回 null
+     */
+    public RegionSnapshotArtifact get(String region, long revision) {
+        checkRegion(region);
+        ConcurrentNavigableMap<Long, RegionSnapshotArtifact> regionArtifacts = artifacts.get(region);
+        return regionArtifacts == null ? null : regionArtifacts.get(revision);
+    }
+
+    /**
+     * 各地域最新快照的大小与构建耗时
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        artifacts.forEach((region, regionArtifacts) -> {
+            if (regionArtifacts.isEmpty()) {
+                return;
+            }
+            RegionSnapshotArtifact artifact = regionArtifacts.lastEntry().getValue();
+            Map<String, Object> regionStats = new LinkedHashMap<>();
+            regionStats.put("revision", artifact.getRevision());
+            regionStats.put("configCount", artifact.getConfigCount());
+            regionStats.put("artifactBytes", artifact.getData().length);
+            regionStats.put("buildMicros", artifact.getBuildMicros());
+            regionStats.put("retainedRevisions", regionArtifacts.keySet());
+            regionStats.put("rebuildPending", pendingRegions.contains(region));
+            stats.put(region, regionStats);
+        });
+        return stats;
+    }
+
+    /**
+     * 登记待重建的地域，地域已在排队时不重复提交任务
+     */
+    private void schedule(Set<String> regions) {
+        for (String region : regions) {
+            if (!pendingRegions.add(region)) {
+                continue;
+            }
+            try {
+                rebuildExecutor.execute(() -> rebuild(region));
+            } catch (RejectedExecutionException e) {
+                // 应用关闭中，读取时再构建
+                pendingRegions.remove(region);
+            }
+        }
+    }
+
+    private void rebuild(String region) {
+        // 先移除再构建，构建期间到达的变更会重新排队
+        if (!pendingRegions.remove(region)) {
+            return;
+        }
+        try {
+            build(region);
+        } catch (RuntimeException e) {
+            // 构建失败时保留旧快照，下次变更或读取时重建
+            log.warn("Failed to build snapshot for region {}", region, e);
+        }
+    }
+
+    private synchronized RegionSnapshotArtifact buildIfAbsent(String region) {
+        ConcurrentNavigableMap<Long, RegionSnapshotArtifact> regionArtifacts = artifacts.get(region);
+        if (regionArtifacts != null && !regionArtifacts.isEmpty()) {
+            return regionArtifacts.lastEntry().getValue();
+        }
+        return build(region);
+    }
+
+    /**
+     * 先取快照缓存已覆盖的修订号再读取缓存，快照内容不早于该修订号
+     */
+    private synchronized RegionSnapshotArtifact build(String region) {
+        long revision = cachedRevision(region);
+        ConcurrentNavigableMap<Long, RegionSnapshotArtifact> regionArtifacts =
+            artifacts.computeIfAbsent(region, r -> new ConcurrentSkipListMap<>());
+        if (!regionArtifacts.isEmpty()) {
+            // 缓存内容只会变新，上一个快照的修订号仍是下界，修订号只增不减
+            revision = Math.max(revision, regionArtifacts.lastKey());
+        }
+
+        RegionSnapshot snapshot = new RegionSnapshot();
+        snapshot.setRevision(revision);
+        snapshot.setRegion(region);
+        snapshot.getDataSourceConfigs().addAll(dataSourceConfigService.getActiveByRegion(region));
+        snapshot.getApiRecordConfigs().addAll(apiRecordConfigService.getActiveByRegion(region));
+        snapshot.getApiMetaConfigs().addAll(apiMetaConfigService.getActiveByRegion(region));
+        // 按主键排序，内容相同时字节相同
+        snapshot.getDataSourceConfigs().sort(BY_ID);
+        snapshot.getApiRecordConfigs().sort(BY_ID);
+        snapshot.getApiMetaConfigs().sort(BY_ID);
+
+        long start = System.nanoTime();
+        byte[] data = SnapshotCodec.encode(snapshot);
+        long buildMicros = (System.nanoTime() - start) / 1000;
+
+        CRC32 checksum = new CRC32();
+        checksum.update(data);
+        RegionSnapshotArtifact artifact = new RegionSnapshotArtifact(revision, region, data,
+            ETagUtils.format(checksum.getValue()),
+            snapshot.getDataSourceConfigs().size() + snapshot.getApiRecordConfigs().size()
+                + snapshot.getApiMetaConfigs().size(),
+            buildMicros, System.currentTimeMillis());
+        regionArtifacts.put(revision, artifact);
+        while (regionArtifacts.size() > Math.max(1, snapshotProperties.getRetainedRevisions())) {
+            regionArtifacts.pollFirstEntry();
+        }
+        log.debug("Built snapshot for region {} at revision {}: {} bytes in {} us",
+            region, revision, data.length, buildMicros);
+        return artifact;
+    }
+
+    /**
+     * 缓存尚未就绪或数据库不可用时（如以本地快照文件预填充）记为修订号 0，客户端按 0 同步时全量对账
+     */
+    private long cachedRevision(String region) {
+        try {
+            long revision = configInvalidationPoller.getCachedRevision();
+            if (revision >= 0) {
+                return revision;
+            }
+            log.debug("Snapshot caches not reconciled yet, building snapshot for region {} at revision 0", region);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read current revision, building snapshot for region {} at revision 0", region);
+        }
+        return 0L;
+    }
+
+    /**
+     * 全量发布影响所有地域
+     */
+    private Set<String> expand(Collection<String> regions) {
+        if (regions.contains(GrayGroupUtils.ALL)) {
+            return new LinkedHashSet<>(regionProvider.getSupportedRegions());
+        }
+        Set<String> expanded = new LinkedHashSet<>(regions);
+        expanded.retainAll(regionProvider.getSupportedRegions());
+        return expanded;
+    }
+
+    private void checkRegion(String region) {
+        if (!regionProvider.isRegionSupported(region)) {
+            throw new IllegalArgumentException("Unsupported region: " + region);
+        }
+    }
+}
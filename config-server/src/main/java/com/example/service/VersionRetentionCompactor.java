@@ -0,0 +1,304 @@
+package com.example.service;
+
+import com.example.config.VersionProperties;
+import com.example.enums.ConfigStatus;
+import com.example.enums.ConfigType;
+import com.example.mapper.ApiMetaConfigMapper;
+import com.example.mapper.ApiRecordConfigMapper;
+import com.example.mapper.ConfigBlobMapper;
+import com.example.mapper.ConfigChangeLogMapper;
+import com.example.mapper.DataSourceConfigMapper;
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.model.BaseVersionedConfig;
+import com.example.model.DataSourceConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 版本保留清理
+ * 定时按批删除超出保留数量的历史版本，不在创建/更新事务内执行；已发布版本永不删除
+ * 同一轮清理中删除超过保留时长的变更日志，并标记-清除不再被任何版本引用的大字段内容
+ */
+@Slf4j
+@Service
+public class VersionRetentionCompactor {
+
+    /**
+     * 每次分页查询的标识数
+     */
+    private static final int IDENTIFIER_PAGE_SIZE = 200;
+
+    /**
+     * 标记大字段引用时每次查询的版本主键范围
+     */
+    private static final int REFERENCE_ID_RANGE = 5000;
+
+    /**
+     * 只回收此时长之前写入的大字段内容，须长于写入版本的事务：
+     * 标记时尚未提交的版本行所复用的内容在写入时已刷新 gmt_modified
+     */
+    private static final long BLOB_GRACE_MILLIS = 10 * 60 * 1000L;
+
+    @Autowired
+    private DataSourceConfigMapper dataSourceConfigMapper;
+
+    @Autowired
+    private ApiRecordConfigMapper apiRecordConfigMapper;
+
+    @Autowired
+    private ApiMetaConfigMapper apiMetaConfigMapper;
+
+    @Autowired
+    private ConfigChangeLogMapper configChangeLogMapper;
+
+    @Autowired
+    private ConfigBlobMapper configBlobMapper;
+
+    @Autowired
+    private VersionProperties versionProperties;
+
+    private volatile Map<String, Object> lastReport = new LinkedHashMap<>();
+
+    @Scheduled(initialDelayString = "${config.version.compaction-interval-millis:300000}",
+               fixedDelayString = "${config.version.compaction-interval-millis:300000}")
+    public void scheduledCompact() {
+        if (!versionProperties.isCompactionEnabled()) {
+            return;
+        }
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.warn("Version retention compaction failed", e);
+        }
+    }
+
+    /**
+     * 执行一次清理，返回各类型回收的行数与耗时
+     */
+    public synchronized Map<String, Object> compact() {
+        long start = System.currentTimeMillis();
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        report.put(ConfigType.DATA_SOURCE.name(), this.<String, DataSourceConfig>compactType(
+            versionProperties.getMaxDatasourceVersions(),
+            after -> dataSourceConfigMapper.findSourcesExceedingVersions(
+                after, versionProperties.getMaxDatasourceVersions(), IDENTIFIER_PAGE_SIZE),
+            source -> dataSourceConfigMapper.findSurplusVersionsBySource(
+                source, versionProperties.getMaxDatasourceVersions(), versionProperties.getCompactionBatchSize()),
+            dataSourceConfigMapper::deleteUnpublishedByIds));
+
+        report.put(ConfigType.API_RECORD.name(), this.<ApiRecordConfig, ApiRecordConfig>compactType(
+            versionProperties.getMaxApirecordVersions(),
+            after -> apiRecordConfigMapper.findIdentifiersExceedingVersions(
+                after, versionProperties.getMaxApirecordVersions(), IDENTIFIER_PAGE_SIZE),
+            api -> apiRecordConfigMapper.findSurplusVersionsByIdentifier(
+                api, versionProperties.getMaxApirecordVersions(), versionProperties.getCompactionBatchSize()),
+            apiRecordConfigMapper::deleteUnpublishedByIds));
+
+        report.put(ConfigType.API_META.name(), this.<ApiMetaConfig, ApiMetaConfig>compactType(
+            versionProperties.getMaxApiMetaVersions(),
+            after -> apiMetaConfigMapper.findIdentifiersExceedingVersions(
+                after, versionProperties.getMaxApiMetaVersions(), IDENTIFIER_PAGE_SIZE),
+            api -> apiMetaConfigMapper.findSurplusVersionsByIdentifier(
+                api, versionProperties.getMaxApiMetaVersions(), versionProperties.getCompactionBatchSize()),
+            apiMetaConfigMapper::deleteUnpublishedByIds));
+
+        long reclaimed = report.values().stream().mapToLong(value -> (Long) value).sum();
+        report.put("changeLogRows", pruneChangeLog());
+        // 在删除版本之后执行，本轮删除的版本独占的内容同轮回收
+        report.put("blobRows", sweepBlobs());
+        long elapsed = System.currentTimeMillis() - start;
+        report.put("reclaimedRows", reclaimed);
+        report.put("elapsedMillis", elapsed);
+        report.put("finishedAt", System.currentTimeMillis());
+        lastReport = report;
+
+        log.info("Version retention compaction reclaimed {} rows in {} ms: {}", reclaimed, elapsed, report);
+        return report;
+    }
+
+    /**
+     * 最近一次清理的结果
+     */
+    public Map<String, Object> getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * 按标识分页扫描超出保留数的配置，累计待删除的主键并分批删除
+     *
+     * @param keep            每个标识保留的最新版本数
+     * @param nextIdentifiers 查询游标之后的下一页标识，游标为 null 时从头开始
+     * @param surplusVersions 查询标识保留范围之外的版本
+     * @param deleter         按主键批量删除未发布版本，返回删除行数
+     * @return 回收的行数
+     */
+    private <K, T extends BaseVersionedConfig> long compactType(int keep,
+                                                               Function<K, List<K>> nextIdentifiers,
+                                                               Function<K, List<T>> surplusVersions,
+                                                               ToIntFunction<List<Long>> deleter) {
+        if (keep <= 0) {
+            return 0L;
+        }
+        int batchSize = Math.max(1, versionProperties.getCompactionBatchSize());
+        long reclaimed = 0;
+        List<Long> pendingIds = new ArrayList<>();
+        K cursor = null;
+        while (true) {
+            List<K> identifiers = nextIdentifiers.apply(cursor);
+            for (K identifier : identifiers) {
+                for (T version : surplusVersions.apply(identifier)) {
+                    if (!ConfigStatus.PUBLISHED.name().equals(version.getStatus())) {
+                        pendingIds.add(version.getId());
+                    }
+                }
+                while (pendingIds.size() >= batchSize) {
+                    reclaimed += deleteChunk(pendingIds, batchSize, deleter);
+                }
+            }
+            if (identifiers.size() < IDENTIFIER_PAGE_SIZE) {
+                break;
+            }
+            cursor = identifiers.get(identifiers.size() - 1);
+        }
+        if (!pendingIds.isEmpty()) {
+            reclaimed += deleteChunk(pendingIds, pendingIds.size(), deleter);
+        }
+        return reclaimed;
+    }
+
+    /**
+     * 分批删除超过保留时长的变更日志，始终保留最近 changeLogRetainedRevisions 个修订号，
+     * 保证客户端全量加载后的回放窗口内的日志不被删除；按数据库时间计算，不受节点时钟偏差影响
+     *
+     * @return 删除的行数
+     */
+    private long pruneChangeLog() {
+        long retention = versionProperties.getChangeLogRetentionMillis();
+        Long currentRevision = configChangeLogMapper.findCurrentRevision();
+        if (retention <= 0 || currentRevision == null) {
+            return 0L;
+        }
+        long maxRevision = currentRevision - Math.max(0, versionProperties.getChangeLogRetainedRevisions());
+        if (maxRevision <= 0) {
+            return 0L;
+        }
+        LocalDateTime before = configChangeLogMapper.findDatabaseTime().minus(retention, ChronoUnit.MILLIS);
+        int batchSize = Math.max(1, versionProperties.getCompactionBatchSize());
+        long pruned = 0;
+        while (true) {
+            List<Long> ids = configChangeLogMapper.findIdsCreatedBefore(before, maxRevision, batchSize);
+            if (!ids.isEmpty()) {
+                pruned += configChangeLogMapper.deleteByIds(ids);
+                throttle();
+            }
+            if (ids.size() < batchSize) {
+                return pruned;
+            }
+        }
+    }
+
+    /**
+     * 标记-清除大字段内容：按主键范围读取所有版本行引用的摘要，再按摘要顺序分批删除未被引用的内容
+     * 标记以摘要前 64 位记录，前缀碰撞只会少删，不会误删
+     *
+     * @return 删除的行数
+     */
+    private long sweepBlobs() {
+        LocalDateTime before = configBlobMapper.findDatabaseTime().minus(BLOB_GRACE_MILLIS, ChronoUnit.MILLIS);
+        long[] marked = markReferencedBlobs();
+        int batchSize = Math.max(1, versionProperties.getCompactionBatchSize());
+        long swept = 0;
+        String cursor = "";
+        while (true) {
+            List<String> hashes = configBlobMapper.findHashesModifiedBefore(cursor, before, batchSize);
+            List<String> garbage = new ArrayList<>();
+            for (String hash : hashes) {
+                if (Arrays.binarySearch(marked, prefix(hash)) < 0) {
+                    garbage.add(hash);
+                }
+            }
+            if (!garbage.isEmpty()) {
+                swept += configBlobMapper.deleteByHashesModifiedBefore(garbage, before);
+                throttle();
+            }
+            if (hashes.size() < batchSize) {
+                return swept;
+            }
+            cursor = hashes.get(hashes.size() - 1);
+        }
+    }
+
+    /**
+     * 所有版本行引用的摘要前缀，已排序
+     */
+    private long[] markReferencedBlobs() {
+        long maxId = configBlobMapper.findMaxReferenceId();
+        long[] marked = new long[1024];
+        int size = 0;
+        for (long fromId = 0; fromId < maxId; fromId += REFERENCE_ID_RANGE) {
+            for (String hash : configBlobMapper.findReferencedHashes(fromId, fromId + REFERENCE_ID_RANGE)) {
+                if (size == marked.length) {
+                    // 多数版本共享内容，先去重，仍然不足时再扩容
+                    size = distinct(marked, size);
+                    if (size > marked.length / 2) {
+                        marked = Arrays.copyOf(marked, marked.length * 2);
+                    }
+                }
+                marked[size++] = prefix(hash);
+            }
+        }
+        return Arrays.copyOf(marked, distinct(marked, size));
+    }
+
+    /**
+     * 排序并原地去重前 size 个元素，返回去重后的个数
+     */
+    private static int distinct(long[] values, int size) {
+        Arrays.sort(values, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || values[i] != values[distinct - 1]) {
+                values[distinct++] = values[i];
+            }
+        }
+        return distinct;
+    }
+
+    private static long prefix(String hash) {
+        return Long.parseUnsignedLong(hash.substring(0, 16), 16);
+    }
+
+    private long deleteChunk(List<Long> pendingIds, int size, ToIntFunction<List<Long>> deleter) {
+        List<Long> chunk = pendingIds.subList(0, Math.min(size, pendingIds.size()));
+        int deleted = deleter.applyAsInt(new ArrayList<>(chunk));
+        chunk.clear();
+        throttle();
+        return deleted;
+    }
+
+    private void throttle() {
+        long pause = versionProperties.getCompactionPauseMillis();
+        if (pause <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.util;
+
+import com.example.model.ConfigIdentifier;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 配置标识工具类
+ */
+public class ConfigIdentifierUtils {
+    
+    /**
+     * 从配置列表中找出与目标配置具有相同标识的配置
+     */
+    public static <T extends ConfigIdentifier> List<T> findSameIdentifier(List<T> configs, T target) {
+        if (configs == null || target == null) {
+            return Collections.emptyList();
+        }
+        return configs.stream()
+            .filter(config -> config.getIdentifier().equals(target.getIdentifier()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 检查配置列表中是否存在与目标配置具有相同标识的配置
+     */
+    public static <T extends ConfigIdentifier> boolean hasSameIdentifier(List<T> configs, T target) {
+        if (configs == null || target == null) {
+            return false;
+        }
+        return configs.stream()
+            .anyMatch(config -> config.getIdentifier().equals(target.getIdentifier()));
+    }
+
+    /**
+     * 拆分 gatewayType:gatewayCode:apiVersion:apiName 格式的API标识
+     */
+    public static String[] splitApiIdentifier(String identifier) {
+        String[] parts = identifier.split(":");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid API identifier format");
+        }
+        return parts;
+    }
+
+    /**
+     * 将API标识转换为批量查询参数，每项包含 gatewayType、gatewayCode、apiVersion、apiName
+     */
+    public static List<Map<String, String>> toApiKeys(Collection<String> identifiers) {
+        return identifiers.stream()
+            .map(identifier -> {
+                String[] parts = splitApiIdentifier(identifier);
+                Map<String, String> key = new HashMap<>();
+                key.put("gatewayType", parts[0]);
+                key.put("gatewayCode", parts[1]);
+                key.put("apiVersion", parts[2]);
+                key.put("apiName", parts[3]);
+                return key;
+            })
+            .collect(Collectors.toList());
+    }
+}
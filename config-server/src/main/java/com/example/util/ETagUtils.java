@@ -0,0 +1,60 @@
+package com.example.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * ETag 工具类
+ * 配置列表的顺序不保证稳定，统一使用弱 ETag
+ */
+public class ETagUtils {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * 将摘要格式化为弱 ETag
+     */
+    public static String format(long digest) {
+        return WEAK_PREFIX + "\"" + Long.toHexString(digest) + "\"";
+    }
+
+    /**
+     * 判断 If-None-Match 请求头是否命中指定 ETag（弱比较）
+     * eTag 为 null 表示资源当前不存在，此时包括 "*" 在内都不命中
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String expected = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || stripWeak(value).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 返回带 ETag 的 200 响应，ETag 为空时不设置
+     */
+    public static <T> ResponseEntity<T> ok(String eTag, T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * 返回不含响应体的 304 响应
+     */
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+}
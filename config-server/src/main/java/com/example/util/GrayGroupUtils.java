@@ -0,0 +1,67 @@
+package com.example.util;
+
+import com.example.model.BaseVersionedConfig;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 灰度组工具类
+ * 灰度组以 "all" 表示全量发布，否则为逗号分隔的地域列表
+ */
+public class GrayGroupUtils {
+
+    /**
+     * 全量发布的灰度组标识
+     */
+    public static final String ALL = "all";
+
+    /**
+     * 将灰度组列表格式化为存储格式
+     */
+    public static String format(List<String> grayGroups) {
+        return grayGroups.size() == 1 && grayGroups.get(0).equals(ALL)
+            ? ALL
+            : String.join(",", grayGroups);
+    }
+
+    /**
+     * 解析灰度组字符串，返回去重后的地域集合（全量发布时为 {"all"}）
+     */
+    public static Set<String> parse(String grayGroups) {
+        if (grayGroups == null || grayGroups.trim().isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> groups = new LinkedHashSet<>();
+        Arrays.stream(grayGroups.split(","))
+            .map(String::trim)
+            .filter(group -> !group.isEmpty())
+            .forEach(groups::add);
+        return groups;
+    }
+
+    /**
+     * 判断灰度组是否在指定地域生效
+     */
+    public static boolean isEffectiveIn(String grayGroups, String region) {
+        return parse(grayGroups).stream()
+            .anyMatch(group -> ALL.equals(group) || group.equals(region));
+    }
+
+    /**
+     * 从在同一地域生效的候选版本中选出生效版本，与数据库查询保持一致：
+     * 优先地域灰度版本，其次全量版本，同类取最近修改
+     */
+    public static <T extends BaseVersionedConfig> T selectEffective(Collection<T> candidates) {
+        return candidates.stream()
+            .min(Comparator.comparing((T config) -> ALL.equals(config.getEffectiveGrayGroups()))
+                .thenComparing(BaseVersionedConfig::getGmtModified,
+                    Comparator.nullsLast(Comparator.reverseOrder())))
+            .orElse(null);
+    }
+}
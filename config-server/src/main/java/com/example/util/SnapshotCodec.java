@@ -0,0 +1,313 @@
+package com.example.util;
+
+import com.example.dto.RegionSnapshot;
+import com.example.model.ApiMetaConfig;
+import com.example.model.ApiRecordConfig;
+import com.example.model.BaseVersionedConfig;
+import com.example.model.DataSourceConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 地域快照二进制编解码
+ * 格式：gzip( 魔数 | 格式版本 | 修订号 | 地域 | 数据源配置 | API记录配置 | API Meta配置 )，
+ * 每类配置为 数量 + 按固定字段顺序写出的记录，字符串为 长度+1 的变长整数前缀 + UTF-8，0 表示 null
+ */
+public class SnapshotCodec {
+
+    private static final int MAGIC = 0x43464753;
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * 编码并压缩快照
+     */
+    public static byte[] encode(RegionSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(snapshot.getRevision());
+            writeString(out, snapshot.getRegion());
+
+            writeVarInt(out, snapshot.getDataSourceConfigs().size());
+            for (DataSourceConfig config : snapshot.getDataSourceConfigs()) {
+                writeBase(out, config);
+                writeString(out, config.getSource());
+                writeString(out, config.getSourceGroup());
+                writeString(out, config.getGatewayType());
+                writeString(out, config.getDm());
+                writeString(out, config.getSlsEndpoint());
+                writeString(out, config.getSlsProject());
+                writeString(out, config.getSlsLogstore());
+                writeString(out, config.getSlsAccountId());
+                writeString(out, config.getSlsAssumeRoleArn());
+                writeString(out, config.getSlsCursor());
+                writeString(out, config.getConsumeRegion());
+                writeString(out, config.getWorkerConfig());
+            }
+
+            writeVarInt(out, snapshot.getApiRecordConfigs().size());
+            for (ApiRecordConfig config : snapshot.getApiRecordConfigs()) {
+                writeBase(out, config);
+                writeString(out, config.getGatewayType());
+                writeString(out, config.getGatewayCode());
+                writeString(out, config.getApiVersion());
+                writeString(out, config.getApiName());
+                writeString(out, config.getBasicConfig());
+                writeString(out, config.getEventConfig());
+                writeString(out, config.getUserIdentityConfig());
+                writeString(out, config.getRequestConfig());
+                writeString(out, config.getResponseConfig());
+                writeString(out, config.getFilterConfig());
+                writeString(out, config.getReferenceResourceConfig());
+            }
+
+            writeVarInt(out, snapshot.getApiMetaConfigs().size());
+            for (ApiMetaConfig config : snapshot.getApiMetaConfigs()) {
+                writeBase(out, config);
+                writeString(out, config.getApiName());
+                writeString(out, config.getProduct());
+                writeString(out, config.getGatewayType());
+                writeString(out, config.getDm());
+                writeString(out, config.getGatewayCode());
+                writeString(out, config.getApiVersion());
+                writeString(out, config.getActiontrailCode());
+                writeString(out, config.getOperationType());
+                writeString(out, config.getDescription());
+                writeString(out, config.getVisibility());
+                writeString(out, config.getIsolationType());
+                writeString(out, config.getServiceType());
+                writeBoolean(out, config.getResponseBodyLog());
+                writeString(out, config.getInvokeType());
+                writeString(out, config.getResourceSpec());
+                writeString(out, config.getEffectiveFlag());
+                writeString(out, config.getAuditStatus());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解压并解码快照
+     */
+    public static RegionSnapshot decode(byte[] data) {
+        return decode(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * 从缓冲区（如内存映射文件）解压并解码快照
+     */
+    public static RegionSnapshot decode(ByteBuffer buffer) {
+        ByteBuffer source = buffer.duplicate();
+        return decode(new InputStream() {
+            @Override
+            public int read() {
+                return source.hasRemaining() ? source.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(length, source.remaining());
+                source.get(bytes, offset, count);
+                return count;
+            }
+        });
+    }
+
+    /**
+     * 从输入流解压并解码快照
+     */
+    public static RegionSnapshot decode(InputStream input) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(input))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a config snapshot");
+            }
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot format version: " + version);
+            }
+            RegionSnapshot snapshot = new RegionSnapshot();
+            snapshot.setRevision(in.readLong());
+            snapshot.setRegion(readString(in));
+
+            readList(in, snapshot.getDataSourceConfigs(), DataSourceConfig::new, config -> {
+                config.setSource(readString(in));
+                config.setSourceGroup(readString(in));
+                config.setGatewayType(readString(in));
+                config.setDm(readString(in));
+                config.setSlsEndpoint(readString(in));
+                config.setSlsProject(readString(in));
+                config.setSlsLogstore(readString(in));
+                config.setSlsAccountId(readString(in));
+                config.setSlsAssumeRoleArn(readString(in));
+                config.setSlsCursor(readString(in));
+                config.setConsumeRegion(readString(in));
+                config.setWorkerConfig(readString(in));
+            });
+
+            readList(in, snapshot.getApiRecordConfigs(), ApiRecordConfig::new, config -> {
+                config.setGatewayType(readString(in));
+                config.setGatewayCode(readString(in));
+                config.setApiVersion(readString(in));
+                config.setApiName(readString(in));
+                config.setBasicConfig(readString(in));
+                config.setEventConfig(readString(in));
+                config.setUserIdentityConfig(readString(in));
+                config.setRequestConfig(readString(in));
+                config.setResponseConfig(readString(in));
+                config.setFilterConfig(readString(in));
+                config.setReferenceResourceConfig(readString(in));
+            });
+
+            readList(in, snapshot.getApiMetaConfigs(), ApiMetaConfig::new, config -> {
+                config.setApiName(readString(in));
+                config.setProduct(readString(in));
+                config.setGatewayType(readString(in));
+                config.setDm(readString(in));
+                config.setGatewayCode(readString(in));
+                config.setApiVersion(readString(in));
+                config.setActiontrailCode(readString(in));
+                config.setOperationType(readString(in));
+                config.setDescription(readString(in));
+                config.setVisibility(readString(in));
+                config.setIsolationType(readString(in));
+                config.setServiceType(readString(in));
+                config.setResponseBodyLog(readBoolean(in));
+                config.setInvokeType(readString(in));
+                config.setResourceSpec(readString(in));
+                config.setEffectiveFlag(readString(in));
+                config.setAuditStatus(readString(in));
+            });
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface FieldReader<T> {
+        void read(T config) throws IOException;
+    }
+
+    private static <T extends BaseVersionedConfig> void readList(DataInputStream in, List<T> target,
+                                                                 Supplier<T> factory,
+                                                                 FieldReader<T> fields) throws IOException {
+        int count = readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            T config = factory.get();
+            readBase(in, config);
+            fields.read(config);
+            target.add(config);
+        }
+    }
+
+    private static void writeBase(DataOutputStream out, BaseVersionedConfig config) throws IOException {
+        writeLong(out, config.getId());
+        writeString(out, config.getVersionId());
+        writeString(out, config.getStatus());
+        writeString(out, config.getEffectiveGrayGroups());
+        writeDateTime(out, config.getGmtCreate());
+        writeDateTime(out, config.getGmtModified());
+    }
+
+    private static void readBase(DataInputStream in, BaseVersionedConfig config) throws IOException {
+        config.setId(readLong(in));
+        config.setVersionId(readString(in));
+        config.setStatus(readString(in));
+        config.setEffectiveGrayGroups(readString(in));
+        config.setGmtCreate(readDateTime(in));
+        config.setGmtModified(readDateTime(in));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : (value ? 2 : 1));
+    }
+
+    private static Boolean readBoolean(DataInputStream in) throws IOException {
+        byte value = in.readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean()
+            ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)
+            : null;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in snapshot");
+    }
+}
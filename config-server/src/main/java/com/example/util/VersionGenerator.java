@@ -0,0 +1,232 @@
+package com.example.util;
+
+import com.example.config.VersionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 版本号生成器
+ * 序号按 前缀+日期 从 version_sequence 表分段租用，一次往返分配一段，
+ * 号段余量不足时后台预取下一段；多节点、重启后均不会产生重复版本号
+ *
+ * 号段分配经主数据源在独立事务（REQUIRES_NEW）中提交，不随业务事务回滚；
+ * 业务事务内同步租用时会临时再占用一个连接，号段通常已由后台预取，同步租用只在预取未完成时发生
+ */
+@Slf4j
+@Component
+public class VersionGenerator {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * 等待预取号段的最长时间
+     */
+    private static final long PREFETCH_WAIT_SECONDS = 5;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VersionProperties versionProperties;
+
+    private final ConcurrentMap<String, SegmentBuffer> buffers = new ConcurrentHashMap<>();
+
+    private JdbcTemplate sequenceJdbcTemplate;
+
+    private TransactionTemplate allocateTemplate;
+
+    private ExecutorService prefetchExecutor;
+
+    @PostConstruct
+    public void init() {
+        sequenceJdbcTemplate = new JdbcTemplate(dataSource);
+        allocateTemplate = new TransactionTemplate(transactionManager);
+        allocateTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "version-segment-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    /**
+     * 生成数据源配置版本号
+     * 格式：DS + 年月日 + 至少4位序号，如：DS202401150001
+     */
+    public String generateDataSourceVersion() {
+        return generateVersion("DS");
+    }
+
+    /**
+     * 生成API记录配置版本号
+     * 格式：AR + 年月日 + 至少4位序号，如：AR202401150001
+     */
+    public String generateApiRecordVersion() {
+        return generateVersion("AR");
+    }
+
+    /**
+     * 生成API Meta配置版本号
+     * 格式：AM + 年月日 + 至少4位序号，如：AM202401150001
+     */
+    public String generateApiMetaVersion() {
+        return generateVersion("AM");
+    }
+
+    private String generateVersion(String prefix) {
+        return buffers.computeIfAbsent(prefix, SegmentBuffer::new).next();
+    }
+
+    private static String today() {
+        return LocalDate.now().format(DATE_FORMATTER);
+    }
+
+    /**
+     * 从数据库租用一段序号
+     */
+    private Segment allocate(String prefix, String date) {
+        String bizKey = prefix + date;
+        int step = Math.max(1, versionProperties.getSequenceStep());
+        Long maxSeq = allocateTemplate.execute(status -> {
+            sequenceJdbcTemplate.update(
+                "INSERT IGNORE INTO version_sequence (biz_key, max_seq, gmt_create, gmt_modified) " +
+                "VALUES (?, 0, NOW(), NOW())", bizKey);
+            // 行锁保证多节点租用的号段互不重叠
+            int updated = sequenceJdbcTemplate.update(
+                "UPDATE version_sequence SET max_seq = max_seq + ?, gmt_modified = NOW() " +
+                "WHERE biz_key = ?", step, bizKey);
+            if (updated == 0) {
+                throw new IllegalStateException("Failed to allocate version sequence: " + bizKey);
+            }
+            return sequenceJdbcTemplate.queryForObject(
+                "SELECT max_seq FROM version_sequence WHERE biz_key = ?", Long.class, bizKey);
+        });
+        if (maxSeq == null) {
+            throw new IllegalStateException("Failed to allocate version sequence: " + bizKey);
+        }
+        return new Segment(date, maxSeq - step + 1, maxSeq);
+    }
+
+    /**
+     * 已租用的一段序号 [cursor, max]
+     */
+    private static final class Segment {
+        private final String date;
+        private final AtomicLong cursor;
+        private final long max;
+        private final long prefetchThreshold;
+
+        private Segment(String date, long min, long max) {
+            this.date = date;
+            this.cursor = new AtomicLong(min);
+            this.max = max;
+            // 剩余不足 20% 时预取下一段
+            this.prefetchThreshold = (max - min + 1) / 5;
+        }
+    }
+
+    /**
+     * 单个前缀的双号段缓冲：当前号段无锁分配，下一号段后台预取
+     */
+    private final class SegmentBuffer {
+        private final String prefix;
+        private volatile Segment current;
+        private final AtomicReference<CompletableFuture<Segment>> pending = new AtomicReference<>();
+
+        private SegmentBuffer(String prefix) {
+            this.prefix = prefix;
+        }
+
+        /**
+         * 分配下一个版本号，日期取自号段，与序号始终属于同一天
+         */
+        private String next() {
+            while (true) {
+                Segment segment = current;
+                if (segment != null && segment.date.equals(today())) {
+                    long value = segment.cursor.getAndIncrement();
+                    if (value <= segment.max) {
+                        if (segment.max - value < segment.prefetchThreshold) {
+                            prefetch(segment.date);
+                        }
+                        // 单日超过 9999 个版本时序号自然扩展为更多位
+                        return String.format("%s%s%04d", prefix, segment.date, value);
+                    }
+                }
+                switchSegment(segment);
+            }
+        }
+
+        private void prefetch(String date) {
+            CompletableFuture<Segment> future = new CompletableFuture<>();
+            if (!pending.compareAndSet(null, future)) {
+                return;
+            }
+            prefetchExecutor.execute(() -> {
+                try {
+                    future.complete(allocate(prefix, date));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+
+        /**
+         * 日期在锁内读取：已跨天时，之前读到前一天日期的调用方不会再租用前一天的号段
+         */
+        private synchronized void switchSegment(Segment observed) {
+            if (current != observed) {
+                // 其他线程已切换号段
+                return;
+            }
+            String date = today();
+            if (observed != null && observed.date.equals(date) && observed.cursor.get() <= observed.max) {
+                // 调用方读取日期后号段才由其他线程切换到当天，仍有余量
+                return;
+            }
+            Segment candidate = null;
+            CompletableFuture<Segment> future = pending.getAndSet(null);
+            if (future != null) {
+                try {
+                    candidate = future.get(PREFETCH_WAIT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for version segment", e);
+                } catch (Exception e) {
+                    log.warn("Prefetch of {} version segment failed, allocating synchronously", prefix, e);
+                }
+            }
+            if (candidate == null || !candidate.date.equals(date)) {
+                // 跨天时丢弃前一天预取的号段
+                candidate = allocate(prefix, date);
+            }
+            current = candidate;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+-- 所有实例都已升级到读取 config_blob 的版本，并关闭 config.blob.inline-columns-enabled 重启后执行
+-- 1. 补齐 V8 之后由旧版本应用写入、尚未记录摘要的版本行
+INSERT IGNORE INTO config_blob (hash, content, content_length)
+SELECT SHA2(content, 256), content, LENGTH(content) FROM (
+    SELECT basic_config AS content FROM api_record_config WHERE basic_config_hash IS NULL
+    UNION ALL SELECT event_config FROM api_record_config WHERE event_config_hash IS NULL
+    UNION ALL SELECT user_identity_config FROM api_record_config WHERE user_identity_config_hash IS NULL
+    UNION ALL SELECT request_config FROM api_record_config WHERE request_config_hash IS NULL
+    UNION ALL SELECT response_config FROM api_record_config WHERE response_config_hash IS NULL
+    UNION ALL SELECT filter_config FROM api_record_config WHERE filter_config_hash IS NULL
+    UNION ALL SELECT reference_resource_config FROM api_record_config WHERE reference_resource_config_hash IS NULL
+    UNION ALL SELECT resource_spec FROM api_meta_config WHERE resource_spec_hash IS NULL
+) c
+WHERE content IS NOT NULL;
+
+UPDATE api_record_config SET
+    basic_config_hash = COALESCE(basic_config_hash, SHA2(basic_config, 256)),
+    event_config_hash = COALESCE(event_config_hash, SHA2(event_config, 256)),
+    user_identity_config_hash = COALESCE(user_identity_config_hash, SHA2(user_identity_config, 256)),
+    request_config_hash = COALESCE(request_config_hash, SHA2(request_config, 256)),
+    response_config_hash = COALESCE(response_config_hash, SHA2(response_config, 256)),
+    filter_config_hash = COALESCE(filter_config_hash, SHA2(filter_config, 256)),
+    reference_resource_config_hash = COALESCE(reference_resource_config_hash, SHA2(reference_resource_config, 256));
+
+UPDATE api_meta_config SET resource_spec_hash = SHA2(resource_spec, 256)
+WHERE resource_spec_hash IS NULL;
+
+-- 2. 删除内联的大字段列
+ALTER TABLE api_record_config
+DROP COLUMN basic_config,
+DROP COLUMN event_config,
+DROP COLUMN user_identity_config,
+DROP COLUMN request_config,
+DROP COLUMN response_config,
+DROP COLUMN filter_config,
+DROP COLUMN reference_resource_config;
+
+ALTER TABLE api_meta_config DROP COLUMN resource_spec;
@@ -0,0 +1,51 @@
+-- 1. 创建配置灰度地域表
+CREATE TABLE IF NOT EXISTS config_gray_region (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    config_type VARCHAR(32) NOT NULL COMMENT '配置类型: DATA_SOURCE/API_RECORD/API_META',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID',
+    region VARCHAR(64) NOT NULL COMMENT '生效地域，全量发布为 all',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    UNIQUE KEY uk_type_region_version (config_type, region, version_id),
+    KEY idx_version (version_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置灰度地域表';
+
+-- 2. 序号表，用于拆分逗号分隔的灰度组（最多支持 16 个地域）
+CREATE TEMPORARY TABLE tmp_gray_seq (n INT PRIMARY KEY);
+INSERT INTO tmp_gray_seq (n) VALUES
+    (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12), (13), (14), (15), (16);
+
+-- 3. 回填存量已发布版本的生效地域
+INSERT IGNORE INTO config_gray_region (config_type, version_id, region, gmt_create)
+SELECT 'DATA_SOURCE', c.version_id,
+       TRIM(SUBSTRING_INDEX(SUBSTRING_INDEX(c.effective_gray_groups, ',', s.n), ',', -1)), NOW()
+FROM data_source_config c
+JOIN tmp_gray_seq s
+  ON s.n <= 1 + LENGTH(c.effective_gray_groups) - LENGTH(REPLACE(c.effective_gray_groups, ',', ''))
+WHERE c.status = 'PUBLISHED'
+  AND c.effective_gray_groups IS NOT NULL
+  AND c.effective_gray_groups != '';
+
+INSERT IGNORE INTO config_gray_region (config_type, version_id, region, gmt_create)
+SELECT 'API_RECORD', c.version_id,
+       TRIM(SUBSTRING_INDEX(SUBSTRING_INDEX(c.effective_gray_groups, ',', s.n), ',', -1)), NOW()
+FROM api_record_config c
+JOIN tmp_gray_seq s
+  ON s.n <= 1 + LENGTH(c.effective_gray_groups) - LENGTH(REPLACE(c.effective_gray_groups, ',', ''))
+WHERE c.status = 'PUBLISHED'
+  AND c.effective_gray_groups IS NOT NULL
+  AND c.effective_gray_groups != '';
+
+INSERT IGNORE INTO config_gray_region (config_type, version_id, region, gmt_create)
+SELECT 'API_META', c.version_id,
+       TRIM(SUBSTRING_INDEX(SUBSTRING_INDEX(c.effective_gray_groups, ',', s.n), ',', -1)), NOW()
+FROM api_meta_config c
+JOIN tmp_gray_seq s
+  ON s.n <= 1 + LENGTH(c.effective_gray_groups) - LENGTH(REPLACE(c.effective_gray_groups, ',', ''))
+WHERE c.status = 'PUBLISHED'
+  AND c.effective_gray_groups IS NOT NULL
+  AND c.effective_gray_groups != '';
+
+DROP TEMPORARY TABLE tmp_gray_seq;
+
+-- 4. 去除空地域（如 "a,,b" 拆分出的空串）
+DELETE FROM config_gray_region WHERE region = '';
@@ -0,0 +1,20 @@
+-- 1. 创建全局修订号表，仅一行，每次发布/废弃/回滚递增
+CREATE TABLE IF NOT EXISTS config_revision (
+    id INT PRIMARY KEY COMMENT '主键ID，固定为1',
+    revision BIGINT NOT NULL COMMENT '当前全局修订号',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='全局修订号表';
+
+INSERT IGNORE INTO config_revision (id, revision) VALUES (1, 0);
+
+-- 2. 创建配置变更日志表
+CREATE TABLE IF NOT EXISTS config_change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    revision BIGINT NOT NULL COMMENT '全局修订号',
+    config_type VARCHAR(32) NOT NULL COMMENT '配置类型: DATA_SOURCE/API_RECORD/API_META',
+    identifier VARCHAR(1024) NOT NULL COMMENT '配置标识',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID',
+    action VARCHAR(32) NOT NULL COMMENT '变更动作: PUBLISHED/DEPRECATED',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    KEY idx_revision (revision)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置变更日志表';
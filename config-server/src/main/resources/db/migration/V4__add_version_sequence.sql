@@ -0,0 +1,19 @@
+-- 1. 创建版本序号表，按 前缀+日期 分段分配版本序号
+CREATE TABLE IF NOT EXISTS version_sequence (
+    biz_key VARCHAR(32) PRIMARY KEY COMMENT '序列键，前缀+日期，如 DS20250108',
+    max_seq BIGINT NOT NULL COMMENT '已分配的最大序号',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='版本序号表';
+
+-- 2. 以存量最大版本号初始化当日序号，避免与已有版本冲突
+INSERT INTO version_sequence (biz_key, max_seq)
+SELECT LEFT(version_id, 10), MAX(CAST(SUBSTRING(version_id, 11) AS UNSIGNED))
+FROM (
+    SELECT version_id FROM data_source_config
+    UNION ALL SELECT version_id FROM api_record_config
+    UNION ALL SELECT version_id FROM api_meta_config
+) v
+WHERE version_id IS NOT NULL
+GROUP BY LEFT(version_id, 10)
+ON DUPLICATE KEY UPDATE max_seq = GREATEST(max_seq, VALUES(max_seq));
@@ -0,0 +1,11 @@
+-- 1. 数据源配置按 source + 状态 查询
+ALTER TABLE data_source_config
+ADD KEY idx_source_status (source, status);
+
+-- 2. API记录配置按 API标识 + 状态 查询
+ALTER TABLE api_record_config
+ADD KEY idx_identifier_status (gateway_type, gateway_code, api_version, api_name, status);
+
+-- 3. API Meta配置按 API标识 + 状态 查询
+ALTER TABLE api_meta_config
+ADD KEY idx_identifier_status (gateway_type, gateway_code, api_version, api_name, status);
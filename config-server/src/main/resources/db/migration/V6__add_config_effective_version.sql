@@ -0,0 +1,14 @@
+-- 1. 创建生效版本表，按 类型+标识+地域 记录当前生效的版本
+-- 类型与地域使用 ascii 字符集，使主键长度不超过 InnoDB 的 3072 字节上限
+CREATE TABLE IF NOT EXISTS config_effective_version (
+    config_type VARCHAR(32) CHARACTER SET ascii NOT NULL COMMENT '配置类型: DATA_SOURCE/API_RECORD/API_META',
+    identifier VARCHAR(720) NOT NULL COMMENT '配置标识',
+    region VARCHAR(64) CHARACTER SET ascii NOT NULL COMMENT '地域',
+    version_id VARCHAR(64) NOT NULL COMMENT '生效版本ID',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    PRIMARY KEY (config_type, identifier, region),
+    KEY idx_type_region (config_type, region)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='生效版本表';
+
+-- 2. 存量数据由应用启动时回填：表为空时按受支持地域全量重建，
+--    也可通过 POST /api/admin/effective-versions/rebuild 手动重建
@@ -0,0 +1,16 @@
+-- 1. 创建数据迁移检查点表，按主键区间分区记录存量迁移进度，中断后从检查点继续
+CREATE TABLE IF NOT EXISTS data_migration_checkpoint (
+    migration VARCHAR(64) NOT NULL COMMENT '迁移任务名',
+    partition_no INT NOT NULL COMMENT '分区序号',
+    start_id BIGINT NOT NULL COMMENT '分区起始主键(不含)',
+    end_id BIGINT NOT NULL COMMENT '分区结束主键(含)',
+    last_id BIGINT NOT NULL COMMENT '已迁移到的主键',
+    migrated_count BIGINT NOT NULL DEFAULT 0 COMMENT '已迁移行数',
+    status VARCHAR(32) NOT NULL COMMENT '状态: RUNNING/COMPLETED',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    PRIMARY KEY (migration, partition_no)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='数据迁移检查点表';
+
+-- 2. 存量数据源配置由应用分块迁移：POST /api/admin/migration/data-source 启动，
+--    GET /api/admin/migration/data-source 查看进度
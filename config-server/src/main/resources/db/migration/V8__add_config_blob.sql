@@ -0,0 +1,48 @@
+-- 只新增摘要列并回填，内联列保留至 V10，迁移期间旧版本应用仍可读写
+-- 新版本应用须以 config.blob.inline-columns-enabled=true 上线，同时写入内联列，并在摘要为空时读取内联列
+-- 1. 创建配置大字段表，JSON 大字段按内容的 SHA-256 摘要去重存储，版本行只保存摘要
+CREATE TABLE IF NOT EXISTS config_blob (
+    hash CHAR(64) CHARACTER SET ascii NOT NULL PRIMARY KEY COMMENT '内容的 SHA-256 摘要(小写十六进制)',
+    content TEXT NOT NULL COMMENT '内容',
+    content_length INT NOT NULL COMMENT '内容字节数',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最近一次被写入引用的时间，回收时跳过近期写入的内容'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置大字段表';
+
+-- 2. 版本行新增摘要列
+ALTER TABLE api_record_config
+ADD COLUMN basic_config_hash CHAR(64) CHARACTER SET ascii COMMENT '基础配置(JSON)摘要，内容见 config_blob' AFTER basic_config,
+ADD COLUMN event_config_hash CHAR(64) CHARACTER SET ascii COMMENT '事件配置(JSON)摘要' AFTER event_config,
+ADD COLUMN user_identity_config_hash CHAR(64) CHARACTER SET ascii COMMENT '用户身份配置(JSON)摘要' AFTER user_identity_config,
+ADD COLUMN request_config_hash CHAR(64) CHARACTER SET ascii COMMENT '请求配置(JSON)摘要' AFTER request_config,
+ADD COLUMN response_config_hash CHAR(64) CHARACTER SET ascii COMMENT '响应配置(JSON)摘要' AFTER response_config,
+ADD COLUMN filter_config_hash CHAR(64) CHARACTER SET ascii COMMENT '过滤配置(JSON)摘要' AFTER filter_config,
+ADD COLUMN reference_resource_config_hash CHAR(64) CHARACTER SET ascii COMMENT '引用资源配置(JSON)摘要' AFTER reference_resource_config;
+
+ALTER TABLE api_meta_config
+ADD COLUMN resource_spec_hash CHAR(64) CHARACTER SET ascii COMMENT '资源规格摘要，内容见 config_blob' AFTER resource_spec;
+
+-- 3. 回填：内容去重写入 config_blob，版本行记录摘要（SHA2 按列字符集 utf8mb4 取字节，与应用计算一致）
+INSERT IGNORE INTO config_blob (hash, content, content_length)
+SELECT SHA2(content, 256), content, LENGTH(content) FROM (
+    SELECT basic_config AS content FROM api_record_config
+    UNION ALL SELECT event_config FROM api_record_config
+    UNION ALL SELECT user_identity_config FROM api_record_config
+    UNION ALL SELECT request_config FROM api_record_config
+    UNION ALL SELECT response_config FROM api_record_config
+    UNION ALL SELECT filter_config FROM api_record_config
+    UNION ALL SELECT reference_resource_config FROM api_record_config
+    UNION ALL SELECT resource_spec FROM api_meta_config
+) c
+WHERE content IS NOT NULL;
+
+UPDATE api_record_config SET
+    basic_config_hash = SHA2(basic_config, 256),
+    event_config_hash = SHA2(event_config, 256),
+    user_identity_config_hash = SHA2(user_identity_config, 256),
+    request_config_hash = SHA2(request_config, 256),
+    response_config_hash = SHA2(response_config, 256),
+    filter_config_hash = SHA2(filter_config, 256),
+    reference_resource_config_hash = SHA2(reference_resource_config, 256);
+
+UPDATE api_meta_config SET resource_spec_hash = SHA2(resource_spec, 256);
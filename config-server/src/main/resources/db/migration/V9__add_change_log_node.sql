@@ -0,0 +1,10 @@
+-- 1. 变更日志记录写入节点，各节点追踪变更日志时跳过本节点已在提交后处理的变更
+ALTER TABLE config_change_log
+    ADD COLUMN node_id VARCHAR(128) NULL COMMENT '写入变更的节点' AFTER action;
+
+-- 2. 创建时间改为毫秒精度，用于统计跨节点传播延迟
+ALTER TABLE config_change_log
+    MODIFY COLUMN gmt_create DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+        COMMENT '创建时间，毫秒精度，用于统计跨节点传播延迟';
+
+-- 3. 创建、更新草稿同样写入变更日志（action 为 CREATED/UPDATED），无需回填
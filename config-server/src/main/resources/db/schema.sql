@@ -0,0 +1,167 @@
+-- 创建数据源配置表
+CREATE TABLE IF NOT EXISTS data_source_config (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID，格式：DS202501080001',
+    source VARCHAR(128) NOT NULL COMMENT '数据源标识',
+    source_group VARCHAR(128) COMMENT '数据源分组',
+    gateway_type VARCHAR(128) COMMENT '网关类型',
+    dm VARCHAR(128) COMMENT 'DM标识',
+    loghub_endpoint VARCHAR(512) COMMENT 'LogHub终端节点',
+    loghub_project VARCHAR(128) COMMENT 'LogHub项目',
+    loghub_stream VARCHAR(128) COMMENT 'LogHub数据流',
+    loghub_accesskey_id VARCHAR(512) COMMENT 'LogHub访问密钥ID',
+    loghub_accesskey_secret VARCHAR(512) COMMENT 'LogHub访问密钥密文',
+    loghub_assume_role_arn VARCHAR(512) COMMENT 'LogHub角色ARN',
+    loghub_cursor VARCHAR(64) COMMENT 'LogHub游标',
+    consume_region TEXT COMMENT '消费区域',
+    data_fetch_interval_millis INT COMMENT '数据获取间隔(毫秒)',
+    status VARCHAR(32) NOT NULL COMMENT '状态: DRAFT/PUBLISHED/DEPRECATED',
+    effective_gray_groups TEXT COMMENT '生效的灰度组，JSON数组格式',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    UNIQUE KEY uk_version (version_id),
+    KEY idx_source_status (source, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='数据源配置表';
+
+-- 创建API记录配置表
+CREATE TABLE IF NOT EXISTS api_record_config (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID，格式：AR202501080001',
+    gateway_type VARCHAR(128) COMMENT '网关类型',
+    gateway_code VARCHAR(128) COMMENT '网关编码',
+    api_version VARCHAR(128) COMMENT 'API版本',
+    api_name VARCHAR(128) COMMENT 'API名称',
+    loghub_stream VARCHAR(128) COMMENT 'LogHub数据流',
+    basic_config_hash CHAR(64) CHARACTER SET ascii COMMENT '基础配置(JSON)摘要，内容见 config_blob',
+    event_config_hash CHAR(64) CHARACTER SET ascii COMMENT '事件配置(JSON)摘要',
+    user_identity_config_hash CHAR(64) CHARACTER SET ascii COMMENT '用户身份配置(JSON)摘要',
+    request_config_hash CHAR(64) CHARACTER SET ascii COMMENT '请求配置(JSON)摘要',
+    response_config_hash CHAR(64) CHARACTER SET ascii COMMENT '响应配置(JSON)摘要',
+    filter_config_hash CHAR(64) CHARACTER SET ascii COMMENT '过滤配置(JSON)摘要',
+    reference_resource_config_hash CHAR(64) CHARACTER SET ascii COMMENT '引用资源配置(JSON)摘要',
+    type VARCHAR(32) COMMENT '类型',
+    status VARCHAR(32) NOT NULL COMMENT '状态: DRAFT/PUBLISHED/DEPRECATED',
+    effective_gray_groups TEXT COMMENT '生效的灰度组，JSON数组格式',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    UNIQUE KEY uk_version (version_id),
+    KEY idx_identifier_status (gateway_type, gateway_code, api_version, api_name, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='API记录配置表';
+
+-- 创建发布历史表
+CREATE TABLE IF NOT EXISTS publish_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID',
+    config_type VARCHAR(32) NOT NULL COMMENT '配置类型: DATA_SOURCE/API_RECORD',
+    status VARCHAR(32) NOT NULL COMMENT '发布状态',
+    gray_groups TEXT COMMENT '发布的灰度组，JSON数组格式',
+    operator VARCHAR(64) NOT NULL COMMENT '操作人',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    KEY idx_version (version_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='发布历史表';
+
+-- 创建API Meta配置表
+CREATE TABLE IF NOT EXISTS api_meta_config (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID，格式：AM202501080001',
+    api_name VARCHAR(256) NOT NULL COMMENT 'API名称',
+    product VARCHAR(256) COMMENT '产品名称',
+    gateway_type VARCHAR(128) COMMENT '网关类型',
+    dm VARCHAR(256) COMMENT 'DM标识',
+    gateway_code VARCHAR(256) COMMENT '网关编码',
+    api_version VARCHAR(64) COMMENT 'API版本',
+    actiontrail_code VARCHAR(256) COMMENT 'ActionTrail编码',
+    operation_type VARCHAR(64) COMMENT '操作类型',
+    description VARCHAR(3072) COMMENT 'API描述',
+    visibility VARCHAR(64) COMMENT '可见性',
+    isolation_type VARCHAR(64) COMMENT '隔离类型',
+    service_type VARCHAR(64) COMMENT '服务类型',
+    response_body_log TINYINT COMMENT '是否记录响应体',
+    invoke_type VARCHAR(64) COMMENT '调用类型',
+    resource_spec_hash CHAR(64) CHARACTER SET ascii COMMENT '资源规格摘要，内容见 config_blob',
+    status VARCHAR(32) NOT NULL COMMENT '状态: DRAFT/PUBLISHED/DEPRECATED',
+    effective_gray_groups TEXT COMMENT '生效的灰度组，JSON数组格式',
+    effective_flag VARCHAR(64) COMMENT '生效标识',
+    audit_status VARCHAR(64) COMMENT '审核状态',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    UNIQUE KEY uk_version (version_id),
+    KEY idx_identifier_status (gateway_type, gateway_code, api_version, api_name, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='API Meta配置表';
+
+-- 创建配置灰度地域表，由 effective_gray_groups 拆分而来，用于按地域走索引查询
+CREATE TABLE IF NOT EXISTS config_gray_region (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    config_type VARCHAR(32) NOT NULL COMMENT '配置类型: DATA_SOURCE/API_RECORD/API_META',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID',
+    region VARCHAR(64) NOT NULL COMMENT '生效地域，全量发布为 all',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    UNIQUE KEY uk_type_region_version (config_type, region, version_id),
+    KEY idx_version (version_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置灰度地域表';
+
+-- 创建全局修订号表，仅一行，每次发布/废弃/回滚递增
+CREATE TABLE IF NOT EXISTS config_revision (
+    id INT PRIMARY KEY COMMENT '主键ID，固定为1',
+    revision BIGINT NOT NULL COMMENT '当前全局修订号',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='全局修订号表';
+
+INSERT IGNORE INTO config_revision (id, revision) VALUES (1, 0);
+
+-- 创建配置变更日志表
+CREATE TABLE IF NOT EXISTS config_change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    revision BIGINT NOT NULL COMMENT '全局修订号',
+    config_type VARCHAR(32) NOT NULL COMMENT '配置类型: DATA_SOURCE/API_RECORD/API_META',
+    identifier VARCHAR(1024) NOT NULL COMMENT '配置标识',
+    version_id VARCHAR(64) NOT NULL COMMENT '版本ID',
+    action VARCHAR(32) NOT NULL COMMENT '变更动作: PUBLISHED/DEPRECATED/CREATED/UPDATED',
+    node_id VARCHAR(128) NULL COMMENT '写入变更的节点',
+    gmt_create DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间，毫秒精度，用于统计跨节点传播延迟',
+    KEY idx_revision (revision)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置变更日志表';
+
+-- 创建版本序号表，按 前缀+日期 分段分配版本序号
+CREATE TABLE IF NOT EXISTS version_sequence (
+    biz_key VARCHAR(32) PRIMARY KEY COMMENT '序列键，前缀+日期，如 DS20250108',
+    max_seq BIGINT NOT NULL COMMENT '已分配的最大序号',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='版本序号表';
+
+-- 创建生效版本表，按 类型+标识+地域 记录当前生效的版本，发布、废弃、回滚时在同一事务内维护
+-- 类型与地域使用 ascii 字符集，使主键长度不超过 InnoDB 的 3072 字节上限
+CREATE TABLE IF NOT EXISTS config_effective_version (
+    config_type VARCHAR(32) CHARACTER SET ascii NOT NULL COMMENT '配置类型: DATA_SOURCE/API_RECORD/API_META',
+    identifier VARCHAR(720) NOT NULL COMMENT '配置标识',
+    region VARCHAR(64) CHARACTER SET ascii NOT NULL COMMENT '地域',
+    version_id VARCHAR(64) NOT NULL COMMENT '生效版本ID',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    PRIMARY KEY (config_type, identifier, region),
+    KEY idx_type_region (config_type, region)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='生效版本表';
+
+-- 创建数据迁移检查点表，按主键区间分区记录存量迁移进度，中断后从检查点继续
+CREATE TABLE IF NOT EXISTS data_migration_checkpoint (
+    migration VARCHAR(64) NOT NULL COMMENT '迁移任务名',
+    partition_no INT NOT NULL COMMENT '分区序号',
+    start_id BIGINT NOT NULL COMMENT '分区起始主键(不含)',
+    end_id BIGINT NOT NULL COMMENT '分区结束主键(含)',
+    last_id BIGINT NOT NULL COMMENT '已迁移到的主键',
+    migrated_count BIGINT NOT NULL DEFAULT 0 COMMENT '已迁移行数',
+    status VARCHAR(32) NOT NULL COMMENT '状态: RUNNING/COMPLETED',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
+    PRIMARY KEY (migration, partition_no)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='数据迁移检查点表';
+
+-- 创建配置大字段表，JSON 大字段按内容的 SHA-256 摘要去重存储，版本行只保存摘要
+CREATE TABLE IF NOT EXISTS config_blob (
+    hash CHAR(64) CHARACTER SET ascii NOT NULL PRIMARY KEY COMMENT '内容的 SHA-256 摘要(小写十六进制)',
+    content TEXT NOT NULL COMMENT '内容',
+    content_length INT NOT NULL COMMENT '内容字节数',
+    gmt_create DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    gmt_modified DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最近一次被写入引用的时间，回收时跳过近期写入的内容'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置大字段表';
@@ -1,21 +0,0 @@
-package com.example.enums;
-
-/**
- * 配置类型枚举
- */
-public enum ConfigType {
-    /**
-     * 数据源配置：包含数据源连接信息和相关配置
-     */
-    DATA_SOURCE,
-    
-    /**
-     * API记录配置：包含API处理和记录相关的配置
-     */
-    API_RECORD,
-
-    /**
-     * API元数据配置：包含API元数据相关的配置
-     */
-    API_META
-} 
\ No newline at end of file